@@ -76,13 +76,10 @@ protected final CoderResult encodeLoopCoreOptimized(CharBuffer source, ByteBuffe
              * perform 88591 conversion from the source array to the target array, making sure each
              * char in the source is within the correct range
              */
-            for (i = oldSource; i < limit; i++) {
+            i = oldSource + UTF8.copyNarrow(sourceArray, oldSource, targetArray, oldSource + offset,
+                    limit - oldSource, 0xff00);
+            if (i < limit) {
                 ch = sourceArray[i];
-                if ((ch & 0xff00) == 0) {
-                    targetArray[i + offset] = (byte) ch;
-                } else {
-                    break;
-                }
             }
 
             /*
@@ -106,6 +103,14 @@ protected final CoderResult encodeLoopCoreUnoptimized(CharBuffer source, ByteBuf
              * perform 88591 conversion from the source buffer to the target buffer, making sure
              * each char in the source is within the correct range
              */
+            int sourceIndex = source.position();
+            int targetIndex = target.position();
+            int count = UTF8.copyNarrow(source, sourceIndex, target, targetIndex,
+                    Math.min(source.remaining(), target.remaining()), 0xff00);
+            if (count > 0) {
+                source.position(sourceIndex + count);
+                target.position(targetIndex + count);
+            }
 
             while (source.hasRemaining()) {
                 ch = source.get();
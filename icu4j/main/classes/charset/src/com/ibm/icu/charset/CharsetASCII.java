@@ -116,8 +116,11 @@ protected CoderResult decodeLoopCoreOptimized(ByteBuffer source, CharBuffer targ
              * perform ascii conversion from the source array to the target array, making sure each
              * byte in the source is within the correct range
              */
-            for (i = oldSource; i < limit && (((ch = (sourceArray[i] & 0xff)) & 0x80) == 0); i++)
-                targetArray[i + offset] = (char) ch;
+            i = oldSource + UTF8.copyASCII(sourceArray, oldSource, targetArray, oldSource + offset,
+                    limit - oldSource);
+            if (i < limit) {
+                ch = sourceArray[i] & 0xff;
+            }
 
             /*
              * if some byte was not in the correct range, we need to deal with this byte by calling
@@ -139,6 +142,15 @@ protected CoderResult decodeLoopCoreUnoptimized(ByteBuffer source, CharBuffer ta
              * perform ascii conversion from the source buffer to the target buffer, making sure
              * each byte in the source is within the correct range
              */
+            int sourceIndex = source.position();
+            int targetIndex = target.position();
+            int count = UTF8.copyASCII(source, sourceIndex, target, targetIndex,
+                    Math.min(source.remaining(), target.remaining()));
+            if (count > 0) {
+                source.position(sourceIndex + count);
+                target.position(targetIndex + count);
+            }
+
             while (source.hasRemaining()) {
                 ch = source.get() & 0xff;
 
@@ -277,8 +289,11 @@ protected CoderResult encodeLoopCoreOptimized(CharBuffer source, ByteBuffer targ
              * perform ascii conversion from the source array to the target array, making sure each
              * char in the source is within the correct range
              */
-            for (i = oldSource; i < limit && (((ch = sourceArray[i]) & 0xff80) == 0); i++)
-                targetArray[i + offset] = (byte) ch;
+            i = oldSource + UTF8.copyNarrow(sourceArray, oldSource, targetArray, oldSource + offset,
+                    limit - oldSource, 0xff80);
+            if (i < limit) {
+                ch = sourceArray[i];
+            }
 
             /*
              * if some byte was not in the correct range, we need to deal with this byte by calling
@@ -300,6 +315,15 @@ protected CoderResult encodeLoopCoreUnoptimized(CharBuffer source, ByteBuffer ta
              * perform ascii conversion from the source buffer to the target buffer, making sure
              * each char in the source is within the correct range
              */
+            int sourceIndex = source.position();
+            int targetIndex = target.position();
+            int count = UTF8.copyNarrow(source, sourceIndex, target, targetIndex,
+                    Math.min(source.remaining(), target.remaining()), 0xff80);
+            if (count > 0) {
+                source.position(sourceIndex + count);
+                target.position(targetIndex + count);
+            }
+
             while (source.hasRemaining()) {
                 ch = source.get();
 
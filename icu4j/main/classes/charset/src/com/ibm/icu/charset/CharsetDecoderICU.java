@@ -48,6 +48,7 @@ public abstract class CharsetDecoderICU extends CharsetDecoder{
 
     /* store previous UChars/chars to continue partial matches */
     byte[] preToUArray = new byte[EXT_MAX_BYTES];
+    private ByteBuffer replayArray;    /* allocated on first replay */
     int    preToUBegin;
     int    preToULength;       /* negative: replay */
     int    preToUFirstLength;  /* length of first character */
@@ -251,7 +252,12 @@ protected CoderResult decodeLoop(ByteBuffer in,CharBuffer out){
         in.position(in.position() + toUCountPending());
 
         /* do the conversion */
-        CoderResult ret = decode(in, out, null, false);
+        CoderResult ret;
+        if (out == null || (in.hasArray() && out.hasArray())) {
+            ret = decode(in, out, null, false);
+        } else {
+            ret = decodeStaged(in, out);
+        }
 
         // ok was there input held in the previous invocation of decodeLoop
         // that resulted in output in this invocation?
@@ -260,6 +266,63 @@ protected CoderResult decodeLoop(ByteBuffer in,CharBuffer out){
         return ret;
     }
 
+    /*
+     * Capacity of the staging arrays for buffers that are not backed by accessible arrays.
+     */
+    private static final int STAGING_CAPACITY = 0x1000;
+
+    /* allocated on first use */
+    private ByteBuffer stagingSource;
+    private CharBuffer stagingTarget;
+
+    /*
+     * Decodes from and/or into buffers without accessible arrays, such as direct buffers,
+     * through heap staging arrays, so that the converters run their array-based loops
+     * instead of per-unit get() and put() calls.
+     * Input is copied in and output is copied out with bulk relative transfers,
+     * and the buffer positions end up as if the buffers had been converted directly.
+     */
+    private CoderResult decodeStaged(ByteBuffer in, CharBuffer out) {
+        for (;;) {
+            int inStart = in.position();
+            ByteBuffer source = in;
+            if (!in.hasArray()) {
+                if (stagingSource == null) {
+                    stagingSource = ByteBuffer.allocate(STAGING_CAPACITY);
+                }
+                source = stagingSource;
+                int length = Math.min(in.remaining(), STAGING_CAPACITY);
+                in.get(source.array(), 0, length);
+                source.clear();
+                source.limit(length);
+            }
+            CharBuffer target = out;
+            if (!out.hasArray()) {
+                if (stagingTarget == null) {
+                    stagingTarget = CharBuffer.allocate(STAGING_CAPACITY);
+                }
+                target = stagingTarget;
+                target.clear();
+                target.limit(Math.min(out.remaining(), STAGING_CAPACITY));
+            }
+
+            CoderResult cr = decode(source, target, null, false);
+
+            if (source != in) {
+                in.position(inStart + source.position());
+            }
+            if (target != out && target.position() > 0) {
+                out.put(target.array(), 0, target.position());
+            }
+            if ((cr.isUnderflow() && source != in && !source.hasRemaining() && in.hasRemaining()) ||
+                    (cr.isOverflow() && target != out && out.hasRemaining())) {
+                /* only a staging array was exhausted, continue with the next chunk */
+                continue;
+            }
+            return cr;
+        }
+    }
+
     /*
      * Implements the ICU semantic for decode operation
      * @param in The input byte buffer
@@ -393,6 +456,17 @@ final CoderResult decode(ByteBuffer source, CharBuffer target, IntBuffer offsets
             }
         }
     } */
+
+    /* returns the cleared replay buffer, to avoid allocating one per conversion call */
+    private ByteBuffer getReplayArray() {
+        if (replayArray == null) {
+            replayArray = ByteBuffer.allocate(EXT_MAX_BYTES);
+        } else {
+            replayArray.clear();
+        }
+        return replayArray;
+    }
+
     final CoderResult toUnicodeWithCallback(ByteBuffer source, CharBuffer target, IntBuffer offsets, boolean flush){
 
         int sourceIndex;
@@ -401,7 +475,6 @@ final CoderResult toUnicodeWithCallback(ByteBuffer source, CharBuffer target, In
         //int t=target.position();
         int s=source.position();
         /* variables for m:n conversion */
-        ByteBuffer replayArray = ByteBuffer.allocate(EXT_MAX_BYTES);
         int replayArrayIndex = 0;
 
         ByteBuffer realSource=null;
@@ -426,6 +499,7 @@ final CoderResult toUnicodeWithCallback(ByteBuffer source, CharBuffer target, In
             realFlush=flush;
             realSourceIndex=sourceIndex;
             //UConverterUtility.uprv_memcpy(replayArray, replayBegin, preToUArray, preToUBegin, -preToULength);
+            ByteBuffer replayArray = getReplayArray();
             replayArray.put(preToUArray,0, -preToULength);
             source=replayArray;
             source.position(0);
@@ -513,6 +587,7 @@ final CoderResult toUnicodeWithCallback(ByteBuffer source, CharBuffer target, In
                         realSourceIndex=sourceIndex;
 
                         //UConverterUtility.uprv_memcpy(replayArray, replayBegin, preToUArray, preToUBegin, -preToULength);
+                        ByteBuffer replayArray = getReplayArray();
                         replayArray.put(preToUArray,0, -preToULength);
                         // reset position
                         replayArray.position(0);
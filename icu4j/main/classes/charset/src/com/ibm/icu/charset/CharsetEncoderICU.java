@@ -55,6 +55,8 @@ public abstract class CharsetEncoderICU extends CharsetEncoder {
 
     char[] preFromUArray = new char[EXT_MAX_UCHARS];
 
+    private CharBuffer replayArray; /* allocated on first replay */
+
     int preFromUBegin;
 
     int preFromULength; /* negative: replay */
@@ -267,7 +269,12 @@ protected CoderResult encodeLoop(CharBuffer in, ByteBuffer out) {
         }
         in.position(in.position() + fromUCountPending());
         /* do the conversion */
-        CoderResult ret = encode(in, out, null, false);
+        CoderResult ret;
+        if (out == null || (in.hasArray() && out.hasArray())) {
+            ret = encode(in, out, null, false);
+        } else {
+            ret = encodeStaged(in, out);
+        }
         setSourcePosition(in);
         /* No need to reset to keep the proper state of the encoder.
          if (ret.isUnderflow() && in.hasRemaining()) {
@@ -277,6 +284,63 @@ protected CoderResult encodeLoop(CharBuffer in, ByteBuffer out) {
         return ret;
     }
 
+    /*
+     * Capacity of the staging arrays for buffers that are not backed by accessible arrays.
+     */
+    private static final int STAGING_CAPACITY = 0x1000;
+
+    /* allocated on first use */
+    private CharBuffer stagingSource;
+    private ByteBuffer stagingTarget;
+
+    /*
+     * Encodes from and/or into buffers without accessible arrays, such as direct buffers
+     * and wrapped Strings, through heap staging arrays, so that the converters run their
+     * array-based loops instead of per-unit get() and put() calls.
+     * Input is copied in and output is copied out with bulk relative transfers,
+     * and the buffer positions end up as if the buffers had been converted directly.
+     */
+    private CoderResult encodeStaged(CharBuffer in, ByteBuffer out) {
+        for (;;) {
+            int inStart = in.position();
+            CharBuffer source = in;
+            if (!in.hasArray()) {
+                if (stagingSource == null) {
+                    stagingSource = CharBuffer.allocate(STAGING_CAPACITY);
+                }
+                source = stagingSource;
+                int length = Math.min(in.remaining(), STAGING_CAPACITY);
+                in.get(source.array(), 0, length);
+                source.clear();
+                source.limit(length);
+            }
+            ByteBuffer target = out;
+            if (!out.hasArray()) {
+                if (stagingTarget == null) {
+                    stagingTarget = ByteBuffer.allocate(STAGING_CAPACITY);
+                }
+                target = stagingTarget;
+                target.clear();
+                target.limit(Math.min(out.remaining(), STAGING_CAPACITY));
+            }
+
+            CoderResult cr = encode(source, target, null, false);
+
+            if (source != in) {
+                in.position(inStart + source.position());
+            }
+            if (target != out && target.position() > 0) {
+                out.put(target.array(), 0, target.position());
+            }
+            if ((cr.isUnderflow() && source != in && !source.hasRemaining() && in.hasRemaining()) ||
+                    (cr.isOverflow() && target != out && out.hasRemaining())) {
+                /* only a staging array was exhausted, continue with the next chunk */
+                continue;
+            }
+            return cr;
+        }
+    }
+
     /*
      * Implements ICU semantics of buffer management
      * @param source
@@ -366,6 +430,16 @@ final CoderResult encode(CharBuffer source, ByteBuffer target,
 
     }
 
+    /* returns the cleared replay buffer, to avoid allocating one per conversion call */
+    private CharBuffer getReplayArray() {
+        if (replayArray == null) {
+            replayArray = CharBuffer.allocate(EXT_MAX_UCHARS);
+        } else {
+            replayArray.clear();
+        }
+        return replayArray;
+    }
+
     /*
      * Implementation note for m:n conversions
      *
@@ -395,7 +469,6 @@ final CoderResult fromUnicodeWithCallback(CharBuffer source,
         boolean converterSawEndOfInput, calledCallback;
 
         /* variables for m:n conversion */
-        CharBuffer replayArray = CharBuffer.allocate(EXT_MAX_UCHARS);
         int replayArrayIndex = 0;
         CharBuffer realSource;
         boolean realFlush;
@@ -419,6 +492,7 @@ final CoderResult fromUnicodeWithCallback(CharBuffer source,
             realFlush = flush;
 
             //UConverterUtility.uprv_memcpy(replayArray, replayArrayIndex, preFromUArray, 0, -preFromULength*UMachine.U_SIZEOF_UCHAR);
+            CharBuffer replayArray = getReplayArray();
             replayArray.put(preFromUArray, 0, -preFromULength);
             source = replayArray;
             source.position(replayArrayIndex);
@@ -499,6 +573,7 @@ final CoderResult fromUnicodeWithCallback(CharBuffer source,
                         realFlush = flush;
 
                         //UConverterUtility.uprv_memcpy(replayArray, replayArrayIndex, preFromUArray, 0, -preFromULength*UMachine.U_SIZEOF_UCHAR);
+                        CharBuffer replayArray = getReplayArray();
                         replayArray.put(preFromUArray, 0, -preFromULength);
 
                         source = replayArray;
@@ -19,6 +19,7 @@
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CharsetEncoder;
 import java.nio.charset.CoderResult;
+import java.util.Arrays;
 import java.util.Locale;
 
 import com.ibm.icu.charset.UConverterSharedData.UConverterType;
@@ -104,6 +105,9 @@ static final class UConverterMBCSTable {
         /* roundtrips */
         int asciiRoundtrips;
 
+        /* for fast conversion of 1/2-byte input in the initial state to BMP code points, see getFastToU() */
+        private volatile char[] fastToU;
+
         UConverterMBCSTable() {
             utf8Friendly = false;
             mbcsIndex = null;
@@ -113,6 +117,64 @@ boolean hasSupplementary() {
             return (unicodeMask & UConverterConstants.HAS_SUPPLEMENTARY) != 0;
         }
 
+        /**
+         * Returns a direct lookup table for the roundtrip mappings of single bytes and byte pairs
+         * that start and end in state 0, built on first use and then shared by all converter instances.
+         * table[b] is the code point for the single byte b,
+         * or FAST_TO_U_LEAD if b is the lead byte of some pairs,
+         * and table[FAST_TO_U_PAIRS+(b1<<8)+b2] is the code point for the pair b1 b2.
+         * All other inputs (fallbacks, unassigned and illegal sequences, supplementary code points,
+         * longer sequences and state changes) map to FAST_TO_U_NONE and are left to the state table.
+         */
+        char[] getFastToU() {
+            char[] table = fastToU;
+            if (table == null) {
+                fastToU = table = buildFastToU();
+            }
+            return table;
+        }
+
+        private char[] buildFastToU() {
+            char[] table = new char[FAST_TO_U_PAIRS + 0x10000];
+            Arrays.fill(table, FAST_TO_U_NONE);
+            boolean hasPairs = false;
+            int[] initial = stateTable[0];
+            for (int b1 = 0; b1 <= 0xff; ++b1) {
+                int entry = initial[b1];
+                if (MBCS_ENTRY_IS_TRANSITION(entry)) {
+                    int[] trail = stateTable[MBCS_ENTRY_TRANSITION_STATE(entry)];
+                    int offset = MBCS_ENTRY_TRANSITION_OFFSET(entry);
+                    for (int b2 = 0; b2 <= 0xff; ++b2) {
+                        entry = trail[b2];
+                        char c;
+                        if (MBCS_ENTRY_FINAL_IS_VALID_DIRECT_16(entry)) {
+                            c = MBCS_ENTRY_FINAL_VALUE_16(entry);
+                        } else if (MBCS_ENTRY_IS_FINAL(entry)
+                                && MBCS_ENTRY_FINAL_STATE(entry) == 0
+                                && MBCS_ENTRY_FINAL_ACTION(entry) == MBCS_STATE_VALID_16) {
+                            c = unicodeCodeUnits[offset + MBCS_ENTRY_FINAL_VALUE_16(entry)];
+                        } else {
+                            continue;
+                        }
+                        if (c < FAST_TO_U_NONE) {
+                            table[FAST_TO_U_PAIRS + (b1 << 8) + b2] = c;
+                            table[b1] = FAST_TO_U_LEAD;
+                            hasPairs = true;
+                        }
+                    }
+                } else if (MBCS_ENTRY_FINAL_IS_VALID_DIRECT_16(entry)) {
+                    char c = MBCS_ENTRY_FINAL_VALUE_16(entry);
+                    if (c < FAST_TO_U_NONE) {
+                        table[b1] = c;
+                    }
+                }
+            }
+            if (!hasPairs) {
+                table = Arrays.copyOf(table, FAST_TO_U_PAIRS);
+            }
+            return table;
+        }
+
         /*
          * UConverterMBCSTable(UConverterMBCSTable t) { countStates = t.countStates; dbcsOnlyState = t.dbcsOnlyState;
          * stateTableOwned = t.stateTableOwned; countToUFallbacks = t.countToUFallbacks; stateTable = t.stateTable;
@@ -146,6 +208,10 @@ boolean hasSupplementary() {
         static final int MBCS_FAST_MAX=0xd7ff;               /* maximum code point with UTF-8-friendly MBCS runtime code, see makeconv MBCS_UTF8_MAX */
         static final int MBCS_FAST_LIMIT=MBCS_FAST_MAX+1;    /* =0xd800 */
     // };
+    /* Values and layout of UConverterMBCSTable.getFastToU(). */
+    static final char FAST_TO_U_NONE=0xfffe;
+    static final char FAST_TO_U_LEAD=0xffff;
+    static final int FAST_TO_U_PAIRS=0x100;
     /**
      * MBCS data header. See data format description above.
      */
@@ -1999,6 +2065,40 @@ private int simpleMatchToU(ByteBuffer source, boolean useFallback) {
             return 0xfffe;
         }
 
+        /*
+         * Converts input from sourceIndex with the getFastToU() table until the end of the input,
+         * a full target, or an input sequence that the table does not map.
+         * Returns the new source index and advances the target position.
+         */
+        private int fastToU(char[] table, ByteBuffer source, int sourceIndex, CharBuffer target) {
+            byte[] sourceArray = source.array();
+            int sourceOffset = source.arrayOffset();
+            int s = sourceOffset + sourceIndex;
+            int sourceLimit = sourceOffset + source.limit();
+            char[] targetArray = target.array();
+            int targetOffset = target.arrayOffset();
+            int t = targetOffset + target.position();
+            int targetLimit = targetOffset + target.limit();
+
+            while (s < sourceLimit && t < targetLimit) {
+                int b = sourceArray[s] & UConverterConstants.UNSIGNED_BYTE_MASK;
+                char c = table[b];
+                if (c < FAST_TO_U_NONE) {
+                    targetArray[t++] = c;
+                    ++s;
+                } else if (c == FAST_TO_U_LEAD && (s + 1) < sourceLimit
+                        && (c = table[FAST_TO_U_PAIRS + (b << 8)
+                                + (sourceArray[s + 1] & UConverterConstants.UNSIGNED_BYTE_MASK)]) < FAST_TO_U_NONE) {
+                    targetArray[t++] = c;
+                    s += 2;
+                } else {
+                    break;
+                }
+            }
+            target.position(t - targetOffset);
+            return s - sourceOffset;
+        }
+
         CoderResult cnvMBCSToUnicodeWithOffsets(ByteBuffer source, CharBuffer target, IntBuffer offsets, boolean flush) {
             CoderResult[] cr = { CoderResult.UNDERFLOW };
 
@@ -2066,6 +2166,14 @@ CoderResult cnvMBCSToUnicodeWithOffsets(ByteBuffer source, CharBuffer target, In
             sourceIndex = byteIndex == 0 ? 0 : -1;
             nextSourceIndex = 0;
 
+            /* table lookup for runs of 1/2-byte input in the initial state, without offsets */
+            char[] fastToUTable = null;
+            if (offsets == null && source.hasArray() && target.hasArray()
+                    && sharedData.mbcs.dbcsOnlyState == 0
+                    && (options & UConverterConstants.OPTION_SWAP_LFNL) == 0) {
+                fastToUTable = sharedData.mbcs.getFastToU();
+            }
+
             /* conversion loop */
             while (sourceArrayIndex < source.limit()) {
                 /*
@@ -2084,6 +2192,12 @@ CoderResult cnvMBCSToUnicodeWithOffsets(ByteBuffer source, CharBuffer target, In
                     /* optimized loop for 1/2-byte input and BMP output */
                     // agljport:todo see ucnvmbcs.c for deleted block
                     do {
+                        if (fastToUTable != null && state == 0) {
+                            sourceArrayIndex = fastToU(fastToUTable, source, sourceArrayIndex, target);
+                            if (sourceArrayIndex >= source.limit() || !target.hasRemaining()) {
+                                break;
+                            }
+                        }
                         entry = stateTable[state][source.get(sourceArrayIndex)&UConverterConstants.UNSIGNED_BYTE_MASK];
                         if (MBCS_ENTRY_IS_TRANSITION(entry)) {
                             state = (byte)MBCS_ENTRY_TRANSITION_STATE(entry);
@@ -964,7 +964,6 @@ private int loop(CharBuffer source, ByteBuffer target, IntBuffer offsets){
                     if(targetCapacity<=0 && !AfterGetTrailUnicode){
                         /*target is full*/
                         cr = CoderResult.OVERFLOW;
-                        LabelLoop = false;
                         break;
                     }
                     if(!AfterGetTrailUnicode){
@@ -148,19 +148,20 @@ protected CoderResult decodeLoop(ByteBuffer source, CharBuffer target, IntBuffer
                             break;
                         }
 
-                        /* keep reading the next input (and writing it) while bytes == 1 */
-                        while (UTF8.isSingle(ch = sourceArray[sourceIndex++])) {
-                            targetArray[targetIndex++] = (char) ch;
-                            if (sourceIndex >= sourceLimit) {
-                                cr = CoderResult.UNDERFLOW;
-                                break outer;
-                            }
-                            if (targetIndex >= targetLimit) {
-                                cr = CoderResult.OVERFLOW;
-                                break outer;
-                            }
+                        /* copy the following run of ASCII bytes (bytes == 1), eight at a time */
+                        int count = UTF8.copyASCII(sourceArray, sourceIndex, targetArray, targetIndex,
+                                Math.min(sourceLimit - sourceIndex, targetLimit - targetIndex));
+                        sourceIndex += count;
+                        targetIndex += count;
+                        if (sourceIndex >= sourceLimit) {
+                            cr = CoderResult.UNDERFLOW;
+                            break outer;
+                        }
+                        if (targetIndex >= targetLimit) {
+                            cr = CoderResult.OVERFLOW;
+                            break outer;
                         }
-                        toUBytesArray[0] = ch;
+                        toUBytesArray[0] = ch = sourceArray[sourceIndex++];
 
                         /* remove the bits that indicate the number of bytes */
                         bytesExpected = UTF8.countBytes(ch);
@@ -274,19 +275,20 @@ protected CoderResult decodeLoop(ByteBuffer source, CharBuffer target, IntBuffer
                             break;
                         }
 
-                        /* keep reading the next input (and writing it) while bytes == 1 */
-                        while (UTF8.isSingle(ch = source.get(sourceIndex++))) {
-                            target.put(targetIndex++, (char) ch);
-                            if (sourceIndex >= sourceLimit) {
-                                cr = CoderResult.UNDERFLOW;
-                                break outer;
-                            }
-                            if (targetIndex >= targetLimit) {
-                                cr = CoderResult.OVERFLOW;
-                                break outer;
-                            }
+                        /* copy the following run of ASCII bytes (bytes == 1), eight at a time */
+                        int count = UTF8.copyASCII(source, sourceIndex, target, targetIndex,
+                                Math.min(sourceLimit - sourceIndex, targetLimit - targetIndex));
+                        sourceIndex += count;
+                        targetIndex += count;
+                        if (sourceIndex >= sourceLimit) {
+                            cr = CoderResult.UNDERFLOW;
+                            break outer;
+                        }
+                        if (targetIndex >= targetLimit) {
+                            cr = CoderResult.OVERFLOW;
+                            break outer;
                         }
-                        toUBytesArray[0] = ch;
+                        toUBytesArray[0] = ch = source.get(sourceIndex++);
 
                         /* remove the bits that indicate the number of bytes */
                         bytesExpected = UTF8.countBytes(ch);
@@ -366,6 +368,12 @@ protected CoderResult encodeLoop(CharBuffer source, ByteBuffer target, IntBuffer
                 }
 
                 while (true) {
+                    /* copy the following run of ASCII chars (1 byte each), eight at a time */
+                    int count = UTF8.copyNarrow(sourceArray, srcIdx, targetArray, tgtIdx,
+                            Math.min(sourceLimit - srcIdx, targetLimit - tgtIdx), 0xff80);
+                    srcIdx += count;
+                    tgtIdx += count;
+
                     if (srcIdx >= sourceLimit) {
                         /* nothing left to read */
                         cr = CoderResult.UNDERFLOW;
@@ -377,15 +385,10 @@ protected CoderResult encodeLoop(CharBuffer source, ByteBuffer target, IntBuffer
                         break;
                     }
 
-                    /* reach the next char into char32 */
+                    /* reach the next char into char32, which is not ASCII */
                     char32 = sourceArray[srcIdx++];
 
-                    if (char32 <= 0x7f) {
-                        /* 1 byte to encode from char32 */
-
-                        targetArray[tgtIdx++] = encodeHeadOf1(char32);
-
-                    } else if (char32 <= 0x7ff) {
+                    if (char32 <= 0x7ff) {
                         /* 2 bytes to encode from char32 */
 
                         targetArray[tgtIdx++] = encodeHeadOf2(char32);
@@ -450,6 +453,16 @@ protected CoderResult encodeLoop(CharBuffer source, ByteBuffer target, IntBuffer
                 }
 
                 while (true) {
+                    /* copy the following run of ASCII chars (1 byte each), eight at a time */
+                    int srcPos = source.position();
+                    int tgtPos = target.position();
+                    int count = UTF8.copyNarrow(source, srcPos, target, tgtPos,
+                            Math.min(source.remaining(), target.remaining()), 0xff80);
+                    if (count > 0) {
+                        source.position(srcPos + count);
+                        target.position(tgtPos + count);
+                    }
+
                     if (!source.hasRemaining()) {
                         /* nothing left to read */
                         cr = CoderResult.UNDERFLOW;
@@ -461,15 +474,10 @@ protected CoderResult encodeLoop(CharBuffer source, ByteBuffer target, IntBuffer
                         break;
                     }
 
-                    /* reach the next char into char32 */
+                    /* reach the next char into char32, which is not ASCII */
                     char32 = source.get();
 
-                    if (char32 <= 0x7f) {
-                        /* 1 byte to encode from char32 */
-
-                        target.put(encodeHeadOf1(char32));
-
-                    } else if (char32 <= 0x7ff) {
+                    if (char32 <= 0x7ff) {
                         /* 2 bytes to encode from char32 */
 
                         target.put(encodeHeadOf2(char32));
@@ -602,10 +610,6 @@ private final CoderResult encodeFourBytes(CharBuffer source, ByteBuffer target,
 
     }
 
-    private static final byte encodeHeadOf1(int char32) {
-        return (byte) char32;
-    }
-
     private static final byte encodeHeadOf2(int char32) {
         return (byte) (0xc0 | (char32 >>> 6));
     }
@@ -2,6 +2,10 @@
 // License & terms of use: http://www.unicode.org/copyright.html
 package com.ibm.icu.charset;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+
 /**
  * Partial Java port of ICU4C unicode/utf8.h and ustr_imp.h.
  */
@@ -169,4 +173,134 @@ static boolean isValidTrail(int prev, byte t, int i, int length) {
             return isValidLead4AndT1(prev, t);
         }
     }
+
+    /**
+     * Mask for the high bits of eight bytes packed into a long.
+     */
+    private static final long HIGH_BITS_OF_8_BYTES = 0x8080808080808080L;
+
+    /**
+     * Copies a run of ASCII bytes (0..0x7f) from src to dest, widening each to a char,
+     * and stops before the first non-ASCII byte.
+     * Eight bytes at a time are tested together before they are copied,
+     * so that long ASCII runs avoid a per-byte branch.
+     *
+     * @param src source bytes
+     * @param srcIndex index of the first source byte
+     * @param dest destination chars
+     * @param destIndex index of the first destination char
+     * @param length maximum number of bytes to copy
+     * @return the number of bytes copied, 0..length
+     */
+    static int copyASCII(byte[] src, int srcIndex, char[] dest, int destIndex, int length) {
+        int i = 0;
+        for (; i <= length - 8; i += 8) {
+            int s = srcIndex + i;
+            byte b0 = src[s], b1 = src[s + 1], b2 = src[s + 2], b3 = src[s + 3];
+            byte b4 = src[s + 4], b5 = src[s + 5], b6 = src[s + 6], b7 = src[s + 7];
+            // Sign-extended bytes: the OR is negative iff some byte is >= 0x80.
+            if ((b0 | b1 | b2 | b3 | b4 | b5 | b6 | b7) < 0) {
+                break;
+            }
+            int d = destIndex + i;
+            dest[d] = (char) b0;
+            dest[d + 1] = (char) b1;
+            dest[d + 2] = (char) b2;
+            dest[d + 3] = (char) b3;
+            dest[d + 4] = (char) b4;
+            dest[d + 5] = (char) b5;
+            dest[d + 6] = (char) b6;
+            dest[d + 7] = (char) b7;
+        }
+        byte b;
+        while (i < length && (b = src[srcIndex + i]) >= 0) {
+            dest[destIndex + i++] = (char) b;
+        }
+        return i;
+    }
+
+    /**
+     * Same as {@link #copyASCII(byte[], int, char[], int, int)} but for buffers that are not
+     * backed by accessible arrays, typically direct buffers.
+     * Uses absolute get/put and does not change the buffer positions.
+     * Eight bytes at a time are read with a single getLong().
+     */
+    static int copyASCII(ByteBuffer src, int srcIndex, CharBuffer dest, int destIndex, int length) {
+        int i = 0;
+        if (length >= 8) {
+            boolean bigEndian = src.order() == ByteOrder.BIG_ENDIAN;
+            for (; i <= length - 8; i += 8) {
+                long word = src.getLong(srcIndex + i);
+                if ((word & HIGH_BITS_OF_8_BYTES) != 0) {
+                    break;
+                }
+                int d = destIndex + i;
+                for (int k = 0; k < 8; ++k) {
+                    int shift = bigEndian ? 56 - 8 * k : 8 * k;
+                    dest.put(d + k, (char) ((word >>> shift) & 0x7f));
+                }
+            }
+        }
+        byte b;
+        while (i < length && (b = src.get(srcIndex + i)) >= 0) {
+            dest.put(destIndex + i++, (char) b);
+        }
+        return i;
+    }
+
+    /**
+     * Copies a run of chars from src to dest, narrowing each to a byte,
+     * and stops before the first char c with (c &amp; mask) != 0.
+     * Use mask 0xff80 for ASCII and 0xff00 for ISO-8859-1.
+     * Eight chars at a time are tested together before they are copied.
+     *
+     * @param src source chars
+     * @param srcIndex index of the first source char
+     * @param dest destination bytes
+     * @param destIndex index of the first destination byte
+     * @param length maximum number of chars to copy
+     * @param mask bits that must not be set in any copied char
+     * @return the number of chars copied, 0..length
+     */
+    static int copyNarrow(char[] src, int srcIndex, byte[] dest, int destIndex, int length, int mask) {
+        int i = 0;
+        for (; i <= length - 8; i += 8) {
+            int s = srcIndex + i;
+            char c0 = src[s], c1 = src[s + 1], c2 = src[s + 2], c3 = src[s + 3];
+            char c4 = src[s + 4], c5 = src[s + 5], c6 = src[s + 6], c7 = src[s + 7];
+            if (((c0 | c1 | c2 | c3 | c4 | c5 | c6 | c7) & mask) != 0) {
+                break;
+            }
+            int d = destIndex + i;
+            dest[d] = (byte) c0;
+            dest[d + 1] = (byte) c1;
+            dest[d + 2] = (byte) c2;
+            dest[d + 3] = (byte) c3;
+            dest[d + 4] = (byte) c4;
+            dest[d + 5] = (byte) c5;
+            dest[d + 6] = (byte) c6;
+            dest[d + 7] = (byte) c7;
+        }
+        char c;
+        while (i < length && ((c = src[srcIndex + i]) & mask) == 0) {
+            dest[destIndex + i++] = (byte) c;
+        }
+        return i;
+    }
+
+    /**
+     * Same as {@link #copyNarrow(char[], int, byte[], int, int, int)} but for buffers that are
+     * not backed by accessible arrays, for example direct buffers or wrapped Strings.
+     * Uses absolute get/put and does not change the buffer positions.
+     * Each char needs its own get(), so this is a plain loop; packing eight bytes
+     * for one putLong() did not pay off.
+     */
+    static int copyNarrow(CharBuffer src, int srcIndex, ByteBuffer dest, int destIndex, int length, int mask) {
+        int i = 0;
+        char c;
+        while (i < length && ((c = src.get(srcIndex + i)) & mask) == 0) {
+            dest.put(destIndex + i++, (byte) c);
+        }
+        return i;
+    }
 }
@@ -136,12 +136,55 @@ public static class LevelCallback {
          * @return true if the level is to be written (the base class implementation always returns
          *         true)
          */
-        boolean needToWrite(int level) {
+        public boolean needToWrite(int level) {
             return true;
         }
+
+        /**
+         * @return a mask of Collation.Level bits for the levels that might be written;
+         *         other levels need not be computed
+         */
+        int getLevelMask() {
+            return ~0;
+        }
     }
     public static final LevelCallback SIMPLE_LEVEL_FALLBACK = new LevelCallback();
 
+    /**
+     * Writes partial sort keys: Stops writing levels above maxLevel,
+     * and stops writing levels once the sink has at least maxLength bytes.
+     * The levels up to maxLevel are computed in the same pass regardless of maxLength.
+     * Like the collation strength, maxLevel does not limit the case level:
+     * It is written if it is turned on in the settings.
+     */
+    public static final class PartialKeyLevelCallback extends LevelCallback {
+        private final SortKeyByteSink sink;
+        private final int maxLevel;
+        private final int maxLength;
+
+        /**
+         * @param sink the sink that the sort key is written to
+         * @param maxLevel the highest Collation level to be written, not counting the case level
+         * @param maxLength the sort key prefix length that is needed
+         */
+        public PartialKeyLevelCallback(SortKeyByteSink sink, int maxLevel, int maxLength) {
+            this.sink = sink;
+            this.maxLevel = maxLevel;
+            this.maxLength = maxLength;
+        }
+
+        @Override
+        public boolean needToWrite(int level) {
+            return (level <= maxLevel || level == Collation.CASE_LEVEL) &&
+                    sink.NumberOfBytesAppended() < maxLength;
+        }
+
+        @Override
+        int getLevelMask() {
+            return ((1 << (maxLevel + 1)) - 1) | Collation.CASE_LEVEL_FLAG;
+        }
+    }
+
     private static final class SortKeyLevel {
         private static final int INITIAL_CAPACITY = 40;
 
@@ -195,17 +238,18 @@ void appendWeight16(int w) {
 
         void appendWeight32(long w) {
             assert (w != 0);
-            byte[] bytes = new byte[] { (byte) (w >>> 24), (byte) (w >>> 16), (byte) (w >>> 8),
-                    (byte) w };
-            int appendLength = (bytes[1] == 0) ? 1 : (bytes[2] == 0) ? 2 : (bytes[3] == 0) ? 3 : 4;
+            byte b1 = (byte) (w >>> 16);
+            byte b2 = (byte) (w >>> 8);
+            byte b3 = (byte) w;
+            int appendLength = (b1 == 0) ? 1 : (b2 == 0) ? 2 : (b3 == 0) ? 3 : 4;
             if ((len + appendLength) <= buffer.length || ensureCapacity(appendLength)) {
-                buffer[len++] = bytes[0];
-                if (bytes[1] != 0) {
-                    buffer[len++] = bytes[1];
-                    if (bytes[2] != 0) {
-                        buffer[len++] = bytes[2];
-                        if (bytes[3] != 0) {
-                            buffer[len++] = bytes[3];
+                buffer[len++] = (byte) (w >>> 24);
+                if (b1 != 0) {
+                    buffer[len++] = b1;
+                    if (b2 != 0) {
+                        buffer[len++] = b2;
+                        if (b3 != 0) {
+                            buffer[len++] = b3;
                         }
                     }
                 }
@@ -339,6 +383,8 @@ public static void writeSortKeyUpToQuaternary(CollationIterator iter, boolean[]
         }
         // Minus the levels below minLevel.
         levels &= ~((1 << minLevel) - 1);
+        // Minus the levels that the callback would not write.
+        levels &= callback.getLevelMask();
         if (levels == 0) {
             return;
         }
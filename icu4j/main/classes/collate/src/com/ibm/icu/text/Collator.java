@@ -10,9 +10,11 @@
 
 import java.util.Comparator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Locale;
 import java.util.MissingResourceException;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import com.ibm.icu.impl.ICUData;
 import com.ibm.icu.impl.ICUDebug;
@@ -1304,6 +1306,76 @@ protected int doCompare(CharSequence left, CharSequence right) {
     public abstract RawCollationKey getRawCollationKey(String source,
                                                        RawCollationKey key);
 
+    /**
+     * {@icu} Returns the sort keys for a list of strings, packed into a single byte array.
+     * This is equivalent to calling {@link #getRawCollationKey(String, RawCollationKey)}
+     * for each string, but it does not create any per-string objects.
+     * For an array of strings, use {@link java.util.Arrays#asList(Object[])}.
+     *
+     * <p>The base class implementation calls getRawCollationKey() for each string.
+     *
+     * @param sources the strings; must not contain null
+     * @return the packed sort keys, in the order of the sources
+     * @see PackedCollationKeys
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public PackedCollationKeys getPackedCollationKeys(List<? extends CharSequence> sources) {
+        return PackedCollationKeys.build(this, sources);
+    }
+
+    /**
+     * {@icu} Returns the sort keys for a list of strings, packed into a single byte array,
+     * generating them in parallel with tasks in the given pool.
+     * The result is the same as for {@link #getPackedCollationKeys(List)}.
+     *
+     * <p>The tasks share a frozen collator: This collator itself if it is frozen,
+     * otherwise a frozen clone. If this collator cannot be frozen,
+     * then the sort keys are generated in the calling thread.
+     * The list must not be modified while this method runs.
+     *
+     * @param sources the strings; must not contain null
+     * @param pool the pool that runs the tasks
+     * @return the packed sort keys, in the order of the sources
+     * @see PackedCollationKeys
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public PackedCollationKeys getPackedCollationKeys(List<? extends CharSequence> sources,
+            ForkJoinPool pool) {
+        Collator frozen;
+        if (isFrozen()) {
+            frozen = this;
+        } else {
+            try {
+                frozen = cloneAsThawed().freeze();
+            } catch (UnsupportedOperationException e) {
+                return getPackedCollationKeys(sources);
+            }
+        }
+        return PackedCollationKeys.build(frozen, sources, pool);
+    }
+
+    /**
+     * {@icu} Sorts a list of strings according to this collator, in parallel
+     * with tasks in the given pool, and returns the sorted permutation.
+     * The list itself is not modified.
+     * The sort is stable: Strings that compare equal remain in their original order.
+     *
+     * <p>This generates the sort keys with {@link #getPackedCollationKeys(List, ForkJoinPool)}
+     * and sorts them with {@link PackedCollationKeys#getSortedIndexes(ForkJoinPool)}.
+     *
+     * @param sources the strings; must not contain null
+     * @param pool the pool that runs the tasks
+     * @return the sorted permutation: result[k] is the index in sources of the string
+     *         that sorts at position k
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public int[] getSortedIndexes(List<? extends CharSequence> sources, ForkJoinPool pool) {
+        return getPackedCollationKeys(sources, pool).getSortedIndexes(pool);
+    }
+
     /**
      * {@icu} Sets the variable top to the top of the specified reordering group.
      * The variable top determines the highest-sorting character
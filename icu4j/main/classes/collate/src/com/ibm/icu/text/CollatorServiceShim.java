@@ -145,6 +145,7 @@ protected Object handleCreate(ULocale uloc, int kind, ICUService srvc) {
 
             this.registerFactory(new CollatorFactory());
             markDefault();
+            registerCacheStats();
         }
 
         /**
@@ -0,0 +1,350 @@
+// © 2020 and later: Unicode, Inc. and others.
+// License & terms of use: http://www.unicode.org/copyright.html
+package com.ibm.icu.text;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * {@icu} The sort keys for a list of strings, packed into a single byte array.
+ * Create an instance with {@link Collator#getPackedCollationKeys(List)}
+ * or {@link Collator#getPackedCollationKeys(List, ForkJoinPool)}.
+ *
+ * <p>Sort key i is stored in the bytes from {@link #getStart(int) getStart(i)}
+ * to getStart(i)+{@link #getLength(int) getLength(i)} of the {@link #getBytes()} array.
+ * Like the bytes of a {@link RawCollationKey}, it ends with a zero byte,
+ * and two sort keys are compared as sequences of unsigned bytes.
+ *
+ * <p>Compared with one {@link CollationKey} per string, this avoids two objects and
+ * one array per string, and the keys can be compared and sorted by index.
+ *
+ * <p>This class is immutable and thread-safe, as long as the array returned by
+ * {@link #getBytes()} is not modified.
+ *
+ * @see Collator#getPackedCollationKeys(List)
+ * @draft ICU 68
+ * @provisional This API might change or be removed in a future release.
+ */
+public final class PackedCollationKeys {
+    /** Number of strings per task when sort keys are generated in parallel. */
+    private static final int KEYS_CHUNK_SIZE = 4096;
+    /** Ranges up to this length are sorted sequentially by a sort task. */
+    private static final int PARALLEL_SORT_THRESHOLD = 8192;
+    /** Ranges up to this length are sorted with insertion sort. */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private final byte[] bytes;
+    // starts[i] is the start of key i, starts[size] is the end of the last key.
+    private final int[] starts;
+    private final int size;
+
+    PackedCollationKeys(byte[] bytes, int[] starts, int size) {
+        this.bytes = bytes;
+        this.starts = starts;
+        this.size = size;
+    }
+
+    /**
+     * Builds packed sort keys with any Collator, via its getRawCollationKey() method.
+     */
+    static PackedCollationKeys build(Collator coll, List<? extends CharSequence> sources) {
+        int size = sources.size();
+        int[] starts = new int[size + 1];
+        byte[] bytes = new byte[Math.max(64, size * 16)];
+        int length = 0;
+        RawCollationKey key = new RawCollationKey();
+        int i = 0;
+        // Iterate rather than get(i), which is slow for a LinkedList.
+        for (CharSequence source : sources) {
+            coll.getRawCollationKey(source.toString(), key);
+            if (length + key.size > bytes.length) {
+                byte[] newBytes = new byte[Math.max(2 * bytes.length, length + key.size)];
+                System.arraycopy(bytes, 0, newBytes, 0, length);
+                bytes = newBytes;
+            }
+            System.arraycopy(key.bytes, 0, bytes, length, key.size);
+            length += key.size;
+            starts[++i] = length;
+        }
+        return new PackedCollationKeys(bytes, starts, size);
+    }
+
+    /**
+     * Builds packed sort keys in chunks which are processed by tasks in the pool.
+     * The collator must be frozen.
+     */
+    static PackedCollationKeys build(final Collator coll, List<? extends CharSequence> sources,
+            ForkJoinPool pool) {
+        int size = sources.size();
+        int chunkCount = (size + KEYS_CHUNK_SIZE - 1) / KEYS_CHUNK_SIZE;
+        if (chunkCount <= 1) {
+            return coll.getPackedCollationKeys(sources);
+        }
+        if (!(sources instanceof RandomAccess)) {
+            // subList() of a LinkedList walks from the front for each chunk.
+            sources = new ArrayList<CharSequence>(sources);
+        }
+        PackedCollationKeys[] chunks = new PackedCollationKeys[chunkCount];
+        pool.invoke(new BuildTask(coll, sources, chunks, 0, chunkCount));
+        // Concatenate the chunks.
+        int length = 0;
+        for (PackedCollationKeys chunk : chunks) {
+            length += chunk.starts[chunk.size];
+        }
+        byte[] bytes = new byte[length];
+        int[] starts = new int[size + 1];
+        int index = 0;
+        length = 0;
+        for (PackedCollationKeys chunk : chunks) {
+            int chunkLength = chunk.starts[chunk.size];
+            System.arraycopy(chunk.bytes, 0, bytes, length, chunkLength);
+            for (int i = 1; i <= chunk.size; ++i) {
+                starts[++index] = length + chunk.starts[i];
+            }
+            length += chunkLength;
+        }
+        return new PackedCollationKeys(bytes, starts, size);
+    }
+
+    private static final class BuildTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Collator coll;
+        private final List<? extends CharSequence> sources;
+        private final PackedCollationKeys[] chunks;
+        private final int start, limit;
+
+        BuildTask(Collator coll, List<? extends CharSequence> sources,
+                PackedCollationKeys[] chunks, int start, int limit) {
+            this.coll = coll;
+            this.sources = sources;
+            this.chunks = chunks;
+            this.start = start;
+            this.limit = limit;
+        }
+
+        @Override
+        protected void compute() {
+            if (limit - start == 1) {
+                int first = start * KEYS_CHUNK_SIZE;
+                int last = Math.min(first + KEYS_CHUNK_SIZE, sources.size());
+                chunks[start] = coll.getPackedCollationKeys(sources.subList(first, last));
+            } else {
+                int middle = (start + limit) >>> 1;
+                invokeAll(new BuildTask(coll, sources, chunks, start, middle),
+                        new BuildTask(coll, sources, chunks, middle, limit));
+            }
+        }
+    }
+
+    /**
+     * Returns the number of sort keys, which is the number of strings they were created from.
+     * @return the number of sort keys
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the array with all of the sort key bytes. The array is not copied
+     * and must not be modified. It may be longer than the sum of the key lengths.
+     * @return the sort key bytes
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Returns the index in {@link #getBytes()} where a sort key starts.
+     * @param i the index of the string, from 0 to size()-1
+     * @return the start index of the sort key
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public int getStart(int i) {
+        checkIndex(i);
+        return starts[i];
+    }
+
+    /**
+     * Returns the length of a sort key, including its terminating zero byte.
+     * @param i the index of the string, from 0 to size()-1
+     * @return the length of the sort key
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public int getLength(int i) {
+        checkIndex(i);
+        return starts[i + 1] - starts[i];
+    }
+
+    /**
+     * Copies a sort key into a RawCollationKey.
+     * @param i the index of the string, from 0 to size()-1
+     * @param key the RawCollationKey to be filled in; if null, a new one is created
+     * @return the RawCollationKey with the sort key
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public RawCollationKey getRawCollationKey(int i, RawCollationKey key) {
+        int length = getLength(i);
+        if (key == null) {
+            key = new RawCollationKey(length);
+        }
+        key.ensureCapacity(length);
+        System.arraycopy(bytes, starts[i], key.bytes, 0, length);
+        key.size = length;
+        return key;
+    }
+
+    /**
+     * Compares two sort keys. The result is the same as comparing the two strings
+     * with the collator that created the sort keys.
+     * @param i the index of the first string
+     * @param j the index of the second string
+     * @return a negative value if string i sorts before string j, 0 if they are equal,
+     *         or a positive value if string i sorts after string j
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public int compare(int i, int j) {
+        checkIndex(i);
+        checkIndex(j);
+        return compareKeys(i, j);
+    }
+
+    private int compareKeys(int i, int j) {
+        int p = starts[i];
+        int q = starts[j];
+        int limit = p + Math.min(starts[i + 1] - p, starts[j + 1] - q);
+        for (; p < limit; ++p, ++q) {
+            int b1 = bytes[p] & 0xff;
+            int b2 = bytes[q] & 0xff;
+            if (b1 != b2) {
+                return b1 - b2;
+            }
+            if (b1 == 0) {
+                return 0;  // end of both keys
+            }
+        }
+        // Not reached for well-formed keys which end with a zero byte.
+        return (starts[i + 1] - starts[i]) - (starts[j + 1] - starts[j]);
+    }
+
+    /**
+     * Sorts the indexes of the strings by their sort keys.
+     * The sort is stable: Strings that compare equal remain in their original order.
+     * @return the sorted permutation: result[k] is the index of the string
+     *         that sorts at position k
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public int[] getSortedIndexes() {
+        int[] indexes = newIndexes();
+        mergeSort(indexes, new int[size], 0, size);
+        return indexes;
+    }
+
+    /**
+     * Sorts the indexes of the strings by their sort keys, with tasks in the given pool.
+     * The result is the same as for {@link #getSortedIndexes()}.
+     * @param pool the pool that runs the sort tasks
+     * @return the sorted permutation: result[k] is the index of the string
+     *         that sorts at position k
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public int[] getSortedIndexes(ForkJoinPool pool) {
+        int[] indexes = newIndexes();
+        if (size <= PARALLEL_SORT_THRESHOLD) {
+            mergeSort(indexes, new int[size], 0, size);
+        } else {
+            pool.invoke(new SortTask(indexes, new int[size], 0, size));
+        }
+        return indexes;
+    }
+
+    private int[] newIndexes() {
+        int[] indexes = new int[size];
+        for (int i = 0; i < size; ++i) {
+            indexes[i] = i;
+        }
+        return indexes;
+    }
+
+    private final class SortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] indexes, temp;
+        private final int start, limit;
+
+        SortTask(int[] indexes, int[] temp, int start, int limit) {
+            this.indexes = indexes;
+            this.temp = temp;
+            this.start = start;
+            this.limit = limit;
+        }
+
+        @Override
+        protected void compute() {
+            if (limit - start <= PARALLEL_SORT_THRESHOLD) {
+                mergeSort(indexes, temp, start, limit);
+            } else {
+                int middle = (start + limit) >>> 1;
+                invokeAll(new SortTask(indexes, temp, start, middle),
+                        new SortTask(indexes, temp, middle, limit));
+                merge(indexes, temp, start, middle, limit);
+            }
+        }
+    }
+
+    private void mergeSort(int[] indexes, int[] temp, int start, int limit) {
+        if (limit - start <= INSERTION_SORT_THRESHOLD) {
+            for (int i = start + 1; i < limit; ++i) {
+                int index = indexes[i];
+                int j = i;
+                while (j > start && compareKeys(indexes[j - 1], index) > 0) {
+                    indexes[j] = indexes[j - 1];
+                    --j;
+                }
+                indexes[j] = index;
+            }
+            return;
+        }
+        int middle = (start + limit) >>> 1;
+        mergeSort(indexes, temp, start, middle);
+        mergeSort(indexes, temp, middle, limit);
+        merge(indexes, temp, start, middle, limit);
+    }
+
+    private void merge(int[] indexes, int[] temp, int start, int middle, int limit) {
+        if (compareKeys(indexes[middle - 1], indexes[middle]) <= 0) {
+            return;  // already in order
+        }
+        System.arraycopy(indexes, start, temp, start, limit - start);
+        int i = start, j = middle, k = start;
+        while (i < middle && j < limit) {
+            // Take from the left run on ties, for a stable sort.
+            indexes[k++] = compareKeys(temp[i], temp[j]) <= 0 ? temp[i++] : temp[j++];
+        }
+        while (i < middle) {
+            indexes[k++] = temp[i++];
+        }
+        while (j < limit) {
+            indexes[k++] = temp[j++];
+        }
+    }
+
+    private void checkIndex(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("index " + i + ", size " + size);
+        }
+    }
+}
@@ -10,10 +10,13 @@
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
 import java.text.CharacterIterator;
 import java.text.ParseException;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -320,6 +323,7 @@ public boolean isFrozen() {
     public Collator freeze() {
         if (!isFrozen()) {
             frozenLock = new ReentrantLock();
+            spareCollationBuffers = new ConcurrentLinkedQueue<>();
             if (collationBuffer == null) {
                 collationBuffer = new CollationBuffer(data);
             }
@@ -341,6 +345,7 @@ public RuleBasedCollator cloneAsThawed() {
             result.settings = settings.clone();
             result.collationBuffer = null;
             result.frozenLock = null;
+            result.spareCollationBuffers = null;
             return result;
         } catch (CloneNotSupportedException e) {
             // Clone is implemented
@@ -1148,31 +1153,171 @@ private RawCollationKey getRawCollationKey(CharSequence source, RawCollationKey
         return key;
     }
 
+    /**
+     * {@icu} Returns the sort keys for a list of strings, packed into a single byte array.
+     * The bytes of each sort key are the same as those of
+     * {@link #getRawCollationKey(String, RawCollationKey)}.
+     *
+     * @param sources the strings; must not contain null
+     * @return the packed sort keys, in the order of the sources
+     * @see PackedCollationKeys
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    @Override
+    public PackedCollationKeys getPackedCollationKeys(List<? extends CharSequence> sources) {
+        int size = sources.size();
+        int[] starts = new int[size + 1];
+        // All sort keys are appended to one key whose bytes grow as needed.
+        RawCollationKey arena = new RawCollationKey(Math.max(200, size * 16));
+        CollationBuffer buffer = null;
+        try {
+            buffer = getCollationBuffer();
+            int i = 0;
+            // Iterate rather than get(i), which is slow for a LinkedList.
+            for (CharSequence source : sources) {
+                CollationKeyByteSink sink = new CollationKeyByteSink(arena);
+                sink.setBufferAndAppended(arena.bytes, arena.size);
+                writeSortKey(source, sink, buffer);
+                arena.size = sink.NumberOfBytesAppended();
+                starts[++i] = arena.size;
+            }
+        } finally {
+            releaseCollationBuffer(buffer);
+        }
+        return new PackedCollationKeys(arena.bytes, starts, size);
+    }
+
     private int simpleKeyLengthEstimate(CharSequence source) {
         return 2 * source.length() + 10;
     }
 
     private void writeSortKey(CharSequence s, CollationKeyByteSink sink, CollationBuffer buffer) {
+        writeSortKey(s, sink, CollationKeys.SIMPLE_LEVEL_FALLBACK, buffer);
+    }
+
+    private void writeSortKey(CharSequence s, CollationKeyByteSink sink,
+            CollationKeys.LevelCallback callback, CollationBuffer buffer) {
         boolean numeric = settings.readOnly().isNumeric();
         if(settings.readOnly().dontCheckFCD()) {
             buffer.leftUTF16CollIter.setText(numeric, s, 0);
             CollationKeys.writeSortKeyUpToQuaternary(
                     buffer.leftUTF16CollIter, data.compressibleBytes, settings.readOnly(),
                     sink, Collation.PRIMARY_LEVEL,
-                    CollationKeys.SIMPLE_LEVEL_FALLBACK, true);
+                    callback, true);
         } else {
             buffer.leftFCDUTF16Iter.setText(numeric, s, 0);
             CollationKeys.writeSortKeyUpToQuaternary(
                     buffer.leftFCDUTF16Iter, data.compressibleBytes, settings.readOnly(),
                     sink, Collation.PRIMARY_LEVEL,
-                    CollationKeys.SIMPLE_LEVEL_FALLBACK, true);
+                    callback, true);
         }
-        if(settings.readOnly().getStrength() == IDENTICAL) {
+        if(settings.readOnly().getStrength() == IDENTICAL &&
+                callback.needToWrite(Collation.IDENTICAL_LEVEL)) {
             writeIdenticalLevel(s, sink);
         }
         sink.Append(Collation.TERMINATOR_BYTE);
     }
 
+    /**
+     * Writes the sort key for the source text into the destination buffer at its current position,
+     * without creating a {@link CollationKey} or {@link RawCollationKey}.
+     * The bytes are the same as those of {@link #getRawCollationKey(String, RawCollationKey)}.
+     * Sort keys written by the same collator can be compared as unsigned byte sequences.
+     * <p>
+     * Equivalent to <code>writeSortKey(source, dest, getStrength(), Integer.MAX_VALUE)</code>.
+     *
+     * @param source the text to be transformed into a sort key
+     * @param dest the destination buffer, heap or direct; use {@link ByteBuffer#wrap(byte[])}
+     *            for a byte array
+     * @return the length of the sort key.
+     *         If it is greater than the number of bytes that were remaining in dest,
+     *         then nothing is written and the position of dest is unchanged;
+     *         otherwise the position of dest is advanced by the length.
+     * @see #writeSortKey(CharSequence, ByteBuffer, int, int)
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public int writeSortKey(CharSequence source, ByteBuffer dest) {
+        return writeSortKey(source, dest, getStrength(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Writes a partial sort key for the source text into the destination buffer at its current position.
+     * <p>
+     * The key is truncated after the level of the given strength,
+     * which limits comparisons to that strength like {@link #setStrength(int)}.
+     * If this collator's strength is lower, then the key stops at its strength.
+     * If the case level is on, then it is included at any strength, also as with setStrength().
+     * <p>
+     * If the sort key is longer than maxLength, then only its first maxLength bytes are written,
+     * and the levels after the one that reaches maxLength are not written.
+     * All levels up to the strength are still computed, except for the identical level;
+     * a lower strength saves work, a smaller maxLength does not.
+     * Such fixed-width prefixes compare like the full keys except that different keys
+     * with the same prefix compare equal. Shorter keys may be padded with zero bytes.
+     *
+     * @param source the text to be transformed into a sort key
+     * @param dest the destination buffer, heap or direct
+     * @param strength the highest strength to be written:
+     *            PRIMARY, SECONDARY, TERTIARY, QUATERNARY or IDENTICAL
+     * @param maxLength the maximum number of bytes to write, at least 1
+     * @return the length of the (partial) sort key, at most maxLength.
+     *         If it is greater than the number of bytes that were remaining in dest,
+     *         then nothing is written and the position of dest is unchanged;
+     *         otherwise the position of dest is advanced by the length.
+     * @throws IllegalArgumentException if the strength is not one of the allowed values,
+     *            or if maxLength is less than 1
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public int writeSortKey(CharSequence source, ByteBuffer dest, int strength, int maxLength) {
+        int maxLevel;
+        switch (strength) {
+        case PRIMARY:
+            maxLevel = Collation.PRIMARY_LEVEL;
+            break;
+        case SECONDARY:
+            maxLevel = Collation.SECONDARY_LEVEL;
+            break;
+        case TERTIARY:
+            maxLevel = Collation.TERTIARY_LEVEL;
+            break;
+        case QUATERNARY:
+            maxLevel = Collation.QUATERNARY_LEVEL;
+            break;
+        case IDENTICAL:
+            maxLevel = Collation.IDENTICAL_LEVEL;
+            break;
+        default:
+            throw new IllegalArgumentException("Invalid strength " + strength);
+        }
+        if (maxLength < 1) {
+            throw new IllegalArgumentException("maxLength " + maxLength + " < 1");
+        }
+        CollationBuffer buffer = null;
+        try {
+            buffer = getCollationBuffer();
+            // Write into the reusable key of the CollationBuffer, then copy the bytes in bulk.
+            RawCollationKey key = buffer.rawCollationKey;
+            if (key == null) {
+                key = buffer.rawCollationKey = new RawCollationKey(simpleKeyLengthEstimate(source));
+            } else if (key.bytes == null) {
+                key.bytes = new byte[simpleKeyLengthEstimate(source)];
+            }
+            CollationKeyByteSink sink = new CollationKeyByteSink(key);
+            writeSortKey(source, sink,
+                    new CollationKeys.PartialKeyLevelCallback(sink, maxLevel, maxLength), buffer);
+            int length = Math.min(sink.NumberOfBytesAppended(), maxLength);
+            if (length <= dest.remaining()) {
+                dest.put(key.bytes, 0, length);
+            }
+            return length;
+        } finally {
+            releaseCollationBuffer(buffer);
+        }
+    }
+
     private void writeIdenticalLevel(CharSequence s, CollationKeyByteSink sink) {
         // NFD quick check
         int nfdQCYesLimit = data.nfcImpl.decompose(s, 0, s.length(), null);
@@ -1818,10 +1963,20 @@ public VersionInfo getUCAVersion() {
     }
 
     private CollationBuffer collationBuffer;
+    /**
+     * Buffers for threads that use a frozen collator while the main collationBuffer is in use.
+     * The number of buffers is limited by the number of threads that use the collator at the same time.
+     */
+    private ConcurrentLinkedQueue<CollationBuffer> spareCollationBuffers;
 
     private final CollationBuffer getCollationBuffer() {
         if (isFrozen()) {
-            frozenLock.lock();
+            if (frozenLock.tryLock()) {
+                return collationBuffer;
+            }
+            // Do not wait for the lock: A frozen collator is shared by threads.
+            CollationBuffer buffer = spareCollationBuffers.poll();
+            return buffer != null ? buffer : new CollationBuffer(data);
         } else if (collationBuffer == null) {
             collationBuffer = new CollationBuffer(data);
         }
@@ -1829,8 +1984,12 @@ private final CollationBuffer getCollationBuffer() {
     }
 
     private final void releaseCollationBuffer(CollationBuffer buffer) {
-        if (isFrozen()) {
-            frozenLock.unlock();
+        if (isFrozen() && buffer != null) {
+            if (buffer == collationBuffer) {
+                frozenLock.unlock();
+            } else {
+                spareCollationBuffers.offer(buffer);
+            }
         }
     }
 
@@ -12,6 +12,8 @@
 package com.ibm.icu.impl;
 
 import com.ibm.icu.text.UnicodeSet.SpanCondition;
+import com.ibm.icu.util.CodePointTrie;
+import com.ibm.icu.util.MutableCodePointTrie;
 import com.ibm.icu.util.OutputInt;
 
 /**
@@ -21,7 +23,8 @@
  * 2-byte characters: Bits organized vertically.
  * 3-byte characters: Use zero/one/mixed data per 64-block in U+0000..U+FFFF, with mixed for illegal ranges.
  * Supplementary characters: Binary search over
- * the supplementary part of the parent set's inversion list.
+ * the supplementary part of the parent set's inversion list,
+ * or an optional CodePointTrie lookup.
  */
 public final class BMPSet {
     public static int U16_SURROGATE_OFFSET = ((0xd800 << 10) + 0xdc00 - 0x10000);
@@ -31,6 +34,11 @@ public final class BMPSet {
      */
     private boolean[] latin1Contains;
 
+    /**
+     * true if contains(U+FFFD). Ill-formed UTF-8 sequences are treated like U+FFFD.
+     */
+    private boolean containsFFFD;
+
     /**
      * One bit per code point from U+0000..U+07FF. The bits are organized vertically; consecutive code points
      * correspond to the same bit positions in consecutive table words. With code point parts lead=c{10..6}
@@ -65,7 +73,18 @@ public final class BMPSet {
     private final int[] list;
     private final int listLength; // length used; list may be longer to minimize reallocs
 
+    /**
+     * Optional trie with value 1 for each code point in the set,
+     * used instead of the binary search in containsSlow() if not null.
+     * Trades memory (on the order of 10kB for large property sets) for constant-time lookups.
+     */
+    private final CodePointTrie.Fast8 trie;
+
     public BMPSet(final int[] parentList, int parentListLength) {
+        this(parentList, parentListLength, false);
+    }
+
+    public BMPSet(final int[] parentList, int parentListLength, boolean withTrie) {
         list = parentList;
         listLength = parentListLength;
         latin1Contains = new boolean[0x100];
@@ -84,6 +103,8 @@ public BMPSet(final int[] parentList, int parentListLength) {
             list4kStarts[i] = findCodePoint(i << 12, list4kStarts[i - 1], listLength - 1);
         }
         list4kStarts[0x11] = listLength - 1;
+        trie = withTrie ? buildTrie() : null;
+        containsFFFD = containsSlow(0xfffd, list4kStarts[0xf], list4kStarts[0x10]);
 
         initBits();
     }
@@ -95,6 +116,17 @@ public BMPSet(final BMPSet otherBMPSet, final int[] newParentList, int newParent
         table7FF = otherBMPSet.table7FF.clone();
         bmpBlockBits = otherBMPSet.bmpBlockBits.clone();
         list4kStarts = otherBMPSet.list4kStarts.clone();
+        containsFFFD = otherBMPSet.containsFFFD;
+        trie = otherBMPSet.trie;  // immutable
+    }
+
+    private CodePointTrie.Fast8 buildTrie() {
+        MutableCodePointTrie mutableTrie = new MutableCodePointTrie(0, 0);
+        // list[listLength - 1] == 0x110000
+        for (int i = 0; i < listLength - 1; i += 2) {
+            mutableTrie.setRange(list[i], list[i + 1] - 1, 1);
+        }
+        return (CodePointTrie.Fast8) mutableTrie.buildImmutable(CodePointTrie.Type.FAST, CodePointTrie.ValueWidth.BITS_8);
     }
 
     public boolean contains(int c) {
@@ -321,6 +353,120 @@ public final int spanBack(CharSequence s, int limit, SpanCondition spanCondition
         return limit + 1;
     }
 
+    /**
+     * Span the initial substring of the UTF-8 bytes s[start..limit[ for which each code point c has
+     * spanCondition==contains(c).
+     * Each maximal subpart of an ill-formed sequence is treated like U+FFFD,
+     * consistent with {@link UTF8Util#next(byte[], int, int)}.
+     *
+     * @return the limit (exclusive end) of the span
+     *
+     * NOTE: Like span(), contains(c) is manually inlined here. Sequences are decoded and validated
+     * in place, and only ill-formed sequences are handed to UTF8Util.
+     */
+    public final int spanUTF8(byte[] s, int start, int limit, SpanCondition spanCondition) {
+        boolean contained = SpanCondition.NOT_CONTAINED != spanCondition;
+        int i = start;
+        while (i < limit) {
+            int b = s[i];
+            if (b >= 0) {
+                // ASCII sub-span
+                do {
+                    if (latin1Contains[b] != contained || ++i == limit) {
+                        return i;
+                    }
+                    b = s[i];
+                } while (b >= 0);
+            }
+            b &= 0xff;
+            // t1..t3 are the trail bytes minus 0x80; a value above 0x3f is not a trail byte.
+            int t1, t2, t3;
+            boolean inSet = false;
+            int length = 0;
+            if (b < 0xe0) {
+                if (b >= 0xc2 && (i + 1) < limit && (t1 = s[i + 1] + 0x80) <= 0x3f) {
+                    // U+0080..U+07FF
+                    if (b < 0xc4) {
+                        inSet = latin1Contains[((b & 3) << 6) | t1];
+                    } else {
+                        inSet = (table7FF[t1] & (1 << (b & 0x1f))) != 0;
+                    }
+                    length = 2;
+                }
+            } else if (b < 0xf0) {
+                if ((i + 2) < limit && (t1 = s[i + 1] + 0x80) <= 0x3f &&
+                        // Exclude non-shortest forms and surrogates.
+                        (b == 0xe0 ? t1 >= 0x20 : b != 0xed || t1 < 0x20) &&
+                        (t2 = s[i + 2] + 0x80) <= 0x3f) {
+                    // U+0800..U+FFFF
+                    int lead = b & 0xf;
+                    int twoBits = (bmpBlockBits[t1] >> lead) & 0x10001;
+                    if (twoBits <= 1) {
+                        // All 64 code points with the same bits 15..6
+                        // are either in the set or not.
+                        inSet = twoBits != 0;
+                    } else {
+                        // Look up the code point in its 4k block of code points.
+                        inSet = containsSlow((lead << 12) | (t1 << 6) | t2, list4kStarts[lead], list4kStarts[lead + 1]);
+                    }
+                    length = 3;
+                }
+            } else if (b <= 0xf4 && (i + 3) < limit && (t1 = s[i + 1] + 0x80) <= 0x3f &&
+                    // Exclude non-shortest forms and code points beyond U+10FFFF.
+                    (b == 0xf0 ? t1 >= 0x10 : b != 0xf4 || t1 < 0x10) &&
+                    (t2 = s[i + 2] + 0x80) <= 0x3f && (t3 = s[i + 3] + 0x80) <= 0x3f) {
+                // U+10000..U+10FFFF
+                int supplementary = ((b & 7) << 18) | (t1 << 12) | (t2 << 6) | t3;
+                inSet = containsSlow(supplementary, list4kStarts[0x10], list4kStarts[0x11]);
+                length = 4;
+            }
+            if (length == 0) {
+                // Ill-formed sequence: no need to optimize error handling.
+                inSet = containsFFFD;
+                length = UTF8Util.length(UTF8Util.next(s, i, limit));
+            }
+            if (inSet != contained) {
+                break;
+            }
+            i += length;
+        }
+        return i;
+    }
+
+    /**
+     * Symmetrical with spanUTF8().
+     * Span the trailing substring of the UTF-8 bytes s[start..limit[ for which each code point c has
+     * spanCondition==contains(c).
+     *
+     * @return The byte index which starts the span (i.e. inclusive).
+     *
+     * NOTE: Going backwards through UTF-8 is optimized only for ASCII. Unlike UTF-16, UTF-8 is not
+     * forward-backward symmetrical: The last byte of a multi-byte sequence does not tell how many
+     * preceding bytes there should be.
+     */
+    public final int spanBackUTF8(byte[] s, int start, int limit, SpanCondition spanCondition) {
+        boolean contained = SpanCondition.NOT_CONTAINED != spanCondition;
+        int i = limit;
+        while (i > start) {
+            int b = s[i - 1];
+            if (b >= 0) {
+                // ASCII
+                if (latin1Contains[b] != contained) {
+                    break;
+                }
+                --i;
+                continue;
+            }
+            int packed = UTF8Util.previous(s, start, i);
+            int c = UTF8Util.codePoint(packed);
+            if ((c < 0 ? containsFFFD : contains(c)) != contained) {
+                break;
+            }
+            i -= UTF8Util.length(packed);
+        }
+        return i;
+    }
+
     /**
      * Set bits in a bit rectangle in "vertical" bit organization. start<limit<=0x800
      */
@@ -508,6 +654,9 @@ private int findCodePoint(int c, int lo, int hi) {
     }
 
     private final boolean containsSlow(int c, int lo, int hi) {
+        if (trie != null) {
+            return trie.get(c) != 0;
+        }
         return (0 != (findCodePoint(c, lo, hi) & 1));
     }
 }
@@ -475,6 +475,16 @@ public char[] toCharArray() {
         return Arrays.copyOfRange(chars, zero, zero + length);
     }
 
+    /**
+     * Copies the contents of this string builder into the given array.
+     *
+     * @param dest The destination array.
+     * @param destOffset The index in the destination array at which to start copying.
+     */
+    public void getChars(char[] dest, int destOffset) {
+        System.arraycopy(chars, zero, dest, destOffset, length);
+    }
+
     /** @return A new array containing the field values of this string builder. */
     public Object[] toFieldArray() {
         return Arrays.copyOfRange(fields, zero, zero + length);
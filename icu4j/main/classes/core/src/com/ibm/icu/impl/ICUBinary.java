@@ -13,16 +13,31 @@
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.MissingResourceException;
 import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 import com.ibm.icu.util.ICUUncheckedIOException;
 import com.ibm.icu.util.VersionInfo;
@@ -278,6 +293,209 @@ void addBaseNamesInFolder(String folder, String suffix, Set<String> names) {
         }
     }
 
+    /**
+     * Serves the entries of a jar (zip) file as memory-mapped ByteBuffers.
+     * The data items are keyed by their full entry names, for example
+     * "com/ibm/icu/impl/data/icudt68b/coll/ucadata.icu".
+     *
+     * <p>Uncompressed (STORED) entries are returned as slices of the mapped jar file.
+     * Compressed entries are extracted once into a cache folder and then mapped;
+     * the cache file name is derived from the entry's CRC-32, size and base name,
+     * so that it can be shared by all processes that use the same data.
+     * Without a cache folder, getData() returns null for compressed entries.
+     *
+     * <p>Unlike the DataFile implementations, a JarDataFile is not one of the icuDataFiles:
+     * it is looked up by jar path for {@link ICUBinary#getMappedData(ClassLoader, String, File)}.
+     */
+    private static final class JarDataFile {
+        private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+        private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+        private static final int END_OF_CENTRAL_DIR_SIGNATURE = 0x06054b50;
+        private static final int END_OF_CENTRAL_DIR_LENGTH = 22;
+        private static final int METHOD_STORED = 0;
+
+        private static final class Entry {
+            final int method;
+            final int crc;
+            final int compressedSize;
+            final int size;
+            final int localHeaderOffset;
+
+            Entry(int method, int crc, int compressedSize, int size, int localHeaderOffset) {
+                this.method = method;
+                this.crc = crc;
+                this.compressedSize = compressedSize;
+                this.size = size;
+                this.localHeaderOffset = localHeaderOffset;
+            }
+        }
+
+        private final File jarPath;
+        /**
+         * The whole jar file, mapped read-only, in little-endian order.
+         * Do not modify the position or other state, for thread safety.
+         */
+        private final ByteBuffer jarBytes;
+        private final Map<String, Entry> entries;
+
+        private JarDataFile(File jarPath, ByteBuffer jarBytes, Map<String, Entry> entries) {
+            this.jarPath = jarPath;
+            this.jarBytes = jarBytes;
+            this.entries = entries;
+        }
+
+        /**
+         * Maps the jar file and reads its central directory.
+         * If the file cannot be mapped or parsed (for example, if it is a ZIP64 archive),
+         * then the returned JarDataFile is empty, and getData() always returns null.
+         */
+        static JarDataFile open(File jarPath) {
+            ByteBuffer bytes = mapFile(jarPath);
+            Map<String, Entry> entries = null;
+            if (bytes != null) {
+                bytes.order(ByteOrder.LITTLE_ENDIAN);
+                entries = readCentralDirectory(bytes);
+            }
+            if (entries == null) {
+                return new JarDataFile(jarPath, null, Collections.<String, Entry>emptyMap());
+            }
+            return new JarDataFile(jarPath, bytes, entries);
+        }
+
+        private static Map<String, Entry> readCentralDirectory(ByteBuffer bytes) {
+            // Search backward for the end of central directory record,
+            // which may be followed by a comment of up to 64kB.
+            int length = bytes.capacity();
+            int eocd = length - END_OF_CENTRAL_DIR_LENGTH;
+            int minEocd = Math.max(0, eocd - 0xffff);
+            while (eocd >= minEocd && bytes.getInt(eocd) != END_OF_CENTRAL_DIR_SIGNATURE) {
+                --eocd;
+            }
+            if (eocd < minEocd) {
+                return null;
+            }
+            int count = bytes.getShort(eocd + 10) & 0xffff;
+            int dirOffset = bytes.getInt(eocd + 16);
+            if (count == 0xffff || dirOffset < 0 || dirOffset > eocd) {
+                return null;  // ZIP64 or corrupt
+            }
+            Map<String, Entry> entries = new HashMap<>(count * 2);
+            byte[] nameBytes = new byte[64];
+            int offset = dirOffset;
+            for (int i = 0; i < count; ++i) {
+                if (offset + 46 > eocd || bytes.getInt(offset) != CENTRAL_HEADER_SIGNATURE) {
+                    return null;
+                }
+                int method = bytes.getShort(offset + 10) & 0xffff;
+                int crc = bytes.getInt(offset + 16);
+                int compressedSize = bytes.getInt(offset + 20);
+                int size = bytes.getInt(offset + 24);
+                int nameLength = bytes.getShort(offset + 28) & 0xffff;
+                int extraLength = bytes.getShort(offset + 30) & 0xffff;
+                int commentLength = bytes.getShort(offset + 32) & 0xffff;
+                int localHeaderOffset = bytes.getInt(offset + 42);
+                if (compressedSize < 0 || size < 0 || localHeaderOffset < 0) {
+                    return null;  // ZIP64 sizes or offsets
+                }
+                if (nameLength > nameBytes.length) {
+                    nameBytes = new byte[nameLength];
+                }
+                for (int j = 0; j < nameLength; ++j) {
+                    nameBytes[j] = bytes.get(offset + 46 + j);
+                }
+                String name = new String(nameBytes, 0, nameLength, StandardCharsets.UTF_8);
+                entries.put(name, new Entry(method, crc, compressedSize, size, localHeaderOffset));
+                offset += 46 + nameLength + extraLength + commentLength;
+            }
+            return entries;
+        }
+
+        /**
+         * @param requestedPath The full jar entry name.
+         * @param cacheDir Folder for extracted compressed entries, or null.
+         */
+        ByteBuffer getData(String requestedPath, File cacheDir) {
+            Entry entry = entries.get(requestedPath);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.method == METHOD_STORED) {
+                int header = entry.localHeaderOffset;
+                if (jarBytes.getInt(header) != LOCAL_HEADER_SIGNATURE) {
+                    return null;
+                }
+                int start = header + 30 +
+                        (jarBytes.getShort(header + 26) & 0xffff) +
+                        (jarBytes.getShort(header + 28) & 0xffff);
+                if (start + entry.size > jarBytes.capacity()) {
+                    return null;
+                }
+                ByteBuffer data = jarBytes.duplicate();
+                data.position(start);
+                data.limit(start + entry.size);
+                // Big-endian like any other newly created buffer.
+                return data.slice();
+            }
+            if (cacheDir == null) {
+                return null;
+            }
+            File cached = new File(cacheDir, getCacheFileName(requestedPath, entry));
+            if (cached.length() != entry.size && !extract(requestedPath, entry, cacheDir, cached)) {
+                return null;
+            }
+            return mapFile(cached);
+        }
+
+        private static String getCacheFileName(String entryName, Entry entry) {
+            String baseName = entryName.substring(entryName.lastIndexOf('/') + 1);
+            return String.format("%08x-%x-%s", entry.crc, entry.size, baseName);
+        }
+
+        /**
+         * Inflates the entry into a temporary file in the cache folder,
+         * verifies its checksum, and atomically renames it to the cache file.
+         * Concurrent extractions of the same entry write identical contents.
+         */
+        private boolean extract(String entryName, Entry entry, File cacheDir, File cached) {
+            File temp = null;
+            try (ZipFile zip = new ZipFile(jarPath)) {
+                ZipEntry zipEntry = zip.getEntry(entryName);
+                if (zipEntry == null) {
+                    return false;
+                }
+                if (!cacheDir.isDirectory() && !cacheDir.mkdirs() && !cacheDir.isDirectory()) {
+                    return false;
+                }
+                temp = File.createTempFile("icu", ".tmp", cacheDir);
+                CRC32 crc = new CRC32();
+                try (InputStream in = zip.getInputStream(zipEntry);
+                        OutputStream out = new FileOutputStream(temp)) {
+                    byte[] buffer = new byte[0x4000];
+                    int numRead;
+                    while ((numRead = in.read(buffer)) > 0) {
+                        crc.update(buffer, 0, numRead);
+                        out.write(buffer, 0, numRead);
+                    }
+                }
+                if ((int) crc.getValue() != entry.crc || temp.length() != entry.size) {
+                    return false;
+                }
+                Files.move(temp.toPath(), cached.toPath(),
+                        StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                temp = null;
+                return true;
+            } catch (IOException e) {
+                // For example, the cache folder is read-only or full. The caller falls back to the class loader.
+                if (DEBUG) System.err.println("ICUBinary: cannot extract " + entryName + " to " + cacheDir + ": " + e);
+                return false;
+            } finally {
+                if (temp != null) {
+                    temp.delete();
+                }
+            }
+        }
+    }
+
     private static final List<DataFile> icuDataFiles = new ArrayList<>();
 
     static {
@@ -288,6 +506,56 @@ void addBaseNamesInFolder(String folder, String suffix, Set<String> names) {
         }
     }
 
+    /**
+     * If true, then data items that are found via a ClassLoader are memory-mapped
+     * from the jar file or folder where they reside, rather than read into heap byte arrays.
+     * Normally com.ibm.icu.impl.ICUBinary.mapClasspathData.
+     */
+    private static final boolean mapClasspathData;
+
+    /**
+     * Folder for the extracted copies of compressed jar entries, or null.
+     * Normally com.ibm.icu.impl.ICUBinary.dataCacheDir.
+     */
+    private static final File dataCacheDir;
+
+    private static final boolean DEBUG = ICUDebug.enabled("ICUBinary");
+
+    /**
+     * Maximum number of jar files kept in jarDataFiles.
+     */
+    private static final int MAX_JAR_DATA_FILES = 8;
+
+    /**
+     * Jar files from which classpath data has been mapped, keyed by their file system paths,
+     * in least-recently-used order. Synchronize on the map.
+     *
+     * <p>The jar files are closed right after mapping them.
+     * An evicted JarDataFile's mapping is released by the garbage collector
+     * once no buffer returned from it is referenced any more.
+     * The ICU data normally lives in one jar, so the limit is rarely reached.
+     */
+    private static final LinkedHashMap<File, JarDataFile> jarDataFiles =
+            new LinkedHashMap<File, JarDataFile>(MAX_JAR_DATA_FILES * 2, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<File, JarDataFile> eldest) {
+            return size() > MAX_JAR_DATA_FILES;
+        }
+    };
+
+    static {
+        mapClasspathData = Boolean.parseBoolean(
+                ICUConfig.get(ICUBinary.class.getName() + ".mapClasspathData", "false"));
+        String cacheDir = ICUConfig.get(ICUBinary.class.getName() + ".dataCacheDir");
+        if (cacheDir != null && cacheDir.trim().length() != 0) {
+            dataCacheDir = new File(cacheDir.trim());
+        } else {
+            dataCacheDir = null;
+        }
+    }
+
     private static void addDataFilesFromPath(String dataPath, List<DataFile> files) {
         // Split the path and find files in each location.
         // This splitting code avoids the regex pattern compilation in String.split()
@@ -490,6 +758,12 @@ private static ByteBuffer getData(ClassLoader loader, String resourceName,
         if (resourceName == null) {
             resourceName = ICUData.ICU_BASE_NAME + '/' + itemPath;
         }
+        if (mapClasspathData) {
+            bytes = getMappedData(loader, resourceName);
+            if (bytes != null) {
+                return bytes;
+            }
+        }
         ByteBuffer buffer = null;
         try {
             @SuppressWarnings("resource")  // Closed by getByteBufferFromInputStreamAndCloseStream().
@@ -514,6 +788,84 @@ private static ByteBuffer getDataFromFile(String itemPath) {
         return null;
     }
 
+    /**
+     * Memory-maps a data item that is found via the class loader,
+     * if it resides in a plain file or in a local jar file.
+     * Uncompressed jar entries are mapped in place.
+     * Compressed jar entries are mapped only if a data cache folder is configured
+     * (com.ibm.icu.impl.ICUBinary.dataCacheDir); they are extracted there once.
+     *
+     * <p>getData() calls this method when com.ibm.icu.impl.ICUBinary.mapClasspathData is true.
+     *
+     * @param loader The class loader.
+     * @param resourceName Resource name for use with the loader.
+     * @return The data as a read-only ByteBuffer,
+     *         or null if the resource could not be found or could not be mapped.
+     */
+    public static ByteBuffer getMappedData(ClassLoader loader, String resourceName) {
+        return getMappedData(loader, resourceName, dataCacheDir);
+    }
+
+    /**
+     * Same as {@link #getMappedData(ClassLoader, String)}
+     * but with an explicit folder for extracted compressed jar entries.
+     *
+     * @param loader The class loader.
+     * @param resourceName Resource name for use with the loader.
+     * @param cacheDir Folder for extracted compressed jar entries,
+     *                 or null if compressed entries are not to be mapped.
+     * @return The data as a read-only ByteBuffer,
+     *         or null if the resource could not be found or could not be mapped.
+     */
+    public static ByteBuffer getMappedData(ClassLoader loader, String resourceName, File cacheDir) {
+        URL url = ICUData.getResource(loader, resourceName);
+        if (url == null) {
+            return null;
+        }
+        try {
+            String protocol = url.getProtocol();
+            if (protocol.equals("file")) {
+                return mapFile(new File(url.toURI()));
+            } else if (protocol.equals("jar")) {
+                // jar:file:/path/to/icudata.jar!/com/ibm/icu/impl/data/...
+                String spec = url.getPath();
+                int sep = spec.indexOf("!/");
+                if (sep < 0) {
+                    return null;
+                }
+                URL jarURL = new URL(spec.substring(0, sep));
+                String entryName = spec.substring(sep + 2);
+                if (!jarURL.getProtocol().equals("file") || entryName.indexOf("!/") >= 0) {
+                    return null;  // not a local file, or a jar nested inside another jar
+                }
+                File jarPath = new File(jarURL.toURI());
+                JarDataFile jar;
+                synchronized (jarDataFiles) {
+                    jar = jarDataFiles.get(jarPath);
+                }
+                if (jar == null) {
+                    // Map and parse the jar outside the lock.
+                    jar = JarDataFile.open(jarPath);
+                    synchronized (jarDataFiles) {
+                        JarDataFile prev = jarDataFiles.get(jarPath);
+                        if (prev != null) {
+                            jar = prev;
+                        } else {
+                            jarDataFiles.put(jarPath, jar);
+                        }
+                    }
+                }
+                return jar.getData(entryName, cacheDir);
+            }
+        } catch (URISyntaxException ignored) {
+        } catch (IllegalArgumentException ignored) {
+            // File(URI) with an unexpected URI
+        } catch (MalformedURLException ignored) {
+        } catch (SecurityException ignored) {
+        }
+        return null;
+    }
+
     @SuppressWarnings("resource")  // Closing a file closes its channel.
     private static ByteBuffer mapFile(File path) {
         FileInputStream file;
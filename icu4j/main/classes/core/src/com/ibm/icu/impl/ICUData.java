@@ -104,6 +104,23 @@ public URL run() {
         return i != null;
     }
 
+    /**
+     * Should be called only from ICUBinary.getMappedData().
+     * @return the URL of the resource, or null if it could not be found
+     */
+    static URL getResource(final ClassLoader loader, final String resourceName) {
+        if (System.getSecurityManager() != null) {
+            return AccessController.doPrivileged(new PrivilegedAction<URL>() {
+                    @Override
+                    public URL run() {
+                        return loader.getResource(resourceName);
+                    }
+                });
+        } else {
+            return loader.getResource(resourceName);
+        }
+    }
+
     private static InputStream getStream(final Class<?> root, final String resourceName, boolean required) {
         InputStream i = null;
         if (System.getSecurityManager() != null) {
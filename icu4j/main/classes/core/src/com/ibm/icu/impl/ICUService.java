@@ -23,6 +23,7 @@
 import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 import com.ibm.icu.util.ULocale;
 import com.ibm.icu.util.ULocale.Category;
@@ -398,7 +399,21 @@ public Object getKey(Key key, String[] actualReturn, Factory factory) {
         if (DEBUG) System.out.println("Service: " + name + " key: " + key.canonicalID());
 
         CacheEntry result = null;
+        if (key != null && factory == null) {
+            // Fast path: A cache hit on the initial descriptor needs no lock.
+            // The cache map is replaced (not modified) when the factory list changes,
+            // so any map we see here is consistent with some recent factory list.
+            Map<String, CacheEntry> cache = this.cache;
+            if (cache != null) {
+                result = cache.get(key.currentDescriptor());
+                if (result != null) {
+                    hits.increment();
+                    return getResult(result, actualReturn);
+                }
+            }
+        }
         if (key != null) {
+            long start = System.nanoTime();
             try {
                 // The factory list can't be modified until we're done,
                 // otherwise we might update the cache with an invalid result.
@@ -442,6 +457,7 @@ public Object getKey(Key key, String[] actualReturn, Factory factory) {
                     result = cache.get(currentDescriptor);
                     if (result != null) {
                         if (DEBUG) System.out.println(name + " found with descriptor: " + currentDescriptor);
+                        hits.increment();
                         break outer;
                     } else {
                         if (DEBUG) System.out.println("did not find: " + currentDescriptor + " in cache");
@@ -460,6 +476,8 @@ public Object getKey(Key key, String[] actualReturn, Factory factory) {
                         Object service = f.create(key, this);
                         if (service != null) {
                             result = new CacheEntry(currentDescriptor, service);
+                            misses.increment();
+                            missNanos.add(System.nanoTime() - start);
                             if (DEBUG) System.out.println(name + " factory supported: " + currentDescriptor + ", caching");
                             break outer;
                         } else {
@@ -494,21 +512,16 @@ public Object getKey(Key key, String[] actualReturn, Factory factory) {
                         // so we know our cache is consistent with the factory list.
                         // We might stomp over a cache that some other thread
                         // rebuilt, but that's the breaks.  They're both good.
-                        this.cache = cache;
-                    }
-
-                    if (actualReturn != null) {
-                        // strip null prefix
-                        if (result.actualDescriptor.indexOf("/") == 0) {
-                            actualReturn[0] = result.actualDescriptor.substring(1);
-                        } else {
-                            actualReturn[0] = result.actualDescriptor;
+                        int sizeLimit = cacheSizeLimit;
+                        if (sizeLimit > 0 && cache.size() > sizeLimit) {
+                            evict(cache, sizeLimit);
                         }
+                        this.cache = cache;
                     }
 
                     if (DEBUG) System.out.println("found in service: " + name);
 
-                    return result.service;
+                    return getResult(result, actualReturn);
                 }
             }
             finally {
@@ -520,7 +533,43 @@ public Object getKey(Key key, String[] actualReturn, Factory factory) {
 
         return handleDefault(key, actualReturn);
     }
-    private Map<String, CacheEntry> cache;
+
+    private static Object getResult(CacheEntry result, String[] actualReturn) {
+        if (actualReturn != null) {
+            // strip null prefix
+            if (result.actualDescriptor.indexOf("/") == 0) {
+                actualReturn[0] = result.actualDescriptor.substring(1);
+            } else {
+                actualReturn[0] = result.actualDescriptor;
+            }
+        }
+        return result.service;
+    }
+
+    /**
+     * Removes entries from a cache that has grown beyond the size limit,
+     * until it is at three quarters of the limit.
+     * The ConcurrentHashMap iteration order is effectively random with respect
+     * to the descriptors, so this evicts an arbitrary subset.
+     */
+    private void evict(Map<String, CacheEntry> cache, int sizeLimit) {
+        int excess = cache.size() - (sizeLimit - sizeLimit / 4);
+        Iterator<String> iter = cache.keySet().iterator();
+        while (excess > 0 && iter.hasNext()) {
+            iter.next();
+            iter.remove();
+            evictions.increment();
+            --excess;
+        }
+    }
+
+    /**
+     * The service cache, or null if it has been cleared.
+     * Readers do not lock: The map is only modified while holding the read lock
+     * for the factory list that it is consistent with, and any change to the
+     * factory list replaces the map rather than modifying it.
+     */
+    private volatile Map<String, CacheEntry> cache;
 
     // Record the actual id for this service in the cache, so we can return it
     // even if we succeed later with a different id.
@@ -533,6 +582,160 @@ private static final class CacheEntry {
         }
     }
 
+    /**
+     * Default maximum number of service cache entries; 0 means no limit.
+     * Normally com.ibm.icu.impl.ICUService.cacheSizeLimit.
+     */
+    private static final int DEFAULT_CACHE_SIZE_LIMIT;
+    static {
+        int limit = 0;
+        try {
+            limit = Integer.parseInt(ICUConfig.get(ICUService.class.getName() + ".cacheSizeLimit", "0").trim());
+        } catch (NumberFormatException ignored) {
+        }
+        DEFAULT_CACHE_SIZE_LIMIT = Math.max(limit, 0);
+    }
+
+    private volatile int cacheSizeLimit = DEFAULT_CACHE_SIZE_LIMIT;
+
+    /**
+     * Sets the maximum number of entries in the service cache.
+     * When the cache grows beyond this size, arbitrary entries are evicted.
+     * @param sizeLimit the maximum number of entries, or 0 for no limit
+     */
+    public void setCacheSizeLimit(int sizeLimit) {
+        if (sizeLimit < 0) {
+            throw new IllegalArgumentException("negative cache size limit: " + sizeLimit);
+        }
+        cacheSizeLimit = sizeLimit;
+    }
+
+    /**
+     * Returns the maximum number of entries in the service cache, or 0 if there is no limit.
+     */
+    public int getCacheSizeLimit() {
+        return cacheSizeLimit;
+    }
+
+    /**
+     * A counter that can be incremented by many threads with little contention:
+     * Each thread adds to one of several cells, on separate cache lines,
+     * and the value is the sum of all cells.
+     */
+    private static final class StripedCounter {
+        private static final int STRIPES = 16;  // power of 2
+        private static final int PADDING = 8;  // longs per 64-byte cache line
+        private final AtomicLongArray cells = new AtomicLongArray(STRIPES * PADDING);
+
+        void increment() {
+            add(1);
+        }
+
+        void add(long delta) {
+            int stripe = (int) Thread.currentThread().getId() & (STRIPES - 1);
+            cells.addAndGet(stripe * PADDING, delta);
+        }
+
+        long get() {
+            long sum = 0;
+            for (int i = 0; i < STRIPES; ++i) {
+                sum += cells.get(i * PADDING);
+            }
+            return sum;
+        }
+    }
+
+    private final StripedCounter hits = new StripedCounter();
+    private final StripedCounter misses = new StripedCounter();
+    private final StripedCounter missNanos = new StripedCounter();
+    private final StripedCounter evictions = new StripedCounter();
+
+    /**
+     * A snapshot of the service cache statistics.
+     */
+    public static final class CacheStats {
+        /**
+         * Number of lookups that were answered from the cache.
+         */
+        public final long hits;
+
+        /**
+         * Number of lookups that created a new service object and cached it.
+         */
+        public final long misses;
+
+        /**
+         * Total time spent in lookups that missed the cache, in nanoseconds.
+         */
+        public final long missNanos;
+
+        /**
+         * Number of cache entries that were evicted because of the size limit.
+         */
+        public final long evictions;
+
+        /**
+         * Number of entries currently in the cache.
+         */
+        public final int size;
+
+        private CacheStats(long hits, long misses, long missNanos, long evictions, int size) {
+            this.hits = hits;
+            this.misses = misses;
+            this.missNanos = missNanos;
+            this.evictions = evictions;
+            this.size = size;
+        }
+
+        /**
+         * Return a string listing all the stats.
+         */
+        @Override
+        public String toString() {
+            return " hits: " + hits +
+                " misses: " + misses +
+                " missNanos: " + missNanos +
+                " evictions: " + evictions +
+                " size: " + size;
+        }
+    }
+
+    /**
+     * Returns a snapshot of the cache statistics of this service.
+     * The counters are cumulative over the lifetime of the service.
+     */
+    public CacheStats getCacheStats() {
+        Map<String, CacheEntry> cache = this.cache;
+        return new CacheStats(hits.get(), misses.get(), missNanos.get(), evictions.get(),
+                cache == null ? 0 : cache.size());
+    }
+
+    /**
+     * The ICU library's own services, keyed by name.
+     */
+    private static final Map<String, ICUService> libraryServices =
+            new ConcurrentHashMap<String, ICUService>();
+
+    /**
+     * Makes the cache statistics of this service available via getAllCacheStats().
+     * This is called by the ICU library's own services, for example the collator service.
+     */
+    protected final void registerCacheStats() {
+        libraryServices.put(name, this);
+    }
+
+    /**
+     * Returns the cache statistics of the services that called registerCacheStats(),
+     * keyed by service name, for example "Collator" or "NumberFormat".
+     */
+    public static Map<String, CacheStats> getAllCacheStats() {
+        Map<String, CacheStats> result = new TreeMap<String, CacheStats>();
+        for (Entry<String, ICUService> entry : libraryServices.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().getCacheStats());
+        }
+        return result;
+    }
+
 
     /**
      * Default handler for this service if no factory in the list
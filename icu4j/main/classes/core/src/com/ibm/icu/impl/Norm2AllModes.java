@@ -10,8 +10,10 @@
 package com.ibm.icu.impl;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
 
+import com.ibm.icu.text.Edits;
 import com.ibm.icu.text.Normalizer;
 import com.ibm.icu.text.Normalizer2;
 import com.ibm.icu.util.ICUUncheckedIOException;
@@ -75,6 +77,25 @@ public String getDecomposition(int c) {
         public boolean hasBoundaryAfter(int c) { return true; }
         @Override
         public boolean isInert(int c) { return true; }
+        @Override
+        public void normalizeUTF8(byte[] src, int start, int limit, OutputStream dest, Edits edits) {
+            if(start<0 || start>limit || limit>src.length) {
+                throw new IndexOutOfBoundsException();
+            }
+            if(edits!=null) {
+                edits.reset();
+                edits.addUnchanged(limit-start);
+            }
+            try {
+                dest.write(src, start, limit-start);
+            } catch (IOException e) {
+                throw new ICUUncheckedIOException(e);  // Avoid declaring "throws IOException".
+            }
+        }
+        @Override
+        public boolean isNormalizedUTF8(byte[] s, int start, int limit) { return true; }
+        @Override
+        public int spanQuickCheckYesUTF8(byte[] s, int start, int limit) { return limit; }
     }
 
     // Intermediate class:
@@ -159,6 +180,128 @@ public Normalizer.QuickCheckResult quickCheck(CharSequence s) {
 
         public abstract int getQuickCheck(int c);
 
+        // UTF-8
+        @Override
+        public void normalizeUTF8(byte[] src, int start, int limit, OutputStream dest, Edits edits) {
+            if(start<0 || start>limit || limit>src.length) {
+                throw new IndexOutOfBoundsException();
+            }
+            if(edits!=null) {
+                edits.reset();
+            }
+            StringBuilder segment=null, normalized=null;
+            byte[] buffer=null;
+            try {
+                while(start<limit) {
+                    // Copy the normalized prefix as bytes.
+                    int spanLimit=spanUTF8(src, start, limit);
+                    if(spanLimit>start) {
+                        dest.write(src, start, spanLimit-start);
+                        if(edits!=null) {
+                            edits.addUnchanged(spanLimit-start);
+                        }
+                        if((start=spanLimit)==limit) {
+                            break;
+                        }
+                    }
+                    int packed=UTF8Util.next(src, start, limit);
+                    int segmentLimit=start+UTF8Util.length(packed);
+                    if(UTF8Util.codePoint(packed)<0) {
+                        // Pass an ill-formed sequence through unchanged.
+                        dest.write(src, start, segmentLimit-start);
+                        if(edits!=null) {
+                            edits.addUnchanged(segmentLimit-start);
+                        }
+                        start=segmentLimit;
+                        continue;
+                    }
+                    // Find the end of the segment that needs to be normalized,
+                    // and normalize it via UTF-16.
+                    while(segmentLimit<limit) {
+                        packed=UTF8Util.next(src, segmentLimit, limit);
+                        int c=UTF8Util.codePoint(packed);
+                        if(c<0 || hasBoundaryBefore(c)) {
+                            break;
+                        }
+                        segmentLimit+=UTF8Util.length(packed);
+                    }
+                    if(segment==null) {
+                        segment=new StringBuilder();
+                        normalized=new StringBuilder();
+                    } else {
+                        segment.setLength(0);
+                    }
+                    UTF8Util.appendUTF16(src, start, segmentLimit, segment);
+                    normalize(segment, normalized);
+                    int capacity=normalized.length()*3;
+                    if(buffer==null || buffer.length<capacity) {
+                        buffer=new byte[Math.max(capacity, 64)];
+                    }
+                    int length=UTF8Util.appendUTF8(normalized, 0, normalized.length(), buffer, 0);
+                    dest.write(buffer, 0, length);
+                    if(edits!=null) {
+                        if(regionMatches(src, start, segmentLimit-start, buffer, length)) {
+                            edits.addUnchanged(length);
+                        } else {
+                            edits.addReplace(segmentLimit-start, length);
+                        }
+                    }
+                    start=segmentLimit;
+                }
+            } catch (IOException e) {
+                throw new ICUUncheckedIOException(e);  // Avoid declaring "throws IOException".
+            }
+        }
+        @Override
+        public boolean isNormalizedUTF8(byte[] s, int start, int limit) {
+            return spanQuickCheckYesUTF8(s, start, limit)==limit;
+        }
+        @Override
+        public int spanQuickCheckYesUTF8(byte[] s, int start, int limit) {
+            if(start<0 || start>limit || limit>s.length) {
+                throw new IndexOutOfBoundsException();
+            }
+            int spanLimit=spanUTF8(s, start, limit);
+            if(spanLimit==limit) {
+                return limit;
+            }
+            // Check the rest via UTF-16, and map the span length back to a UTF-8 index.
+            StringBuilder s16=UTF8Util.appendUTF16(s, spanLimit, limit, new StringBuilder(limit-spanLimit));
+            int spanLength16=spanQuickCheckYes(s16);
+            int length16=0;
+            while(length16<spanLength16) {
+                int packed=UTF8Util.next(s, spanLimit, limit);
+                length16+=UTF8Util.codePoint(packed)>=0x10000 ? 2 : 1;
+                spanLimit+=UTF8Util.length(packed);
+            }
+            return spanLimit;
+        }
+        /**
+         * Returns the end of a prefix of the UTF-8 text that is normalized
+         * and ends at a normalization boundary.
+         * The default implementation spans ASCII characters which are
+         * normalization-inert for decomposition and FCD.
+         */
+        protected int spanUTF8(byte[] s, int start, int limit) {
+            int minNoCP=Math.min(impl.getMinDecompNoOrLcccCP(), 0x80);
+            int b;
+            while(start<limit && (b=s[start])>=0 && b<minNoCP) {
+                ++start;
+            }
+            return start;
+        }
+        private static boolean regionMatches(byte[] s, int start, int length, byte[] t, int tLength) {
+            if(length!=tLength) {
+                return false;
+            }
+            for(int i=0; i<length; ++i) {
+                if(s[start+i]!=t[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
         public final Normalizer2Impl impl;
     }
 
@@ -244,6 +387,24 @@ public boolean hasBoundaryAfter(int c) {
         public boolean isInert(int c) {
             return impl.isCompInert(c, onlyContiguous);
         }
+        @Override
+        public boolean isNormalizedUTF8(byte[] s, int start, int limit) {
+            if(start<0 || start>limit || limit>s.length) {
+                throw new IndexOutOfBoundsException();
+            }
+            int spanLimitAndMaybe=impl.composeQuickCheckUTF8(s, start, limit, onlyContiguous, false);
+            if((spanLimitAndMaybe>>>1)!=limit) {
+                return false;  // "no"
+            } else if((spanLimitAndMaybe&1)==0) {
+                return true;  // "yes"
+            }
+            // "maybe": Resolve via UTF-16.
+            return isNormalized(UTF8Util.appendUTF16(s, start, limit, new StringBuilder(limit-start)));
+        }
+        @Override
+        protected int spanUTF8(byte[] s, int start, int limit) {
+            return impl.composeQuickCheckUTF8(s, start, limit, onlyContiguous, true)>>>1;
+        }
 
         private final boolean onlyContiguous;
     }
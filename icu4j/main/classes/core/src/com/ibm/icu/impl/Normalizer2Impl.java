@@ -686,6 +686,11 @@ public synchronized Normalizer2Impl ensureCanonIterData() {
         return this;
     }
 
+    /**
+     * Code points below this one have ccc=0 and no decomposition mapping.
+     */
+    public int getMinDecompNoOrLcccCP() { return Math.min(minDecompNoCP, minLcccCP); }
+
     // The trie stores values for lead surrogate code *units*.
     // Surrogate code *points* are inert.
     public int getNorm16(int c) {
@@ -1433,6 +1438,114 @@ public int composeQuickCheck(CharSequence s, int src, int limit,
             return prevBoundary<<1;  // "no"
         }
     }
+    /**
+     * Same as composeQuickCheck() but for UTF-8 input.
+     * Ill-formed UTF-8 sequences are treated like inert characters.
+     * @return bits 31..1: spanQuickCheckYes (==limit if "yes") and
+     *         bit 0: set if "maybe"; otherwise, if the span end&lt;limit
+     *         then the quick check result is "no"
+     */
+    public int composeQuickCheckUTF8(byte[] s, int src, int limit,
+                                     boolean onlyContiguous, boolean doSpan) {
+        int start=src;
+        int qcResult=0;
+        int prevBoundary=src;
+        int minNoMaybeCP=minCompNoMaybeCP;
+
+        for(;;) {
+            // Fast path: Scan over a sequence of characters below the minimum "no or maybe" code point,
+            // or with (compYes && ccc==0) properties.
+            int prevSrc;
+            int c;
+            int norm16;
+            for (;;) {
+                if(src==limit) {
+                    return (src<<1)|qcResult;  // "yes" or "maybe"
+                }
+                int b=s[src];
+                if(b>=0 && b<minNoMaybeCP) {
+                    ++src;
+                    continue;
+                }
+                int packed=UTF8Util.next(s, src, limit);
+                prevSrc=src;
+                src+=UTF8Util.length(packed);
+                c=UTF8Util.codePoint(packed);
+                if(c<minNoMaybeCP ||  // includes ill-formed sequences
+                    isCompYesAndZeroCC(norm16=getNorm16(c))
+                ) {
+                    continue;
+                }
+                break;
+            }
+            // isCompYesAndZeroCC(norm16) is false, that is, norm16>=minNoNo.
+            // The current character is either a "noNo" (has a mapping)
+            // or a "maybeYes" (combines backward)
+            // or a "yesYes" with ccc!=0.
+            // It is not a Hangul syllable or Jamo L because those have "yes" properties.
+
+            int prevNorm16 = INERT;
+            if (prevBoundary != prevSrc) {
+                prevBoundary = prevSrc;
+                if (!norm16HasCompBoundaryBefore(norm16)) {
+                    int packed = UTF8Util.previous(s, start, prevSrc);
+                    int prevCP = UTF8Util.codePoint(packed);
+                    int n16 = prevCP < 0 ? INERT : getNorm16(prevCP);
+                    if (!norm16HasCompBoundaryAfter(n16, onlyContiguous)) {
+                        prevBoundary -= UTF8Util.length(packed);
+                        prevNorm16 = n16;
+                    }
+                }
+            }
+
+            if(isMaybeOrNonZeroCC(norm16)) {
+                int cc=getCCFromYesOrMaybe(norm16);
+                if (onlyContiguous /* FCC */ && cc != 0 &&
+                        getTrailCCFromCompYesAndZeroCC(prevNorm16) > cc) {
+                    // The [prevBoundary..prevSrc[ character
+                    // passed the quick check "yes && ccc==0" test
+                    // but is out of canonical order with the current combining mark.
+                } else {
+                    // If !onlyContiguous (not FCC), then we ignore the tccc of
+                    // the previous character which passed the quick check "yes && ccc==0" test.
+                    int length;
+                    for (;;) {
+                        if (norm16 < MIN_YES_YES_WITH_CC) {
+                            if (!doSpan) {
+                                qcResult = 1;
+                            } else {
+                                return prevBoundary << 1;  // spanYes does not care to know it's "maybe"
+                            }
+                        }
+                        if (src == limit) {
+                            return (src<<1) | qcResult;  // "yes" or "maybe"
+                        }
+                        int prevCC = cc;
+                        int packed = UTF8Util.next(s, src, limit);
+                        length = UTF8Util.length(packed);
+                        c = UTF8Util.codePoint(packed);
+                        norm16 = c < 0 ? INERT : getNorm16(c);
+                        if (isMaybeOrNonZeroCC(norm16)) {
+                            cc = getCCFromYesOrMaybe(norm16);
+                            if (!(prevCC <= cc || cc == 0)) {
+                                break;
+                            }
+                        } else {
+                            break;
+                        }
+                        src += length;
+                    }
+                    // src is after the last in-order combining mark.
+                    if (isCompYesAndZeroCC(norm16)) {
+                        prevBoundary = src;
+                        src += length;
+                        continue;
+                    }
+                }
+            }
+            return prevBoundary<<1;  // "no"
+        }
+    }
     public void composeAndAppend(CharSequence s,
                                  boolean doCompose,
                                  boolean onlyContiguous,
@@ -681,10 +681,12 @@ private void getHistoricalOffset(long date, boolean local,
                 offsets[0] = initialRawOffset() * Grego.MILLIS_PER_SECOND;
                 offsets[1] = initialDstOffset() * Grego.MILLIS_PER_SECOND;
             } else {
-                // Linear search from the end is the fastest approach, since
-                // most lookups will happen at/near the end.
-                int transIdx;
-                for (transIdx = transitionCount - 1; transIdx >= 0; transIdx--) {
+                // Start with the last transition that can apply to this time.
+                // For local time, transitions within MAX_OFFSET_SECONDS after it
+                // may still apply, depending on the offsets around them,
+                // and the loop below checks those one by one.
+                int transIdx = findTransitionIndex(local ? sec + MAX_OFFSET_SECONDS : sec);
+                for (; transIdx >= 0; transIdx--) {
                     long transition = transitionTimes64[transIdx];
                     if (local && (sec >= (transition - MAX_OFFSET_SECONDS))) {
                         int offsetBefore = zoneOffsetAt(transIdx - 1);
@@ -743,6 +745,32 @@ private void getHistoricalOffset(long date, boolean local,
         }
     }
 
+    /**
+     * Returns the index of the last transition at or before the given time,
+     * or -1 if the time is before the first transition.
+     * Checks the last transition first, since most lookups happen at/near the end,
+     * and otherwise does a binary search.
+     */
+    private int findTransitionIndex(long sec) {
+        int last = transitionCount - 1;
+        if (sec >= transitionTimes64[last]) {
+            return last;
+        }
+        // Invariant: transitionTimes64[base] <= sec < transitionTimes64[base + length],
+        // with virtual transitionTimes64[-1] = -infinity.
+        // The loop body has a data-dependent update rather than a branch,
+        // which the compiler can turn into a conditional move.
+        int base = -1;
+        int length = transitionCount;
+        while (length > 1) {
+            int half = length >>> 1;
+            int mid = base + half;
+            base = (transitionTimes64[mid] <= sec) ? mid : base;
+            length -= half;
+        }
+        return base;
+    }
+
     private int getInt(byte val){
         return val & 0xFF;
     }
@@ -386,7 +386,7 @@ private static void prepareFind() {
                             trie.put(dst, dstInf);
                         }
                     }
-                    TZDB_NAMES_TRIE = trie;
+                    TZDB_NAMES_TRIE = trie.freeze();
                 }
             }
         }
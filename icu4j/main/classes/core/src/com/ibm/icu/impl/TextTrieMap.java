@@ -8,6 +8,8 @@
  */
 package com.ibm.icu.impl;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -19,11 +21,16 @@
 /**
  * TextTrieMap is a trie implementation for supporting
  * fast prefix match for the key.
+ * <p>
+ * While keys are being added, lookups are synchronized.
+ * After {@link #freeze()}, the trie is stored in compact arrays,
+ * it cannot be modified any more, and lookups are lock-free.
  */
 public class TextTrieMap<V> {
 
     private Node _root = new Node();
     boolean _ignoreCase;
+    private volatile FrozenTrie<V> _frozen;
 
     public static class Output {
         public int matchLength;
@@ -46,6 +53,9 @@ public TextTrieMap(boolean ignoreCase) {
      * @param val The value object associated with the text.
      */
     public TextTrieMap<V> put(CharSequence text, V val) {
+        if (_frozen != null) {
+            throw new UnsupportedOperationException("Attempt to modify a frozen TextTrieMap");
+        }
         CharIterator chitr = new CharIterator(text, 0, _ignoreCase);
         _root.add(chitr, val);
         return this;
@@ -98,7 +108,12 @@ public void find(CharSequence text, int offset, ResultHandler<V> handler) {
 
     private void find(CharSequence text, int offset, ResultHandler<V> handler, Output output) {
         CharIterator chitr = new CharIterator(text, offset, _ignoreCase);
-        find(_root, chitr, handler, output);
+        FrozenTrie<V> frozen = _frozen;
+        if (frozen != null) {
+            frozen.find(chitr, handler, output);
+        } else {
+            find(_root, chitr, handler, output);
+        }
     }
 
     private synchronized void find(Node node, CharIterator chitr, ResultHandler<V> handler, Output output) {
@@ -116,7 +131,34 @@ private synchronized void find(Node node, CharIterator chitr, ResultHandler<V> h
     }
 
     public void putLeadCodePoints(UnicodeSet output) {
-        _root.putLeadCodePoints(output);
+        FrozenTrie<V> frozen = _frozen;
+        if (frozen != null) {
+            frozen.putLeadCodePoints(output);
+        } else {
+            _root.putLeadCodePoints(output);
+        }
+    }
+
+    /**
+     * Converts the trie into an immutable, compact form.
+     * After this, {@link #put(CharSequence, Object)} throws an exception,
+     * and the find and get methods do not synchronize.
+     *
+     * @return this
+     */
+    public synchronized TextTrieMap<V> freeze() {
+        if (_frozen == null) {
+            _frozen = new FrozenTrie<V>(_root);
+            _root = null;
+        }
+        return this;
+    }
+
+    /**
+     * @return true if {@link #freeze()} has been called
+     */
+    public boolean isFrozen() {
+        return _frozen != null;
     }
 
     public static class CharIterator implements Iterator<Character> {
@@ -152,7 +194,15 @@ public Character next() {
             if (_nextIdx == _text.length() && _remainingChar == null) {
                 return null;
             }
-            Character next;
+            return nextChar();
+        }
+
+        /**
+         * Same as {@link #next()} but without boxing.
+         * Must only be called when {@link #hasNext()} returns true.
+         */
+        char nextChar() {
+            char next;
             if (_remainingChar != null) {
                 next = _remainingChar;
                 _remainingChar = null;
@@ -161,10 +211,11 @@ public Character next() {
                     int cp = UCharacter.foldCase(Character.codePointAt(_text, _nextIdx), true);
                     _nextIdx = _nextIdx + Character.charCount(cp);
 
-                    char[] chars = Character.toChars(cp);
-                    next = chars[0];
-                    if (chars.length == 2) {
-                        _remainingChar = chars[1];
+                    if (cp <= 0xffff) {
+                        next = (char) cp;
+                    } else {
+                        next = Character.highSurrogate(cp);
+                        _remainingChar = Character.lowSurrogate(cp);
                     }
                 } else {
                     next = _text.charAt(_nextIdx);
@@ -278,7 +329,7 @@ public Node findMatch(CharIterator chitr, Output output) {
                 return null;
             }
             Node match = null;
-            Character ch = chitr.next();
+            char ch = chitr.nextChar();
             for (Node child : _children) {
                 if (ch < child._text[0]) {
                     break;
@@ -363,7 +414,7 @@ private boolean matchFollowing(CharIterator chitr, Output output) {
                     matched = false;
                     break;
                 }
-                Character ch = chitr.next();
+                char ch = chitr.nextChar();
                 if (ch != _text[idx]) {
                     matched = false;
                     break;
@@ -408,6 +459,135 @@ private List<V> addValue(List<V> list, V value) {
         }
     }
 
+    /**
+     * Immutable form of the trie, built from the Node tree in breadth-first order
+     * so that the children of each node are consecutive, sorted by their first characters.
+     * Node 0 is the root.
+     */
+    private static final class FrozenTrie<V> {
+        /** The text of node n is text[textStarts[n]..textStarts[n+1]-1]. */
+        private final char[] text;
+        private final int[] textStarts;
+        /** The children of node n are nodes childStarts[n]..childStarts[n+1]-1. */
+        private final int[] childStarts;
+        /** The first text character of each node, for binary search among siblings. */
+        private final char[] firstChars;
+        private final List<V>[] values;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        FrozenTrie(TextTrieMap<V>.Node root) {
+            List<TextTrieMap<V>.Node> nodes = new ArrayList<TextTrieMap<V>.Node>();
+            nodes.add(root);
+            for (int i = 0; i < nodes.size(); i++) {
+                List<TextTrieMap<V>.Node> children = nodes.get(i)._children;
+                if (children != null) {
+                    nodes.addAll(children);
+                }
+            }
+            int count = nodes.size();
+            textStarts = new int[count + 1];
+            childStarts = new int[count + 1];
+            firstChars = new char[count];
+            values = new List[count];
+            int textLength = 0;
+            int childIndex = 1;
+            for (int i = 0; i < count; i++) {
+                TextTrieMap<V>.Node node = nodes.get(i);
+                textStarts[i] = textLength;
+                textLength += node.charCount();
+                childStarts[i] = childIndex;
+                if (node._children != null) {
+                    childIndex += node._children.size();
+                }
+                if (node.charCount() > 0) {
+                    firstChars[i] = node._text[0];
+                }
+                if (node._values != null) {
+                    values[i] = new ArrayList<V>(node._values);
+                }
+            }
+            textStarts[count] = textLength;
+            childStarts[count] = childIndex;
+            text = new char[textLength];
+            for (int i = 0; i < count; i++) {
+                TextTrieMap<V>.Node node = nodes.get(i);
+                if (node.charCount() > 0) {
+                    System.arraycopy(node._text, 0, text, textStarts[i], node.charCount());
+                }
+            }
+        }
+
+        void find(CharIterator chitr, ResultHandler<V> handler, Output output) {
+            int node = 0;
+            for (;;) {
+                List<V> nodeValues = values[node];
+                if (nodeValues != null) {
+                    if (!handler.handlePrefixMatch(chitr.processedLength(), nodeValues.iterator())) {
+                        return;
+                    }
+                }
+                int start = childStarts[node];
+                int limit = childStarts[node + 1];
+                if (start == limit) {
+                    return;
+                }
+                if (!chitr.hasNext()) {
+                    if (output != null) {
+                        output.partialMatch = true;
+                    }
+                    return;
+                }
+                int child = findChild(start, limit, chitr.nextChar());
+                if (child < 0) {
+                    return;
+                }
+                for (int i = textStarts[child] + 1, end = textStarts[child + 1]; i < end; i++) {
+                    if (!chitr.hasNext()) {
+                        if (output != null) {
+                            output.partialMatch = true;
+                        }
+                        return;
+                    }
+                    if (chitr.nextChar() != text[i]) {
+                        return;
+                    }
+                }
+                node = child;
+            }
+        }
+
+        private int findChild(int start, int limit, char c) {
+            while (start < limit) {
+                int mid = (start + limit) >>> 1;
+                char midChar = firstChars[mid];
+                if (c < midChar) {
+                    limit = mid;
+                } else if (c > midChar) {
+                    start = mid + 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -1;
+        }
+
+        void putLeadCodePoints(UnicodeSet output) {
+            for (int child = childStarts[0]; child < childStarts[1]; child++) {
+                char c0 = firstChars[child];
+                if (!UCharacter.isHighSurrogate(c0)) {
+                    output.add(c0);
+                } else if (textStarts[child + 1] - textStarts[child] >= 2) {
+                    output.add(Character.codePointAt(text, textStarts[child]));
+                } else {
+                    // Construct all possible code points from grandchildren.
+                    for (int grandchild = childStarts[child]; grandchild < childStarts[child + 1]; grandchild++) {
+                        output.add(Character.toCodePoint(c0, firstChars[grandchild]));
+                    }
+                }
+            }
+        }
+    }
+
     private static char[] toCharArray(CharSequence text) {
         char[] array = new char[text.length()];
         for (int i = 0; i < array.length; i++) {
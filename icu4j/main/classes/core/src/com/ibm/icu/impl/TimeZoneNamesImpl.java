@@ -60,6 +60,8 @@ public class TimeZoneNamesImpl extends TimeZoneNames {
 
     private transient TextTrieMap<NameInfo> _namesTrie;
     private transient boolean _namesTrieFullyLoaded;
+    /** Set to the frozen _namesTrie once it is fully loaded; then find() needs no lock. */
+    private transient volatile TextTrieMap<NameInfo> _frozenNamesTrie;
 
     public TimeZoneNamesImpl(ULocale locale) {
         initialize(locale);
@@ -197,11 +199,20 @@ public String getExemplarLocationName(String tzID) {
      * @see com.ibm.icu.text.TimeZoneNames#find(java.lang.CharSequence, int, java.util.Set)
      */
     @Override
-    public synchronized Collection<MatchInfo> find(CharSequence text, int start, EnumSet<NameType> nameTypes) {
+    public Collection<MatchInfo> find(CharSequence text, int start, EnumSet<NameType> nameTypes) {
         if (text == null || text.length() == 0 || start < 0 || start >= text.length()) {
             throw new IllegalArgumentException("bad input text or range");
         }
         NameSearchHandler handler = new NameSearchHandler(nameTypes);
+        TextTrieMap<NameInfo> frozenTrie = _frozenNamesTrie;
+        if (frozenTrie != null) {
+            frozenTrie.find(text, start, handler);
+            return handler.getMatches();
+        }
+        return findAndLoad(handler, text, start);
+    }
+
+    private synchronized Collection<MatchInfo> findAndLoad(NameSearchHandler handler, CharSequence text, int start) {
         Collection<MatchInfo> matches;
 
         // First try of lookup.
@@ -224,6 +235,24 @@ public synchronized Collection<MatchInfo> find(CharSequence text, int start, Enu
 
         // There are still some names we haven't loaded into the trie yet.
         // Load everything now.
+        loadAllNamesIntoTrie();
+
+        // Third try: we must return this one.
+        return doFind(handler, text, start);
+    }
+
+    /**
+     * Loads all names and builds the complete, frozen parsing trie,
+     * so that later calls to find() neither load data nor lock.
+     */
+    public synchronized void preloadParsingData() {
+        if (!_namesTrieFullyLoaded) {
+            loadAllNamesIntoTrie();
+        }
+    }
+
+    /** Caller must synchronize. */
+    private void loadAllNamesIntoTrie() {
         internalLoadAllDisplayNames();
 
         // Set default time zone location names
@@ -237,9 +266,7 @@ public synchronized Collection<MatchInfo> find(CharSequence text, int start, Enu
         }
         addAllNamesIntoTrie();
         _namesTrieFullyLoaded = true;
-
-        // Third try: we must return this one.
-        return doFind(handler, text, start);
+        _frozenNamesTrie = _namesTrie.freeze();
     }
 
     private Collection<MatchInfo> doFind(NameSearchHandler handler, CharSequence text, int start) {
@@ -0,0 +1,210 @@
+// © 2020 and later: Unicode, Inc. and others.
+// License & terms of use: http://www.unicode.org/copyright.html
+package com.ibm.icu.impl;
+
+/**
+ * Low-level UTF-8 code point iteration over byte arrays,
+ * equivalent to the U8_NEXT and U8_APPEND macros in ICU4C's utf8.h.
+ *
+ * <p>Ill-formed sequences are handled like in ICU4C:
+ * each maximal subpart of an ill-formed subsequence is returned as one unit,
+ * as recommended by the Unicode Standard (chapter 3, "U+FFFD Substitution of Maximal Subparts").
+ */
+public final class UTF8Util {
+    /** Code point value returned by {@link #codePoint(int)} for an ill-formed sequence. */
+    public static final int ILL_FORMED = -1;
+
+    private static final int CP_MASK = 0x1fffff;
+    private static final int LENGTH_SHIFT = 21;
+
+    private UTF8Util() {}
+
+    /**
+     * Decodes the code point or ill-formed sequence starting at s[i].
+     * Use {@link #codePoint(int)} and {@link #length(int)} to unpack the result.
+     *
+     * @param s UTF-8 bytes
+     * @param i start index, must be less than limit
+     * @param limit end index of the text
+     * @return the code point and the number of bytes, packed into one int
+     */
+    public static int next(byte[] s, int i, int limit) {
+        int b = s[i];
+        if (b >= 0) {
+            return (1 << LENGTH_SHIFT) | b;
+        }
+        b &= 0xff;
+        int c, trailCount;
+        int lower = 0x80, upper = 0xbf;
+        if (b < 0xc2) {
+            return (1 << LENGTH_SHIFT) | CP_MASK;
+        } else if (b <= 0xdf) {
+            trailCount = 1;
+            c = b & 0x1f;
+        } else if (b <= 0xef) {
+            trailCount = 2;
+            c = b & 0xf;
+            if (b == 0xe0) {
+                lower = 0xa0;
+            } else if (b == 0xed) {
+                upper = 0x9f;  // no surrogates
+            }
+        } else if (b <= 0xf4) {
+            trailCount = 3;
+            c = b & 7;
+            if (b == 0xf0) {
+                lower = 0x90;
+            } else if (b == 0xf4) {
+                upper = 0x8f;  // up to U+10FFFF
+            }
+        } else {
+            return (1 << LENGTH_SHIFT) | CP_MASK;
+        }
+        int j = i + 1;
+        for (int k = 0; k < trailCount; ++k, ++j) {
+            int t;
+            if (j == limit || (t = s[j] & 0xff) < lower || t > upper) {
+                return ((j - i) << LENGTH_SHIFT) | CP_MASK;
+            }
+            c = (c << 6) | (t & 0x3f);
+            lower = 0x80;
+            upper = 0xbf;
+        }
+        return ((trailCount + 1) << LENGTH_SHIFT) | c;
+    }
+
+    /**
+     * Decodes the code point or ill-formed sequence that ends before s[i].
+     * The result is consistent with forward iteration via {@link #next(byte[], int, int)}
+     * when i is the end of a code point or ill-formed sequence.
+     *
+     * @param s UTF-8 bytes
+     * @param start start index of the text
+     * @param i end index, must be greater than start
+     * @return the code point and the number of bytes, packed into one int
+     */
+    public static int previous(byte[] s, int start, int i) {
+        int b = s[i - 1];
+        if (b >= 0) {
+            return (1 << LENGTH_SHIFT) | b;
+        }
+        int lead = i - 1;
+        int min = Math.max(start, i - 4);
+        while (lead > min && (s[lead] & 0xc0) == 0x80) {
+            --lead;
+        }
+        int packed = next(s, lead, i);
+        if (lead + length(packed) == i) {
+            return packed;
+        }
+        return (1 << LENGTH_SHIFT) | CP_MASK;
+    }
+
+    /**
+     * @param packed a value returned by {@link #next(byte[], int, int)}
+     * @return the code point, or {@link #ILL_FORMED}
+     */
+    public static int codePoint(int packed) {
+        int c = packed & CP_MASK;
+        return c == CP_MASK ? ILL_FORMED : c;
+    }
+
+    /**
+     * @param packed a value returned by {@link #next(byte[], int, int)}
+     * @return the number of bytes of the code point or ill-formed sequence, 1..4
+     */
+    public static int length(int packed) {
+        return packed >>> LENGTH_SHIFT;
+    }
+
+    /**
+     * @param c a code point
+     * @return the number of bytes needed to encode c in UTF-8
+     */
+    public static int byteCount(int c) {
+        return c <= 0x7f ? 1 : c <= 0x7ff ? 2 : c <= 0xffff ? 3 : 4;
+    }
+
+    /**
+     * Writes the UTF-8 bytes of a code point into dest, which must have enough space.
+     *
+     * @param dest destination array
+     * @param i index at which to write
+     * @param c a code point, not a surrogate
+     * @return the index after the written bytes
+     */
+    public static int append(byte[] dest, int i, int c) {
+        if (c <= 0x7f) {
+            dest[i++] = (byte) c;
+        } else {
+            if (c <= 0x7ff) {
+                dest[i++] = (byte) ((c >> 6) | 0xc0);
+            } else {
+                if (c <= 0xffff) {
+                    dest[i++] = (byte) ((c >> 12) | 0xe0);
+                } else {
+                    dest[i++] = (byte) ((c >> 18) | 0xf0);
+                    dest[i++] = (byte) (((c >> 12) & 0x3f) | 0x80);
+                }
+                dest[i++] = (byte) (((c >> 6) & 0x3f) | 0x80);
+            }
+            dest[i++] = (byte) ((c & 0x3f) | 0x80);
+        }
+        return i;
+    }
+
+    /**
+     * Decodes UTF-8 bytes and appends the UTF-16 text to dest.
+     * Each maximal subpart of an ill-formed subsequence is replaced by U+FFFD.
+     *
+     * @param s UTF-8 bytes
+     * @param start start index
+     * @param limit end index
+     * @param dest gets the UTF-16 text appended
+     * @return dest
+     */
+    public static StringBuilder appendUTF16(byte[] s, int start, int limit, StringBuilder dest) {
+        while (start < limit) {
+            int b = s[start];
+            if (b >= 0) {
+                dest.append((char) b);
+                ++start;
+                continue;
+            }
+            int packed = next(s, start, limit);
+            int c = codePoint(packed);
+            dest.appendCodePoint(c < 0 ? 0xfffd : c);
+            start += length(packed);
+        }
+        return dest;
+    }
+
+    /**
+     * Encodes UTF-16 text into UTF-8 bytes.
+     * dest must have room for at least 3 bytes per UTF-16 code unit.
+     * An unpaired surrogate is encoded as U+FFFD.
+     *
+     * @param s UTF-16 text
+     * @param start start index in s
+     * @param limit end index in s
+     * @param dest destination array
+     * @param i index in dest at which to write
+     * @return the index after the written bytes
+     */
+    public static int appendUTF8(CharSequence s, int start, int limit, byte[] dest, int i) {
+        while (start < limit) {
+            char c = s.charAt(start++);
+            if (c <= 0x7f) {
+                dest[i++] = (byte) c;
+            } else if (!Character.isSurrogate(c)) {
+                i = append(dest, i, c);
+            } else if (Character.isHighSurrogate(c) && start < limit
+                    && Character.isLowSurrogate(s.charAt(start))) {
+                i = append(dest, i, Character.toCodePoint(c, s.charAt(start++)));
+            } else {
+                i = append(dest, i, 0xfffd);
+            }
+        }
+        return i;
+    }
+}
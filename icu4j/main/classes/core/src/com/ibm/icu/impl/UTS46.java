@@ -8,6 +8,8 @@
 */
 package com.ibm.icu.impl;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.EnumSet;
 
 import com.ibm.icu.impl.Normalizer2Impl.UTF16Plus;
@@ -19,6 +21,7 @@
 import com.ibm.icu.text.Normalizer2;
 import com.ibm.icu.text.StringPrepParseException;
 import com.ibm.icu.util.ICUException;
+import com.ibm.icu.util.ICUUncheckedIOException;
 
 // Note about tests for IDNA.Error.DOMAIN_NAME_TOO_LONG:
 //
@@ -65,6 +68,34 @@ public StringBuilder nameToUnicode(CharSequence name, StringBuilder dest, Info i
         return process(name, false, false, dest, info);
     }
 
+    @Override
+    public void labelToASCII_UTF8(byte[] label, int start, int limit, OutputStream dest, Info info) {
+        if(!processASCII(label, start, limit, true, true, dest, info)) {
+            super.labelToASCII_UTF8(label, start, limit, dest, info);
+        }
+    }
+
+    @Override
+    public void labelToUnicodeUTF8(byte[] label, int start, int limit, OutputStream dest, Info info) {
+        if(!processASCII(label, start, limit, true, false, dest, info)) {
+            super.labelToUnicodeUTF8(label, start, limit, dest, info);
+        }
+    }
+
+    @Override
+    public void nameToASCII_UTF8(byte[] name, int start, int limit, OutputStream dest, Info info) {
+        if(!processASCII(name, start, limit, false, true, dest, info)) {
+            super.nameToASCII_UTF8(name, start, limit, dest, info);
+        }
+    }
+
+    @Override
+    public void nameToUnicodeUTF8(byte[] name, int start, int limit, OutputStream dest, Info info) {
+        if(!processASCII(name, start, limit, false, false, dest, info)) {
+            super.nameToUnicodeUTF8(name, start, limit, dest, info);
+        }
+    }
+
     private static final Normalizer2 uts46Norm2=
         Normalizer2.getInstance(null, "uts46", Normalizer2.Mode.COMPOSE);  // uts46.nrm
     final int options;
@@ -110,6 +141,98 @@ public StringBuilder nameToUnicode(CharSequence name, StringBuilder dest, Info i
          0,  0,  0,  0,  0,  0,  0,  0,  0,  0,  0, -1, -1, -1, -1, -1
     };
 
+    /**
+     * The ASCII fastpath of process() for UTF-8 input.
+     * If the whole input is handled by the fastpath, then writes the result to dest
+     * (the input bytes with uppercase letters lowercased) and returns true.
+     * Otherwise writes nothing and returns false, and the caller processes the input
+     * the slow way, which also resets the info again.
+     */
+    private boolean
+    processASCII(byte[] src, int start, int limit,
+                 boolean isLabel, boolean toASCII,
+                 OutputStream dest,
+                 Info info) {
+        checkBounds(src, start, limit);
+        if(start==limit) {
+            return false;
+        }
+        resetInfo(info);
+        boolean disallowNonLDHDot=(options&USE_STD3_RULES)!=0;
+        boolean hasUppercase=false;
+        int labelStart=start;
+        for(int i=start;; ++i) {
+            if(i==limit) {
+                if(toASCII) {
+                    if((i-labelStart)>63) {
+                        addLabelError(info, Error.LABEL_TOO_LONG);
+                    }
+                    // There is a trailing dot if labelStart==i.
+                    if(!isLabel && (i-start)>=254 && ((i-start)>254 || labelStart<i)) {
+                        addError(info, Error.DOMAIN_NAME_TOO_LONG);
+                    }
+                }
+                promoteAndResetLabelErrors(info);
+                break;
+            }
+            byte b=src[i];
+            if(b<0) {
+                return false;  // non-ASCII
+            }
+            int cData=asciiData[b];
+            if(cData>0) {
+                hasUppercase=true;
+            } else if(cData<0 && disallowNonLDHDot) {
+                return false;
+            } else if(b=='-') {  // hyphen
+                if(i==(labelStart+3) && src[i-1]=='-') {
+                    // "??--..." is Punycode or forbidden.
+                    return false;
+                }
+                if(i==labelStart) {
+                    // label starts with "-"
+                    addLabelError(info, Error.LEADING_HYPHEN);
+                }
+                if((i+1)==limit || src[i+1]=='.') {
+                    // label ends with "-"
+                    addLabelError(info, Error.TRAILING_HYPHEN);
+                }
+            } else if(b=='.') {  // dot
+                if(isLabel) {
+                    return false;
+                }
+                if(i==labelStart) {
+                    addLabelError(info, Error.EMPTY_LABEL);
+                }
+                if(toASCII && (i-labelStart)>63) {
+                    addLabelError(info, Error.LABEL_TOO_LONG);
+                }
+                promoteAndResetLabelErrors(info);
+                labelStart=i+1;
+            }
+        }
+        try {
+            if(!hasUppercase) {
+                dest.write(src, start, limit-start);
+            } else {
+                // Write runs of the input, and lowercase each uppercase ASCII letter.
+                int runStart=start;
+                for(int i=start; i<limit; ++i) {
+                    byte b=src[i];
+                    if(asciiData[b]>0) {
+                        dest.write(src, runStart, i-runStart);
+                        dest.write(b+0x20);
+                        runStart=i+1;
+                    }
+                }
+                dest.write(src, runStart, limit-runStart);
+            }
+        } catch(IOException e) {
+            throw new ICUUncheckedIOException(e);
+        }
+        return true;
+    }
+
     private StringBuilder
     process(CharSequence src,
             boolean isLabel, boolean toASCII,
@@ -12,6 +12,7 @@
 package com.ibm.icu.impl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
 import com.ibm.icu.text.UnicodeSet;
 import com.ibm.icu.text.UnicodeSet.SpanCondition;
@@ -31,16 +32,21 @@ public class UnicodeSetStringSpan {
     public static final int WITH_COUNT    = 0x40;  // spanAndCount() may be called
     public static final int FWD           = 0x20;
     public static final int BACK          = 0x10;
-    // public static final int UTF16      = 8;
+    public static final int UTF16         = 8;
+    public static final int UTF8          = 4;
     public static final int CONTAINED     = 2;
     public static final int NOT_CONTAINED = 1;
 
     public static final int ALL = 0x7f;
 
-    public static final int FWD_UTF16_CONTAINED      = FWD  | /* UTF16 | */    CONTAINED;
-    public static final int FWD_UTF16_NOT_CONTAINED  = FWD  | /* UTF16 | */NOT_CONTAINED;
-    public static final int BACK_UTF16_CONTAINED     = BACK | /* UTF16 | */    CONTAINED;
-    public static final int BACK_UTF16_NOT_CONTAINED = BACK | /* UTF16 | */NOT_CONTAINED;
+    public static final int FWD_UTF16_CONTAINED      = FWD  | UTF16 |     CONTAINED;
+    public static final int FWD_UTF16_NOT_CONTAINED  = FWD  | UTF16 | NOT_CONTAINED;
+    public static final int BACK_UTF16_CONTAINED     = BACK | UTF16 |     CONTAINED;
+    public static final int BACK_UTF16_NOT_CONTAINED = BACK | UTF16 | NOT_CONTAINED;
+    public static final int FWD_UTF8_CONTAINED       = FWD  | UTF8  |     CONTAINED;
+    public static final int FWD_UTF8_NOT_CONTAINED   = FWD  | UTF8  | NOT_CONTAINED;
+    public static final int BACK_UTF8_CONTAINED      = BACK | UTF8  |     CONTAINED;
+    public static final int BACK_UTF8_NOT_CONTAINED  = BACK | UTF8  | NOT_CONTAINED;
 
     /**
      * Special spanLength short values. (since Java has not unsigned byte type)
@@ -62,11 +68,22 @@ public class UnicodeSetStringSpan {
     /** The strings of the parent set. */
     private ArrayList<String> strings;
 
-    /** The lengths of span(), spanBack() etc. for each string. */
+    /**
+     * The UTF-8 versions of the strings, for spanUTF8() etc.
+     * null for a string that is not needed or that is not representable in UTF-8
+     * (contains an unpaired surrogate).
+     */
+    private byte[][] utf8Strings;
+
+    /**
+     * The lengths of span(), spanBack() etc. for each string.
+     * When set up for all variants: UTF-16 forward, UTF-16 backward, UTF-8 forward, UTF-8 backward.
+     */
     private short[] spanLengths;
 
     /** Maximum lengths of relevant strings. */
     private final int maxLength16;
+    private final int maxLength8;
 
     /** Are there strings that are not fully contained in the code point set? */
     private boolean someRelevant;
@@ -82,6 +99,15 @@ public class UnicodeSetStringSpan {
      * Initializes as little as possible, for single use.
      */
     public UnicodeSetStringSpan(final UnicodeSet set, final ArrayList<String> setStrings, int which) {
+        this(set, setStrings, which, false);
+    }
+
+    /**
+     * Same as above, and when set up for all variants,
+     * freezes the code point sets with CodePointTries if withTrie is true.
+     */
+    public UnicodeSetStringSpan(final UnicodeSet set, final ArrayList<String> setStrings, int which,
+            boolean withTrie) {
         spanSet = new UnicodeSet(0, 0x10ffff);
         // TODO: With Java 6, just take the parent set's strings as is,
         // as a NavigableSet<String>, rather than as an ArrayList copy of the set of strings.
@@ -108,20 +134,35 @@ public UnicodeSetStringSpan(final UnicodeSet set, final ArrayList<String> setStr
         int stringsLength = strings.size();
 
         int i, spanLength;
-        int maxLength16 = 0;
+        int maxLength16 = 0, maxLength8 = 0;
         someRelevant = false;
+        if (0 != (which & UTF8)) {
+            utf8Strings = new byte[stringsLength][];
+        }
         for (i = 0; i < stringsLength; ++i) {
             String string = strings.get(i);
             int length16 = string.length();
+            boolean thisRelevant;
             spanLength = spanSet.span(string, SpanCondition.CONTAINED);
             if (spanLength < length16) { // Relevant string.
-                someRelevant = true;
+                someRelevant = thisRelevant = true;
+            } else {
+                thisRelevant = false;
             }
-            if (/* (0 != (which & UTF16)) && */ length16 > maxLength16) {
+            if (0 != (which & UTF16) && length16 > maxLength16) {
                 maxLength16 = length16;
             }
+            // Irrelevant strings are only needed in UTF-8 for span(longest match).
+            if (0 != (which & UTF8) && (thisRelevant || 0 != (which & CONTAINED))) {
+                byte[] s8 = getUTF8(string);
+                utf8Strings[i] = s8;
+                if (s8 != null && s8.length > maxLength8) {
+                    maxLength8 = s8.length;
+                }
+            }
         }
         this.maxLength16 = maxLength16;
+        this.maxLength8 = someRelevant ? maxLength8 : 0;
         if (!someRelevant && (which & WITH_COUNT) == 0) {
             return;
         }
@@ -129,16 +170,16 @@ public UnicodeSetStringSpan(final UnicodeSet set, final ArrayList<String> setStr
         // Freeze after checking for the need to use strings at all because freezing
         // a set takes some time and memory which are wasted if there are no relevant strings.
         if (all) {
-            spanSet.freeze();
+            freeze(spanSet, withTrie);
         }
 
-        int spanBackLengthsOffset;
+        int spanBackLengthsOffset, spanUTF8LengthsOffset, spanBackUTF8LengthsOffset;
 
         // Allocate a block of meta data.
         int allocSize;
         if (all) {
-            // 2 sets of span lengths
-            allocSize = stringsLength * (2);
+            // 4 sets of span lengths
+            allocSize = stringsLength * (4);
         } else {
             allocSize = stringsLength; // One set of span lengths.
         }
@@ -147,9 +188,11 @@ public UnicodeSetStringSpan(final UnicodeSet set, final ArrayList<String> setStr
         if (all) {
             // Store span lengths for all span() variants.
             spanBackLengthsOffset = stringsLength;
+            spanUTF8LengthsOffset = 2 * stringsLength;
+            spanBackUTF8LengthsOffset = 3 * stringsLength;
         } else {
             // Store span lengths for only one span() variant.
-            spanBackLengthsOffset = 0;
+            spanBackLengthsOffset = spanUTF8LengthsOffset = spanBackUTF8LengthsOffset = 0;
         }
 
         // Set the meta data and spanNotSet and write the UTF-8 strings.
@@ -159,7 +202,7 @@ public UnicodeSetStringSpan(final UnicodeSet set, final ArrayList<String> setStr
             int length16 = string.length();
             spanLength = spanSet.span(string, SpanCondition.CONTAINED);
             if (spanLength < length16) { // Relevant string.
-                if (true /* 0 != (which & UTF16) */) {
+                if (0 != (which & UTF16)) {
                     if (0 != (which & CONTAINED)) {
                         if (0 != (which & FWD)) {
                             spanLengths[i] = makeSpanLengthByte(spanLength);
@@ -174,6 +217,27 @@ public UnicodeSetStringSpan(final UnicodeSet set, final ArrayList<String> setStr
                                                                                      // flag.
                     }
                 }
+                if (0 != (which & UTF8)) {
+                    byte[] s8 = utf8Strings[i];
+                    if (s8 == null) { // Irrelevant for UTF-8 because not representable in UTF-8.
+                        spanLengths[spanUTF8LengthsOffset + i] = spanLengths[spanBackUTF8LengthsOffset + i] =
+                                ALL_CP_CONTAINED;
+                    } else { // Relevant for UTF-8.
+                        int length8 = s8.length;
+                        if (0 != (which & CONTAINED)) {
+                            if (0 != (which & FWD)) {
+                                spanLength = spanSet.spanUTF8(s8, 0, length8, SpanCondition.CONTAINED);
+                                spanLengths[spanUTF8LengthsOffset + i] = makeSpanLengthByte(spanLength);
+                            }
+                            if (0 != (which & BACK)) {
+                                spanLength = length8 - spanSet.spanBackUTF8(s8, 0, length8, SpanCondition.CONTAINED);
+                                spanLengths[spanBackUTF8LengthsOffset + i] = makeSpanLengthByte(spanLength);
+                            }
+                        } else /* not CONTAINED, not all, but NOT_CONTAINED */{
+                            spanLengths[spanUTF8LengthsOffset + i] = spanLengths[spanBackUTF8LengthsOffset + i] = 0;
+                        }
+                    }
+                }
                 if (0 != (which & NOT_CONTAINED)) {
                     // Add string start and end code points to the spanNotSet so that
                     // a span(while not contained) stops before any string.
@@ -189,7 +253,9 @@ public UnicodeSetStringSpan(final UnicodeSet set, final ArrayList<String> setStr
                 }
             } else { // Irrelevant string.
                 if (all) {
-                    spanLengths[i] = spanLengths[spanBackLengthsOffset + i] = ALL_CP_CONTAINED;
+                    spanLengths[i] = spanLengths[spanBackLengthsOffset + i] =
+                            spanLengths[spanUTF8LengthsOffset + i] = spanLengths[spanBackUTF8LengthsOffset + i] =
+                                    ALL_CP_CONTAINED;
                 } else {
                     // All spanXYZLengths pointers contain the same address.
                     spanLengths[i] = ALL_CP_CONTAINED;
@@ -199,7 +265,15 @@ public UnicodeSetStringSpan(final UnicodeSet set, final ArrayList<String> setStr
 
         // Finish.
         if (all) {
-            spanNotSet.freeze();
+            freeze(spanNotSet, withTrie);
+        }
+    }
+
+    private static void freeze(UnicodeSet set, boolean withTrie) {
+        if (withTrie) {
+            set.freezeWithCodePointTrie();
+        } else {
+            set.freeze();
         }
     }
 
@@ -211,7 +285,9 @@ public UnicodeSetStringSpan(final UnicodeSetStringSpan otherStringSpan,
             final ArrayList<String> newParentSetStrings) {
         spanSet = otherStringSpan.spanSet;
         strings = newParentSetStrings;
+        utf8Strings = otherStringSpan.utf8Strings;  // The byte arrays are never modified.
         maxLength16 = otherStringSpan.maxLength16;
+        maxLength8 = otherStringSpan.maxLength8;
         someRelevant = otherStringSpan.someRelevant;
         all = true;
         if (Utility.sameObjects(otherStringSpan.spanNotSet, otherStringSpan.spanSet)) {
@@ -234,6 +310,16 @@ public boolean needsStringSpanUTF16() {
         return someRelevant;
     }
 
+    /**
+     * Do the strings need to be checked in spanUTF8() etc.?
+     *
+     * @return true if strings need to be checked (call spanUTF8() here),
+     *         false if not (use a BMPSet for best performance).
+     */
+    public boolean needsStringSpanUTF8() {
+        return maxLength8 != 0;
+    }
+
     /** For fast UnicodeSet::contains(c). */
     public boolean contains(int c) {
         return spanSet.contains(c);
@@ -931,6 +1017,464 @@ private int spanNotBack(CharSequence s, int length) {
         return 0; // Reached the start of the string.
     }
 
+    /**
+     * Spans UTF-8 bytes. Same as span() but for s[start..limit[ in UTF-8.
+     * Ill-formed sequences are treated like U+FFFD and never match a set string.
+     *
+     * @param s The UTF-8 bytes to be spanned
+     * @param start The start index that the span begins
+     * @param limit The limit (exclusive end) of the bytes to be spanned
+     * @param spanCondition The span condition
+     * @return the limit (exclusive end) of the span
+     */
+    public int spanUTF8(byte[] s, int start, int limit, SpanCondition spanCondition) {
+        if (spanCondition == SpanCondition.NOT_CONTAINED) {
+            return spanNotUTF8(s, start, limit);
+        }
+        int spanLimit = spanSet.spanUTF8(s, start, limit, SpanCondition.CONTAINED);
+        if (spanLimit == limit) {
+            return spanLimit;
+        }
+        return spanWithStringsUTF8(s, start, limit, spanLimit, spanCondition);
+    }
+
+    /**
+     * Synchronized method for complicated UTF-8 spans using the offsets.
+     * Same algorithm as spanWithStrings().
+     *
+     * @param spanLimit = spanSet.spanUTF8(s, start, limit, CONTAINED)
+     */
+    private synchronized int spanWithStringsUTF8(byte[] s, int start, int limit, int spanLimit,
+            SpanCondition spanCondition) {
+        // Consider strings; they may overlap with the span.
+        int initSize = 0;
+        if (spanCondition == SpanCondition.CONTAINED) {
+            // Use offset list to try all possibilities.
+            initSize = maxLength8;
+        }
+        offsets.setMaxLength(initSize);
+        int pos = spanLimit, rest = limit - spanLimit;
+        int spanLength = spanLimit - start;
+        int i, stringsLength = strings.size();
+        int spanUTF8LengthsOffset = 0;
+        if (all) {
+            spanUTF8LengthsOffset = 2 * stringsLength;
+        }
+        for (;;) {
+            if (spanCondition == SpanCondition.CONTAINED) {
+                for (i = 0; i < stringsLength; ++i) {
+                    byte[] s8 = utf8Strings[i];
+                    if (s8 == null) {
+                        continue; // String not representable in UTF-8.
+                    }
+                    int overlap = spanLengths[spanUTF8LengthsOffset + i];
+                    if (overlap == ALL_CP_CONTAINED) {
+                        continue; // Irrelevant string.
+                    }
+                    int length8 = s8.length;
+
+                    // Try to match this string at pos-overlap..pos.
+                    if (overlap >= LONG_SPAN) {
+                        overlap = length8;
+                        // While contained: No point matching fully inside the code point span.
+                        // Length of the string minus the last code point.
+                        overlap -= UTF8Util.length(UTF8Util.previous(s8, 0, length8));
+                    }
+                    if (overlap > spanLength) {
+                        overlap = spanLength;
+                    }
+                    int inc = length8 - overlap; // Keep overlap+inc==length8.
+                    for (;;) {
+                        if (inc > rest) {
+                            break;
+                        }
+                        // Try to match if the increment is not listed already.
+                        // Match at code point boundaries. (The UTF-8 strings were converted
+                        // from UTF-16 and are guaranteed to be well-formed.)
+                        if (!isTrail8(s[pos - overlap]) && !offsets.containsOffset(inc)
+                                && matches8(s, pos - overlap, s8, length8)) {
+                            if (inc == rest) {
+                                return limit; // Reached the end of the string.
+                            }
+                            offsets.addOffset(inc);
+                        }
+                        if (overlap == 0) {
+                            break;
+                        }
+                        --overlap;
+                        ++inc;
+                    }
+                }
+            } else /* SIMPLE */{
+                int maxInc = 0, maxOverlap = 0;
+                for (i = 0; i < stringsLength; ++i) {
+                    byte[] s8 = utf8Strings[i];
+                    if (s8 == null) {
+                        continue; // String not representable in UTF-8.
+                    }
+                    int overlap = spanLengths[spanUTF8LengthsOffset + i];
+                    // For longest match, we do need to try to match even an all-contained string
+                    // to find the match from the earliest start.
+
+                    int length8 = s8.length;
+
+                    // Try to match this string at pos-overlap..pos.
+                    if (overlap >= LONG_SPAN) {
+                        overlap = length8;
+                        // Longest match: Need to match fully inside the code point span
+                        // to find the match from the earliest start.
+                    }
+                    if (overlap > spanLength) {
+                        overlap = spanLength;
+                    }
+                    int inc = length8 - overlap; // Keep overlap+inc==length8.
+                    for (;;) {
+                        if (inc > rest || overlap < maxOverlap) {
+                            break;
+                        }
+                        // Try to match if the string is longer or starts earlier.
+                        if (!isTrail8(s[pos - overlap])
+                                && (overlap > maxOverlap || /* redundant overlap==maxOverlap && */inc > maxInc)
+                                && matches8(s, pos - overlap, s8, length8)) {
+                            maxInc = inc; // Longest match from earliest start.
+                            maxOverlap = overlap;
+                            break;
+                        }
+                        --overlap;
+                        ++inc;
+                    }
+                }
+
+                if (maxInc != 0 || maxOverlap != 0) {
+                    // Longest-match algorithm, and there was a string match.
+                    // Simply continue after it.
+                    pos += maxInc;
+                    rest -= maxInc;
+                    if (rest == 0) {
+                        return limit; // Reached the end of the string.
+                    }
+                    spanLength = 0; // Match strings from after a string match.
+                    continue;
+                }
+            }
+            // Finished trying to match all strings at pos.
+
+            if (spanLength != 0 || pos == start) {
+                // The position is after an unlimited code point span (spanLength!=0),
+                // not after a string match.
+                // The only position where spanLength==0 after a span is pos==start.
+                // Otherwise, an unlimited code point span is only tried again when no
+                // strings match, and if such a non-initial span fails we stop.
+                if (offsets.isEmpty()) {
+                    return pos; // No strings matched after a span.
+                }
+                // Match strings from after the next string match.
+            } else {
+                // The position is after a string match (or a single code point).
+                if (offsets.isEmpty()) {
+                    // No more strings matched after a previous string match.
+                    // Try another code point span from after the last string match.
+                    spanLimit = spanSet.spanUTF8(s, pos, limit, SpanCondition.CONTAINED);
+                    spanLength = spanLimit - pos;
+                    if (spanLength == rest || // Reached the end of the string, or
+                            spanLength == 0 // neither strings nor span progressed.
+                    ) {
+                        return spanLimit;
+                    }
+                    pos += spanLength;
+                    rest -= spanLength;
+                    continue; // spanLength>0: Match strings from after a span.
+                } else {
+                    // Try to match only one code point from after a string match if some
+                    // string matched beyond it, so that we try all possible positions
+                    // and don't overshoot.
+                    spanLength = spanOneUTF8(spanSet, s, pos, limit);
+                    if (spanLength > 0) {
+                        if (spanLength == rest) {
+                            return limit; // Reached the end of the string.
+                        }
+                        // Match strings after this code point.
+                        // There cannot be any increments below it because UnicodeSet strings
+                        // contain multiple code points.
+                        pos += spanLength;
+                        rest -= spanLength;
+                        offsets.shift(spanLength);
+                        spanLength = 0;
+                        continue; // Match strings from after a single code point.
+                    }
+                    // Match strings from after the next string match.
+                }
+            }
+            int minOffset = offsets.popMinimum(null);
+            pos += minOffset;
+            rest -= minOffset;
+            spanLength = 0; // Match strings from after a string match.
+        }
+    }
+
+    /**
+     * Spans UTF-8 bytes backwards. Same as spanBack() but for s[start..limit[ in UTF-8.
+     *
+     * @param s The UTF-8 bytes to be spanned
+     * @param start The start index of the bytes to be spanned
+     * @param limit The limit (exclusive end) from which the span begins backwards
+     * @param spanCondition The span condition
+     * @return The byte index which starts the span (i.e. inclusive).
+     */
+    public synchronized int spanBackUTF8(byte[] s, int start, int limit, SpanCondition spanCondition) {
+        if (spanCondition == SpanCondition.NOT_CONTAINED) {
+            return spanNotBackUTF8(s, start, limit);
+        }
+        int pos = spanSet.spanBackUTF8(s, start, limit, SpanCondition.CONTAINED);
+        if (pos == start) {
+            return start;
+        }
+        int spanLength = limit - pos;
+
+        // Consider strings; they may overlap with the span.
+        int initSize = 0;
+        if (spanCondition == SpanCondition.CONTAINED) {
+            // Use offset list to try all possibilities.
+            initSize = maxLength8;
+        }
+        offsets.setMaxLength(initSize);
+        int i, stringsLength = strings.size();
+        int spanBackUTF8LengthsOffset = 0;
+        if (all) {
+            spanBackUTF8LengthsOffset = 3 * stringsLength;
+        }
+        for (;;) {
+            if (spanCondition == SpanCondition.CONTAINED) {
+                for (i = 0; i < stringsLength; ++i) {
+                    byte[] s8 = utf8Strings[i];
+                    if (s8 == null) {
+                        continue; // String not representable in UTF-8.
+                    }
+                    int overlap = spanLengths[spanBackUTF8LengthsOffset + i];
+                    if (overlap == ALL_CP_CONTAINED) {
+                        continue; // Irrelevant string.
+                    }
+                    int length8 = s8.length;
+
+                    // Try to match this string at pos-(length8-overlap)..pos-length8.
+                    if (overlap >= LONG_SPAN) {
+                        overlap = length8;
+                        // While contained: No point matching fully inside the code point span.
+                        // Length of the string minus the first code point.
+                        overlap -= UTF8Util.length(UTF8Util.next(s8, 0, length8));
+                    }
+                    if (overlap > spanLength) {
+                        overlap = spanLength;
+                    }
+                    int dec = length8 - overlap; // Keep dec+overlap==length8.
+                    for (;;) {
+                        if (dec > pos - start) {
+                            break;
+                        }
+                        // Try to match if the decrement is not listed already.
+                        // Match at code point boundaries. (The UTF-8 strings were converted
+                        // from UTF-16 and are guaranteed to be well-formed.)
+                        if (!isTrail8(s[pos - dec]) && !offsets.containsOffset(dec)
+                                && matches8(s, pos - dec, s8, length8)) {
+                            if (dec == pos - start) {
+                                return start; // Reached the start of the string.
+                            }
+                            offsets.addOffset(dec);
+                        }
+                        if (overlap == 0) {
+                            break;
+                        }
+                        --overlap;
+                        ++dec;
+                    }
+                }
+            } else /* SIMPLE */{
+                int maxDec = 0, maxOverlap = 0;
+                for (i = 0; i < stringsLength; ++i) {
+                    byte[] s8 = utf8Strings[i];
+                    if (s8 == null) {
+                        continue; // String not representable in UTF-8.
+                    }
+                    int overlap = spanLengths[spanBackUTF8LengthsOffset + i];
+                    // For longest match, we do need to try to match even an all-contained string
+                    // to find the match from the latest end.
+
+                    int length8 = s8.length;
+
+                    // Try to match this string at pos-(length8-overlap)..pos-length8.
+                    if (overlap >= LONG_SPAN) {
+                        overlap = length8;
+                        // Longest match: Need to match fully inside the code point span
+                        // to find the match from the latest end.
+                    }
+                    if (overlap > spanLength) {
+                        overlap = spanLength;
+                    }
+                    int dec = length8 - overlap; // Keep dec+overlap==length8.
+                    for (;;) {
+                        if (dec > pos - start || overlap < maxOverlap) {
+                            break;
+                        }
+                        // Try to match if the string is longer or ends later.
+                        if (!isTrail8(s[pos - dec])
+                                && (overlap > maxOverlap || /* redundant overlap==maxOverlap && */dec > maxDec)
+                                && matches8(s, pos - dec, s8, length8)) {
+                            maxDec = dec; // Longest match from latest end.
+                            maxOverlap = overlap;
+                            break;
+                        }
+                        --overlap;
+                        ++dec;
+                    }
+                }
+
+                if (maxDec != 0 || maxOverlap != 0) {
+                    // Longest-match algorithm, and there was a string match.
+                    // Simply continue before it.
+                    pos -= maxDec;
+                    if (pos == start) {
+                        return start; // Reached the start of the string.
+                    }
+                    spanLength = 0; // Match strings from before a string match.
+                    continue;
+                }
+            }
+            // Finished trying to match all strings at pos.
+
+            if (spanLength != 0 || pos == limit) {
+                // The position is before an unlimited code point span (spanLength!=0),
+                // not before a string match.
+                // The only position where spanLength==0 before a span is pos==limit.
+                // Otherwise, an unlimited code point span is only tried again when no
+                // strings match, and if such a non-initial span fails we stop.
+                if (offsets.isEmpty()) {
+                    return pos; // No strings matched before a span.
+                }
+                // Match strings from before the next string match.
+            } else {
+                // The position is before a string match (or a single code point).
+                if (offsets.isEmpty()) {
+                    // No more strings matched before a previous string match.
+                    // Try another code point span from before the last string match.
+                    int oldPos = pos;
+                    pos = spanSet.spanBackUTF8(s, start, oldPos, SpanCondition.CONTAINED);
+                    spanLength = oldPos - pos;
+                    if (pos == start || // Reached the start of the string, or
+                            spanLength == 0 // neither strings nor span progressed.
+                    ) {
+                        return pos;
+                    }
+                    continue; // spanLength>0: Match strings from before a span.
+                } else {
+                    // Try to match only one code point from before a string match if some
+                    // string matched beyond it, so that we try all possible positions
+                    // and don't overshoot.
+                    spanLength = spanOneBackUTF8(spanSet, s, start, pos);
+                    if (spanLength > 0) {
+                        if (spanLength == pos - start) {
+                            return start; // Reached the start of the string.
+                        }
+                        // Match strings before this code point.
+                        // There cannot be any decrements below it because UnicodeSet strings
+                        // contain multiple code points.
+                        pos -= spanLength;
+                        offsets.shift(spanLength);
+                        spanLength = 0;
+                        continue; // Match strings from before a single code point.
+                    }
+                    // Match strings from before the next string match.
+                }
+            }
+            pos -= offsets.popMinimum(null);
+            spanLength = 0; // Match strings from before a string match.
+        }
+    }
+
+    /**
+     * Same as spanNot() but for UTF-8 bytes, and without counting.
+     */
+    private int spanNotUTF8(byte[] s, int start, int limit) {
+        int pos = start, rest = limit - start;
+        int i, stringsLength = strings.size();
+        int spanUTF8LengthsOffset = 0;
+        if (all) {
+            spanUTF8LengthsOffset = 2 * stringsLength;
+        }
+        do {
+            // Span until we find a code point from the set,
+            // or a code point that starts or ends some string.
+            pos = spanNotSet.spanUTF8(s, pos, limit, SpanCondition.NOT_CONTAINED);
+            if (pos == limit) {
+                return limit; // Reached the end of the string.
+            }
+            rest = limit - pos;
+
+            // Check whether the current code point is in the original set,
+            // without the string starts and ends.
+            int cpLength = spanOneUTF8(spanSet, s, pos, limit);
+            if (cpLength > 0) {
+                return pos; // There is a set element at pos.
+            }
+
+            // Try to match the strings at pos.
+            for (i = 0; i < stringsLength; ++i) {
+                byte[] s8 = utf8Strings[i];
+                // ALL_CP_CONTAINED: Irrelevant string.
+                if (s8 != null && spanLengths[spanUTF8LengthsOffset + i] != ALL_CP_CONTAINED
+                        && s8.length <= rest && matches8(s, pos, s8, s8.length)) {
+                    return pos; // There is a set element at pos.
+                }
+            }
+
+            // The span(while not contained) ended on a string start/end which is
+            // not in the original set. Skip this code point and continue.
+            // cpLength<0
+            pos -= cpLength;
+            rest += cpLength;
+        } while (rest != 0);
+        return limit; // Reached the end of the string.
+    }
+
+    private int spanNotBackUTF8(byte[] s, int start, int limit) {
+        int pos = limit;
+        int i, stringsLength = strings.size();
+        int spanBackUTF8LengthsOffset = 0;
+        if (all) {
+            spanBackUTF8LengthsOffset = 3 * stringsLength;
+        }
+        do {
+            // Span until we find a code point from the set,
+            // or a code point that starts or ends some string.
+            pos = spanNotSet.spanBackUTF8(s, start, pos, SpanCondition.NOT_CONTAINED);
+            if (pos == start) {
+                return start; // Reached the start of the string.
+            }
+
+            // Check whether the current code point is in the original set,
+            // without the string starts and ends.
+            int cpLength = spanOneBackUTF8(spanSet, s, start, pos);
+            if (cpLength > 0) {
+                return pos; // There is a set element at pos.
+            }
+
+            // Try to match the strings at pos.
+            for (i = 0; i < stringsLength; ++i) {
+                byte[] s8 = utf8Strings[i];
+                // ALL_CP_CONTAINED: Irrelevant string.
+                if (s8 != null && spanLengths[spanBackUTF8LengthsOffset + i] != ALL_CP_CONTAINED
+                        && s8.length <= pos - start && matches8(s, pos - s8.length, s8, s8.length)) {
+                    return pos; // There is a set element at pos.
+                }
+            }
+
+            // The span(while not contained) ended on a string start/end which is
+            // not in the original set. Skip this code point and continue.
+            // cpLength<0
+            pos += cpLength;
+        } while (pos != start);
+        return start; // Reached the start of the string.
+    }
+
     static short makeSpanLengthByte(int spanLength) {
         // 0xfe==UnicodeSetStringSpan::LONG_SPAN
         return spanLength < LONG_SPAN ? (short) spanLength : LONG_SPAN;
@@ -947,6 +1491,41 @@ private static boolean matches16(CharSequence s, int start, final String t, int
         return true;
     }
 
+    // Compare UTF-8 bytes without any argument checks. Requires length>0.
+    private static boolean matches8(byte[] s, int start, final byte[] t, int length) {
+        int end = start + length;
+        while (length-- > 0) {
+            if (s[--end] != t[length]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isTrail8(byte b) {
+        return (b & 0xc0) == 0x80;
+    }
+
+    /**
+     * Returns the UTF-8 version of a set string,
+     * or null if it is empty or not representable in UTF-8 (contains an unpaired surrogate).
+     */
+    private static byte[] getUTF8(String s) {
+        int length = s.length();
+        if (length == 0) {
+            return null;
+        }
+        for (int i = 0; i < length;) {
+            int c = s.codePointAt(i);
+            if (0xd800 <= c && c <= 0xdfff) {
+                return null;
+            }
+            i += Character.charCount(c);
+        }
+        byte[] s8 = new byte[length * 3];
+        return Arrays.copyOf(s8, UTF8Util.appendUTF8(s, 0, length, s8, 0));
+    }
+
     /**
      * Compare 16-bit Unicode strings (which may be malformed UTF-16)
      * at code point boundaries.
@@ -993,6 +1572,33 @@ static int spanOneBack(final UnicodeSet set, CharSequence s, int length) {
         return set.contains(c) ? 1 : -1;
     }
 
+    /**
+     * Does the set contain the next code point in the UTF-8 bytes?
+     * An ill-formed sequence is treated like U+FFFD.
+     * If so, return its length; otherwise return its negative length.
+     */
+    static int spanOneUTF8(final UnicodeSet set, byte[] s, int start, int limit) {
+        int c = s[start];
+        if (c >= 0) {
+            return set.contains(c) ? 1 : -1;
+        }
+        int packed = UTF8Util.next(s, start, limit);
+        int length = UTF8Util.length(packed);
+        c = UTF8Util.codePoint(packed);
+        return set.contains(c < 0 ? 0xfffd : c) ? length : -length;
+    }
+
+    static int spanOneBackUTF8(final UnicodeSet set, byte[] s, int start, int limit) {
+        int c = s[limit - 1];
+        if (c >= 0) {
+            return set.contains(c) ? 1 : -1;
+        }
+        int packed = UTF8Util.previous(s, start, limit);
+        int length = UTF8Util.length(packed);
+        c = UTF8Util.codePoint(packed);
+        return set.contains(c < 0 ? 0xfffd : c) ? length : -length;
+    }
+
     /**
      * Helper class for UnicodeSetStringSpan.
      *
@@ -29,6 +29,7 @@
 import com.ibm.icu.lang.UCharacterEnums.ECharacterDirection;
 import com.ibm.icu.text.BreakIterator;
 import com.ibm.icu.text.Normalizer2;
+import com.ibm.icu.util.CodePointMap;
 import com.ibm.icu.util.RangeValueIterator;
 import com.ibm.icu.util.ULocale;
 import com.ibm.icu.util.ValueIterator;
@@ -5919,6 +5920,67 @@ public static int getIntPropertyValue(int ch, int type)
     {
         return UCharacterProperty.INSTANCE.getIntPropertyValue(ch, type);
     }
+
+    /**
+     * {@icu} Fills an array with the values of an enumerated or integer property
+     * for the code points of s[start, limit[, one value per UTF-16 code unit.
+     * dest[destIndex + (i - start)] is the value for the code point that contains
+     * s.charAt(i), as returned by getIntPropertyValue(); both units of a surrogate pair
+     * get the supplementary code point's value.
+     *
+     * <p>This is much faster than calling getIntPropertyValue() for each code point
+     * of a long text, for example to classify all characters of a buffer
+     * by General_Category, Script or Line_Break.
+     * It walks the property's {@link CharacterProperties#getIntPropertyMap(int) map} directly.
+     * The values of all int properties except Block are in the range 0..0xff;
+     * use the int[] version for Block.
+     *
+     * <pre>
+     * Sample usage:
+     * byte[] gc = new byte[s.length()];
+     * UCharacter.getIntPropertyValues(s, 0, s.length(), UProperty.GENERAL_CATEGORY, gc, 0);
+     * </pre>
+     * @param s the string
+     * @param start the index of the first code unit
+     * @param limit the index after the last code unit
+     * @param type UProperty selector constant,
+     *        UProperty.INT_START &lt;= type &lt; UProperty.INT_LIMIT
+     * @param dest receives limit-start property values
+     * @param destIndex the index in dest for the value of s.charAt(start)
+     * @throws IllegalArgumentException if type is not an int property
+     * @throws IndexOutOfBoundsException if start, limit or destIndex are out of bounds,
+     *         or if dest is too short
+     * @see #getIntPropertyValue(int, int)
+     * @see CodePointMap#getValues(CharSequence, int, int, byte[], int)
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public static void getIntPropertyValues(CharSequence s, int start, int limit, int type,
+            byte[] dest, int destIndex) {
+        CharacterProperties.getIntPropertyMap(type).getValues(s, start, limit, dest, destIndex);
+    }
+
+    /**
+     * {@icu} Same as {@link #getIntPropertyValues(CharSequence, int, int, int, byte[], int)}
+     * but with an int array for the property values.
+     *
+     * @param s the string
+     * @param start the index of the first code unit
+     * @param limit the index after the last code unit
+     * @param type UProperty selector constant,
+     *        UProperty.INT_START &lt;= type &lt; UProperty.INT_LIMIT
+     * @param dest receives limit-start property values
+     * @param destIndex the index in dest for the value of s.charAt(start)
+     * @throws IllegalArgumentException if type is not an int property
+     * @throws IndexOutOfBoundsException if start, limit or destIndex are out of bounds,
+     *         or if dest is too short
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public static void getIntPropertyValues(CharSequence s, int start, int limit, int type,
+            int[] dest, int destIndex) {
+        CharacterProperties.getIntPropertyMap(type).getValues(s, start, limit, dest, destIndex);
+    }
     /**
      * {@icu} Returns a string version of the property value.
      * @param propertyEnum The property enum value.
@@ -9,6 +9,7 @@
 
 import com.ibm.icu.impl.FormattedStringBuilder;
 import com.ibm.icu.impl.StandardPlural;
+import com.ibm.icu.impl.Utility;
 import com.ibm.icu.impl.number.DecimalQuantity;
 import com.ibm.icu.impl.number.DecimalQuantity_DualStorageBCD;
 import com.ibm.icu.impl.number.LocalizedNumberFormatterAsFormat;
@@ -16,6 +17,7 @@
 import com.ibm.icu.impl.number.MicroProps;
 import com.ibm.icu.math.BigDecimal;
 import com.ibm.icu.util.CurrencyAmount;
+import com.ibm.icu.util.ICUUncheckedIOException;
 import com.ibm.icu.util.Measure;
 import com.ibm.icu.util.MeasureUnit;
 
@@ -69,6 +71,124 @@ public FormattedNumber format(double input) {
         return format(new DecimalQuantity_DualStorageBCD(input));
     }
 
+    /**
+     * Format the given byte, short, int, or long using the settings specified in the NumberFormatter
+     * fluent setting chain, and append the result to the given Appendable.
+     *
+     * <p>
+     * Unlike {@link #format(long)}, this method does not create a {@link FormattedNumber}. It formats
+     * using scratch state private to the calling thread, so that once warmed up, formatting into a
+     * reused StringBuilder creates very little garbage.
+     *
+     * @param input
+     *            The number to format.
+     * @param appendable
+     *            The Appendable to which to append the formatted number.
+     * @return The same Appendable, for chaining.
+     * @throws ICUUncheckedIOException
+     *             if the Appendable throws IOException
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     * @see NumberFormatter
+     */
+    public <A extends Appendable> A formatTo(long input, A appendable) {
+        FormatScratch scratch = FormatScratch.acquire();
+        try {
+            scratch.quantity.setToLong(input);
+            formatImpl(scratch.quantity, scratch.string);
+            return Utility.appendTo(scratch.string, appendable);
+        } finally {
+            scratch.release();
+        }
+    }
+
+    /**
+     * Format the given float or double using the settings specified in the NumberFormatter fluent
+     * setting chain, and append the result to the given Appendable.
+     *
+     * <p>
+     * Unlike {@link #format(double)}, this method does not create a {@link FormattedNumber}. It
+     * formats using scratch state private to the calling thread, so that once warmed up, formatting
+     * into a reused StringBuilder creates very little garbage.
+     *
+     * @param input
+     *            The number to format.
+     * @param appendable
+     *            The Appendable to which to append the formatted number.
+     * @return The same Appendable, for chaining.
+     * @throws ICUUncheckedIOException
+     *             if the Appendable throws IOException
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     * @see NumberFormatter
+     */
+    public <A extends Appendable> A formatTo(double input, A appendable) {
+        FormatScratch scratch = FormatScratch.acquire();
+        try {
+            scratch.quantity.setToDouble(input);
+            formatImpl(scratch.quantity, scratch.string);
+            return Utility.appendTo(scratch.string, appendable);
+        } finally {
+            scratch.release();
+        }
+    }
+
+    /**
+     * Format the given byte, short, int, or long using the settings specified in the NumberFormatter
+     * fluent setting chain, and copy the result into the given char array.
+     *
+     * @param input
+     *            The number to format.
+     * @param dest
+     *            The destination array.
+     * @param offset
+     *            The index in the destination array at which to write the formatted number.
+     * @return The number of chars written.
+     * @throws IndexOutOfBoundsException
+     *             if the formatted number does not fit; in that case the array is not modified.
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     * @see #formatTo(long, Appendable)
+     */
+    public int formatTo(long input, char[] dest, int offset) {
+        FormatScratch scratch = FormatScratch.acquire();
+        try {
+            scratch.quantity.setToLong(input);
+            formatImpl(scratch.quantity, scratch.string);
+            return scratch.copyTo(dest, offset);
+        } finally {
+            scratch.release();
+        }
+    }
+
+    /**
+     * Format the given float or double using the settings specified in the NumberFormatter fluent
+     * setting chain, and copy the result into the given char array.
+     *
+     * @param input
+     *            The number to format.
+     * @param dest
+     *            The destination array.
+     * @param offset
+     *            The index in the destination array at which to write the formatted number.
+     * @return The number of chars written.
+     * @throws IndexOutOfBoundsException
+     *             if the formatted number does not fit; in that case the array is not modified.
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     * @see #formatTo(double, Appendable)
+     */
+    public int formatTo(double input, char[] dest, int offset) {
+        FormatScratch scratch = FormatScratch.acquire();
+        try {
+            scratch.quantity.setToDouble(input);
+            formatImpl(scratch.quantity, scratch.string);
+            return scratch.copyTo(dest, offset);
+        } finally {
+            scratch.release();
+        }
+    }
+
     /**
      * Format the given {@link BigInteger}, {@link BigDecimal}, or other {@link Number} to a string using
      * the settings specified in the NumberFormatter fluent setting chain.
@@ -121,6 +241,49 @@ public Format toFormat() {
         return new LocalizedNumberFormatterAsFormat(this, resolve().loc);
     }
 
+    /**
+     * Scratch state for the formatTo methods, confined to one thread. A new instance is used if
+     * formatTo is re-entered on the same thread, for example from an Appendable.
+     */
+    private static final class FormatScratch {
+        private static final ThreadLocal<FormatScratch> current = new ThreadLocal<FormatScratch>() {
+            @Override
+            protected FormatScratch initialValue() {
+                return new FormatScratch();
+            }
+        };
+
+        final DecimalQuantity_DualStorageBCD quantity = new DecimalQuantity_DualStorageBCD();
+        final FormattedStringBuilder string = new FormattedStringBuilder();
+        boolean inUse;
+
+        static FormatScratch acquire() {
+            FormatScratch scratch = current.get();
+            if (scratch.inUse) {
+                scratch = new FormatScratch();
+            } else {
+                scratch.quantity.clear();
+                scratch.string.clear();
+            }
+            scratch.inUse = true;
+            return scratch;
+        }
+
+        void release() {
+            inUse = false;
+        }
+
+        int copyTo(char[] dest, int offset) {
+            int length = string.length();
+            if (offset < 0 || offset > dest.length - length) {
+                throw new IndexOutOfBoundsException(
+                        "Formatted number of length " + length + " does not fit at offset " + offset);
+            }
+            string.getChars(dest, offset);
+            return length;
+        }
+    }
+
     /**
      *  Helper method that creates a FormattedStringBuilder and formats.
      */
@@ -11,8 +11,11 @@
 
 import java.text.CharacterIterator;
 import java.text.StringCharacterIterator;
+import java.util.Arrays;
 import java.util.Locale;
 import java.util.MissingResourceException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import com.ibm.icu.impl.CSCharacterIterator;
 import com.ibm.icu.impl.CacheValue;
@@ -554,6 +557,108 @@ public void setText(CharSequence newText) {
      */
     public abstract void setText(CharacterIterator newText);
 
+    /**
+     * {@icu} Returns all of the boundaries of a text, from its start to its end,
+     * finding them in parallel with tasks in the given pool.
+     * The result is the same as that of setText(text) followed by first() and
+     * repeated calls to next(); this break iterator itself is not modified.
+     * <p>
+     * The text is split into chunks. The task for a chunk uses a clone of this
+     * break iterator, which resynchronizes with following() at the start of the chunk,
+     * and iterates forward from there up to the first boundary past the end of the chunk.
+     * Since following() returns a boundary of the complete text, the boundary lists of
+     * adjacent chunks meet exactly, whatever the text.
+     * The text must not be modified while this method runs.
+     *
+     * @param text the text to be segmented
+     * @param pool the pool that runs the tasks
+     * @return the boundary offsets, in ascending order
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public int[] getBoundaries(CharSequence text, ForkJoinPool pool) {
+        BreakIterator prototype = (BreakIterator)clone();
+        prototype.setText(text);
+        int first = prototype.first();
+        int length = text.length();
+        int chunkCount = (length + BOUNDARIES_CHUNK_SIZE - 1) / BOUNDARIES_CHUNK_SIZE;
+        int[][] chunks;
+        if (chunkCount <= 1) {
+            chunks = new int[][] { prototype.boundariesPast(length) };
+        } else {
+            chunks = new int[chunkCount][];
+            pool.invoke(new BoundariesTask(prototype, chunks, 0, chunkCount));
+        }
+        // Concatenate the chunks.
+        int count = 1;
+        for (int[] chunk : chunks) {
+            count += chunk.length;
+        }
+        int[] boundaries = new int[count];
+        boundaries[0] = first;
+        count = 1;
+        for (int[] chunk : chunks) {
+            System.arraycopy(chunk, 0, boundaries, count, chunk.length);
+            count += chunk.length;
+        }
+        return boundaries;
+    }
+
+    private static final int BOUNDARIES_CHUNK_SIZE = 0x10000;
+
+    private static final class BoundariesTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final BreakIterator prototype;
+        private final int[][] chunks;
+        private final int start, limit;
+
+        BoundariesTask(BreakIterator prototype, int[][] chunks, int start, int limit) {
+            this.prototype = prototype;
+            this.chunks = chunks;
+            this.start = start;
+            this.limit = limit;
+        }
+
+        @Override
+        protected void compute() {
+            if (limit - start == 1) {
+                BreakIterator bi = (BreakIterator)prototype.clone();
+                if (start == 0) {
+                    bi.first();
+                } else {
+                    bi.following(start * BOUNDARIES_CHUNK_SIZE);
+                }
+                // The last chunk continues to the end of the text.
+                int stopAfter = limit == chunks.length ? Integer.MAX_VALUE : limit * BOUNDARIES_CHUNK_SIZE;
+                chunks[start] = bi.boundariesPast(stopAfter);
+            } else {
+                int middle = (start + limit) >>> 1;
+                invokeAll(new BoundariesTask(prototype, chunks, start, middle),
+                        new BoundariesTask(prototype, chunks, middle, limit));
+            }
+        }
+    }
+
+    /**
+     * Returns the boundaries following the current one, up to and including
+     * the first one that is greater than stopAfter.
+     * The iterator position afterwards is unspecified.
+     * Used by {@link #getBoundaries(CharSequence, ForkJoinPool)}.
+     */
+    int[] boundariesPast(int stopAfter) {
+        int[] boundaries = new int[16];
+        int count = 0;
+        int boundary = current();
+        while (boundary <= stopAfter && (boundary = next()) != DONE) {
+            if (count == boundaries.length) {
+                boundaries = Arrays.copyOf(boundaries, count * 2);
+            }
+            boundaries[count++] = boundary;
+        }
+        return Arrays.copyOf(boundaries, count);
+    }
+
     /**
      * {@icu}
      * @stable ICU 2.4
@@ -90,6 +90,7 @@ protected Object handleCreate(ULocale loc, int kind, ICUService srvc) {
             registerFactory(new RBBreakIteratorFactory());
 
             markDefault();
+            registerCacheStats();
         }
 
         /**
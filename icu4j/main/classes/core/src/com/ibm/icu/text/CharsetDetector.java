@@ -113,13 +113,18 @@ public CharsetDetector setText(byte [] in) {
      */
     
     public CharsetDetector setText(InputStream in) throws IOException {
+        int bufSize = fMaxScanLength > 0 ? fMaxScanLength : kBufSize;
         fInputStream = in;
-        fInputStream.mark(kBufSize);
-        fRawInput = new byte[kBufSize];   // Always make a new buffer because the
-                                          //   previous one may have come from the caller,
-                                          //   in which case we can't touch it.
+        fInputStream.mark(bufSize);
+        if (fStreamBuffer == null || fStreamBuffer.length < bufSize) {
+            fStreamBuffer = new byte[bufSize];
+        }
+        fRawInput = fStreamBuffer;        // Never the previous fRawInput, which may have come
+                                          //   from the caller, in which case we can't touch it.
+                                          //   Matches for stream input do not keep this buffer,
+                                          //   so it is reused for the next stream.
         fRawLength = 0;
-        int remainingLength = kBufSize;
+        int remainingLength = bufSize;
         while (remainingLength > 0 ) {
             // read() may give data in smallish chunks, esp. for remote sources.  Hence, this loop.
             int  bytesRead = fInputStream.read(fRawInput, fRawLength, remainingLength);
@@ -155,17 +160,29 @@ public CharsetDetector setText(InputStream in) throws IOException {
      * @stable ICU 3.4
      */
     public CharsetMatch detect() {
-//   TODO:  A better implementation would be to copy the detect loop from
-//          detectAll(), and cut it short as soon as a match with a high confidence
-//          is found.  This is something to be done later, after things are otherwise
-//          working.
-        CharsetMatch matches[] = detectAll();
-        
-        if (matches == null || matches.length == 0) {
-            return null;
+        // Same result as detectAll()[0] but without collecting and sorting all matches,
+        //   and cut short as soon as a match reaches the early exit confidence.
+        MungeInput();  // Strip html markup, collect byte stats.
+
+        CharsetMatch best = null;
+        for (int i = 0; i < ALL_CS_RECOGNIZERS.size(); i++) {
+            CSRecognizerInfo rcinfo = ALL_CS_RECOGNIZERS.get(i);
+            boolean active = (fEnabledRecognizers != null) ? fEnabledRecognizers[i] : rcinfo.isDefaultEnabled;
+            if (active) {
+                CharsetMatch m = rcinfo.recognizer.match(this);
+                if (m != null) {
+                    if (m.getConfidence() >= fEarlyExitConfidence) {
+                        return m;
+                    }
+                    // detectAll() sorts stably and then reverses, so that among equally
+                    //   confident matches the last one comes first.
+                    if (best == null || m.compareTo(best) >= 0) {
+                        best = m;
+                    }
+                }
+            }
         }
-        
-        return matches[0];
+        return best;
      }
     
     /**
@@ -208,6 +225,55 @@ public CharsetMatch[] detectAll() {
     }
 
     
+    /**
+     * Set a confidence at which {@link #detect()} stops and returns the first
+     * match that reaches it, without running the remaining charset recognizers.
+     * The recognizers for UTF-8 and the Unicode encodings run first, so that for example
+     * input with a byte order mark or clean multi-byte UTF-8 is classified
+     * without the statistical recognizers.
+     * <p>
+     * When several recognizers reach the confidence, the result may differ from
+     * that of {@link #detectAll()}, which returns the equally confident matches
+     * in a different order.
+     * By default there is no early exit. {@link #detectAll()} is not affected.
+     *
+     * @param confidence the confidence, 0..100, at which to stop.
+     *         Values above 100 turn early exit off.
+     * @return This CharsetDetector
+     *
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public CharsetDetector setEarlyExitConfidence(int confidence) {
+        fEarlyExitConfidence = confidence;
+        return this;
+    }
+
+    /**
+     * Set the maximum number of input bytes that are examined.
+     * By default, 8000 bytes are read from an input stream and examined by the
+     * statistical recognizers, while the UTF-8, UTF-32 and multi-byte recognizers
+     * examine all of an input byte array.
+     * A limit applies to all of them, and to the amount read from an input stream;
+     * call this before {@link #setText(InputStream)}.
+     * <p>
+     * The whole input remains available through the {@link CharsetMatch}.
+     *
+     * @param maxLength the maximum number of bytes to examine, or 0 for the defaults.
+     * @return This CharsetDetector
+     * @throws IllegalArgumentException if maxLength is negative
+     *
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public CharsetDetector setMaxScanLength(int maxLength) {
+        if (maxLength < 0) {
+            throw new IllegalArgumentException("Negative maximum scan length: " + maxLength);
+        }
+        fMaxScanLength = maxLength;
+        return this;
+    }
+
     /**
      * Autodetect the charset of an inputStream, and return a Java Reader
      * to access the converted input data.
@@ -352,6 +418,7 @@ private void MungeInput() {
         boolean  inMarkup = false;
         int      openTags = 0;
         int      badTags  = 0;
+        int      limit    = fMaxScanLength > 0 ? fMaxScanLength : kBufSize;
         
         //
         //  html / xml markup stripping.
@@ -360,7 +427,11 @@ private void MungeInput() {
         //     Count how many total '<' and illegal (nested) '<' occur, so we can make some
         //     guess as to whether the input was actually marked up at all.
         if (fStripTags) {
-            for (srci = 0; srci < fRawLength && dsti < fInputBytes.length; srci++) {
+            if (fStrippedBytes == null || fStrippedBytes.length < limit) {
+                fStrippedBytes = new byte[limit];
+            }
+            fInputBytes = fStrippedBytes;
+            for (srci = 0; srci < fRawLength && dsti < limit; srci++) {
                 b = fRawInput[srci];
                 if (b == (byte)'<') {
                     if (inMarkup) {
@@ -385,20 +456,18 @@ private void MungeInput() {
         //
         //  If it looks like this input wasn't marked up, or if it looks like it's
         //    essentially nothing but markup abandon the markup stripping.
-        //    Detection will have to work on the unstripped input.
+        //    Detection will have to work on the unstripped input,
+        //    which the recognizers only read, so it need not be copied.
         //
         if (openTags<5 || openTags/5 < badTags || 
                 (fInputLen < 100 && fRawLength>600)) {
-            int limit = fRawLength;
-            
-            if (limit > kBufSize) {
-                limit = kBufSize;
-            }
-            
-            for (srci=0; srci<limit; srci++) {
-                fInputBytes[srci] = fRawInput[srci];
-            }
-            fInputLen = srci;
+            fInputBytes = fRawInput;
+            fInputLen = Math.min(fRawLength, limit);
+        }
+
+        fScanLength = fRawLength;
+        if (fMaxScanLength > 0 && fScanLength > fMaxScanLength) {
+            fScanLength = fMaxScanLength;
         }
         
         //
@@ -425,10 +494,14 @@ private void MungeInput() {
      *     the recognition process
      * 
      */
-    byte[]      fInputBytes =       // The text to be checked.  Markup will have been
-                   new byte[kBufSize];  //   removed if appropriate.
+    byte[]      fInputBytes;        // The text to be checked.  Markup will have been
+                                    //   removed if appropriate.  Either fRawInput
+                                    //   or fStrippedBytes.
     
     int         fInputLen;          // Length of the byte data in fInputBytes.
+
+    int         fScanLength;        // Length of the data in fRawInput to be checked by the
+                                    //   recognizers that work on the raw input.
     
     short       fByteStats[] =      // byte frequency statistics for the input text.
                    new short[256];  //   Value is percent, not absolute.
@@ -455,6 +528,18 @@ private void MungeInput() {
     private boolean      fStripTags =   // If true, setText() will strip tags from input text.
                            false;
 
+    private byte[]       fStrippedBytes;        // Input with markup removed. Allocated on first use,
+                                                //   then reused for later input.
+
+    private byte[]       fStreamBuffer;         // The head of an input stream. Allocated on first use,
+                                                //   then reused for later streams.
+
+    private int          fMaxScanLength;        // Maximum number of input bytes to examine,
+                                                //   or 0 for the default limits.
+
+    private int          fEarlyExitConfidence = // detect() returns the first match with at least
+                           Integer.MAX_VALUE;   //   this confidence. Default: no early exit.
+
     private boolean[]    fEnabledRecognizers;   // If not null, active set of charset recognizers had
                                                 // been changed from the default. The array index is
                                                 // corresponding to ALL_RECOGNIZER. See setDetectableCharset().
@@ -31,13 +31,13 @@ CharsetMatch match(CharsetDetector det) {
         int         trailBytes = 0;
         int         confidence;
 
-        if (det.fRawLength >= 3 &&
+        if (det.fScanLength >= 3 &&
                 (input[0] & 0xFF) == 0xef && (input[1] & 0xFF) == 0xbb && (input[2] & 0xFF) == 0xbf) {
             hasBOM = true;
         }
 
         // Scan for multi-byte sequences
-        for (i=0; i<det.fRawLength; i++) {
+        for (i=0; i<det.fScanLength; i++) {
             int b = input[i];
             if ((b & 0x80) == 0) {
                 continue;   // ASCII
@@ -58,7 +58,7 @@ CharsetMatch match(CharsetDetector det) {
             // Verify that we've got the right number of trail bytes in the sequence
             for (;;) {
                 i++;
-                if (i>=det.fRawLength) {
+                if (i>=det.fScanLength) {
                     break;
                 }
                 b = input[i];
@@ -65,7 +65,7 @@ CharsetMatch match(CharsetDetector det)
             byte[] input = det.fRawInput;
             int confidence = 10;
 
-            int bytesToCheck = Math.min(input.length, 30);
+            int bytesToCheck = Math.min(det.fScanLength, 30);
             for (int charIndex=0; charIndex<bytesToCheck-1; charIndex+=2) {
                 int codeUnit = codeUnit16FromBytes(input[charIndex], input[charIndex + 1]);
                 if (charIndex == 0 && codeUnit == 0xFEFF) {
@@ -101,7 +101,7 @@ CharsetMatch match(CharsetDetector det)
             byte[] input = det.fRawInput;
             int confidence = 10;
 
-            int bytesToCheck = Math.min(input.length, 30);
+            int bytesToCheck = Math.min(det.fScanLength, 30);
             for (int charIndex=0; charIndex<bytesToCheck-1; charIndex+=2) {
                 int codeUnit = codeUnit16FromBytes(input[charIndex+1], input[charIndex]);
                 if (charIndex == 0 && codeUnit == 0xFEFF) {
@@ -134,7 +134,7 @@ static abstract class CharsetRecog_UTF_32 extends CharsetRecog_Unicode
         CharsetMatch match(CharsetDetector det)
         {
             byte[] input   = det.fRawInput;
-            int limit      = (det.fRawLength / 4) * 4;
+            int limit      = (det.fScanLength / 4) * 4;
             int numValid   = 0;
             int numInvalid = 0;
             boolean hasBOM = false;
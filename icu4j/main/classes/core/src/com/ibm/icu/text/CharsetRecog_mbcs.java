@@ -154,7 +154,7 @@ void reset() {
          }
 
          int nextByte(CharsetDetector det) {
-             if (nextIndex >= det.fRawLength) {
+             if (nextIndex >= det.fScanLength) {
                  done = true;
                  return -1;
              }
@@ -14,8 +14,11 @@
 
 import java.io.IOException;
 import java.text.CharacterIterator;
+import java.util.Arrays;
 
 import com.ibm.icu.impl.Assert;
+import com.ibm.icu.impl.CSCharacterIterator;
+import com.ibm.icu.impl.ICUConfig;
 
 class CjkBreakEngine extends DictionaryBreakEngine {
     private static final UnicodeSet fHangulWordSet = new UnicodeSet();
@@ -35,6 +38,8 @@ class CjkBreakEngine extends DictionaryBreakEngine {
         fHiraganaWordSet.freeze();
     }
 
+    private static final Normalizer2 NFKC = Normalizer2.getNFKCInstance();
+
     private DictionaryMatcher fDictionary = null;
 
     public CjkBreakEngine(boolean korean) throws IOException {
@@ -70,8 +75,28 @@ public int hashCode() {
     private static final int kMaxKatakanaGroupLength = 20;
     private static final int maxSnlp = 255;
     private static final int kint32max = Integer.MAX_VALUE;
+    private static final int katakanaCost[] =  new int[] { 8192, 984, 408, 240, 204, 252, 300, 372, 480 };
+
+    /**
+     * The maximum length of a dictionary word, in code points.
+     * Longer words in the dictionary are not matched.
+     */
+    private static final int maxWordSize = getMaxWordSize();
+
+    private static int getMaxWordSize() {
+        int size = 20;
+        String value = ICUConfig.get(CjkBreakEngine.class.getName() + ".maxWordLength");
+        if (value != null) {
+            try {
+                size = Math.max(1, Integer.parseInt(value.trim()));
+            } catch (NumberFormatException e) {
+                // Ignore, use the default.
+            }
+        }
+        return size;
+    }
+
     private static int getKatakanaCost(int wordlength) {
-        int katakanaCost[] =  new int[] { 8192, 984, 408, 240, 204, 252, 300, 372, 480 };
         return (wordlength > kMaxKatakanaLength) ? 8192 : katakanaCost[wordlength];
     }
 
@@ -80,6 +105,46 @@ private static boolean isKatakana(int value) {
                 (value >= 0xFF66 && value <= 0xFF9F);
     }
 
+    /**
+     * Buffers for divideUpDictionaryRange(), reused from one call to the next.
+     * The break engine is shared by all break iterators, so the buffers are confined to a thread.
+     * They grow as needed to the longest range of dictionary characters seen by the thread.
+     */
+    private static final class Scratch {
+        private static final ThreadLocal<Scratch> current = new ThreadLocal<Scratch>() {
+            @Override
+            protected Scratch initialValue() {
+                return new Scratch();
+            }
+        };
+
+        final StringBuilder text = new StringBuilder();
+        final CharacterIterator textIter = new CSCharacterIterator(text);
+        final int[] count = new int[1];
+        final int[] values = new int[maxWordSize + 1];
+        final int[] lengths = new int[maxWordSize + 1];
+        int[] charPositions = new int[0];
+        int[] bestSnlp = new int[0];
+        int[] prev = new int[0];
+        int[] boundaries = new int[0];
+
+        /**
+         * Makes the arrays long enough for numCodePts code points,
+         * in a text of textLength code units.
+         */
+        void ensureCapacity(int numCodePts, int textLength) {
+            if (charPositions.length <= textLength) {
+                charPositions = new int[textLength + 1];
+            }
+            if (bestSnlp.length <= numCodePts) {
+                int capacity = Math.max(numCodePts + 1, bestSnlp.length * 2);
+                bestSnlp = new int[capacity];
+                prev = new int[capacity];
+                boundaries = new int[capacity + 1];
+            }
+        }
+    }
+
     @Override
     public int divideUpDictionaryRange(CharacterIterator inText, int startPos, int endPos,
             DequeI foundBreaks) {
@@ -87,35 +152,36 @@ public int divideUpDictionaryRange(CharacterIterator inText, int startPos, int e
             return 0;
         }
 
-        inText.setIndex(startPos);
-
-        int inputLength = endPos - startPos;
-        int[] charPositions = new int[inputLength + 1];
-        StringBuffer s = new StringBuffer("");
+        Scratch scratch = Scratch.current.get();
+        StringBuilder s = scratch.text;
+        s.setLength(0);
         inText.setIndex(startPos);
         while (inText.getIndex() < endPos) {
             s.append(inText.current());
             inText.next();
         }
-        String prenormstr = s.toString();
-        boolean isNormalized = Normalizer.quickCheck(prenormstr, Normalizer.NFKC) == Normalizer.YES ||
-                               Normalizer.isNormalized(prenormstr, Normalizer.NFKC, 0);
+        boolean isNormalized = NFKC.isNormalized(s);
         CharacterIterator text;
+        int[] charPositions;
         int numCodePts = 0;
         if (isNormalized) {
-            text = new java.text.StringCharacterIterator(prenormstr);
+            text = scratch.textIter;
+            scratch.ensureCapacity(s.length(), s.length());
+            charPositions = scratch.charPositions;
             int index = 0;
             charPositions[0] = 0;
-            while (index < prenormstr.length()) {
-                int codepoint = prenormstr.codePointAt(index);
+            while (index < s.length()) {
+                int codepoint = s.codePointAt(index);
                 index += Character.charCount(codepoint);
                 numCodePts++;
                 charPositions[numCodePts] = index;
             }
         } else {
-            String normStr = Normalizer.normalize(prenormstr, Normalizer.NFKC);
+            String prenormstr = s.toString();
+            String normStr = NFKC.normalize(prenormstr);
             text = new java.text.StringCharacterIterator(normStr);
-            charPositions = new int[normStr.length() + 1];
+            scratch.ensureCapacity(normStr.length(), normStr.length());
+            charPositions = scratch.charPositions;
             Normalizer normalizer = new Normalizer(prenormstr, Normalizer.NFKC, 0);
             int index = 0;
             charPositions[0] = 0;
@@ -129,20 +195,16 @@ public int divideUpDictionaryRange(CharacterIterator inText, int startPos, int e
 
         // From here on out, do the algorithm. Note that our indices
         // refer to indices within the normalized string.
-        int[] bestSnlp = new int[numCodePts + 1];
+        int[] bestSnlp = scratch.bestSnlp;
         bestSnlp[0] = 0;
-        for (int i = 1; i <= numCodePts; i++) {
-            bestSnlp[i] = kint32max;
-        }
+        Arrays.fill(bestSnlp, 1, numCodePts + 1, kint32max);
 
-        int[] prev = new int[numCodePts + 1];
-        for (int i = 0; i <= numCodePts; i++) {
-            prev[i] = -1;
-        }
+        int[] prev = scratch.prev;
+        Arrays.fill(prev, 0, numCodePts + 1, -1);
 
-        final int maxWordSize = 20;
-        int values[] = new int[numCodePts];
-        int lengths[] = new int[numCodePts];
+        int values[] = scratch.values;
+        int lengths[] = scratch.lengths;
+        int[] count_ = scratch.count;
         // dynamic programming to find the best segmentation
 
         // In outer loop, i  is the code point index,
@@ -158,7 +220,6 @@ public int divideUpDictionaryRange(CharacterIterator inText, int startPos, int e
             }
 
             int maxSearchLength = (i + maxWordSize < numCodePts) ? maxWordSize : (numCodePts - i);
-            int[] count_ = new int[1];
             fDictionary.matches(text, maxSearchLength, lengths, count_, maxSearchLength, values);
             int count = count_[0];
 
@@ -207,7 +268,7 @@ public int divideUpDictionaryRange(CharacterIterator inText, int startPos, int e
             is_prev_katakana = is_katakana;
         }
 
-        int t_boundary[] = new int[numCodePts + 1];
+        int t_boundary[] = scratch.boundaries;
         int numBreaks = 0;
         if (bestSnlp[numCodePts] == kint32max) {
             t_boundary[numBreaks] = numCodePts;
@@ -0,0 +1,106 @@
+// © 2020 and later: Unicode, Inc. and others.
+// License & terms of use: http://www.unicode.org/copyright.html
+package com.ibm.icu.text;
+
+import java.util.Locale;
+
+import com.ibm.icu.util.TimeZone;
+import com.ibm.icu.util.ULocale;
+
+/**
+ * The main entrypoint to the immutable date formatting API. Use one of the static factory methods
+ * to create a {@link LocalizedDateFormatter}, then call one of its format methods:
+ *
+ * <pre>
+ * LocalizedDateFormatter formatter = DateFormatter.forSkeleton("yMMMdjmm", ULocale.ENGLISH)
+ *         .zone(TimeZone.getTimeZone("America/Los_Angeles"));
+ * formatter.format(System.currentTimeMillis()).toString(); // e.g. "Oct 18, 2020, 9:15 AM"
+ * </pre>
+ *
+ * <p>
+ * Unlike {@link SimpleDateFormat}, the formatters created by this class are immutable and
+ * thread-safe, so a single instance can be shared by any number of threads without cloning. The
+ * pattern is compiled once when the formatter is created.
+ *
+ * @see LocalizedDateFormatter
+ * @see FormattedDate
+ * @draft ICU 68
+ * @provisional This API might change or be removed in a future release.
+ */
+public final class DateFormatter {
+
+    /**
+     * Use one of the static factory methods instead of the constructor.
+     */
+    private DateFormatter() {
+    }
+
+    /**
+     * Creates a formatter for the given pattern in the given locale. The formatter uses the
+     * default time zone; call {@link LocalizedDateFormatter#zone} to change it.
+     *
+     * @param pattern
+     *            The date/time pattern, as described in {@link SimpleDateFormat}.
+     * @param locale
+     *            The locale from which to load formats and symbols.
+     * @return A {@link LocalizedDateFormatter}.
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public static LocalizedDateFormatter forPattern(String pattern, ULocale locale) {
+        return new LocalizedDateFormatter(new SimpleDateFormat(pattern, locale), TimeZone.getDefault());
+    }
+
+    /**
+     * Creates a formatter for the given pattern in the given locale. The formatter uses the
+     * default time zone; call {@link LocalizedDateFormatter#zone} to change it.
+     *
+     * @param pattern
+     *            The date/time pattern, as described in {@link SimpleDateFormat}.
+     * @param locale
+     *            The locale from which to load formats and symbols.
+     * @return A {@link LocalizedDateFormatter}.
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public static LocalizedDateFormatter forPattern(String pattern, Locale locale) {
+        return forPattern(pattern, ULocale.forLocale(locale));
+    }
+
+    /**
+     * Creates a formatter for the best pattern matching the given skeleton in the given locale.
+     * The formatter uses the default time zone; call {@link LocalizedDateFormatter#zone} to
+     * change it.
+     *
+     * @param skeleton
+     *            The skeleton, as described in {@link DateTimePatternGenerator}.
+     * @param locale
+     *            The locale from which to load formats and symbols.
+     * @return A {@link LocalizedDateFormatter}.
+     * @see DateFormat#getInstanceForSkeleton(String, ULocale)
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public static LocalizedDateFormatter forSkeleton(String skeleton, ULocale locale) {
+        DateTimePatternGenerator generator = DateTimePatternGenerator.getInstance(locale);
+        return forPattern(generator.getBestPattern(skeleton), locale);
+    }
+
+    /**
+     * Creates a formatter for the best pattern matching the given skeleton in the given locale.
+     * The formatter uses the default time zone; call {@link LocalizedDateFormatter#zone} to
+     * change it.
+     *
+     * @param skeleton
+     *            The skeleton, as described in {@link DateTimePatternGenerator}.
+     * @param locale
+     *            The locale from which to load formats and symbols.
+     * @return A {@link LocalizedDateFormatter}.
+     * @see DateFormat#getInstanceForSkeleton(String, Locale)
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public static LocalizedDateFormatter forSkeleton(String skeleton, Locale locale) {
+        return forSkeleton(skeleton, ULocale.forLocale(locale));
+    }
+}
@@ -208,8 +208,8 @@ public int findBreaks(CharacterIterator text, int startPos, int endPos,
     }
 
     void setCharacters(UnicodeSet set) {
-        fSet = new UnicodeSet(set);
-        fSet.compact();
+        // Frozen, so that the engine can be shared by all break iterators.
+        fSet = new UnicodeSet(set).freeze();
     }
 
     /**
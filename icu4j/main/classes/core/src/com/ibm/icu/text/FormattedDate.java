@@ -0,0 +1,102 @@
+// © 2020 and later: Unicode, Inc. and others.
+// License & terms of use: http://www.unicode.org/copyright.html
+package com.ibm.icu.text;
+
+import java.text.AttributedCharacterIterator;
+import java.text.FieldPosition;
+import java.util.Collections;
+import java.util.List;
+
+import com.ibm.icu.impl.FormattedValueFieldPositionIteratorImpl;
+import com.ibm.icu.impl.Utility;
+
+/**
+ * The result of a date formatting operation performed by a {@link LocalizedDateFormatter}. This
+ * class allows the result to be exported as a String or an AttributedCharacterIterator, and the
+ * positions of the {@link DateFormat.Field}s to be iterated.
+ *
+ * Instances of this class are immutable and thread-safe.
+ *
+ * @see LocalizedDateFormatter
+ * @draft ICU 68
+ * @provisional This API might change or be removed in a future release.
+ */
+public final class FormattedDate implements FormattedValue {
+    private final String string;
+    private final List<FieldPosition> attributes;
+
+    FormattedDate(CharSequence cs, List<FieldPosition> attributes) {
+        this.string = cs.toString();
+        this.attributes = Collections.unmodifiableList(attributes);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    @Override
+    public String toString() {
+        return string;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    @Override
+    public int length() {
+        return string.length();
+    }
+
+    /**
+     * {@inheritDoc}
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    @Override
+    public char charAt(int index) {
+        return string.charAt(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return string.subSequence(start, end);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    @Override
+    public <A extends Appendable> A appendTo(A appendable) {
+        return Utility.appendTo(string, appendable);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    @Override
+    public boolean nextPosition(ConstrainedFieldPosition cfpos) {
+        return FormattedValueFieldPositionIteratorImpl.nextPosition(attributes, cfpos);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    @Override
+    public AttributedCharacterIterator toCharacterIterator() {
+        return FormattedValueFieldPositionIteratorImpl.toCharacterIterator(string, attributes);
+    }
+}
@@ -9,12 +9,16 @@
 
 package com.ibm.icu.text;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.Set;
 
 import com.ibm.icu.impl.IDNA2003;
+import com.ibm.icu.impl.UTF8Util;
 import com.ibm.icu.impl.UTS46;
+import com.ibm.icu.util.ICUUncheckedIOException;
 
 /**
  * Abstract base class for IDNA processing.
@@ -209,6 +213,104 @@ public static IDNA getUTS46Instance(int options) {
      */
     public abstract StringBuilder nameToUnicode(CharSequence name, StringBuilder dest, Info info);
 
+    /**
+     * Converts a single domain name label into its ASCII form for DNS lookup.
+     * UTF-8 version of labelToASCII(), same behavior.
+     * Ill-formed UTF-8 sequences are treated like U+FFFD, which is disallowed.
+     *
+     * <p>Any {@link java.io.IOException} is wrapped into a {@link com.ibm.icu.util.ICUUncheckedIOException}.
+     *
+     * @param label Input domain name label, UTF-8 bytes
+     * @param start start index of the label
+     * @param limit end index of the label
+     * @param dest Destination stream; gets the UTF-8 result bytes written
+     * @param info Output container of IDNA processing details.
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public void labelToASCII_UTF8(byte[] label, int start, int limit, OutputStream dest, Info info) {
+        checkBounds(label, start, limit);
+        StringBuilder result = labelToASCII(toUTF16(label, start, limit), new StringBuilder(), info);
+        writeUTF8(result, dest);
+    }
+
+    /**
+     * Converts a single domain name label into its Unicode form for human-readable display.
+     * UTF-8 version of labelToUnicode(), same behavior.
+     * Ill-formed UTF-8 sequences are treated like U+FFFD, which is disallowed.
+     *
+     * <p>Any {@link java.io.IOException} is wrapped into a {@link com.ibm.icu.util.ICUUncheckedIOException}.
+     *
+     * @param label Input domain name label, UTF-8 bytes
+     * @param start start index of the label
+     * @param limit end index of the label
+     * @param dest Destination stream; gets the UTF-8 result bytes written
+     * @param info Output container of IDNA processing details.
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public void labelToUnicodeUTF8(byte[] label, int start, int limit, OutputStream dest, Info info) {
+        checkBounds(label, start, limit);
+        StringBuilder result = labelToUnicode(toUTF16(label, start, limit), new StringBuilder(), info);
+        writeUTF8(result, dest);
+    }
+
+    /**
+     * Converts a whole domain name into its ASCII form for DNS lookup.
+     * UTF-8 version of nameToASCII(), same behavior.
+     * Ill-formed UTF-8 sequences are treated like U+FFFD, which is disallowed.
+     *
+     * <p>Any {@link java.io.IOException} is wrapped into a {@link com.ibm.icu.util.ICUUncheckedIOException}.
+     *
+     * @param name Input domain name, UTF-8 bytes
+     * @param start start index of the name
+     * @param limit end index of the name
+     * @param dest Destination stream; gets the UTF-8 result bytes written
+     * @param info Output container of IDNA processing details.
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public void nameToASCII_UTF8(byte[] name, int start, int limit, OutputStream dest, Info info) {
+        checkBounds(name, start, limit);
+        StringBuilder result = nameToASCII(toUTF16(name, start, limit), new StringBuilder(), info);
+        writeUTF8(result, dest);
+    }
+
+    /**
+     * Converts a whole domain name into its Unicode form for human-readable display.
+     * UTF-8 version of nameToUnicode(), same behavior.
+     * Ill-formed UTF-8 sequences are treated like U+FFFD, which is disallowed.
+     *
+     * <p>Any {@link java.io.IOException} is wrapped into a {@link com.ibm.icu.util.ICUUncheckedIOException}.
+     *
+     * @param name Input domain name, UTF-8 bytes
+     * @param start start index of the name
+     * @param limit end index of the name
+     * @param dest Destination stream; gets the UTF-8 result bytes written
+     * @param info Output container of IDNA processing details.
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public void nameToUnicodeUTF8(byte[] name, int start, int limit, OutputStream dest, Info info) {
+        checkBounds(name, start, limit);
+        StringBuilder result = nameToUnicode(toUTF16(name, start, limit), new StringBuilder(), info);
+        writeUTF8(result, dest);
+    }
+
+    private static StringBuilder toUTF16(byte[] s, int start, int limit) {
+        return UTF8Util.appendUTF16(s, start, limit, new StringBuilder(limit - start));
+    }
+
+    private static void writeUTF8(CharSequence s, OutputStream dest) {
+        byte[] bytes = new byte[s.length() * 3];
+        int length = UTF8Util.appendUTF8(s, 0, s.length(), bytes, 0);
+        try {
+            dest.write(bytes, 0, length);
+        } catch (IOException e) {
+            throw new ICUUncheckedIOException(e);
+        }
+    }
+
     /**
      * Output container for IDNA processing errors.
      * The Info class is not suitable for subclassing.
@@ -253,7 +355,14 @@ public Info() {
          */
         public boolean isTransitionalDifferent() { return isTransDiff; }
 
-        private void reset() {
+        /**
+         * Resets this object to its initial state, with no errors.
+         * The IDNA processing functions reset the Info they are given,
+         * so one Info object can be reused for many calls.
+         * @draft ICU 68
+         * @provisional This API might change or be removed in a future release.
+         */
+        public void reset() {
             errors.clear();
             labelErrors.clear();
             isTransDiff=false;
@@ -361,6 +470,17 @@ protected static void setNotOkBiDi(Info info) {
     protected static boolean isOkBiDi(Info info) {
         return info.isOkBiDi;
     }
+    /**
+     * @internal
+     * @deprecated This API is ICU internal only.
+     */
+    @Deprecated
+    protected static void checkBounds(byte[] s, int start, int limit) {
+        if(start<0 || start>limit || limit>s.length) {
+            throw new IndexOutOfBoundsException(
+                "start "+start+", limit "+limit+", length "+s.length);
+        }
+    }
 
     /**
      * IDNA error bit set values.
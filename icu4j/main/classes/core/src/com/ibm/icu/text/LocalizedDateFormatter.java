@@ -0,0 +1,500 @@
+// © 2020 and later: Unicode, Inc. and others.
+// License & terms of use: http://www.unicode.org/copyright.html
+package com.ibm.icu.text;
+
+import java.text.FieldPosition;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.ibm.icu.impl.Grego;
+import com.ibm.icu.text.TimeZoneFormat.Style;
+import com.ibm.icu.util.Calendar;
+import com.ibm.icu.util.GregorianCalendar;
+import com.ibm.icu.util.TimeZone;
+
+/**
+ * A date formatter with a pattern, a locale and a time zone; this means .format() methods are
+ * available.
+ *
+ * Instances of this class are immutable and thread-safe.
+ *
+ * <p>
+ * The pattern is compiled once, when the formatter is created. Dates in the Gregorian calendar
+ * after the Gregorian cutover are formatted directly from the epoch milliseconds, without a
+ * {@link Calendar}; other dates and patterns fall back to a private copy of a
+ * {@link SimpleDateFormat}, so the output is always identical to that of
+ * {@link SimpleDateFormat#format(Date)}.
+ *
+ * @see DateFormatter
+ * @draft ICU 68
+ * @provisional This API might change or be removed in a future release.
+ */
+public class LocalizedDateFormatter {
+
+    /*
+     * A compiled pattern field. Literal text in the pattern is kept as String.
+     */
+    private static final class Item {
+        final char type;
+        final int count;
+        final DateFormat.Field field;
+        final Style zoneStyle;
+
+        Item(char type, int count, DateFormat.Field field, Style zoneStyle) {
+            this.type = type;
+            this.count = count;
+            this.field = field;
+            this.zoneStyle = zoneStyle;
+        }
+    }
+
+    // Julian day of 1970-01-01
+    private static final int EPOCH_JULIAN_DAY = 2440588;
+
+    // never modified after construction; cloned for the slow path
+    private final SimpleDateFormat prototype;
+    private final TimeZone zone;
+    // A clone of the prototype with this formatter's time zone, for the slow path.
+    // A thread takes it out while formatting and puts it back afterwards;
+    // concurrent callers that find it empty make their own clones.
+    private final AtomicReference<SimpleDateFormat> slowFormat = new AtomicReference<>();
+
+    // compiled pattern, or null if the pattern is not supported by the fast path
+    private final Object[] items;
+    private final char[] digits;
+    private final DateFormatSymbols symbols;
+    private final TimeZoneFormat tzFormat;
+    private final int firstDayOfWeek;
+    private final long gregorianCutover;
+
+    LocalizedDateFormatter(SimpleDateFormat prototype, TimeZone zone) {
+        this.prototype = prototype;
+        this.zone = frozen(zone);
+        tzFormat = prototype.getTimeZoneFormat();
+        symbols = prototype.getDateFormatSymbols();
+        digits = prototype.getZeroPaddingDigits();
+        Calendar cal = prototype.getCalendar();
+        firstDayOfWeek = cal.getFirstDayOfWeek();
+        if (cal instanceof GregorianCalendar && cal.getType().equals("gregorian")) {
+            gregorianCutover = ((GregorianCalendar) cal).getGregorianChange().getTime();
+        } else {
+            gregorianCutover = Long.MAX_VALUE;
+        }
+        items = (digits != null && gregorianCutover != Long.MAX_VALUE &&
+                prototype.getContext(DisplayContext.Type.CAPITALIZATION) == DisplayContext.CAPITALIZATION_NONE)
+                ? compile(prototype) : null;
+    }
+
+    private LocalizedDateFormatter(LocalizedDateFormatter other, TimeZone zone) {
+        prototype = other.prototype;
+        this.zone = frozen(zone);
+        items = other.items;
+        digits = other.digits;
+        symbols = other.symbols;
+        tzFormat = other.tzFormat;
+        firstDayOfWeek = other.firstDayOfWeek;
+        gregorianCutover = other.gregorianCutover;
+    }
+
+    private static TimeZone frozen(TimeZone zone) {
+        return zone.isFrozen() ? zone : zone.cloneAsThawed().freeze();
+    }
+
+    /*
+     * Compiles the pattern items of the given SimpleDateFormat, or returns null
+     * if a field in the pattern needs a Calendar.
+     */
+    private static Object[] compile(SimpleDateFormat fmt) {
+        Object[] patternItems = fmt.getPatternItems();
+        Object[] compiled = new Object[patternItems.length];
+        for (int i = 0; i < patternItems.length; i++) {
+            if (patternItems[i] instanceof String) {
+                compiled[i] = patternItems[i];
+                continue;
+            }
+            SimpleDateFormat.PatternItem item = (SimpleDateFormat.PatternItem) patternItems[i];
+            char ch = item.type;
+            int count = item.length;
+            Style zoneStyle = null;
+            switch (ch) {
+            case 'G': case 'y': case 'u': case 'M': case 'L': case 'd': case 'D':
+            case 'E': case 'e': case 'c': case 'a': case 'h': case 'H': case 'k':
+            case 'K': case 'm': case 's': case 'S': case 'Q': case 'q': case 'F':
+            case 'A': case 'g': case 'l':
+                break;
+            case 'z': case 'Z': case 'v': case 'V': case 'O': case 'X': case 'x':
+                zoneStyle = getZoneStyle(ch, count);
+                if (zoneStyle == null) {
+                    return null;
+                }
+                break;
+            default:
+                // week based fields, cyclic years, day periods
+                return null;
+            }
+            compiled[i] = new Item(ch, count, fmt.patternCharToDateFormatField(ch), zoneStyle);
+        }
+        return compiled;
+    }
+
+    /*
+     * Returns the time zone format style SimpleDateFormat uses for the given
+     * time zone field, or null if SimpleDateFormat does not define one.
+     */
+    private static Style getZoneStyle(char ch, int count) {
+        switch (ch) {
+        case 'z':
+            return count < 4 ? Style.SPECIFIC_SHORT : Style.SPECIFIC_LONG;
+        case 'Z':
+            return count < 4 ? Style.ISO_BASIC_LOCAL_FULL
+                    : count == 5 ? Style.ISO_EXTENDED_FULL : Style.LOCALIZED_GMT;
+        case 'v':
+            return count == 1 ? Style.GENERIC_SHORT : count == 4 ? Style.GENERIC_LONG : null;
+        case 'V':
+            switch (count) {
+            case 1: return Style.ZONE_ID_SHORT;
+            case 2: return Style.ZONE_ID;
+            case 3: return Style.EXEMPLAR_LOCATION;
+            case 4: return Style.GENERIC_LOCATION;
+            default: return null;
+            }
+        case 'O':
+            return count == 1 ? Style.LOCALIZED_GMT_SHORT : count == 4 ? Style.LOCALIZED_GMT : null;
+        case 'X':
+            switch (count) {
+            case 1: return Style.ISO_BASIC_SHORT;
+            case 2: return Style.ISO_BASIC_FIXED;
+            case 3: return Style.ISO_EXTENDED_FIXED;
+            case 4: return Style.ISO_BASIC_FULL;
+            case 5: return Style.ISO_EXTENDED_FULL;
+            default: return null;
+            }
+        case 'x':
+            switch (count) {
+            case 1: return Style.ISO_BASIC_LOCAL_SHORT;
+            case 2: return Style.ISO_BASIC_LOCAL_FIXED;
+            case 3: return Style.ISO_EXTENDED_LOCAL_FIXED;
+            case 4: return Style.ISO_BASIC_LOCAL_FULL;
+            case 5: return Style.ISO_EXTENDED_LOCAL_FULL;
+            default: return null;
+            }
+        default:
+            return null;
+        }
+    }
+
+    /**
+     * Returns a formatter that formats in the given time zone. This formatter is not modified.
+     *
+     * @param zone
+     *            The time zone.
+     * @return A {@link LocalizedDateFormatter} using the given time zone.
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public LocalizedDateFormatter zone(TimeZone zone) {
+        if (zone == null) {
+            throw new NullPointerException("zone must not be null");
+        }
+        return new LocalizedDateFormatter(this, zone);
+    }
+
+    /**
+     * Returns the time zone used by this formatter. The returned time zone is frozen.
+     *
+     * @return The time zone.
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public TimeZone getTimeZone() {
+        return zone;
+    }
+
+    /**
+     * Returns the pattern used by this formatter.
+     *
+     * @return The date/time pattern.
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public String getPattern() {
+        return prototype.toPattern();
+    }
+
+    /**
+     * Format the given date.
+     *
+     * @param date
+     *            The date to format.
+     * @return A FormattedDate object; call .toString() to get the string.
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public FormattedDate format(Date date) {
+        return format(date.getTime());
+    }
+
+    /**
+     * Format the given time, in milliseconds since January 1, 1970, 00:00:00 GMT.
+     *
+     * @param millis
+     *            The time to format.
+     * @return A FormattedDate object; call .toString() to get the string.
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public FormattedDate format(long millis) {
+        List<FieldPosition> attributes = new ArrayList<>();
+        if (items != null) {
+            long local = millis + zone.getOffset(millis);
+            if (local >= gregorianCutover && local < Grego.MAX_MILLIS) {
+                StringBuilder sb = new StringBuilder();
+                formatFast(millis, local, sb, attributes);
+                return new FormattedDate(sb, attributes);
+            }
+        }
+        SimpleDateFormat fmt = slowFormat.getAndSet(null);
+        if (fmt == null) {
+            fmt = (SimpleDateFormat) prototype.clone();
+            fmt.getCalendar().setTimeZone(zone);
+        }
+        Calendar cal = fmt.getCalendar();
+        cal.setTimeInMillis(millis);
+        StringBuffer sb = new StringBuffer();
+        fmt.format(cal, sb, new FieldPosition(0), attributes);
+        slowFormat.set(fmt);
+        return new FormattedDate(sb, attributes);
+    }
+
+    /*
+     * Formats the compiled pattern, mirroring SimpleDateFormat.subFormat for
+     * the Gregorian calendar.
+     */
+    private void formatFast(long millis, long local, StringBuilder sb, List<FieldPosition> attributes) {
+        long day = Grego.floorDivide(local, Grego.MILLIS_PER_DAY);
+        int millisInDay = (int) (local - day * Grego.MILLIS_PER_DAY);
+        int[] fields = Grego.dayToFields(day, new int[5]);
+        int year = fields[0];
+        int month = fields[1];
+        int dayOfMonth = fields[2];
+        int dayOfWeek = fields[3];
+        int dayOfYear = fields[4];
+        int hour = millisInDay / Grego.MILLIS_PER_HOUR;
+
+        for (Object o : items) {
+            if (o instanceof String) {
+                sb.append((String) o);
+                continue;
+            }
+            Item item = (Item) o;
+            int count = item.count;
+            int start = sb.length();
+            switch (item.type) {
+            case 'G':
+                // Always AD after the Gregorian cutover
+                if (count == 5) {
+                    safeAppend(symbols.narrowEras, GregorianCalendar.AD, sb);
+                } else if (count == 4) {
+                    safeAppend(symbols.eraNames, GregorianCalendar.AD, sb);
+                } else {
+                    safeAppend(symbols.eras, GregorianCalendar.AD, sb);
+                }
+                break;
+            case 'y':
+                if (count == 2) {
+                    appendNumber(sb, year, 2, 2);
+                } else {
+                    appendNumber(sb, year, count, Integer.MAX_VALUE);
+                }
+                break;
+            case 'u':
+                appendNumber(sb, year, count, Integer.MAX_VALUE);
+                break;
+            case 'M':
+                if (count == 5) {
+                    safeAppend(symbols.narrowMonths, month, sb);
+                } else if (count == 4) {
+                    safeAppend(symbols.months, month, sb);
+                } else if (count == 3) {
+                    safeAppend(symbols.shortMonths, month, sb);
+                } else {
+                    appendNumber(sb, month + 1, count, Integer.MAX_VALUE);
+                }
+                break;
+            case 'L':
+                if (count == 5) {
+                    safeAppend(symbols.standaloneNarrowMonths, month, sb);
+                } else if (count == 4) {
+                    safeAppend(symbols.standaloneMonths, month, sb);
+                } else if (count == 3) {
+                    safeAppend(symbols.standaloneShortMonths, month, sb);
+                } else {
+                    appendNumber(sb, month + 1, count, Integer.MAX_VALUE);
+                }
+                break;
+            case 'd':
+                appendNumber(sb, dayOfMonth, count, Integer.MAX_VALUE);
+                break;
+            case 'D':
+                appendNumber(sb, dayOfYear, count, Integer.MAX_VALUE);
+                break;
+            case 'F':
+                appendNumber(sb, (dayOfMonth - 1) / 7 + 1, count, Integer.MAX_VALUE);
+                break;
+            case 'e':
+                if (count < 3) {
+                    appendNumber(sb, localDayOfWeek(dayOfWeek), count, Integer.MAX_VALUE);
+                } else {
+                    // use the format weekday names
+                    appendWeekday(sb, dayOfWeek, count);
+                }
+                break;
+            case 'E':
+                appendWeekday(sb, dayOfWeek, count);
+                break;
+            case 'c':
+                if (count < 3) {
+                    appendNumber(sb, localDayOfWeek(dayOfWeek), 1, Integer.MAX_VALUE);
+                } else if (count == 5) {
+                    safeAppend(symbols.standaloneNarrowWeekdays, dayOfWeek, sb);
+                } else if (count == 4) {
+                    safeAppend(symbols.standaloneWeekdays, dayOfWeek, sb);
+                } else if (count == 6 && symbols.standaloneShorterWeekdays != null) {
+                    safeAppend(symbols.standaloneShorterWeekdays, dayOfWeek, sb);
+                } else {
+                    safeAppend(symbols.standaloneShortWeekdays, dayOfWeek, sb);
+                }
+                break;
+            case 'Q':
+                if (count >= 4) {
+                    safeAppend(symbols.quarters, month / 3, sb);
+                } else if (count == 3) {
+                    safeAppend(symbols.shortQuarters, month / 3, sb);
+                } else {
+                    appendNumber(sb, month / 3 + 1, count, Integer.MAX_VALUE);
+                }
+                break;
+            case 'q':
+                if (count >= 4) {
+                    safeAppend(symbols.standaloneQuarters, month / 3, sb);
+                } else if (count == 3) {
+                    safeAppend(symbols.standaloneShortQuarters, month / 3, sb);
+                } else {
+                    appendNumber(sb, month / 3 + 1, count, Integer.MAX_VALUE);
+                }
+                break;
+            case 'a':
+                if (count < 5 || symbols.ampmsNarrow == null) {
+                    safeAppend(symbols.ampms, hour / 12, sb);
+                } else {
+                    safeAppend(symbols.ampmsNarrow, hour / 12, sb);
+                }
+                break;
+            case 'H':
+                appendNumber(sb, hour, count, Integer.MAX_VALUE);
+                break;
+            case 'k':
+                appendNumber(sb, hour == 0 ? 24 : hour, count, Integer.MAX_VALUE);
+                break;
+            case 'K':
+                appendNumber(sb, hour % 12, count, Integer.MAX_VALUE);
+                break;
+            case 'h':
+                appendNumber(sb, hour % 12 == 0 ? 12 : hour % 12, count, Integer.MAX_VALUE);
+                break;
+            case 'm':
+                appendNumber(sb, (millisInDay / Grego.MILLIS_PER_MINUTE) % 60, count, Integer.MAX_VALUE);
+                break;
+            case 's':
+                appendNumber(sb, (millisInDay / Grego.MILLIS_PER_SECOND) % 60, count, Integer.MAX_VALUE);
+                break;
+            case 'S':
+                // Fractional seconds left-justify
+                {
+                    int value = millisInDay % Grego.MILLIS_PER_SECOND;
+                    if (count == 1) {
+                        value /= 100;
+                    } else if (count == 2) {
+                        value /= 10;
+                    }
+                    appendNumber(sb, value, Math.min(3, count), Integer.MAX_VALUE);
+                    for (int i = 3; i < count; i++) {
+                        sb.append(digits[0]);
+                    }
+                }
+                break;
+            case 'A':
+                appendNumber(sb, millisInDay, count, Integer.MAX_VALUE);
+                break;
+            case 'g':
+                appendNumber(sb, (int) (day + EPOCH_JULIAN_DAY), count, Integer.MAX_VALUE);
+                break;
+            case 'l':
+                // deprecated placeholder for leap month marker, ignore
+                break;
+            default:
+                sb.append(tzFormat.format(item.zoneStyle, zone, millis));
+                break;
+            }
+            int end = sb.length();
+            if (end > start) {
+                FieldPosition fp = new FieldPosition(item.field);
+                fp.setBeginIndex(start);
+                fp.setEndIndex(end);
+                attributes.add(fp);
+            }
+        }
+    }
+
+    private void appendWeekday(StringBuilder sb, int dayOfWeek, int count) {
+        if (count == 5) {
+            safeAppend(symbols.narrowWeekdays, dayOfWeek, sb);
+        } else if (count == 4) {
+            safeAppend(symbols.weekdays, dayOfWeek, sb);
+        } else if (count == 6 && symbols.shorterWeekdays != null) {
+            safeAppend(symbols.shorterWeekdays, dayOfWeek, sb);
+        } else {
+            safeAppend(symbols.shortWeekdays, dayOfWeek, sb);
+        }
+    }
+
+    private int localDayOfWeek(int dayOfWeek) {
+        int dowLocal = dayOfWeek - firstDayOfWeek;
+        if (dowLocal < 0) {
+            dowLocal += 7;
+        }
+        return dowLocal + 1;
+    }
+
+    private static void safeAppend(String[] array, int value, StringBuilder appendTo) {
+        if (array != null && value >= 0 && value < array.length) {
+            appendTo.append(array[value]);
+        }
+    }
+
+    /*
+     * Zero padding number format for non-negative values, equivalent to
+     * SimpleDateFormat.fastZeroPaddingNumber. maxDigits is either 2 or
+     * Integer.MAX_VALUE.
+     */
+    private void appendNumber(StringBuilder sb, int value, int minDigits, int maxDigits) {
+        if (maxDigits == 2) {
+            value %= 100;
+        }
+        int length = 1;
+        for (int v = value; v >= 10; v /= 10) {
+            length++;
+        }
+        for (int i = length; i < minDigits; i++) {
+            sb.append(digits[0]);
+        }
+        int limit = sb.length() + length;
+        sb.setLength(limit);
+        for (int i = limit - 1; i >= limit - length; i--) {
+            sb.setCharAt(i, digits[value % 10]);
+            value /= 10;
+        }
+    }
+}
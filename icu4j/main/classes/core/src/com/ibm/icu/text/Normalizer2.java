@@ -9,12 +9,15 @@
 
 package com.ibm.icu.text;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
 
 import com.ibm.icu.impl.ICUBinary;
 import com.ibm.icu.impl.Norm2AllModes;
+import com.ibm.icu.impl.UTF8Util;
 import com.ibm.icu.util.ICUUncheckedIOException;
 
 /**
@@ -437,6 +440,109 @@ public abstract StringBuilder normalizeSecondAndAppend(
      */
     public abstract boolean isInert(int c);
 
+    /**
+     * Normalizes a UTF-8 string and writes the result to the destination stream.
+     * Text which is already normalized is copied as bytes, without conversion to UTF-16.
+     * Ill-formed UTF-8 sequences are passed through unchanged, or replaced by U+FFFD
+     * in implementations that do not support UTF-8 natively.
+     *
+     * <p>Any {@link java.io.IOException} is wrapped into a {@link com.ibm.icu.util.ICUUncheckedIOException}.
+     *
+     * @param src source UTF-8 bytes
+     * @param start start index of the source text
+     * @param limit end index of the source text
+     * @param dest destination stream; gets the normalized UTF-8 bytes written
+     * @param edits records edits for index mapping, working with styled text,
+     *              and getting only changes (if any);
+     *              it is reset before any edits are added; can be null.
+     * @throws UnsupportedOperationException if edits is not null and
+     *         this normalizer does not support recording edits for UTF-8
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public void normalizeUTF8(byte[] src, int start, int limit, OutputStream dest, Edits edits) {
+        checkBounds(src, start, limit);
+        if (edits != null) {
+            throw new UnsupportedOperationException();
+        }
+        StringBuilder s16 = UTF8Util.appendUTF16(src, start, limit, new StringBuilder(limit - start));
+        StringBuilder normalized = normalize(s16, new StringBuilder(s16.length()));
+        byte[] bytes = new byte[normalized.length() * 3];
+        int length = UTF8Util.appendUTF8(normalized, 0, normalized.length(), bytes, 0);
+        try {
+            dest.write(bytes, 0, length);
+        } catch (IOException e) {
+            throw new ICUUncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the normalized form of the UTF-8 source bytes.
+     * @param src source UTF-8 bytes
+     * @return the normalized UTF-8 bytes
+     * @see #normalizeUTF8(byte[], int, int, OutputStream, Edits)
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public byte[] normalizeUTF8(byte[] src) {
+        if (spanQuickCheckYesUTF8(src, 0, src.length) == src.length) {
+            return src.clone();
+        }
+        ByteArrayOutputStream dest = new ByteArrayOutputStream(src.length + 16);
+        normalizeUTF8(src, 0, src.length, dest, null);
+        return dest.toByteArray();
+    }
+
+    /**
+     * Tests if the UTF-8 string is normalized.
+     * Like {@link #isNormalized(CharSequence)}, this resolves "maybe" quick check results.
+     * @param s UTF-8 bytes
+     * @param start start index of the text
+     * @param limit end index of the text
+     * @return true if the text is normalized
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public boolean isNormalizedUTF8(byte[] s, int start, int limit) {
+        checkBounds(s, start, limit);
+        return isNormalized(UTF8Util.appendUTF16(s, start, limit, new StringBuilder(limit - start)));
+    }
+
+    /**
+     * Returns the end of the normalized part of the UTF-8 text.
+     * In other words, with <code>end=spanQuickCheckYesUTF8(s, start, limit);</code>
+     * the bytes from start to end will pass the quick check with a "yes" result.
+     * The returned index is at a normalization boundary.
+     * @param s UTF-8 bytes
+     * @param start start index of the text
+     * @param limit end index of the text
+     * @return "yes" span end index, from start to limit
+     * @see #spanQuickCheckYes(CharSequence)
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public int spanQuickCheckYesUTF8(byte[] s, int start, int limit) {
+        checkBounds(s, start, limit);
+        StringBuilder s16 = UTF8Util.appendUTF16(s, start, limit, new StringBuilder(limit - start));
+        int spanLength16 = spanQuickCheckYes(s16);
+        // Map the UTF-16 span length back to a UTF-8 index.
+        int length16 = 0;
+        while (length16 < spanLength16) {
+            int packed = UTF8Util.next(s, start, limit);
+            int c = UTF8Util.codePoint(packed);
+            length16 += c >= 0x10000 ? 2 : 1;
+            start += UTF8Util.length(packed);
+        }
+        return start;
+    }
+
+    private static void checkBounds(byte[] s, int start, int limit) {
+        if (start < 0 || start > limit || limit > s.length) {
+            throw new IndexOutOfBoundsException(
+                    "start " + start + ", limit " + limit + ", length " + s.length);
+        }
+    }
+
     /**
      * Sole constructor.  (For invocation by subclass constructors,
      * typically implicit.)
@@ -118,6 +118,7 @@ protected Object handleCreate(ULocale loc, int kind, ICUService srvc) {
                 
             this.registerFactory(new RBNumberFormatFactory());
             markDefault();
+            registerCacheStats();
         }
     }
     private static ICULocaleService service = new NFService();
@@ -18,10 +18,11 @@
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.text.CharacterIterator;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
+import com.ibm.icu.impl.CSCharacterIterator;
 import com.ibm.icu.impl.CharacterIteration;
 import com.ibm.icu.impl.ICUBinary;
 import com.ibm.icu.impl.ICUDebug;
@@ -47,9 +48,6 @@ public class RuleBasedBreakIterator extends BreakIterator {
      */
     private RuleBasedBreakIterator() {
         fDictionaryCharCount  = 0;
-        synchronized(gAllBreakEngines) {
-            fBreakEngines = new ArrayList<>(gAllBreakEngines);
-        }
     }
 
     /**
@@ -138,9 +136,6 @@ public Object clone()  {
         if (fText != null) {
             result.fText = (CharacterIterator)(fText.clone());
         }
-        synchronized (gAllBreakEngines)  {
-            result.fBreakEngines = new ArrayList<>(gAllBreakEngines);
-        }
         result.fLookAheadMatches = new int[fRData.fFTable.fLookAheadResultsSize];
         result.fBreakCache = result.new BreakCache(fBreakCache);
         result.fDictionaryCache = result.new DictionaryCache(fDictionaryCache);
@@ -224,6 +219,26 @@ public int hashCode()
      */
     private CharacterIterator   fText = new java.text.StringCharacterIterator("");
 
+    /**
+     * A copy of the text, when it was set as a String or CharSequence; otherwise null.
+     * The state machines read it directly rather than through fText,
+     * which is still kept for getText() and for the dictionary break engines.
+     * Indexes into this array are the same as indexes of fText.
+     */
+    private char[] fTextChars;
+
+    /**
+     * The number of chars of text in fTextChars, which may be shorter than the array.
+     */
+    private int fTextCharsLength;
+
+    /**
+     * Set by handleNext() when the state machine had to look at the end of the
+     * text to determine the boundary; used by StreamSegmenter to tell whether
+     * a boundary could change once more text is appended.
+     */
+    private boolean fReachedTextEnd;
+
     /**
      * The rule data for this BreakIterator instance.
      * Not intended for public use. Declared public for testing purposes only.
@@ -297,27 +312,24 @@ public int hashCode()
     private static final UnhandledBreakEngine gUnhandledBreakEngine;
 
     /**
-     * List of all known break engines, common for all break iterators.
+     * Array of all known break engines, common for all break iterators.
      * Lazily updated as break engines are needed, because instantiation of
      * break engines is expensive.
      *
-     * Because gAllBreakEngines can be referenced concurrently from different
-     * BreakIterator instances, all access is synchronized.
+     * The array is copy-on-write: Once published, an array is never modified,
+     * and the break engines in it are immutable, so lookups need no lock.
+     * Adding an engine, and updating gUnhandledBreakEngine, is synchronized
+     * on gBreakEngineLock.
      */
-    private static final List<LanguageBreakEngine> gAllBreakEngines;
+    private static volatile LanguageBreakEngine[] gAllBreakEngines;
+
+    private static final Object gBreakEngineLock = new Object();
 
     static {
         gUnhandledBreakEngine = new UnhandledBreakEngine();
-        gAllBreakEngines = new ArrayList<>();
-        gAllBreakEngines.add(gUnhandledBreakEngine);
+        gAllBreakEngines = new LanguageBreakEngine[] { gUnhandledBreakEngine };
     }
 
-    /**
-     * List of all known break engines. Similar to gAllBreakEngines, but local to a
-     * break iterator, allowing it to be used without synchronization.
-     */
-    private List<LanguageBreakEngine> fBreakEngines;
-
     /**
      * Dump the contents of the state table and character classes for this break iterator.
      * For debugging only.
@@ -434,6 +446,119 @@ public int next() {
         return fDone ? DONE : fPosition;
     }
 
+    /**
+     * Finds a run of boundaries following a position in one call, and stores them
+     * into a caller-supplied array.
+     * <p>
+     * The boundaries stored are exactly those that <code>following(start)</code>,
+     * followed by repeated calls to <code>next()</code>, would return, stopping at
+     * the end of the text, at the first boundary greater than <code>limit</code>,
+     * or when the output array is full, whichever comes first. The boundaries are
+     * found by running the rules straight through, without maintaining the
+     * iterator's boundary cache for each of them, which makes this much faster
+     * than calling <code>next()</code> in a loop for forward-only tokenization.
+     * <p>
+     * After the call the iterator is positioned at the last boundary stored, so
+     * that <code>next()</code>, <code>getRuleStatus()</code> or a further call
+     * with <code>start</code> set to that boundary continue from there.
+     * If no boundary was stored, the iterator is left where
+     * <code>following(start)</code> left it.
+     *
+     * @param start the position from which to begin searching for boundaries.
+     * @param limit the largest boundary position to be stored.
+     * @param boundaries an array to be filled in with the boundary positions, in ascending order.
+     * @param ruleStatuses if not null, an array to be filled in with the rule status of
+     *                  each boundary, as returned by <code>getRuleStatus()</code>.
+     *                  At most <code>ruleStatuses.length</code> boundaries are stored.
+     * @return the number of boundaries stored.
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public int getBoundaries(int start, int limit, int[] boundaries, int[] ruleStatuses) {
+        int capacity = boundaries.length;
+        if (ruleStatuses != null && ruleStatuses.length < capacity) {
+            capacity = ruleStatuses.length;
+        }
+        if (capacity == 0) {
+            return 0;
+        }
+        int pos = following(start);
+        if (pos == DONE || pos > limit) {
+            return 0;
+        }
+        int statusIdx = fRuleStatusIndex;
+        int count = 0;
+        for (;;) {
+            boundaries[count] = pos;
+            if (ruleStatuses != null) {
+                ruleStatuses[count] = fRData.fStatusTable[statusIdx + fRData.fStatusTable[statusIdx]];
+            }
+            ++count;
+            if (count == capacity || pos >= limit) {
+                break;
+            }
+
+            // Same steps as BreakCache.populateFollowing(), without adding to the cache.
+            int nextPos;
+            int nextStatusIdx;
+            if (fDictionaryCache.following(pos)) {
+                nextPos = fDictionaryCache.fBoundary;
+                nextStatusIdx = fDictionaryCache.fStatusIndex;
+            } else {
+                fPosition = pos;
+                nextPos = handleNext();
+                if (nextPos == DONE) {
+                    break;
+                }
+                nextStatusIdx = fRuleStatusIndex;
+                if (fDictionaryCharCount > 0) {
+                    fDictionaryCache.populateDictionary(pos, nextPos, statusIdx, nextStatusIdx);
+                    if (fDictionaryCache.following(pos)) {
+                        nextPos = fDictionaryCache.fBoundary;
+                        nextStatusIdx = fDictionaryCache.fStatusIndex;
+                    }
+                }
+            }
+            if (nextPos > limit) {
+                break;
+            }
+            pos = nextPos;
+            statusIdx = nextStatusIdx;
+        }
+
+        // Leave the iterator, and a fresh boundary cache, on the last boundary stored.
+        fBreakCache.reset(pos, statusIdx);
+        fPosition = pos;
+        fRuleStatusIndex = statusIdx;
+        fDone = false;
+        return count;
+    }
+
+    /**
+     * Same as BreakIterator.boundariesPast(), but finds the boundaries
+     * in bulk with getBoundaries().
+     */
+    @Override
+    int[] boundariesPast(int stopAfter) {
+        int[] boundaries = new int[64];
+        int[] buffer = new int[256];
+        int count = 0;
+        int boundary = current();
+        while (boundary <= stopAfter) {
+            int n = getBoundaries(boundary, Integer.MAX_VALUE, buffer, null);
+            if (n == 0) {
+                break;
+            }
+            if (count + n > boundaries.length) {
+                boundaries = Arrays.copyOf(boundaries, Math.max(count + n, count * 2));
+            }
+            for (int i = 0; i < n && boundary <= stopAfter; ++i) {
+                boundaries[count++] = boundary = buffer[i];
+            }
+        }
+        return Arrays.copyOf(boundaries, count);
+    }
+
     /**
      * Moves the iterator backwards, to the boundary preceding the current one.
      * @return The position of the boundary position immediately preceding the starting position.
@@ -668,9 +793,46 @@ public void setText(CharacterIterator newText) {
         }
         fDictionaryCache.reset();
         fText = newText;
+        fTextChars = null;
         this.first();
     }
 
+    /**
+     * {@inheritDoc}
+     * @stable ICU 2.0
+     */
+    @Override
+    public void setText(String newText) {
+        CharacterIterator ci = new java.text.StringCharacterIterator(newText);
+        setText(ci);
+        if (fText == ci) {
+            fTextChars = newText.toCharArray();
+            fTextCharsLength = fTextChars.length;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * @stable ICU 60
+     */
+    @Override
+    public void setText(CharSequence newText) {
+        CharacterIterator ci = new CSCharacterIterator(newText);
+        setText(ci);
+        if (fText == ci) {
+            char[] chars = new char[newText.length()];
+            if (newText instanceof String) {
+                ((String) newText).getChars(0, chars.length, chars, 0);
+            } else {
+                for (int i = 0; i < chars.length; ++i) {
+                    chars[i] = newText.charAt(i);
+                }
+            }
+            fTextChars = chars;
+            fTextCharsLength = chars.length;
+        }
+    }
+
      /**
      * Control debug, trace and dump options.
      * @internal
@@ -685,19 +847,18 @@ private LanguageBreakEngine getLanguageBreakEngine(int c) {
 
         // We have a dictionary character.
         // Does an already instantiated break engine handle it?
-        for (LanguageBreakEngine candidate : fBreakEngines) {
+        for (LanguageBreakEngine candidate : gAllBreakEngines) {
             if (candidate.handles(c)) {
                 return candidate;
             }
         }
 
-        synchronized (gAllBreakEngines) {
-            // This break iterator's list of break engines didn't handle the character.
-            // Check the global list, another break iterator may have instantiated the
-            // desired engine.
-            for (LanguageBreakEngine candidate : gAllBreakEngines) {
+        synchronized (gBreakEngineLock) {
+            // Check the list again, another break iterator may have instantiated the
+            // desired engine in the meantime.
+            LanguageBreakEngine[] engines = gAllBreakEngines;
+            for (LanguageBreakEngine candidate : engines) {
                 if (candidate.handles(c)) {
-                    fBreakEngines.add(candidate);
                     return candidate;
                 }
             }
@@ -741,11 +902,12 @@ private LanguageBreakEngine getLanguageBreakEngine(int c) {
             }
 
             if (eng != null && eng != gUnhandledBreakEngine) {
-                gAllBreakEngines.add(eng);
-                fBreakEngines.add(eng);
+                LanguageBreakEngine[] newEngines = Arrays.copyOf(engines, engines.length + 1);
+                newEngines[engines.length] = eng;
+                gAllBreakEngines = newEngines;
             }
             return eng;
-        }   // end synchronized(gAllBreakEngines)
+        }   // end synchronized(gBreakEngineLock)
     }
 
     /**
@@ -771,6 +933,9 @@ private LanguageBreakEngine getLanguageBreakEngine(int c) {
      * points at the lead surrogate of a supplementary.
      */
     private int handleNext() {
+        if (fTextChars != null) {
+            return handleNextInChars();
+        }
         if (TRACE) {
             System.out.println("Handle Next   pos      char  state category");
         }
@@ -779,6 +944,7 @@ private int handleNext() {
         // Set the default for it.
         fRuleStatusIndex  = 0;
         fDictionaryCharCount = 0;
+        fReachedTextEnd = false;
 
         // caches for quicker access
         CharacterIterator text = fText;
@@ -829,6 +995,7 @@ private int handleNext() {
                 // Run the loop one last time with the fake end-of-input character category
                 mode = RBBI_END;
                 category = 1;
+                fReachedTextEnd = true;
             }
             else if (mode == RBBI_RUN) {
                 // Get the char category.  An incoming category of 1 or 2 mens that
@@ -937,6 +1104,168 @@ else if (mode == RBBI_RUN) {
         return result;
     }
 
+    /**
+     * Same as handleNext(), but reads the text directly from the fTextChars array
+     * rather than through the CharacterIterator.
+     * The variable index is the start of the current character c.
+     */
+    private int handleNextInChars() {
+        if (TRACE) {
+            System.out.println("Handle Next   pos      char  state category");
+        }
+
+        // handleNext always sets the break tag value.
+        // Set the default for it.
+        fRuleStatusIndex  = 0;
+        fDictionaryCharCount = 0;
+        fReachedTextEnd = false;
+
+        // caches for quicker access
+        char[] text = fTextChars;
+        int limit = fTextCharsLength;
+        CodePointTrie trie = fRData.fTrie;
+
+        char[] stateTable  = fRData.fFTable.fTable;
+        int initialPosition = fPosition;
+        int index           = initialPosition;
+        int result          = initialPosition;
+
+        // Set up the starting char
+        if (index >= limit) {
+            fDone = true;
+            return BreakIterator.DONE;
+        }
+        int c = text[index];
+        int cLength = 1;
+        if (UTF16.isLeadSurrogate((char) c) && index + 1 < limit && UTF16.isTrailSurrogate(text[index + 1])) {
+            c = Character.toCodePoint((char) c, text[index + 1]);
+            cLength = 2;
+        }
+
+        // Set the initial state for the state machine
+        int state           = START_STATE;
+        int row             = fRData.getRowIndex(state);
+        short category      = 3;
+        int flagsState      = fRData.fFTable.fFlags;
+        int dictStart       = fRData.fFTable.fDictCategoriesStart;
+        int mode            = RBBI_RUN;
+        if ((flagsState & RBBIDataWrapper.RBBI_BOF_REQUIRED) != 0) {
+            category = 2;
+            mode     = RBBI_START;
+            if (TRACE) {
+                System.out.print("            " +  RBBIDataWrapper.intToString(index, 5));
+                System.out.print(RBBIDataWrapper.intToHexString(c, 10));
+                System.out.println(RBBIDataWrapper.intToString(state,7) + RBBIDataWrapper.intToString(category,6));
+            }
+        }
+
+        // loop until we reach the end of the text or transition to state 0
+        while (state != STOP_STATE) {
+            if (c == DONE32) {
+                // Reached end of input string.
+                if (mode == RBBI_END) {
+                    // We have already run the loop one last time with the
+                    // character set to the pseudo {eof} value. Now it is time
+                    // to unconditionally bail out.
+                    break;
+                }
+                // Run the loop one last time with the fake end-of-input character category
+                mode = RBBI_END;
+                category = 1;
+                fReachedTextEnd = true;
+            }
+            else if (mode == RBBI_RUN) {
+                // look up the current character's character category, which tells us
+                // which column in the state table to look at.
+                //
+                category = (short) trie.get(c);
+
+                // Check for categories that require word dictionary handling.
+                if (category >= dictStart) {
+                    fDictionaryCharCount++;
+                }
+
+                if (TRACE) {
+                    System.out.print("            " +  RBBIDataWrapper.intToString(index, 5));
+                    System.out.print(RBBIDataWrapper.intToHexString(c, 10));
+                    System.out.println(RBBIDataWrapper.intToString(state,7) + RBBIDataWrapper.intToString(category,6));
+                }
+
+                // Advance to the next character.
+                index += cLength;
+                if (index < limit) {
+                    c = text[index];
+                    cLength = 1;
+                    if (UTF16.isLeadSurrogate((char) c) && index + 1 < limit &&
+                            UTF16.isTrailSurrogate(text[index + 1])) {
+                        c = Character.toCodePoint((char) c, text[index + 1]);
+                        cLength = 2;
+                    }
+                } else {
+                    c = DONE32;
+                }
+            }
+            else {
+                mode = RBBI_RUN;
+            }
+
+            // look up a state transition in the state table
+            state = stateTable[row + RBBIDataWrapper.NEXTSTATES + category];
+            row   = fRData.getRowIndex(state);
+            int accepting = stateTable[row + RBBIDataWrapper.ACCEPTING];
+            if (accepting == RBBIDataWrapper.ACCEPTING_UNCONDITIONAL) {
+                // Match found, common case
+                result = index;
+
+                //  Remember the break status (tag) values.
+                fRuleStatusIndex = stateTable[row + RBBIDataWrapper.TAGSIDX];
+            } else if (accepting > RBBIDataWrapper.ACCEPTING_UNCONDITIONAL) {
+                // Lookahead match is completed
+                int lookaheadResult = fLookAheadMatches[accepting];
+                if (lookaheadResult >= 0) {
+                    fRuleStatusIndex = stateTable[row + RBBIDataWrapper.TAGSIDX];
+                    fPosition = lookaheadResult;
+                    return lookaheadResult;
+                }
+            }
+
+            // If we are at the position of the '/' in a look-ahead (hard break) rule;
+            // record the current position, to be returned later, if the full rule matches.
+            int rule = stateTable[row + RBBIDataWrapper.LOOKAHEAD];
+            if (rule != 0) {
+                fLookAheadMatches[rule] = index;
+            }
+        }        // End of state machine main loop
+
+        // The state machine is done.  Check whether it found a match...
+
+        // If the iterator failed to advance in the match engine force it ahead by one.
+        // This indicates a defect in the break rules, which should always match
+        // at least one character.
+
+        if (result == initialPosition) {
+            if (TRACE) {
+                System.out.println("Iterator did not move. Advancing by 1.");
+            }
+            result = initialPosition + 1;
+            if (UTF16.isLeadSurrogate(text[initialPosition]) && result < limit &&
+                    UTF16.isTrailSurrogate(text[result])) {
+                ++result;
+            }
+            fRuleStatusIndex = 0;
+        }
+
+        // Leave the iterator at our result position.
+        //   (we may have advanced beyond the last accepting position chasing after
+        //    longer matches that never completed.)
+        fPosition = result;
+
+        if (TRACE) {
+            System.out.println("result = " + result);
+        }
+        return result;
+    }
+
     /**
      * Iterate backwards from an arbitrary position in the input text using the Safe Reverse rules.
      * This locates a "Safe Position" from which the forward break rules
@@ -949,6 +1278,9 @@ else if (mode == RBBI_RUN) {
      * @internal
      */
     private int handleSafePrevious(int fromPosition) {
+        if (fTextChars != null) {
+            return handleSafePreviousInChars(fromPosition);
+        }
         char            state;
         short           category = 0;
         int             result = 0;
@@ -1009,6 +1341,76 @@ private int handleSafePrevious(int fromPosition) {
         return result;
     }
 
+    /**
+     * Same as handleSafePrevious(), but reads the text directly from the fTextChars array
+     * rather than through the CharacterIterator.
+     */
+    private int handleSafePreviousInChars(int fromPosition) {
+        char[] text = fTextChars;
+        CodePointTrie trie = fRData.fTrie;
+        char[] stateTable  = fRData.fRTable.fTable;
+
+        // Same as CISetIndex32(): Do not start in the middle of a surrogate pair.
+        int index;
+        if (fromPosition <= 0) {
+            index = 0;
+        } else if (fromPosition >= fTextCharsLength) {
+            index = fTextCharsLength;
+        } else {
+            index = fromPosition;
+            if (UTF16.isTrailSurrogate(text[index]) && UTF16.isLeadSurrogate(text[index - 1])) {
+                --index;
+            }
+        }
+        if (TRACE) {
+            System.out.print("Handle Previous   pos   char  state category");
+        }
+
+        // if we're already at the start of the text, return DONE.
+        if (index == 0) {
+            return BreakIterator.DONE;
+        }
+
+        //  Set the initial state for the state machine
+        int state = START_STATE;
+        int row = fRData.getRowIndex(state);
+
+        // loop until we reach the start of the text or transition to state 0
+        while (index > 0) {
+            int c = text[--index];
+            if (UTF16.isTrailSurrogate((char) c) && index > 0 && UTF16.isLeadSurrogate(text[index - 1])) {
+                c = Character.toCodePoint(text[--index], (char) c);
+            }
+
+            // look up the current character's character category, which tells us
+            // which column in the state table to look at.
+            short category = (short) trie.get(c);
+            if (TRACE) {
+                System.out.print("            " +  RBBIDataWrapper.intToString(index, 5));
+                System.out.print(RBBIDataWrapper.intToHexString(c, 10));
+                System.out.println(RBBIDataWrapper.intToString(state,7) + RBBIDataWrapper.intToString(category,6));
+            }
+
+            // State Transition - move machine to its next state
+            //
+            assert(category < fRData.fHeader.fCatCount);
+            state = stateTable[row + RBBIDataWrapper.NEXTSTATES + category];
+            row   = fRData.getRowIndex(state);
+
+            if (state == STOP_STATE) {
+                // This is the normal exit from the lookup state machine.
+                // Transition to state zero means we have found a safe point.
+                break;
+            }
+        }
+
+        // The state machine is done.
+        if (TRACE) {
+            System.out.println("result = " + index);
+        }
+        return index;
+    }
+
     /**
      * Set the index of a CharacterIterator.
      * Pin the index to the valid range range of BeginIndex <= index <= EndIndex.
@@ -1032,6 +1434,214 @@ private static int CISetIndex32(CharacterIterator ci, int index) {
         return ci.getIndex();
     }
 
+    /**
+     * Finds the boundaries of text that is read incrementally from a <code>Readable</code>,
+     * such as a <code>Reader</code> or a <code>CharBuffer</code>, for input that is too large
+     * to be held in memory as a whole.
+     * <p>
+     * Only forward iteration is supported. The text is held in a window of fixed size,
+     * from which the text before the current boundary is discarded whenever more input is read,
+     * so memory use does not depend on the length of the input.
+     * A boundary is only reported once the break rules have matched it without reaching the
+     * end of the text read so far. The boundaries are therefore the same as those of a
+     * RuleBasedBreakIterator over the complete text, except that a segment which does not fit
+     * into the window is split at the end of the window.
+     * <p>
+     * Boundary positions are char offsets from the start of the input.
+     * A StreamSegmenter is not thread-safe.
+     *
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public static final class StreamSegmenter {
+        private final RuleBasedBreakIterator fBI;
+        private final Readable fInput;
+        private final char[] fWindow;
+        private final Segment fSegment = new Segment();
+        private int fWindowLength;      // The number of chars of text in fWindow.
+        private long fWindowStart;      // The input offset of fWindow[0].
+        private boolean fEndOfInput;
+        private boolean fDone;
+        private int fSegmentStart;      // Window index of the boundary before the current one.
+        private int fPosition;          // Window index of the current boundary.
+        private int fRuleStatusIndex;   // Rule status index of the current boundary.
+
+        /**
+         * Creates a StreamSegmenter that finds the boundaries of a break iterator's rules
+         * in the text read from <code>input</code>.
+         * The break iterator is cloned; it is neither used nor modified afterwards.
+         *
+         * @param breakIterator the break iterator whose rules are used.
+         * @param input the source of the text.
+         * @param windowSize the size of the text window, in chars. Segments longer than this
+         *                   are split.
+         * @throws IllegalArgumentException if windowSize is less than 2.
+         * @draft ICU 68
+         * @provisional This API might change or be removed in a future release.
+         */
+        public StreamSegmenter(RuleBasedBreakIterator breakIterator, Readable input, int windowSize) {
+            if (windowSize < 2) {
+                throw new IllegalArgumentException("windowSize must be at least 2: " + windowSize);
+            }
+            if (input == null) {
+                throw new NullPointerException();
+            }
+            fBI = (RuleBasedBreakIterator)breakIterator.clone();
+            fInput = input;
+            fWindow = new char[windowSize];
+            resetText();
+        }
+
+        /**
+         * Returns the current boundary. Before the first call to {@link #next()}, this is 0,
+         * the start of the input.
+         *
+         * @return the offset of the current boundary.
+         * @draft ICU 68
+         * @provisional This API might change or be removed in a future release.
+         */
+        public long current() {
+            return fWindowStart + fPosition;
+        }
+
+        /**
+         * Advances to the next boundary, reading more input as needed.
+         *
+         * @return the offset of the next boundary, or {@link BreakIterator#DONE} at the end of the input.
+         * @throws IOException if reading the input fails.
+         * @draft ICU 68
+         * @provisional This API might change or be removed in a future release.
+         */
+        public long next() throws IOException {
+            if (fDone) {
+                return DONE;
+            }
+            RuleBasedBreakIterator bi = fBI;
+            DictionaryCache dictionaryCache = bi.fDictionaryCache;
+            int boundary;
+            int ruleStatusIndex;
+            for (;;) {
+                // Same steps as BreakCache.populateFollowing(), except that a boundary found
+                // at the end of the window is not final until all the input has been read.
+                if (dictionaryCache.following(fPosition)) {
+                    boundary = dictionaryCache.fBoundary;
+                    ruleStatusIndex = dictionaryCache.fStatusIndex;
+                    break;
+                }
+                bi.fPosition = fPosition;
+                boundary = bi.handleNext();
+                boolean needMoreText = !fEndOfInput && (boundary == DONE || bi.fReachedTextEnd);
+                if (needMoreText && (fPosition > 0 || fWindowLength < fWindow.length)) {
+                    fill();
+                    continue;
+                }
+                if (boundary == DONE) {
+                    fDone = true;
+                    return DONE;
+                }
+                ruleStatusIndex = bi.fRuleStatusIndex;
+                if (bi.fDictionaryCharCount > 0) {
+                    dictionaryCache.populateDictionary(fPosition, boundary, fRuleStatusIndex, ruleStatusIndex);
+                    if (dictionaryCache.following(fPosition)) {
+                        boundary = dictionaryCache.fBoundary;
+                        ruleStatusIndex = dictionaryCache.fStatusIndex;
+                    }
+                }
+                break;
+            }
+            fSegmentStart = fPosition;
+            fPosition = boundary;
+            fRuleStatusIndex = ruleStatusIndex;
+            return fWindowStart + boundary;
+        }
+
+        /**
+         * Returns the status tag from the break rule that determined the current boundary,
+         * as for {@link RuleBasedBreakIterator#getRuleStatus()}.
+         *
+         * @return the rule status of the current boundary.
+         * @draft ICU 68
+         * @provisional This API might change or be removed in a future release.
+         */
+        public int getRuleStatus() {
+            int[] statusTable = fBI.fRData.fStatusTable;
+            return statusTable[fRuleStatusIndex + statusTable[fRuleStatusIndex]];
+        }
+
+        /**
+         * Returns the text between the previous boundary and the current one.
+         * The returned object is reused, and its contents are only valid
+         * until the next call to {@link #next()}; use toString() to keep them.
+         *
+         * @return the text of the segment that ends at the current boundary.
+         * @draft ICU 68
+         * @provisional This API might change or be removed in a future release.
+         */
+        public CharSequence getSegment() {
+            return fSegment;
+        }
+
+        /**
+         * Discards the text before the current boundary and reads more input into the window.
+         */
+        private void fill() throws IOException {
+            int kept = fWindowLength - fPosition;
+            System.arraycopy(fWindow, fPosition, fWindow, 0, kept);
+            fWindowStart += fPosition;
+            fWindowLength = kept;
+            fSegmentStart = fPosition = 0;
+            CharBuffer buffer = CharBuffer.wrap(fWindow, kept, fWindow.length - kept);
+            int count;
+            do {
+                count = fInput.read(buffer);
+            } while (count == 0);
+            if (count < 0) {
+                fEndOfInput = true;
+            } else {
+                fWindowLength += count;
+            }
+            resetText();
+        }
+
+        private void resetText() {
+            // Until its trail surrogate has been read, hide a lead surrogate at the end of the window
+            // from the rules; they would otherwise see an unpaired surrogate.
+            int length = fWindowLength;
+            if (!fEndOfInput && length > 0 && UTF16.isLeadSurrogate(fWindow[length - 1])) {
+                --length;
+            }
+            fBI.fText = new CSCharacterIterator(CharBuffer.wrap(fWindow, 0, length));
+            fBI.fTextChars = fWindow;
+            fBI.fTextCharsLength = length;
+            fBI.fDictionaryCache.reset();
+        }
+
+        private final class Segment implements CharSequence {
+            @Override
+            public int length() {
+                return fPosition - fSegmentStart;
+            }
+
+            @Override
+            public char charAt(int index) {
+                if (index < 0 || index >= length()) {
+                    throw new IndexOutOfBoundsException(Integer.toString(index));
+                }
+                return fWindow[fSegmentStart + index];
+            }
+
+            @Override
+            public CharSequence subSequence(int start, int end) {
+                return toString().subSequence(start, end);
+            }
+
+            @Override
+            public String toString() {
+                return new String(fWindow, fSegmentStart, length());
+            }
+        }
+    }
+
     /** DictionaryCache  stores the boundaries obtained from a run of dictionary characters.
      *                 Dictionary boundaries are moved first to this cache, then from here
      *                 to the main BreakCache, where they may inter-leave with non-dictionary
@@ -2134,7 +2134,7 @@ private static void safeAppendWithMonthPattern(String[] array, int value, String
     /*
      * PatternItem store parsed date/time field pattern information.
      */
-    private static class PatternItem {
+    static class PatternItem {
         final char type;
         final int length;
         final boolean isNumeric;
@@ -2154,7 +2154,7 @@ private static class PatternItem {
      * Returns parsed pattern items.  Each item is either String or
      * PatternItem.
      */
-    private Object[] getPatternItems() {
+    Object[] getPatternItems() {
         if (patternItems != null) {
             return patternItems;
         }
@@ -2313,6 +2313,16 @@ private void initLocalZeroPaddingNumberFormat() {
     private transient char[] decimalBuf;    // mutable - one per instance
     private static final int DECIMAL_BUF_SIZE = 10; // sufficient for int numbers
 
+    /*
+     * Returns the digits used by the local zero padding number format, or null
+     * when numeric fields must be formatted by a NumberFormat, either because the
+     * digits are not simple or because a numbering system override is in effect.
+     * Package private, used by LocalizedDateFormatter.
+     */
+    char[] getZeroPaddingDigits() {
+        return (useLocalZeroPaddingNumberFormat && overrideMap == null) ? decDigits : null;
+    }
+
     /*
      * Lightweight zero padding integer number format function.
      *
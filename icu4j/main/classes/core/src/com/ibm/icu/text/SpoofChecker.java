@@ -23,16 +23,20 @@
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Hashtable;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Locale;
+import java.util.Map;
 import java.util.MissingResourceException;
 import java.util.Set;
 import java.util.Vector;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import com.ibm.icu.impl.ICUBinary;
 import com.ibm.icu.impl.ICUBinary.Authenticate;
+import com.ibm.icu.impl.UTF8Util;
 import com.ibm.icu.impl.Utility;
 import com.ibm.icu.lang.UCharacter;
 import com.ibm.icu.lang.UCharacterCategory;
@@ -507,6 +511,7 @@ public static class Builder {
         // for this Spoof Checker. Defaults to all chars.
         final Set<ULocale> fAllowedLocales = new LinkedHashSet<>(); // The list of allowed locales.
         private RestrictionLevel fRestrictionLevel;
+        private int fSkeletonCacheSize; // Maximum number of cached skeletons, 0 for no cache.
 
         /**
          * Constructor: Create a default Unicode Spoof Checker Builder, configured to perform all checks except for
@@ -537,6 +542,7 @@ public Builder(SpoofChecker src) {
             fAllowedCharsSet.set(src.fAllowedCharsSet);
             fAllowedLocales.addAll(src.fAllowedLocales);
             fRestrictionLevel = src.fRestrictionLevel;
+            fSkeletonCacheSize = src.fSkeletonCache != null ? src.fSkeletonCache.maxSize : 0;
         }
 
         /**
@@ -568,6 +574,9 @@ public SpoofChecker build() {
             result.fAllowedCharsSet.freeze();
             result.fAllowedLocales = new HashSet<>(this.fAllowedLocales);
             result.fRestrictionLevel = this.fRestrictionLevel;
+            if (this.fSkeletonCacheSize > 0) {
+                result.fSkeletonCache = new SkeletonCache(this.fSkeletonCacheSize);
+            }
             return result;
         }
 
@@ -799,6 +808,28 @@ public Builder setRestrictionLevel(RestrictionLevel restrictionLevel) {
             return this;
         }
 
+        /**
+         * Sets the number of skeletons that the SpoofChecker caches, for use when the same strings are checked
+         * repeatedly, for example with {@link SpoofChecker#areConfusable(String, String)}. The cache holds the most
+         * recently used skeletons of {@link SpoofChecker#getSkeleton(CharSequence)}; it is shared by all threads
+         * using the SpoofChecker. By default there is no cache.
+         *
+         * @param size
+         *            The maximum number of cached skeletons, or 0 for no cache.
+         * @return self
+         * @throws IllegalArgumentException
+         *             if size is negative
+         * @draft ICU 68
+         * @provisional This API might change or be removed in a future release.
+         */
+        public Builder setSkeletonCacheSize(int size) {
+            if (size < 0) {
+                throw new IllegalArgumentException("Negative skeleton cache size: " + size);
+            }
+            fSkeletonCacheSize = size;
+            return this;
+        }
+
         /*
          * *****************************************************************************
          * Internal classes for compililing confusable data into its binary (runtime) form.
@@ -1498,19 +1529,104 @@ public int areConfusable(String s1, String s2) {
      * @stable ICU 58
      */
     public String getSkeleton(CharSequence str) {
+        if (fSkeletonCache == null) {
+            return getSkeleton(str, new StringBuilder(str.length())).toString();
+        }
+        String skelStr;
+        synchronized (fSkeletonCache) {
+            skelStr = fSkeletonCache.getSkeleton(str);
+        }
+        if (skelStr == null) {
+            String key = str.toString();
+            skelStr = getSkeleton(key, new StringBuilder(key.length())).toString();
+            synchronized (fSkeletonCache) {
+                fSkeletonCache.putSkeleton(key, skelStr);
+            }
+        }
+        return skelStr;
+    }
+
+    /**
+     * Appends the "skeleton" for an identifier string to a StringBuilder. This is the same as
+     * {@link #getSkeleton(CharSequence)} but lets the caller reuse one buffer for many identifiers.
+     * The skeleton cache, if any, is not used.
+     *
+     * @param str
+     *            The input string whose skeleton will be generated.
+     * @param dest
+     *            The StringBuilder to which the skeleton is appended.
+     * @return dest
+     *
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public StringBuilder getSkeleton(CharSequence str, StringBuilder dest) {
+        // ASCII without confusable mappings is its own skeleton.
+        if (fSpoofData.isUnmappedASCII(str)) {
+            return dest.append(str);
+        }
+
         // Apply the skeleton mapping to the NFD normalized input string
-        // Accumulate the skeleton, possibly unnormalized, in a String.
-        String nfdId = nfdNormalizer.normalize(str);
-        int normalizedLen = nfdId.length();
-        StringBuilder skelSB = new StringBuilder();
+        // Accumulate the skeleton, possibly unnormalized, in dest.
+        CharSequence nfdId = str;
+        int normalizedLen = str.length();
+        if (nfdNormalizer.spanQuickCheckYes(str) != normalizedLen) {
+            nfdId = nfdNormalizer.normalize(str);
+            normalizedLen = nfdId.length();
+        }
+        int start = dest.length();
         for (int inputIndex = 0; inputIndex < normalizedLen;) {
             int c = Character.codePointAt(nfdId, inputIndex);
             inputIndex += Character.charCount(c);
-            this.fSpoofData.confusableLookup(c, skelSB);
+            this.fSpoofData.confusableLookup(c, dest);
         }
-        String skelStr = skelSB.toString();
-        skelStr = nfdNormalizer.normalize(skelStr);
-        return skelStr;
+        CharSequence skel = start == 0 ? dest : dest.subSequence(start, dest.length());
+        if (nfdNormalizer.spanQuickCheckYes(skel) != skel.length()) {
+            String skelStr = nfdNormalizer.normalize(skel);
+            dest.setLength(start);
+            dest.append(skelStr);
+        }
+        return dest;
+    }
+
+    /**
+     * Writes the "skeleton" for an identifier string as UTF-8 into a byte array, for identifiers whose skeletons are
+     * stored or compared as UTF-8. If the skeleton does not fit, nothing is written; the return value is the length
+     * needed, and the caller can retry with a larger array.
+     *
+     * @param str
+     *            The input string whose skeleton will be generated.
+     * @param dest
+     *            The destination array.
+     * @param destStart
+     *            The index in dest at which to write the skeleton.
+     * @return The length of the UTF-8 skeleton in bytes.
+     *
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public int getSkeletonUTF8(CharSequence str, byte[] dest, int destStart) {
+        // Reuse this checker's buffer unless another thread is using it.
+        StringBuilder skel = fSkeletonBuffer.getAndSet(null);
+        if (skel == null) {
+            skel = new StringBuilder(str.length());
+        } else {
+            skel.setLength(0);
+        }
+        getSkeleton(str, skel);
+        int length = 0;
+        for (int i = 0; i < skel.length();) {
+            int c = Character.codePointAt(skel, i);
+            i += Character.charCount(c);
+            length += UTF8Util.byteCount(c);
+        }
+        if (length <= dest.length - destStart) {
+            UTF8Util.appendUTF8(skel, 0, skel.length(), dest, destStart);
+        }
+        if (skel.capacity() <= MAX_SKELETON_BUFFER_CAPACITY) {
+            fSkeletonBuffer.set(skel);
+        }
+        return length;
     }
 
     /**
@@ -1746,9 +1862,99 @@ boolean isIllegalCombiningDotLeadCharacter(int cp, StringBuilder sb) {
     private Set<ULocale> fAllowedLocales; // The Set of allowed locales.
     private UnicodeSet fAllowedCharsSet; // The UnicodeSet of allowed characters.
     private RestrictionLevel fRestrictionLevel;
+    private SkeletonCache fSkeletonCache; // Recently used skeletons, or null.
+    // Buffer for getSkeletonUTF8(), taken by one call at a time.
+    private final AtomicReference<StringBuilder> fSkeletonBuffer = new AtomicReference<>();
+
+    // Larger skeleton buffers are not kept.
+    private static final int MAX_SKELETON_BUFFER_CAPACITY = 1024;
 
     private static Normalizer2 nfdNormalizer = Normalizer2.getNFDInstance();
 
+    /**
+     * A bounded map from identifiers to their skeletons which drops the least recently used entries.
+     * Access must be synchronized on the cache.
+     */
+    private static final class SkeletonCache extends LinkedHashMap<SkeletonCache.Key, String> {
+        private static final long serialVersionUID = 1L;
+        final int maxSize;
+        // Reused for lookups, so that an identifier need not be copied into a String to be looked up.
+        private final Key lookupKey = new Key(null);
+
+        SkeletonCache(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        String getSkeleton(CharSequence id) {
+            lookupKey.set(id);
+            String skel = get(lookupKey);
+            lookupKey.set(null);  // Do not hold on to the caller's CharSequence.
+            return skel;
+        }
+
+        void putSkeleton(String id, String skel) {
+            put(new Key(id), skel);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, String> eldest) {
+            return size() > maxSize;
+        }
+
+        /**
+         * An identifier compared by its contents, with the same hash code as the equal String.
+         */
+        private static final class Key {
+            private CharSequence id;
+            private int hash;
+
+            Key(CharSequence id) {
+                set(id);
+            }
+
+            void set(CharSequence id) {
+                this.id = id;
+                if (id == null) {
+                    hash = 0;
+                } else if (id instanceof String) {
+                    hash = id.hashCode();
+                } else {
+                    int h = 0;
+                    for (int i = 0; i < id.length(); ++i) {
+                        h = 31 * h + id.charAt(i);
+                    }
+                    hash = h;
+                }
+            }
+
+            @Override
+            public int hashCode() {
+                return hash;
+            }
+
+            @Override
+            public boolean equals(Object other) {
+                if (this == other) {
+                    return true;
+                }
+                if (!(other instanceof Key)) {
+                    return false;
+                }
+                Key that = (Key) other;
+                if (hash != that.hash || id.length() != that.id.length()) {
+                    return false;
+                }
+                for (int i = 0; i < id.length(); ++i) {
+                    if (id.charAt(i) != that.id.charAt(i)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+    }
+
     // Confusable Mappings Data Structures, version 2.0
     //
     // This description and the corresponding implementation are to be kept
@@ -1827,6 +2033,9 @@ private static class SpoofData {
         short[] fCFUValues;
         String fCFUStrings;
 
+        // Bit set of the ASCII code points with confusable mappings, computed on first use.
+        private volatile long[] fASCIIMapped;
+
         private static final int DATA_FORMAT = 0x43667520; // "Cfu "
 
         private static final class IsAcceptable implements Authenticate {
@@ -1977,6 +2186,33 @@ public void confusableLookup(int inChar, StringBuilder dest) {
             return;
         }
 
+        /**
+         * Returns true if the string contains only ASCII characters which map to themselves,
+         * so that the string is its own skeleton.
+         */
+        public boolean isUnmappedASCII(CharSequence s) {
+            long[] mapped = fASCIIMapped;
+            if (mapped == null) {
+                mapped = new long[2];
+                StringBuilder sb = new StringBuilder();
+                for (int c = 0; c < 0x80; ++c) {
+                    sb.setLength(0);
+                    confusableLookup(c, sb);
+                    if (sb.length() != 1 || sb.charAt(0) != c) {
+                        mapped[c >> 6] |= 1L << c;
+                    }
+                }
+                fASCIIMapped = mapped;
+            }
+            for (int i = 0; i < s.length(); ++i) {
+                char c = s.charAt(i);
+                if (c >= 0x80 || (mapped[c >> 6] & (1L << c)) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
         /**
          * Return the number of confusable entries in this SpoofData.
          *
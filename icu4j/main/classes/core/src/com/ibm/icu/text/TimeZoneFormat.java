@@ -3026,7 +3026,7 @@ private static String parseZoneID(String text, ParsePosition pos) {
                     for (String id : ids) {
                         trie.put(id, id);
                     }
-                    ZONE_ID_TRIE = trie;
+                    ZONE_ID_TRIE = trie.freeze();
                 }
             }
         }
@@ -3069,7 +3069,7 @@ private static String parseShortZoneID(String text, ParsePosition pos) {
                     }
                     // Canonical list does not contain Etc/Unknown
                     trie.put(UNKNOWN_SHORT_ZONE_ID, UNKNOWN_ZONE_ID);
-                    SHORT_ZONE_ID_TRIE = trie;
+                    SHORT_ZONE_ID_TRIE = trie.freeze();
                 }
             }
         }
@@ -9,11 +9,17 @@
 package com.ibm.icu.text;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.ibm.icu.impl.ICUConfig;
 import com.ibm.icu.impl.SoftCache;
@@ -135,6 +141,14 @@ public enum NameType {
     private static final Factory TZNAMES_FACTORY;
     private static final String FACTORY_NAME_PROP = "com.ibm.icu.text.TimeZoneNames.Factory.impl";
     private static final String DEFAULT_FACTORY_CLASS = "com.ibm.icu.impl.TimeZoneNamesFactoryImpl";
+    private static final String PRELOAD_LOCALES_PROP = "com.ibm.icu.text.TimeZoneNames.preloadLocales";
+
+    // Strong references to preloaded instances, so that the cache does not release them.
+    private static final ConcurrentHashMap<String, TimeZoneNames> PRELOADED =
+            new ConcurrentHashMap<String, TimeZoneNames>();
+
+    // Set when the first getInstance() call has checked for configured preloading.
+    private static final AtomicBoolean CONFIGURED_PRELOAD_CHECKED = new AtomicBoolean();
 
     static {
         Factory factory = null;
@@ -162,6 +176,42 @@ public enum NameType {
         TZNAMES_FACTORY = factory;
     }
 
+    /**
+     * Starts loading the locales listed in the ICU configuration property
+     * com.ibm.icu.text.TimeZoneNames.preloadLocales, if any,
+     * in a background thread so that the caller does not wait for it.
+     * Does nothing after the first call.
+     */
+    private static void startConfiguredPreload() {
+        if (CONFIGURED_PRELOAD_CHECKED.get() || !CONFIGURED_PRELOAD_CHECKED.compareAndSet(false, true)) {
+            return;
+        }
+        String preloadLocales = ICUConfig.get(PRELOAD_LOCALES_PROP, "").trim();
+        if (preloadLocales.length() == 0) {
+            return;
+        }
+        final List<ULocale> locales = new ArrayList<ULocale>();
+        for (String id : preloadLocales.split(",")) {
+            id = id.trim();
+            if (id.length() != 0) {
+                locales.add(new ULocale(id));
+            }
+        }
+        Thread preloader = new Thread("ICU TimeZoneNames preloader") {
+            @Override
+            public void run() {
+                ForkJoinPool pool = new ForkJoinPool();
+                try {
+                    preload(locales, pool);
+                } finally {
+                    pool.shutdown();
+                }
+            }
+        };
+        preloader.setDaemon(true);
+        preloader.start();
+    }
+
     /**
      * Returns an instance of <code>TimeZoneNames</code> for the specified locale.
      * 
@@ -171,6 +221,7 @@ public enum NameType {
      * @stable ICU 49
      */
     public static TimeZoneNames getInstance(ULocale locale) {
+        startConfiguredPreload();
         String key = locale.getBaseName();
         return TZNAMES_CACHE.getInstance(key, locale);
     }
@@ -188,6 +239,56 @@ public static TimeZoneNames getInstance(Locale locale) {
         return getInstance(ULocale.forLocale(locale));
     }
 
+    /**
+     * {@icu} Loads all of the time zone display names for each of the locales,
+     * and builds the data for parsing them, with one task per locale in the given pool.
+     * Without preloading, the first parse of a time zone name in a locale loads
+     * the names and builds this data, which can take a long time.
+     * The preloaded instances are kept for the lifetime of the application.
+     *
+     * <p>The same preloading can be requested at startup by setting the ICU configuration property
+     * <code>com.ibm.icu.text.TimeZoneNames.preloadLocales</code>
+     * to a comma-separated list of locale IDs. The locales are then loaded in a background thread
+     * that is started by the first call to getInstance().
+     *
+     * @param locales the locales whose time zone names are to be loaded
+     * @param pool the pool that runs the tasks
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public static void preload(Collection<ULocale> locales, ForkJoinPool pool) {
+        final List<RecursiveAction> tasks = new ArrayList<RecursiveAction>(locales.size());
+        for (final ULocale locale : locales) {
+            tasks.add(new RecursiveAction() {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected void compute() {
+                    preload(locale);
+                }
+            });
+        }
+        pool.invoke(new RecursiveAction() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+    }
+
+    @SuppressWarnings("deprecation")
+    private static void preload(ULocale locale) {
+        TimeZoneNames names = getInstance(locale);
+        if (names instanceof TimeZoneNamesImpl) {
+            ((TimeZoneNamesImpl) names).preloadParsingData();
+        } else {
+            names.loadAllDisplayNames();
+        }
+        PRELOADED.put(locale.getBaseName(), names);
+    }
+
     /**
      * Returns an instance of <code>TimeZoneNames</code> containing only short specific
      * zone names ({@link NameType#SHORT_STANDARD} and {@link NameType#SHORT_DAYLIGHT}),
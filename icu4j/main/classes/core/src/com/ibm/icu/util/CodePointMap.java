@@ -448,4 +448,84 @@ public Iterator<Range> iterator() {
     public StringIterator stringIterator(CharSequence s, int sIndex) {
         return new StringIterator(s, sIndex);
     }
+
+    /**
+     * Fills an array with the map values for the code points of s[start, limit[.
+     * Writes one value per UTF-16 code unit, so that dest[destIndex + (i - start)]
+     * is the value for the code point that contains s.charAt(i):
+     * Both units of a surrogate pair get the supplementary code point's value,
+     * and an unpaired surrogate gets the value for its surrogate code point.
+     * A surrogate pair is recognized only if both of its units are before limit.
+     *
+     * <p>This is typically much faster than fetching each value with
+     * {@link #get(int)} or a {@link StringIterator}.
+     *
+     * @param s the string
+     * @param start the index of the first code unit
+     * @param limit the index after the last code unit
+     * @param dest receives limit-start values
+     * @param destIndex the index in dest for the value of s.charAt(start)
+     * @throws IndexOutOfBoundsException if start, limit or destIndex are out of bounds,
+     *         or if dest is too short
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public void getValues(CharSequence s, int start, int limit, int[] dest, int destIndex) {
+        checkValuesBounds(s, start, limit, dest.length, destIndex);
+        while (start < limit) {
+            char c = s.charAt(start++);
+            char c2;
+            if (Character.isHighSurrogate(c) && start < limit &&
+                    Character.isLowSurrogate(c2 = s.charAt(start))) {
+                ++start;
+                int value = get(Character.toCodePoint(c, c2));
+                dest[destIndex++] = value;
+                dest[destIndex++] = value;
+            } else {
+                dest[destIndex++] = get(c);
+            }
+        }
+    }
+
+    /**
+     * Same as {@link #getValues(CharSequence, int, int, int[], int)}
+     * but stores only the low 8 bits of each value.
+     * Useful for maps whose values are all in the range 0..0xff,
+     * such as those for the General_Category, Script and Line_Break properties.
+     *
+     * @param s the string
+     * @param start the index of the first code unit
+     * @param limit the index after the last code unit
+     * @param dest receives limit-start values
+     * @param destIndex the index in dest for the value of s.charAt(start)
+     * @throws IndexOutOfBoundsException if start, limit or destIndex are out of bounds,
+     *         or if dest is too short
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    public void getValues(CharSequence s, int start, int limit, byte[] dest, int destIndex) {
+        checkValuesBounds(s, start, limit, dest.length, destIndex);
+        while (start < limit) {
+            char c = s.charAt(start++);
+            char c2;
+            if (Character.isHighSurrogate(c) && start < limit &&
+                    Character.isLowSurrogate(c2 = s.charAt(start))) {
+                ++start;
+                byte value = (byte) get(Character.toCodePoint(c, c2));
+                dest[destIndex++] = value;
+                dest[destIndex++] = value;
+            } else {
+                dest[destIndex++] = (byte) get(c);
+            }
+        }
+    }
+
+    static void checkValuesBounds(CharSequence s, int start, int limit, int destLength, int destIndex) {
+        if (start < 0 || start > limit || limit > s.length() ||
+                destIndex < 0 || destLength - destIndex < limit - start) {
+            throw new IndexOutOfBoundsException(
+                    "start " + start + ", limit " + limit + ", length " + s.length() +
+                    ", destIndex " + destIndex + ", dest.length " + destLength);
+        }
+    }
 }
@@ -301,6 +301,70 @@ public final int asciiGet(int c) {
         return ascii[c];
     }
 
+    /**
+     * {@inheritDoc}
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    @Override
+    public final void getValues(CharSequence s, int start, int limit, int[] dest, int destIndex) {
+        CodePointMap.checkValuesBounds(s, start, limit, dest.length, destIndex);
+        Type type = getType();
+        while (start < limit) {
+            char c = s.charAt(start++);
+            if (c < ASCII_LIMIT) {
+                dest[destIndex++] = ascii[c];
+                continue;
+            }
+            char c2;
+            if (Character.isHighSurrogate(c) && start < limit &&
+                    Character.isLowSurrogate(c2 = s.charAt(start))) {
+                ++start;
+                int value = data.getFromIndex(smallIndex(type, Character.toCodePoint(c, c2)));
+                dest[destIndex++] = value;
+                dest[destIndex++] = value;
+            } else {
+                dest[destIndex++] = data.getFromIndex(bmpIndex(type, c));
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * @draft ICU 68
+     * @provisional This API might change or be removed in a future release.
+     */
+    @Override
+    public final void getValues(CharSequence s, int start, int limit, byte[] dest, int destIndex) {
+        CodePointMap.checkValuesBounds(s, start, limit, dest.length, destIndex);
+        Type type = getType();
+        while (start < limit) {
+            char c = s.charAt(start++);
+            if (c < ASCII_LIMIT) {
+                dest[destIndex++] = (byte) ascii[c];
+                continue;
+            }
+            char c2;
+            if (Character.isHighSurrogate(c) && start < limit &&
+                    Character.isLowSurrogate(c2 = s.charAt(start))) {
+                ++start;
+                byte value = (byte) data.getFromIndex(smallIndex(type, Character.toCodePoint(c, c2)));
+                dest[destIndex++] = value;
+                dest[destIndex++] = value;
+            } else {
+                dest[destIndex++] = (byte) data.getFromIndex(bmpIndex(type, c));
+            }
+        }
+    }
+
+    /** Data index for a BMP code point, including a surrogate code point. */
+    private final int bmpIndex(Type type, int c) {
+        if (type == Type.FAST || c < SMALL_LIMIT) {
+            return fastIndex(c);
+        }
+        return smallIndex(type, c);
+    }
+
     private static final int MAX_UNICODE = 0x10ffff;
 
     private static final int ASCII_LIMIT = 0x80;
@@ -774,6 +774,9 @@ private static List<TextTrieMap<CurrencyStringInfo>> getCurrencyTrieVec(ULocale
             currencyTrieVec.add(currencySymbolTrie);
             currencyTrieVec.add(currencyNameTrie);
             setupCurrencyTrieVec(locale, currencyTrieVec);
+            // The tries are shared by parsers in all threads.
+            currencySymbolTrie.freeze();
+            currencyNameTrie.freeze();
             CURRENCY_NAME_CACHE.put(locale, currencyTrieVec);
         }
         return currencyTrieVec;
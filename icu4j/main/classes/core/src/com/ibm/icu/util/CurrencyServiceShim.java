@@ -68,6 +68,7 @@ protected Object handleCreate(ULocale loc, int kind, ICUService srvc) {
             
             registerFactory(new CurrencyFactory());
             markDefault();
+            registerCacheStats();
         }
     }
     static final ICULocaleService service = new CFService();
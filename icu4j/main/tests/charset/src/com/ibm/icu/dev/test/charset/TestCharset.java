@@ -11,6 +11,7 @@
 
 import java.nio.BufferOverflowException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.CharBuffer;
 import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
@@ -2405,6 +2406,54 @@ public void TestMBCS(){
         }
     }
 
+    @Test
+    public void TestMBCSPairTable() {
+        // Decoding a whole buffer uses the table of 1/2-byte mappings,
+        // while pairs split across buffers go through the state table.
+        String[] charsetNames = { "Shift_JIS", "GB18030", "EUC-KR", "Big5", "EUC-JP", "ibm-943", "ibm-930" };
+        byte[] input = new byte[0x80 * 0x100 * 3];
+        int length = 0;
+        for (int b1 = 0x80; b1 <= 0xff; ++b1) {
+            for (int b2 = 0; b2 <= 0xff; ++b2) {
+                input[length++] = (byte)b1;
+                input[length++] = (byte)b2;
+                input[length++] = (byte)0x20;
+            }
+        }
+        for (String name : charsetNames) {
+            CharsetDecoder decoder = new CharsetProviderICU().charsetForName(name).newDecoder();
+            decoder.onMalformedInput(CodingErrorAction.REPLACE);
+            decoder.onUnmappableCharacter(CodingErrorAction.REPLACE);
+            String whole;
+            try {
+                whole = decoder.decode(ByteBuffer.wrap(input)).toString();
+            } catch (CharacterCodingException e) {
+                errln(name + " decode failed: " + e);
+                continue;
+            }
+
+            decoder.reset();
+            ByteBuffer source = ByteBuffer.wrap(input);
+            CharBuffer target = CharBuffer.allocate(input.length * 2);
+            for (int i = 0; i < input.length; ++i) {
+                source.limit(i + 1);
+                decoder.decode(source, target, false);
+            }
+            decoder.decode(source, target, true);
+            decoder.flush(target);
+            target.flip();
+            String piecewise = target.toString();
+
+            if (!whole.equals(piecewise)) {
+                int i = 0;
+                while (i < whole.length() && i < piecewise.length() && whole.charAt(i) == piecewise.charAt(i)) {
+                    ++i;
+                }
+                errln(name + " whole-buffer decoding differs from byte-by-byte decoding at index " + i);
+            }
+        }
+    }
+
     @Test
     public void TestJB4897(){
         CharsetProviderICU provider = new CharsetProviderICU();
@@ -5433,6 +5482,37 @@ public void TestSCSUConverter(){
         }
     }
 
+    /*
+     * When the target fills up in SCSU Unicode mode, the encoder must keep its state
+     * and continue with the next character, without writing another SCU tag.
+     */
+    @Test
+    public void TestSCSUEncodeOverflowInUnicodeMode() {
+        CharsetEncoder encoder = new CharsetProviderICU().charsetForName("SCSU").newEncoder();
+        CharBuffer source = CharBuffer.wrap("\u4e00\u4e01\u4e02\u4e03".toCharArray());
+        byte[][] expected = {
+                { 0x0f, 0x4e, 0x00 },  // SCU, U+4E00
+                { 0x4e, 0x01, 0x4e },  // U+4E01, lead byte of U+4E02
+                { 0x02, 0x4e, 0x03 }   // trail byte of U+4E02, U+4E03
+        };
+        for (int i = 0; i < expected.length; ++i) {
+            ByteBuffer target = ByteBuffer.allocate(3);
+            CoderResult cr = encoder.encode(source, target, true);
+            CoderResult expectedResult = i < expected.length - 1 ? CoderResult.OVERFLOW : CoderResult.UNDERFLOW;
+            if (cr != expectedResult) {
+                errln("SCSU encode call " + i + ": expected " + expectedResult + " but got " + cr);
+            }
+            byte[] bytes = Arrays.copyOf(target.array(), target.position());
+            if (!Arrays.equals(expected[i], bytes)) {
+                errln("SCSU encode call " + i + ": expected " + Arrays.toString(expected[i]) +
+                        " but got " + Arrays.toString(bytes));
+            }
+        }
+        if (source.hasRemaining()) {
+            errln("SCSU encode did not consume the whole source");
+        }
+    }
+
     /* Test for BOCU1 converter*/
     @Test
     public void TestBOCU1Converter(){
@@ -5794,6 +5874,236 @@ public void TestCharsetASCII8859BufferHandling() {
         }
     }
 
+    /*
+     * The ASCII runs in UTF-8, US-ASCII and ISO-8859-1 are converted eight units at a time.
+     * Check that a non-ASCII character at any offset within and around such a block,
+     * and a short target buffer, give the same results as the JDK converters,
+     * for heap, direct (both byte orders) and String-backed buffers.
+     */
+    @Test
+    public void TestASCIIRuns() {
+        String[] charsetNames = { "UTF-8", "US-ASCII", "ISO-8859-1" };
+        String[][] specials = {
+                { "\u00e9", "\u4e00", "\ud83d\ude00" },
+                { },
+                { "\u00e9", "\u00ff" }
+        };
+        int[] targetSizes = { 1, 3, 8, 100 };
+        for (int c = 0; c < charsetNames.length; ++c) {
+            Charset icu = CharsetICU.forNameICU(charsetNames[c]);
+            Charset jdk = Charset.forName(charsetNames[c]);
+            for (int length = 0; length <= 20; ++length) {
+                for (int pos = -1; pos < length; ++pos) {
+                    for (int s = 0; s < (pos < 0 ? 1 : specials[c].length); ++s) {
+                        StringBuilder sb = new StringBuilder();
+                        for (int i = 0; i < length; ++i) {
+                            if (i == pos) {
+                                sb.append(specials[c][s]);
+                            } else {
+                                sb.append((char) ('a' + i));
+                            }
+                        }
+                        String text = sb.toString();
+                        byte[] bytes = text.getBytes(jdk);
+                        for (int targetSize : targetSizes) {
+                            checkASCIIRunsEncode(icu, text, bytes, targetSize);
+                            checkASCIIRunsDecode(icu, text, bytes, targetSize);
+                        }
+                    }
+                }
+            }
+        }
+
+        // Errors in the middle of ASCII runs are reported at the right offset.
+        for (int pos = 0; pos < 20; ++pos) {
+            byte[] bytes = new byte[20];
+            char[] chars = new char[20];
+            for (int i = 0; i < 20; ++i) {
+                bytes[i] = (byte) ('a' + i);
+                chars[i] = (char) ('a' + i);
+            }
+            bytes[pos] = (byte) 0x80;
+            chars[pos] = '\u00e9';
+            ByteBuffer source = ByteBuffer.allocateDirect(20);
+            source.put(bytes);
+            source.flip();
+            CharBuffer target = CharBuffer.allocate(20);
+            CoderResult result = CharsetICU.forNameICU("US-ASCII").newDecoder().decode(source, target, true);
+            if (!result.isMalformed() || target.position() != pos) {
+                errln("US-ASCII decode of 0x80 at " + pos + ": " + result + " target position " + target.position());
+            }
+            result = CharsetICU.forNameICU("US-ASCII").newEncoder().encode(
+                    CharBuffer.wrap(new String(chars)), ByteBuffer.allocateDirect(20), true);
+            if (!result.isUnmappable()) {
+                errln("US-ASCII encode of U+00E9 at " + pos + ": " + result);
+            }
+        }
+    }
+
+    /*
+     * Buffers without accessible arrays are converted through staging arrays in chunks.
+     * Check that results and error positions match those for heap buffers,
+     * also with sequences and surrogate pairs that straddle chunk boundaries.
+     */
+    @Test
+    public void TestDirectBufferStaging() {
+        String[] charsetNames = { "UTF-8", "UTF-16BE", "Shift_JIS", "GB18030", "ISO-2022-JP", "SCSU", "BOCU-1", "UTF-7" };
+        String[] pieces = { "abc", "\u3042\u3044", "\u4e00\u4e8c\u4e09", "\ud842\udfb7", "\u00e9", " " };
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; sb.length() < 12000; ++i) {
+            sb.append(pieces[i % pieces.length]);
+            if (i % 7 == 0) {
+                sb.append(pieces[(i / 7) % 4]);
+            }
+        }
+        String text = sb.toString();
+        for (String name : charsetNames) {
+            CharsetICU cs = (CharsetICU) CharsetICU.forNameICU(name);
+            boolean isJapanese = name.equals("Shift_JIS") || name.equals("ISO-2022-JP");
+            String expected = isJapanese ? text.replaceAll("[\u4e8c\u00e9]|\ud842\udfb7", "") : text;
+            byte[] bytes;
+            try {
+                bytes = toArray(cs.newEncoder().encode(CharBuffer.wrap(expected.toCharArray())));
+            } catch (CharacterCodingException e) {
+                errln(name + " encode failed: " + e);
+                continue;
+            }
+            for (int outSize : new int[] { 1000, 100000 }) {
+                ByteBuffer source = ByteBuffer.allocateDirect(bytes.length);
+                source.put(bytes);
+                source.flip();
+                CharBuffer target = ByteBuffer.allocateDirect(outSize * 2).asCharBuffer();
+                CharsetDecoder decoder = cs.newDecoder();
+                StringBuilder decoded = new StringBuilder();
+                CoderResult cr;
+                do {
+                    target.clear();
+                    cr = decoder.decode(source, target, true);
+                    target.flip();
+                    decoded.append(target);
+                } while (cr.isOverflow());
+                if (cr.isError() || !expected.equals(decoded.toString())) {
+                    errln(name + " direct decode with target size " + outSize + ": " + cr);
+                }
+
+                CharsetEncoder encoder = cs.newEncoder();
+                CharBuffer chars = CharBuffer.wrap(expected);  // String-backed, no array
+                ByteBuffer out = ByteBuffer.allocateDirect(outSize);
+                ByteBuffer encoded = ByteBuffer.allocate(bytes.length + 16);
+                do {
+                    out.clear();
+                    cr = encoder.encode(chars, out, true);
+                    if (cr.isUnderflow()) {
+                        cr = encoder.flush(out);
+                    }
+                    out.flip();
+                    encoded.put(out);
+                } while (cr.isOverflow());
+                // Compare decoded text: stateful encoders like SCSU may choose different
+                // but equivalent byte sequences when the output is split.
+                encoded.flip();
+                String roundTrip;
+                try {
+                    roundTrip = cs.newDecoder().decode(encoded).toString();
+                } catch (CharacterCodingException e) {
+                    roundTrip = e.toString();
+                }
+                if (cr.isError() || !expected.equals(roundTrip)) {
+                    errln(name + " direct encode with target size " + outSize + ": " + cr);
+                }
+            }
+        }
+
+        // An error after the first chunk is reported at the same position as for heap buffers.
+        byte[] bytes = text.getBytes(Charset.forName("UTF-8"));
+        bytes[5000] = (byte) 0xff;
+        ByteBuffer heapSource = ByteBuffer.wrap(bytes);
+        CharBuffer heapTarget = CharBuffer.allocate(bytes.length);
+        CoderResult heapResult = CharsetICU.forNameICU("UTF-8").newDecoder().decode(heapSource, heapTarget, true);
+        ByteBuffer directSource = ByteBuffer.allocateDirect(bytes.length);
+        directSource.put(bytes);
+        directSource.flip();
+        CharBuffer directTarget = ByteBuffer.allocateDirect(bytes.length * 2).asCharBuffer();
+        CoderResult directResult = CharsetICU.forNameICU("UTF-8").newDecoder().decode(directSource, directTarget, true);
+        if (!heapResult.isMalformed() || !heapResult.equals(directResult)
+                || heapSource.position() != directSource.position()
+                || heapTarget.position() != directTarget.position()) {
+            errln("UTF-8 malformed input: heap " + heapResult + " at " + heapSource.position() + "/" + heapTarget.position()
+                    + " but direct " + directResult + " at " + directSource.position() + "/" + directTarget.position());
+        }
+    }
+
+    private static byte[] toArray(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private void checkASCIIRunsEncode(Charset cs, String text, byte[] expected, int targetSize) {
+        CharBuffer[] sources = {
+                CharBuffer.wrap(text.toCharArray()),
+                CharBuffer.wrap(text),
+                ByteBuffer.allocateDirect(text.length() * 2).asCharBuffer().put(text)
+        };
+        sources[2].flip();
+        ByteBuffer[] targets = {
+                ByteBuffer.allocate(targetSize),
+                ByteBuffer.allocateDirect(targetSize).order(ByteOrder.BIG_ENDIAN),
+                ByteBuffer.allocateDirect(targetSize).order(ByteOrder.LITTLE_ENDIAN)
+        };
+        for (CharBuffer source : sources) {
+            for (ByteBuffer target : targets) {
+                source.rewind();
+                CharsetEncoder encoder = cs.newEncoder();
+                ByteBuffer result = ByteBuffer.allocate(expected.length + 4);
+                CoderResult cr;
+                do {
+                    target.clear();
+                    cr = encoder.encode(source, target, true);
+                    target.flip();
+                    result.put(target);
+                } while (cr.isOverflow());
+                if (cr.isError() || !Arrays.equals(expected, Arrays.copyOf(result.array(), result.position()))) {
+                    errln(cs.name() + " encode \"" + text + "\" (" + source.getClass().getSimpleName() + " to "
+                            + target.getClass().getSimpleName() + " size " + targetSize + "): " + cr);
+                }
+            }
+        }
+    }
+
+    private void checkASCIIRunsDecode(Charset cs, String expected, byte[] bytes, int targetSize) {
+        ByteBuffer[] sources = {
+                ByteBuffer.wrap(bytes),
+                ByteBuffer.allocateDirect(bytes.length).order(ByteOrder.BIG_ENDIAN).put(bytes),
+                ByteBuffer.allocateDirect(bytes.length).order(ByteOrder.LITTLE_ENDIAN).put(bytes)
+        };
+        sources[1].flip();
+        sources[2].flip();
+        CharBuffer[] targets = {
+                CharBuffer.allocate(targetSize),
+                ByteBuffer.allocateDirect(targetSize * 2).asCharBuffer()
+        };
+        for (ByteBuffer source : sources) {
+            for (CharBuffer target : targets) {
+                source.rewind();
+                CharsetDecoder decoder = cs.newDecoder();
+                StringBuilder result = new StringBuilder();
+                CoderResult cr;
+                do {
+                    target.clear();
+                    cr = decoder.decode(source, target, true);
+                    target.flip();
+                    result.append(target);
+                } while (cr.isOverflow());
+                if (cr.isError() || !expected.equals(result.toString())) {
+                    errln(cs.name() + " decode \"" + expected + "\" (" + source.getClass().getSimpleName() + " "
+                            + source.order() + " to " + target.getClass().getSimpleName() + " size " + targetSize
+                            + "): " + cr + " \"" + result + "\"");
+                }
+            }
+        }
+    }
+
     /*
      * When converting with the String method getBytes(), buffer overflow exception is thrown because
      * of the way ICU4J is calculating the max bytes per char. This should be changed only on the ICU4J
@@ -14,13 +14,20 @@
 
 package com.ibm.icu.dev.test.collator;
 
+import java.nio.ByteBuffer;
 import java.text.CharacterIterator;
 import java.text.StringCharacterIterator;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Locale;
 import java.util.MissingResourceException;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -33,6 +40,7 @@
 import com.ibm.icu.text.CollationKey;
 import com.ibm.icu.text.Collator;
 import com.ibm.icu.text.Collator.CollatorFactory;
+import com.ibm.icu.text.PackedCollationKeys;
 import com.ibm.icu.text.RawCollationKey;
 import com.ibm.icu.text.RuleBasedCollator;
 import com.ibm.icu.text.UCharacterIterator;
@@ -181,6 +189,213 @@ public void TestRawCollationKey()
         }
     }
 
+    @Test
+    public void TestWriteSortKey() {
+        String[] strings = {
+            "", "a", "abc", "ABC", "\u00E4b\u00E7", "A\u0308b", "co-op", "coop", "\uAC00\u11A8",
+            "\u4E00\u4E8C\u4E09", "\uD800\uDC00x", "long text with spaces and punctuation!"
+        };
+        int[] strengths = {
+            Collator.PRIMARY, Collator.SECONDARY, Collator.TERTIARY, Collator.QUATERNARY, Collator.IDENTICAL
+        };
+        RuleBasedCollator coll = (RuleBasedCollator) Collator.getInstance(ULocale.GERMAN);
+        coll.setAlternateHandlingShifted(true);
+        coll.setStrength(Collator.IDENTICAL);
+        coll.freeze();
+        ByteBuffer heap = ByteBuffer.allocate(1000);
+        ByteBuffer direct = ByteBuffer.allocateDirect(1000);
+        for (String s : strings) {
+            // Full keys are the same as the RawCollationKey bytes.
+            RawCollationKey expected = coll.getRawCollationKey(s, null);
+            heap.clear();
+            int length = coll.writeSortKey(s, heap);
+            assertEquals("length(" + s + ")", expected.size, length);
+            assertEquals("position(" + s + ")", length, heap.position());
+            assertTrue("bytes(" + s + ")", Arrays.equals(
+                    Arrays.copyOf(expected.bytes, expected.size), Arrays.copyOf(heap.array(), length)));
+            direct.clear();
+            direct.position(7);
+            assertEquals("direct length(" + s + ")", length, coll.writeSortKey(s, direct));
+            byte[] bytes = new byte[length];
+            direct.position(7);
+            direct.get(bytes);
+            assertTrue("direct bytes(" + s + ")", Arrays.equals(Arrays.copyOf(heap.array(), length), bytes));
+
+            // Overflow: Nothing is written, and the needed length is returned.
+            ByteBuffer small = ByteBuffer.allocate(length - 1);
+            assertEquals("overflow length(" + s + ")", length, coll.writeSortKey(s, small));
+            assertEquals("overflow position(" + s + ")", 0, small.position());
+
+            // Strength limits are the same as keys with a lower collator strength.
+            for (int strength : strengths) {
+                RuleBasedCollator lower = coll.cloneAsThawed();
+                lower.setStrength(strength);
+                RawCollationKey lowerKey = lower.getRawCollationKey(s, null);
+                heap.clear();
+                length = coll.writeSortKey(s, heap, strength, Integer.MAX_VALUE);
+                assertTrue("strength " + strength + " bytes(" + s + ")", Arrays.equals(
+                        Arrays.copyOf(lowerKey.bytes, lowerKey.size), Arrays.copyOf(heap.array(), length)));
+
+                // Prefixes
+                for (int maxLength = 1; maxLength <= lowerKey.size + 1; ++maxLength) {
+                    heap.clear();
+                    length = coll.writeSortKey(s, heap, strength, maxLength);
+                    assertEquals("prefix length", Math.min(maxLength, lowerKey.size), length);
+                    assertTrue("prefix bytes(" + s + ")", Arrays.equals(
+                            Arrays.copyOf(lowerKey.bytes, length), Arrays.copyOf(heap.array(), length)));
+                }
+            }
+        }
+        try {
+            coll.writeSortKey("a", heap, 5, 10);
+            errln("writeSortKey(strength=5) should throw an exception");
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            coll.writeSortKey("a", heap, Collator.PRIMARY, 0);
+            errln("writeSortKey(maxLength=0) should throw an exception");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void TestWriteSortKeyCaseLevel() {
+        RuleBasedCollator coll = (RuleBasedCollator) Collator.getInstance(ULocale.ENGLISH);
+        coll.setCaseLevel(true);
+        coll.setStrength(Collator.IDENTICAL);
+        int[] strengths = {
+            Collator.PRIMARY, Collator.SECONDARY, Collator.TERTIARY, Collator.QUATERNARY, Collator.IDENTICAL
+        };
+        ByteBuffer buffer = ByteBuffer.allocate(100);
+        for (int strength : strengths) {
+            // Same as setStrength(), which keeps the case level at every strength.
+            RuleBasedCollator lower = coll.cloneAsThawed();
+            lower.setStrength(strength);
+            buffer.clear();
+            int length = coll.writeSortKey("Ab", buffer, strength, 100);
+            RawCollationKey expected = lower.getRawCollationKey("Ab", null);
+            assertTrue("case level at strength " + strength, Arrays.equals(
+                    Arrays.copyOf(expected.bytes, expected.size), Arrays.copyOf(buffer.array(), length)));
+            // Primary and secondary equal, case level differs.
+            ByteBuffer other = ByteBuffer.allocate(100);
+            int otherLength = coll.writeSortKey("ab", other, strength, 100);
+            assertFalse("case level difference at strength " + strength, length == otherLength &&
+                    Arrays.equals(Arrays.copyOf(buffer.array(), length), Arrays.copyOf(other.array(), otherLength)));
+        }
+        // At primary strength, the case level follows the primary level directly.
+        buffer.clear();
+        int length = coll.writeSortKey("\u00e1", buffer, Collator.PRIMARY, 100);
+        ByteBuffer other = ByteBuffer.allocate(100);
+        int otherLength = coll.writeSortKey("a", other, Collator.PRIMARY, 100);
+        assertTrue("no secondary level at primary strength", length == otherLength &&
+                Arrays.equals(Arrays.copyOf(buffer.array(), length), Arrays.copyOf(other.array(), otherLength)));
+    }
+
+    @Test
+    public void TestPackedCollationKeys() {
+        List<String> strings = Arrays.asList(
+            "coop", "", "a", "ABC", "abc", "\u00E4b\u00E7", "A\u0308b", "co-op", "coop", "\uAC00\u11A8",
+            "\u4E00\u4E8C\u4E09", "\uD800\uDC00x", "abc", "long text with spaces and punctuation!"
+        );
+        RuleBasedCollator coll = (RuleBasedCollator) Collator.getInstance(ULocale.GERMAN);
+        coll.setStrength(Collator.IDENTICAL);
+        PackedCollationKeys keys = coll.getPackedCollationKeys(strings);
+        assertEquals("size", strings.size(), keys.size());
+        RawCollationKey key = null;
+        for (int i = 0; i < strings.size(); ++i) {
+            String s = strings.get(i);
+            RawCollationKey expected = coll.getRawCollationKey(s, null);
+            assertEquals("length(" + s + ")", expected.size, keys.getLength(i));
+            byte[] bytes = Arrays.copyOfRange(keys.getBytes(), keys.getStart(i), keys.getStart(i) + keys.getLength(i));
+            assertTrue("bytes(" + s + ")", Arrays.equals(Arrays.copyOf(expected.bytes, expected.size), bytes));
+            key = keys.getRawCollationKey(i, key);
+            assertEquals("getRawCollationKey(" + s + ")", 0, expected.compareTo(key));
+            for (int j = 0; j < strings.size(); ++j) {
+                assertEquals("compare(" + s + ", " + strings.get(j) + ")",
+                        Integer.signum(coll.compare(s, strings.get(j))), Integer.signum(keys.compare(i, j)));
+            }
+        }
+
+        // The sorted indexes are a stable sort.
+        Integer[] expected = new Integer[strings.size()];
+        for (int i = 0; i < expected.length; ++i) {
+            expected[i] = i;
+        }
+        final List<String> list = strings;
+        final Collator c = coll;
+        Arrays.sort(expected, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer i, Integer j) {
+                return c.compare(list.get(i), list.get(j));
+            }
+        });
+        int[] sorted = keys.getSortedIndexes();
+        for (int k = 0; k < sorted.length; ++k) {
+            assertEquals("sorted[" + k + "]", (int) expected[k], sorted[k]);
+        }
+
+        try {
+            keys.getLength(strings.size());
+            errln("getLength(size) did not throw an exception");
+        } catch (IndexOutOfBoundsException expectedException) {
+        }
+    }
+
+    @Test
+    public void TestPackedCollationKeysParallel() {
+        // Enough strings for several key-generation chunks and sort tasks.
+        Random random = new Random(68);
+        List<String> strings = new ArrayList<>();
+        StringBuilder sb = new StringBuilder();
+        String letters = "aAbBcC\u00E4\u00F6\u00FC\u00DF- \u0308\u4E00\u0E01";
+        for (int i = 0; i < 20000; ++i) {
+            sb.setLength(0);
+            int length = random.nextInt(8);
+            for (int j = 0; j < length; ++j) {
+                sb.append(letters.charAt(random.nextInt(letters.length())));
+            }
+            strings.add(sb.toString());
+        }
+        RuleBasedCollator coll = (RuleBasedCollator) Collator.getInstance(ULocale.GERMAN);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            PackedCollationKeys sequential = coll.getPackedCollationKeys(strings);
+            // The collator is not frozen, so the tasks share a frozen clone.
+            PackedCollationKeys parallel = coll.getPackedCollationKeys(strings, pool);
+            assertFalse("collator still not frozen", coll.isFrozen());
+            assertEquals("size", sequential.size(), parallel.size());
+            for (int i = 0; i < strings.size(); ++i) {
+                assertEquals("length[" + i + "]", sequential.getLength(i), parallel.getLength(i));
+                assertEquals("compare[" + i + "]", 0, parallel.compare(i, i));
+                if (i > 0) {
+                    assertEquals("compare[" + (i - 1) + ", " + i + "]",
+                            Integer.signum(sequential.compare(i - 1, i)),
+                            Integer.signum(parallel.compare(i - 1, i)));
+                }
+            }
+            int[] expected = sequential.getSortedIndexes();
+            assertTrue("parallel sort", Arrays.equals(expected, parallel.getSortedIndexes(pool)));
+            coll.freeze();
+            assertTrue("getSortedIndexes", Arrays.equals(expected, coll.getSortedIndexes(strings, pool)));
+            // Same results for a list without random access.
+            List<String> linked = new LinkedList<>(strings);
+            PackedCollationKeys linkedKeys = coll.getPackedCollationKeys(linked);
+            assertEquals("LinkedList keys length", sequential.getStart(strings.size() - 1),
+                    linkedKeys.getStart(strings.size() - 1));
+            assertTrue("LinkedList getSortedIndexes", Arrays.equals(expected, coll.getSortedIndexes(linked, pool)));
+            for (int k = 1; k < expected.length; ++k) {
+                int order = sequential.compare(expected[k - 1], expected[k]);
+                if (order > 0 || (order == 0 && expected[k - 1] > expected[k])) {
+                    errln("not sorted or not stable at " + k + ": " +
+                            strings.get(expected[k - 1]) + " vs. " + strings.get(expected[k]));
+                    break;
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     void doAssert(boolean conditions, String message) {
         if (!conditions) {
             errln(message);
@@ -1128,6 +1128,72 @@ private static byte[] bytesFromString(String data)
       //
 
 
+    @Test
+    public void TestEarlyExitAndScanLength() throws Exception {
+        // Without early exit, detect() returns the best of detectAll().
+        CharsetDetector det = new CharsetDetector();
+        byte[][] inputs = { createData1(), createData2(), "Hello, World!".getBytes("UTF-16LE") };
+        for (byte[] input : inputs) {
+            det.setText(input);
+            CharsetMatch best = det.detectAll()[0];
+            CharsetMatch m = det.detect();
+            assertEquals("detect() name", best.getName(), m.getName());
+            assertEquals("detect() confidence", best.getConfidence(), m.getConfidence());
+        }
+
+        // UTF-8 with a BOM is recognized before the statistical recognizers run.
+        String s = "\u00c9t\u00e9 \u00e0 Montr\u00e9al, caf\u00e9 cr\u00e8me.";
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        bos.write(0xef);
+        bos.write(0xbb);
+        bos.write(0xbf);
+        bos.write(s.getBytes("UTF-8"));
+        det.setEarlyExitConfidence(100);
+        det.setText(bos.toByteArray());
+        CharsetMatch m = det.detect();
+        assertEquals("early exit name", "UTF-8", m.getName());
+        assertEquals("early exit confidence", 100, m.getConfidence());
+        det.setEarlyExitConfidence(Integer.MAX_VALUE);
+
+        // Non-ASCII text after the scan length is not seen.
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            sb.append("The quick brown fox jumps over the lazy dog. ");
+        }
+        int asciiLength = sb.length();
+        sb.append(s);
+        byte[] utf8 = sb.toString().getBytes("UTF-8");
+        det.setText(utf8);
+        assertEquals("full scan", "UTF-8", det.detect().getName());
+        det.setMaxScanLength(asciiLength);
+        det.setText(utf8);
+        m = det.detect();
+        assertNotEquals("limited scan", "UTF-8", m.getName());
+        assertEquals("limited scan, whole input", new String(utf8, m.getName()), m.getString());
+        det.setText(new ByteArrayInputStream(utf8));
+        m = det.detect();
+        assertNotEquals("limited stream scan", "UTF-8", m.getName());
+        assertEquals("limited stream scan, whole input", new String(utf8, m.getName()), m.getString());
+
+        try {
+            det.setMaxScanLength(-1);
+            errln("setMaxScanLength(-1) did not throw an exception");
+        } catch (IllegalArgumentException expected) {
+        }
+        det.setMaxScanLength(0);
+
+        // A short stream after a long one must not see the earlier stream's bytes.
+        byte[] shortInput = "Hi".getBytes("UTF-16BE");
+        det.setText(new ByteArrayInputStream(shortInput));
+        CharsetMatch[] fromStream = det.detectAll();
+        det.setText(shortInput);
+        CharsetMatch[] fromArray = det.detectAll();
+        assertEquals("short stream match count", fromArray.length, fromStream.length);
+        for (int i = 0; i < fromArray.length; i++) {
+            assertEquals("short stream match " + i, fromArray[i].getName(), fromStream[i].getName());
+        }
+    }
+
     @Test
     public void TestBug9267() {
         // Test a long input of Lam Alef characters for CharsetRecog_IBM420_ar.
@@ -0,0 +1,211 @@
+// © 2020 and later: Unicode, Inc. and others.
+// License & terms of use: http://www.unicode.org/copyright.html
+package com.ibm.icu.dev.test.format;
+
+import java.text.AttributedCharacterIterator;
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import com.ibm.icu.dev.test.TestFmwk;
+import com.ibm.icu.text.DateFormat;
+import com.ibm.icu.text.DateFormatter;
+import com.ibm.icu.text.FormattedDate;
+import com.ibm.icu.text.LocalizedDateFormatter;
+import com.ibm.icu.text.SimpleDateFormat;
+import com.ibm.icu.util.TimeZone;
+import com.ibm.icu.util.ULocale;
+
+/**
+ * Tests for {@link DateFormatter} and {@link LocalizedDateFormatter}.
+ */
+@RunWith(JUnit4.class)
+public class DateFormatterTest extends TestFmwk {
+
+    private static final String[] PATTERNS = {
+        "yyyy-MM-dd'T'HH:mm:ss.SSSXXX",
+        "EEEE, MMMM d, y G 'at' h:mm:ss a zzzz",
+        "EEE, d MMM yy HH:mm:ss Z",
+        "GGGGG y-M-d E e ee eee eeee eeeee eeeeee",
+        "c cc ccc cccc ccccc cccccc LLL LLLL LLLLL MMMMM",
+        "Q QQ QQQ QQQQ q qq qqq qqqq",
+        "u D DDD F g A",
+        "k K h H kk KK hh HH aaaaa",
+        "S SS SSSS SSSSSS",
+        "z zzzz Z ZZZZ ZZZZZ v vvvv V VV VVV VVVV O OOOO",
+        "X XX XXX XXXX XXXXX x xx xxx xxxx xxxxx",
+        "''yy'' 'o''clock' hh",
+        // not supported by the fast path
+        "Y-'W'ww-e",
+        "W w",
+        "h:mm b B",
+        "vv OO",
+        "r U",
+    };
+
+    private static final String[] LOCALES = {
+        "en", "fr", "de", "ru", "ja", "ar", "ar_SA", "hi", "th", "fa", "my",
+        "en@calendar=japanese", "ja@calendar=japanese", "zh@calendar=chinese",
+        "en@numbers=hanidec", "he@calendar=hebrew",
+    };
+
+    private static final String[] ZONES = {
+        "America/Los_Angeles", "Europe/London", "Asia/Kolkata", "Australia/Lord_Howe",
+        "Pacific/Apia", "Etc/GMT-14", "UTC",
+    };
+
+    private static long[] getTestTimes() {
+        Random random = new Random(20201018L);
+        long[] times = new long[40];
+        int i = 0;
+        // Around the Gregorian cutover and the epoch
+        times[i++] = -12219292800000L - 1;
+        times[i++] = -12219292800000L;
+        times[i++] = -1;
+        times[i++] = 0;
+        // Midnight and noon, US DST transitions in 2020
+        times[i++] = 1603065600000L;
+        times[i++] = 1603108800000L;
+        times[i++] = 1583661600000L;
+        times[i++] = 1604224800000L - 1;
+        times[i++] = 1604224800000L;
+        // Far past and future
+        times[i++] = -62135596800000L - 86400000L;
+        times[i++] = 253402300799999L;
+        while (i < times.length) {
+            // 1400..2400
+            times[i++] = -17987443200000L + (long) (random.nextDouble() * 31556952000000L);
+        }
+        return times;
+    }
+
+    @Test
+    public void TestFormat() {
+        long[] times = getTestTimes();
+        for (String localeID : LOCALES) {
+            ULocale locale = new ULocale(localeID);
+            for (String pattern : PATTERNS) {
+                LocalizedDateFormatter formatter = DateFormatter.forPattern(pattern, locale);
+                SimpleDateFormat sdf = new SimpleDateFormat(pattern, locale);
+                for (String zoneID : ZONES) {
+                    TimeZone zone = TimeZone.getTimeZone(zoneID);
+                    LocalizedDateFormatter zoned = formatter.zone(zone);
+                    sdf.setTimeZone(zone);
+                    for (long time : times) {
+                        checkFormat(localeID + " " + pattern + " " + zoneID + " " + time,
+                                sdf, zoned, time);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void TestSkeleton() {
+        TimeZone zone = TimeZone.getTimeZone("America/New_York");
+        LocalizedDateFormatter formatter = DateFormatter.forSkeleton("yMMMdjmm", ULocale.ENGLISH).zone(zone);
+        DateFormat df = DateFormat.getInstanceForSkeleton("yMMMdjmm", ULocale.ENGLISH);
+        df.setTimeZone(zone);
+        assertEquals("pattern", ((SimpleDateFormat) df).toPattern(), formatter.getPattern());
+        Date date = new Date(1603036800000L);
+        assertEquals("format", df.format(date), formatter.format(date).toString());
+        assertEquals("format", "Oct 18, 2020, 12:00 PM", formatter.format(date).toString());
+    }
+
+    @Test
+    public void TestFieldPositions() {
+        LocalizedDateFormatter formatter = DateFormatter.forPattern("EEE, d MMM y HH:mm", ULocale.ENGLISH)
+                .zone(TimeZone.GMT_ZONE);
+        FormattedDate result = formatter.format(1603036800000L);
+        assertEquals("format", "Sun, 18 Oct 2020 16:00", result.toString());
+        Object[][] expectedFieldPositions = {
+                {DateFormat.Field.DAY_OF_WEEK, 0, 3},
+                {DateFormat.Field.DAY_OF_MONTH, 5, 7},
+                {DateFormat.Field.MONTH, 8, 11},
+                {DateFormat.Field.YEAR, 12, 16},
+                {DateFormat.Field.HOUR_OF_DAY0, 17, 19},
+                {DateFormat.Field.MINUTE, 20, 22}};
+        FormattedValueTest.checkFormattedValue("FormattedDate", result,
+                "Sun, 18 Oct 2020 16:00", expectedFieldPositions);
+    }
+
+    @Test
+    public void TestImmutable() {
+        LocalizedDateFormatter formatter = DateFormatter.forPattern("HH:mm zzzz", ULocale.ENGLISH)
+                .zone(TimeZone.GMT_ZONE);
+        LocalizedDateFormatter tokyo = formatter.zone(TimeZone.getTimeZone("Asia/Tokyo"));
+        assertEquals("original", "16:00 Greenwich Mean Time", formatter.format(1603036800000L).toString());
+        assertEquals("new zone", "01:00 Japan Standard Time", tokyo.format(1603036800000L).toString());
+        assertTrue("zone is frozen", tokyo.getTimeZone().isFrozen());
+
+        // Changes to the zone passed in do not affect the formatter
+        TimeZone zone = TimeZone.getTimeZone("Asia/Tokyo").cloneAsThawed();
+        LocalizedDateFormatter custom = formatter.zone(zone);
+        zone.setRawOffset(0);
+        assertEquals("thawed zone", "01:00 Japan Standard Time", custom.format(1603036800000L).toString());
+    }
+
+    @Test
+    public void TestThreadSafety() throws InterruptedException {
+        final LocalizedDateFormatter formatter = DateFormatter.forPattern(
+                "EEEE, MMMM d, y 'at' h:mm:ss.SSS a zzzz", ULocale.FRENCH)
+                .zone(TimeZone.getTimeZone("Europe/Paris"));
+        final long[] times = getTestTimes();
+        final String[] expected = new String[times.length];
+        SimpleDateFormat sdf = new SimpleDateFormat("EEEE, MMMM d, y 'at' h:mm:ss.SSS a zzzz", ULocale.FRENCH);
+        sdf.setTimeZone(TimeZone.getTimeZone("Europe/Paris"));
+        for (int i = 0; i < times.length; i++) {
+            expected[i] = sdf.format(new Date(times[i]));
+        }
+        final AtomicReference<String> failure = new AtomicReference<>();
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread() {
+                @Override
+                public void run() {
+                    for (int n = 0; n < 200 && failure.get() == null; n++) {
+                        for (int i = 0; i < times.length; i++) {
+                            String actual = formatter.format(times[i]).toString();
+                            if (!expected[i].equals(actual)) {
+                                failure.set(times[i] + ": expected " + expected[i] + ", got " + actual);
+                                return;
+                            }
+                        }
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull("concurrent formatting", failure.get());
+    }
+
+    private void checkFormat(String message, SimpleDateFormat sdf, LocalizedDateFormatter formatter, long time) {
+        Date date = new Date(time);
+        String expected = sdf.format(date);
+        FormattedDate actual = formatter.format(time);
+        if (!expected.equals(actual.toString())) {
+            errln(message + ": expected \"" + expected + "\", got \"" + actual + "\"");
+            return;
+        }
+        String expectedAttributes = attributesToString(sdf.formatToCharacterIterator(date));
+        String actualAttributes = attributesToString(actual.toCharacterIterator());
+        if (!expectedAttributes.equals(actualAttributes)) {
+            errln(message + ": expected fields " + expectedAttributes + ", got " + actualAttributes);
+        }
+    }
+
+    private static String attributesToString(AttributedCharacterIterator iter) {
+        StringBuilder sb = new StringBuilder();
+        for (char c = iter.first(); c != AttributedCharacterIterator.DONE; c = iter.next()) {
+            sb.append(iter.getAttributes().keySet()).append(';');
+        }
+        return sb.toString();
+    }
+}
@@ -14,6 +14,7 @@
 import java.text.ParsePosition;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.EnumSet;
@@ -22,6 +23,7 @@
 import java.util.Random;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 
@@ -31,6 +33,7 @@
 
 import com.ibm.icu.dev.test.TestFmwk;
 import com.ibm.icu.impl.TZDBTimeZoneNames;
+import com.ibm.icu.impl.TimeZoneNamesImpl;
 import com.ibm.icu.impl.ZoneMeta;
 import com.ibm.icu.lang.UCharacter;
 import com.ibm.icu.text.DateFormat;
@@ -1132,6 +1135,74 @@ public void run() {
         }
     }
 
+    @Test
+    public void TestPreloadTimeZoneNames() {
+        List<ULocale> locales = Arrays.asList(ULocale.ENGLISH, ULocale.FRENCH, ULocale.JAPANESE);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            TimeZoneNames.preload(locales, pool);
+        } finally {
+            pool.shutdown();
+        }
+        final EnumSet<NameType> allTypes = EnumSet.allOf(NameType.class);
+        for (ULocale locale : locales) {
+            final TimeZoneNames preloaded = TimeZoneNames.getInstance(locale);
+            // A new instance loads its names on demand.
+            TimeZoneNames onDemand = new TimeZoneNamesImpl(locale);
+            final String[] names = {
+                preloaded.getMetaZoneDisplayName("Europe_Central", NameType.LONG_STANDARD),
+                preloaded.getMetaZoneDisplayName("America_Pacific", NameType.LONG_DAYLIGHT),
+                preloaded.getExemplarLocationName("Asia/Tokyo"),
+                preloaded.getTimeZoneDisplayName("Europe/London", NameType.LONG_DAYLIGHT),
+            };
+            for (String name : names) {
+                if (name == null) {
+                    continue;
+                }
+                String text = name + " 12:00";
+                assertEquals(locale + " find(" + name + ")",
+                        toSortedStrings(onDemand.find(text, 0, allTypes)),
+                        toSortedStrings(preloaded.find(text, 0, allTypes)));
+            }
+
+            // Concurrent lookups in the preloaded names.
+            final AtomicInteger errors = new AtomicInteger();
+            List<Thread> threads = new ArrayList<Thread>();
+            for (int i = 0; i < 4; i++) {
+                Thread thread = new Thread() {
+                    @Override
+                    public void run() {
+                        for (int j = 0; j < 100; j++) {
+                            for (String name : names) {
+                                if (name != null && preloaded.find(name, 0, allTypes).isEmpty()) {
+                                    errors.incrementAndGet();
+                                }
+                            }
+                        }
+                    }
+                };
+                thread.start();
+                threads.add(thread);
+            }
+            try {
+                for (Thread thread : threads) {
+                    thread.join();
+                }
+            } catch (InterruptedException e) {
+                errln(e.toString());
+            }
+            assertEquals(locale + " concurrent find() failures", 0, errors.get());
+        }
+    }
+
+    private static Set<String> toSortedStrings(Collection<TimeZoneNames.MatchInfo> matches) {
+        Set<String> result = new TreeSet<String>();
+        for (TimeZoneNames.MatchInfo match : matches) {
+            result.add(match.nameType() + " " + match.tzID() + " " + match.mzID() + " " + match.matchLength());
+        }
+        return result;
+    }
+
     @Test
     public void TestGetDisplayNames() {
         long date = System.currentTimeMillis();
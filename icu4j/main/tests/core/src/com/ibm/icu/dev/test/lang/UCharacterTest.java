@@ -3734,4 +3734,52 @@ public void TestIntCharacterProperties() {
                     UCharacter.getIntPropertyValue(end, prop), range.getValue());
         }
     }
+
+    @Test
+    public void TestGetIntPropertyValues() {
+        StringBuilder sb = new StringBuilder("Abc 123, \u00e9t\u00e9 \u0434\u0435\u043d\u044c " +
+                "\u65e5\u672c\u8a9e\u30c6\u30ad\u30b9\u30c8\ud83d\ude00\u0378\udc00x\ud800");
+        for (int c = 0x80; c <= 0x10ffff; c += 0x1f3) {
+            sb.appendCodePoint(c);
+        }
+        String s = sb.toString();
+        int[] props = {
+            UProperty.GENERAL_CATEGORY, UProperty.SCRIPT, UProperty.LINE_BREAK,
+            UProperty.BIDI_CLASS, UProperty.BLOCK
+        };
+        for (int prop : props) {
+            byte[] bytes = new byte[s.length() + 2];
+            int[] values = new int[s.length() + 2];
+            UCharacter.getIntPropertyValues(s, 0, s.length(), prop, bytes, 2);
+            UCharacter.getIntPropertyValues(s, 0, s.length(), prop, values, 2);
+            for (int i = 0; i < s.length(); ++i) {
+                int c = Character.codePointAt(s, i);
+                if (Character.isLowSurrogate(s.charAt(i)) && i > 0) {
+                    c = Character.codePointBefore(s, i + 1);
+                }
+                int expected = UCharacter.getIntPropertyValue(c, prop);
+                if (values[i + 2] != expected || bytes[i + 2] != (byte) expected) {
+                    errln("getIntPropertyValues(" + prop + ") at [" + i + "] U+" + Utility.hex(c) +
+                            ": " + values[i + 2] + "/" + (bytes[i + 2] & 0xff) + " != " + expected);
+                    break;
+                }
+            }
+        }
+        // Sub-range; the limit splits a surrogate pair.
+        int start = s.indexOf('\ud83d') - 2;
+        byte[] gc = new byte[3];
+        UCharacter.getIntPropertyValues(s, start, start + 3, UProperty.GENERAL_CATEGORY, gc, 0);
+        assertEquals("katakana", UCharacter.OTHER_LETTER, gc[1]);
+        assertEquals("unpaired lead surrogate", UCharacter.SURROGATE, gc[2]);
+        try {
+            UCharacter.getIntPropertyValues(s, 0, s.length(), UProperty.SCRIPT, gc, 0);
+            errln("getIntPropertyValues() into a too-short array did not throw an exception");
+        } catch (IndexOutOfBoundsException expected) {
+        }
+        try {
+            UCharacter.getIntPropertyValues(s, 0, 1, UProperty.ALPHABETIC, gc, 0);
+            errln("getIntPropertyValues(binary property) did not throw an exception");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
 }
@@ -8,6 +8,8 @@
  */
 package com.ibm.icu.dev.test.lang;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Collection;
 
 import org.junit.Test;
@@ -15,6 +17,7 @@
 import org.junit.runners.JUnit4;
 
 import com.ibm.icu.dev.test.TestFmwk;
+import com.ibm.icu.impl.UTF8Util;
 import com.ibm.icu.impl.Utility;
 import com.ibm.icu.text.UTF16;
 import com.ibm.icu.text.UnicodeSet;
@@ -397,8 +400,10 @@ static SpanCondition invertSpanCondition(SpanCondition spanCondition, SpanCondit
      * of the original. When using spanBack() and comparing with span(), use a span condition for the first spanBack()
      * according to the expected number of spans. Sets typeName to an empty string if there is no such type. Returns -1
      * if the span option is filtered out.
+     * If s8 is not null, then the UTF-8 versions of span() and spanBack() are used on s8 instead of s;
+     * there are no contains() reference implementations for UTF-8.
      */
-    static int getSpans(final UnicodeSetWithStrings set, boolean isComplement, final String s,
+    static int getSpans(final UnicodeSetWithStrings set, boolean isComplement, final String s, final byte[] s8,
             int whichSpans, int type, String[] typeName, int limits[], int limitsCapacity,
             int expectCount) {
         final UnicodeSet realSet = set.getSet();
@@ -406,7 +411,7 @@ static int getSpans(final UnicodeSetWithStrings set, boolean isComplement, final
         SpanCondition spanCondition, firstSpanCondition, contained;
         boolean isForward;
 
-        int length = s.length();
+        int length = s8 != null ? s8.length : s.length();
         if (type < 0 || 7 < type) {
             typeName[0] = null;
             return 0;
@@ -422,7 +427,24 @@ static int getSpans(final UnicodeSetWithStrings set, boolean isComplement, final
                 "spanBack",
                 "spanBack(LM)" };
 
-        typeName[0] = typeNames16[type];
+        final String typeNames8[] = {
+                "containsUTF8",
+                "containsUTF8(LM)",
+                "spanUTF8",
+                "spanUTF8(LM)",
+                "containsBackUTF8",
+                "containsBackUTF8(LM)",
+                "spanBackUTF8",
+                "spanBackUTF8(LM)" };
+
+        if (s8 == null) {
+            typeName[0] = typeNames16[type];
+        } else {
+            typeName[0] = typeNames8[type];
+            if ((type & 2) == 0) {
+                return -1;  // No UTF-8 reference implementation.
+            }
+        }
 
         // filter span options
         if (type <= 3) {
@@ -493,7 +515,11 @@ static int getSpans(final UnicodeSetWithStrings set, boolean isComplement, final
         case 3:
             start = 0;
             for (;;) {
-                start = realSet.span(s, start, spanCondition);
+                if (s8 == null) {
+                    start = realSet.span(s, start, spanCondition);
+                } else {
+                    start = realSet.spanUTF8(s8, start, length, spanCondition);
+                }
                 if (count < limitsCapacity) {
                     limits[count] = start;
                 }
@@ -528,9 +554,13 @@ static int getSpans(final UnicodeSetWithStrings set, boolean isComplement, final
             for (;;) {
                 ++count;
                 if (count <= limitsCapacity) {
-                    limits[limitsCapacity - count] = length >= 0 ? length : s.length();
+                    limits[limitsCapacity - count] = length;
+                }
+                if (s8 == null) {
+                    length = realSet.spanBack(s, length, spanCondition);
+                } else {
+                    length = realSet.spanBackUTF8(s8, 0, length, spanCondition);
                 }
-                length = realSet.spanBack(s, length, spanCondition);
                 if (length == 0 && spanCondition == firstSpanCondition) {
                     break;
                 }
@@ -566,8 +596,12 @@ static int getSpans(final UnicodeSetWithStrings set, boolean isComplement, final
      *
      * The expectLimits[] are either provided by the caller (with expectCount>=0) or returned to the caller (with an
      * input expectCount<0).
+     *
+     * If s8 is not null, then the UTF-8 versions of span() etc. are tested on s8.
+     *
+     * Returns the expectCount, or -1 if there are too many spans.
      */
-    void verifySpan(final UnicodeSetWithStrings sets[], final String s, int whichSpans,
+    int verifySpan(final UnicodeSetWithStrings sets[], final String s, final byte[] s8, int whichSpans,
             int expectLimits[], int expectCount,
             final String testName, int index) {
         int[] limits = new int[500];
@@ -589,7 +623,7 @@ void verifySpan(final UnicodeSetWithStrings sets[], final String s, int whichSpa
                 }
             }
             for (type = 0;; ++type) {
-                limitsCount = getSpans(sets[i], (0 != (i & 1)), s, whichSpans, type, typeName, limits,
+                limitsCount = getSpans(sets[i], (0 != (i & 1)), s, s8, whichSpans, type, typeName, limits,
                         limits.length, expectCount);
                 if (typeName[0] == null) {
                     break; // All types tried.
@@ -602,7 +636,7 @@ void verifySpan(final UnicodeSetWithStrings sets[], final String s, int whichSpa
                     if (limitsCount > limits.length) {
                         errln(String.format("FAIL: %s[0x%x].%s.%s span count=%d > %d capacity - too many spans",
                                 testName, index, setNames[i], typeName[0], limitsCount, limits.length));
-                        return;
+                        return -1;
                     }
                     for (j = limitsCount; j-- > 0;) {
                         expectLimits[j] = limits[j];
@@ -624,7 +658,7 @@ void verifySpan(final UnicodeSetWithStrings sets[], final String s, int whichSpa
 
         // Compare span() with containsAll()/containsNone(),
         // but only if we have expectLimits[] from the uncomplemented set.
-        if ((whichSpans & SPAN_SET) != 0) {
+        if ((whichSpans & SPAN_SET) != 0 && s8 == null) {
             final String s16 = s;
             String string;
             int prev = 0, limit, len;
@@ -637,29 +671,30 @@ void verifySpan(final UnicodeSetWithStrings sets[], final String s, int whichSpa
                         if (!sets[SLOW].getSet().containsAll(string)) {
                             errln(String.format("FAIL: %s[0x%x].%s.containsAll(%d..%d)==false contradicts span()",
                                     testName, index, setNames[SLOW], prev, limit));
-                            return;
+                            return expectCount;
                         }
                         if (!sets[FAST].getSet().containsAll(string)) {
                             errln(String.format("FAIL: %s[0x%x].%s.containsAll(%d..%d)==false contradicts span()",
                                     testName, index, setNames[FAST], prev, limit));
-                            return;
+                            return expectCount;
                         }
                     } else {
                         if (!sets[SLOW].getSet().containsNone(string)) {
                             errln(String.format("FAIL: %s[0x%x].%s.containsNone(%d..%d)==false contradicts span()",
                                     testName, index, setNames[SLOW], prev, limit));
-                            return;
+                            return expectCount;
                         }
                         if (!sets[FAST].getSet().containsNone(string)) {
                             errln(String.format("FAIL: %s[0x%x].%s.containsNone(%d..%d)==false contradicts span()",
                                     testName, index, setNames[FAST], prev, limit));
-                            return;
+                            return expectCount;
                         }
                     }
                 }
                 prev = limit;
             }
         }
+        return expectCount;
     }
 
     // Specifically test either UTF-16 or UTF-8.
@@ -667,7 +702,7 @@ void verifySpan(final UnicodeSetWithStrings sets[], final String s, int whichSpa
             final String testName, int index) {
         int[] expectLimits = new int[500];
         int expectCount = -1;
-        verifySpan(sets, s, whichSpans, expectLimits, expectCount, testName, index);
+        verifySpan(sets, s, null, whichSpans, expectLimits, expectCount, testName, index);
     }
 
     // Test both UTF-16 and UTF-8 versions of span() etc. on the same sets and text,
@@ -682,8 +717,37 @@ void verifySpanBothUTFs(final UnicodeSetWithStrings sets[], final String s16, in
         expectCount = -1; // Get expectLimits[] from verifySpan().
 
         if ((whichSpans & SPAN_UTF16) != 0) {
-            verifySpan(sets, s16, whichSpans, expectLimits, expectCount, testName, index);
+            expectCount = verifySpan(sets, s16, null, whichSpans, expectLimits, expectCount, testName, index);
+        }
+        if ((whichSpans & SPAN_UTF8) == 0) {
+            return;
+        }
+
+        // Convert s16[] to UTF-8, turning unpaired surrogates into U+FFFD,
+        // and map each UTF-16 index to its UTF-8 index.
+        int length16 = s16.length();
+        byte[] s8 = new byte[length16 * 3];
+        int[] indexes8 = new int[length16 + 1];
+        int length8 = 0;
+        for (int i = 0; i < length16;) {
+            int c = s16.codePointAt(i);
+            indexes8[i] = length8;
+            i += Character.charCount(c);
+            length8 = UTF8Util.append(s8, length8, Character.isSurrogate((char) c) && c <= 0xffff ? 0xfffd : c);
         }
+        indexes8[length16] = length8;
+        verifySpanUTF8(sets, Arrays.copyOf(s8, length8), indexes8, whichSpans, expectLimits, expectCount,
+                testName, index);
+    }
+
+    // Test the UTF-8 versions of span() etc.,
+    // after converting the UTF-16 expectLimits[] (if any) to UTF-8 indexes.
+    void verifySpanUTF8(final UnicodeSetWithStrings sets[], final byte[] s8, int[] indexes8, int whichSpans,
+            int expectLimits[], int expectCount, final String testName, int index) {
+        for (int i = 0; i < expectCount; ++i) {
+            expectLimits[i] = indexes8[expectLimits[i]];
+        }
+        verifySpan(sets, null, s8, whichSpans, expectLimits, expectCount, testName, index);
     }
 
     static int nextCodePoint(int c) {
@@ -777,6 +841,70 @@ void verifySpanUTF16String(final UnicodeSetWithStrings sets[], int whichSpans, f
         verifySpan(sets, interestingString, (whichSpans & ~SPAN_UTF8), testName, 1);
     }
 
+    // Test with a particular, interesting UTF-8 string with ill-formed sequences.
+    static final byte interestingBytes[] = {
+            0x61, 0x62, 0x63, // Latin
+            (byte) 0x80, // trail byte in lead position
+            0x20, // space
+            // truncated multi-byte sequences
+            (byte) 0xd0, (byte) 0xe0, (byte) 0xe1, (byte) 0xed, (byte) 0xee, (byte) 0xf0, (byte) 0xf1, (byte) 0xf4,
+            (byte) 0xf8, (byte) 0xfc,
+            (byte) 0xce, (byte) 0xb1, (byte) 0xce, (byte) 0xb2, (byte) 0xce, (byte) 0xb3, // Greek
+            (byte) 0x80,
+            (byte) 0xe0, (byte) 0x80, (byte) 0xe0, (byte) 0xa0, (byte) 0xe1, (byte) 0x80, (byte) 0xed, (byte) 0x80,
+            (byte) 0xed, (byte) 0xa0, (byte) 0xee, (byte) 0x80, (byte) 0xf0, (byte) 0x80, (byte) 0xf0, (byte) 0x90,
+            (byte) 0xf1, (byte) 0x80, (byte) 0xf4, (byte) 0x80, (byte) 0xf4, (byte) 0x90, (byte) 0xf8, (byte) 0x80,
+            (byte) 0xfc, (byte) 0x80,
+            // wide space, Katakana
+            (byte) 0xe3, (byte) 0x80, (byte) 0x80, (byte) 0xe3, (byte) 0x82, (byte) 0xab, (byte) 0xe3, (byte) 0x82,
+            (byte) 0xad,
+            (byte) 0x80,
+            (byte) 0xf0, (byte) 0x80, (byte) 0x80, (byte) 0xf0, (byte) 0x90, (byte) 0x80, (byte) 0xf1, (byte) 0x80,
+            (byte) 0x80, (byte) 0xf4, (byte) 0x80, (byte) 0x80, (byte) 0xf4, (byte) 0x90, (byte) 0x80, (byte) 0xf8,
+            (byte) 0x80, (byte) 0x80, (byte) 0xfc, (byte) 0x80, (byte) 0x80,
+            // nbsp, Hangul
+            (byte) 0xc2, (byte) 0xa0, (byte) 0xea, (byte) 0xb0, (byte) 0x80, (byte) 0xed, (byte) 0x9e, (byte) 0xa3,
+            (byte) 0x80,
+            (byte) 0xf8, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0xfc, (byte) 0x80, (byte) 0x80, (byte) 0x80,
+            (byte) 0xf1, (byte) 0x90, (byte) 0x80, (byte) 0x85, // unassigned supplementary
+            (byte) 0x80,
+            (byte) 0xfc, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80,
+            // Han supplementary
+            (byte) 0xf0, (byte) 0xa0, (byte) 0x8f, (byte) 0xbf, (byte) 0xf0, (byte) 0xa8, (byte) 0x8f, (byte) 0xbe,
+            (byte) 0x80,
+            // complete sequences but non-shortest forms or out of range etc.
+            (byte) 0xc0, (byte) 0x80, (byte) 0xe0, (byte) 0x80, (byte) 0x80, (byte) 0xed, (byte) 0xa0, (byte) 0x80,
+            (byte) 0xf0, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0xf4, (byte) 0x90, (byte) 0x80, (byte) 0x80,
+            (byte) 0xf8, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80,
+            (byte) 0xfc, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0xfe, (byte) 0xff,
+            (byte) 0x80,
+            // unassigned, LS
+            (byte) 0xed, (byte) 0x9e, (byte) 0xa4, (byte) 0xe2, (byte) 0x80, (byte) 0xa8
+    };
+
+    // The UTF-16 reference text has U+FFFD for each ill-formed UTF-8 sequence.
+    void verifySpanUTF8String(final UnicodeSetWithStrings sets[], int whichSpans, final String testName) {
+        if ((whichSpans & SPAN_UTF8) == 0) {
+            return;
+        }
+        StringBuilder s16 = new StringBuilder();
+        int[] indexes8 = new int[interestingBytes.length + 1];
+        for (int i = 0; i < interestingBytes.length;) {
+            indexes8[s16.length()] = i;
+            int packed = UTF8Util.next(interestingBytes, i, interestingBytes.length);
+            int c = UTF8Util.codePoint(packed);
+            s16.appendCodePoint(c < 0 ? 0xfffd : c);
+            i += UTF8Util.length(packed);
+        }
+        indexes8[s16.length()] = interestingBytes.length;
+        int[] expectLimits = new int[500];
+        int expectCount = -1;
+        if ((whichSpans & SPAN_UTF16) != 0) {
+            expectCount = verifySpan(sets, s16.toString(), null, whichSpans, expectLimits, expectCount, testName, 2);
+        }
+        verifySpanUTF8(sets, interestingBytes, indexes8, whichSpans, expectLimits, expectCount, testName, 2);
+    }
+
     // Take a set of span options and multiply them so that
     // each portion only has one of the options a, b and c.
     // If b==0, then the set of options is just modified with mask and a.
@@ -1064,6 +1192,14 @@ public void TestSpan() {
                     verifySpanUTF16String(sets_with_str, whichSpans[j], testName);
                 }
 
+                testNameLimit = "bad_utf8";
+                for (j = 0; j < whichSpansCount; ++j) {
+                    if (whichSpansCount > 1) {
+                        testNameLimit += String.format("%%0x%3x", whichSpans[j]);
+                    }
+                    verifySpanUTF8String(sets_with_str, whichSpans[j], testName);
+                }
+
                 testNameLimit = "contents";
                 for (j = 0; j < whichSpansCount; ++j) {
                     if (whichSpansCount > 1) {
@@ -1084,6 +1220,42 @@ public void TestSpan() {
         }
     }
 
+    @Test
+    public void TestSpanUTF8Buffers() {
+        UnicodeSet set = new UnicodeSet("[a-z{\u00e9t\u00e9}]").freeze();
+        // "--" + "abc" + "\u00e9t\u00e9" + "xy" + "!!" in UTF-8, with the set strings in the middle.
+        byte[] bytes = { 0x2d, 0x2d, 0x61, 0x62, 0x63, (byte) 0xc3, (byte) 0xa9, 0x74, (byte) 0xc3, (byte) 0xa9,
+                0x78, 0x79, 0x21, 0x21 };
+        assertEquals("spanUTF8()", 12, set.spanUTF8(bytes, 2, bytes.length, SpanCondition.SIMPLE));
+        assertEquals("spanBackUTF8()", 2, set.spanBackUTF8(bytes, 0, 12, SpanCondition.SIMPLE));
+        assertEquals("spanUTF8(not)", 2, set.spanUTF8(bytes, 0, bytes.length, SpanCondition.NOT_CONTAINED));
+        assertEquals("spanUTF8(empty)", 5, set.spanUTF8(bytes, 5, 5, SpanCondition.SIMPLE));
+
+        // Array-backed buffer with an array offset, and a direct buffer.
+        ByteBuffer heap = ByteBuffer.wrap(bytes, 1, bytes.length - 1).slice();
+        heap.position(1).limit(11);
+        assertEquals("spanUTF8(heap buffer)", 11, set.spanUTF8(heap, SpanCondition.SIMPLE));
+        assertEquals("spanBackUTF8(heap buffer)", 1, set.spanBackUTF8(heap, SpanCondition.SIMPLE));
+        assertEquals("position unchanged", 1, heap.position());
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+        direct.position(2);
+        assertEquals("spanUTF8(direct buffer)", 12, set.spanUTF8(direct, SpanCondition.SIMPLE));
+        assertEquals("spanBackUTF8(direct buffer)", 14, set.spanBackUTF8(direct, SpanCondition.SIMPLE));
+        assertEquals("position unchanged", 2, direct.position());
+
+        try {
+            set.spanUTF8(bytes, 3, 2, SpanCondition.SIMPLE);
+            errln("spanUTF8(start>limit) did not throw an exception");
+        } catch (IndexOutOfBoundsException expected) {
+        }
+        try {
+            set.spanBackUTF8(bytes, 0, bytes.length + 1, SpanCondition.SIMPLE);
+            errln("spanBackUTF8(limit>length) did not throw an exception");
+        } catch (IndexOutOfBoundsException expected) {
+        }
+    }
+
     @Test
     public void TestSpanAndCount() {
         // a set with no strings
@@ -8,6 +8,7 @@
  */
 package com.ibm.icu.dev.test.lang;
 
+import java.nio.charset.StandardCharsets;
 import java.text.NumberFormat;
 import java.text.ParsePosition;
 import java.util.ArrayList;
@@ -1513,6 +1514,47 @@ public void TestFrozen() {
         checkModification(test, false);
     }
 
+    @Test
+    public void TestFreezeWithCodePointTrie() {
+        String[] patterns = { "[:L:]", "[:^Cn:]", "[[:Han:][:Emoji:]]", "[a-z\\u00e9\\U0001F600{ab}{\\U0001F600x}]" };
+        StringBuilder sb = new StringBuilder("abc \u00e9\u00e0 \u4e00\u0378x\ud83d\ude00x\ud800 ");
+        for (int c = 0xfff0; c <= 0x10ffff; c += 0x3fd) {
+            sb.appendCodePoint(c);
+        }
+        String text = sb.toString();
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        for (String pattern : patterns) {
+            UnicodeSet set = new UnicodeSet(pattern).freeze();
+            UnicodeSet trieSet = new UnicodeSet(pattern).freezeWithCodePointTrie();
+            assertTrue(pattern + " frozen", trieSet.isFrozen());
+            assertEquals(pattern, set, trieSet);
+            assertSame(pattern + " already frozen", trieSet, trieSet.freezeWithCodePointTrie());
+            for (int c = 0; c <= 0x10ffff; ++c) {
+                if (set.contains(c) != trieSet.contains(c)) {
+                    errln(pattern + ".contains(U+" + Utility.hex(c) + ") differs with the trie");
+                    break;
+                }
+            }
+            for (SpanCondition condition : SpanCondition.values()) {
+                for (int start = 0; start < text.length(); ++start) {
+                    assertEquals(pattern + ".span(" + start + ")",
+                            set.span(text, start, condition), trieSet.span(text, start, condition));
+                    assertEquals(pattern + ".spanBack(" + start + ")",
+                            set.spanBack(text, start, condition), trieSet.spanBack(text, start, condition));
+                }
+                for (int start = 0; start < utf8.length; ++start) {
+                    assertEquals(pattern + ".spanUTF8(" + start + ")",
+                            set.spanUTF8(utf8, start, utf8.length, condition),
+                            trieSet.spanUTF8(utf8, start, utf8.length, condition));
+                }
+            }
+            // A thawed clone works without the trie.
+            UnicodeSet thawed = trieSet.cloneAsThawed();
+            assertFalse(pattern + " thawed", thawed.isFrozen());
+            assertEquals(pattern + " thawed", set, thawed);
+        }
+    }
+
     /**
      * Test Generic support
      */
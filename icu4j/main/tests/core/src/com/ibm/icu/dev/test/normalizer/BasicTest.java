@@ -9,7 +9,10 @@
 
 package com.ibm.icu.dev.test.normalizer;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.text.StringCharacterIterator;
+import java.util.Arrays;
 import java.util.Random;
 
 import org.junit.Test;
@@ -24,6 +27,7 @@
 import com.ibm.icu.lang.UCharacter;
 import com.ibm.icu.lang.UCharacterCategory;
 import com.ibm.icu.lang.UProperty;
+import com.ibm.icu.text.Edits;
 import com.ibm.icu.text.FilteredNormalizer2;
 import com.ibm.icu.text.Normalizer;
 import com.ibm.icu.text.Normalizer2;
@@ -2892,6 +2896,207 @@ public void TestComposeBoundaryAfter() {
         assertFalse("U+FB2C boundary-after", nfkc.hasBoundaryAfter(0xFB2C));
     }
 
+    @Test
+    public void TestNormalizeUTF8() {
+        Normalizer2 nfkc_cf = Normalizer2.getNFKCCasefoldInstance();
+        String src = "  A\u00C4 bc\uAC00\u3133 \u1E0D\u0307\u00DF\u00AD\u0323\uD835\uDC00$\u00DF";
+        String expected = "  a\u00E4 bc\uAC03 \u1E0D\u0307s\u1E63a$ss";
+        assertEquals("UTF-16", expected, nfkc_cf.normalize(src));
+        byte[] src8 = src.getBytes(StandardCharsets.UTF_8);
+        byte[] expected8 = expected.getBytes(StandardCharsets.UTF_8);
+        Edits edits = new Edits();
+        ByteArrayOutputStream dest = new ByteArrayOutputStream();
+        nfkc_cf.normalizeUTF8(src8, 0, src8.length, dest, edits);
+        assertTrue("normalizeUTF8", Arrays.equals(expected8, dest.toByteArray()));
+        assertTrue("normalizeUTF8(byte[])", Arrays.equals(expected8, nfkc_cf.normalizeUTF8(src8)));
+        assertEquals("edits.lengthDelta", expected8.length - src8.length, edits.lengthDelta());
+        assertTrue("edits.hasChanges", edits.hasChanges());
+        // "  " copied unchanged, "A" replaced by "a"
+        Edits.Iterator ei = edits.getFineIterator();
+        assertTrue("first edit", ei.next());
+        assertFalse("first edit unchanged", ei.hasChange());
+        assertEquals("first edit length", 2, ei.oldLength());
+        assertTrue("second edit", ei.next());
+        assertTrue("second edit changed", ei.hasChange());
+        assertEquals("second edit oldLength", 1, ei.oldLength());
+        assertEquals("second edit newLength", 1, ei.newLength());
+
+        assertFalse("isNormalizedUTF8(src)", nfkc_cf.isNormalizedUTF8(src8, 0, src8.length));
+        assertTrue("isNormalizedUTF8(expected)", nfkc_cf.isNormalizedUTF8(expected8, 0, expected8.length));
+        assertEquals("spanQuickCheckYesUTF8(src)", 2, nfkc_cf.spanQuickCheckYesUTF8(src8, 0, src8.length));
+        // Stops before the LV syllable which combines with the following Jamo T.
+        assertEquals("spanQuickCheckYesUTF8(src, 5, ...)", 8,
+                nfkc_cf.spanQuickCheckYesUTF8(src8, 5, src8.length));
+        // Stops before the d-dot-below which is followed by a "maybe" combining mark.
+        assertEquals("spanQuickCheckYesUTF8(expected)", 12,
+                nfkc_cf.spanQuickCheckYesUTF8(expected8, 0, expected8.length));
+
+        // Maybe quick check results are resolved.
+        byte[] maybe8 = "a\u0300\u0301".getBytes(StandardCharsets.UTF_8);
+        Normalizer2 nfc = Normalizer2.getNFCInstance();
+        assertFalse("isNormalizedUTF8(a+0300+0301)", nfc.isNormalizedUTF8(maybe8, 0, maybe8.length));
+        maybe8 = "b\u0300".getBytes(StandardCharsets.UTF_8);
+        assertTrue("isNormalizedUTF8(b+0300)", nfc.isNormalizedUTF8(maybe8, 0, maybe8.length));
+        assertEquals("spanQuickCheckYesUTF8(b+0300)", 0, nfc.spanQuickCheckYesUTF8(maybe8, 0, maybe8.length));
+    }
+
+    @Test
+    public void TestNormalizeUTF8IllFormed() {
+        // Ill-formed sequences are normalization-inert and copied unchanged,
+        // like unpaired surrogates in UTF-16 text.
+        Normalizer2 nfkc_cf = Normalizer2.getNFKCCasefoldInstance();
+        byte[] src = {
+            0x20, 0x41, (byte)0xed, (byte)0xa0, (byte)0x80, (byte)0xc3, (byte)0x84,
+            0x41, (byte)0xcc, (byte)0x88, (byte)0xcc, (byte)0xf0, (byte)0x9f, 0x41,
+            (byte)0xe0, (byte)0x80, (byte)0xcc, (byte)0x88, (byte)0xff
+        };
+        byte[] expected = {
+            0x20, 0x61, (byte)0xed, (byte)0xa0, (byte)0x80, (byte)0xc3, (byte)0xa4,
+            (byte)0xc3, (byte)0xa4, (byte)0xcc, (byte)0xf0, (byte)0x9f, 0x61,
+            (byte)0xe0, (byte)0x80, (byte)0xcc, (byte)0x88, (byte)0xff
+        };
+        Edits edits = new Edits();
+        ByteArrayOutputStream dest = new ByteArrayOutputStream();
+        nfkc_cf.normalizeUTF8(src, 0, src.length, dest, edits);
+        assertEquals("normalizeUTF8", Utility.hex(expected, 0, expected.length, " "),
+                Utility.hex(dest.toByteArray(), 0, dest.size(), " "));
+        assertEquals("edits.lengthDelta", -1, edits.lengthDelta());
+        assertFalse("isNormalizedUTF8(src)", nfkc_cf.isNormalizedUTF8(src, 0, src.length));
+        assertTrue("isNormalizedUTF8(expected)", nfkc_cf.isNormalizedUTF8(expected, 0, expected.length));
+    }
+
+    @Test
+    public void TestNormalizeUTF8Random() {
+        Normalizer2[] normalizers = {
+            Normalizer2.getNFCInstance(),
+            Normalizer2.getNFDInstance(),
+            Normalizer2.getNFKCInstance(),
+            Normalizer2.getNFKDInstance(),
+            Normalizer2.getNFKCCasefoldInstance(),
+            Normalizer2.getInstance(null, "nfc", Normalizer2.Mode.FCD),
+            Normalizer2.getInstance(null, "nfc", Normalizer2.Mode.COMPOSE_CONTIGUOUS),
+            Norm2AllModes.NOOP_NORMALIZER2
+        };
+        // Characters which interact in normalization, with a few ill-formed sequences.
+        String[] pieces = {
+            "a", "A", "e", "\u00E4", "\u00C5", "\u00DF", "\u0300", "\u0301", "\u0308", "\u0323",
+            "\u0345", "\u0F73", "\u1100", "\u1161", "\u11A8", "\uAC00", "\u212B", "\uFB2C",
+            "\u05B6", "\u02DA", "\u0339", "\u1E0B", "\u0307", "\uFF21", "\u00AD",
+            "\uD834\uDD5E", "\uD834\uDD65", "\uD87E\uDC00", " ", "\u3133"
+        };
+        byte[][] illFormed = {
+            {(byte)0x80}, {(byte)0xc3}, {(byte)0xe0, (byte)0x80}, {(byte)0xed, (byte)0xa0, (byte)0x80},
+            {(byte)0xf4, (byte)0x90}, {(byte)0xcc}
+        };
+        Random random = new Random(20201018L);
+        ByteArrayOutputStream input = new ByteArrayOutputStream();
+        for (int i = 0; i < 2000; ++i) {
+            input.reset();
+            int length = random.nextInt(12);
+            for (int j = 0; j < length; ++j) {
+                byte[] piece;
+                if (random.nextInt(10) == 0) {
+                    piece = illFormed[random.nextInt(illFormed.length)];
+                } else {
+                    piece = pieces[random.nextInt(pieces.length)].getBytes(StandardCharsets.UTF_8);
+                }
+                input.write(piece, 0, piece.length);
+            }
+            byte[] src = input.toByteArray();
+            for (int n = 0; n < normalizers.length; ++n) {
+                checkNormalizeUTF8(n + ": " + Utility.hex(src, 0, src.length, " "), normalizers[n], src);
+            }
+        }
+    }
+
+    private void checkNormalizeUTF8(String message, Normalizer2 n2, byte[] src) {
+        // Expected: Normalize the well-formed parts via UTF-16, copy ill-formed sequences.
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        boolean expectedIsNormalized = true;
+        int start = 0;
+        while (start < src.length) {
+            int limit = start;
+            int[] cpLength = new int[1];
+            while (limit < src.length && decodeUTF8(src, limit, cpLength) >= 0) {
+                limit += cpLength[0];
+            }
+            if (limit > start) {
+                String s = new String(src, start, limit - start, StandardCharsets.UTF_8);
+                byte[] normalized = n2.normalize(s).getBytes(StandardCharsets.UTF_8);
+                expected.write(normalized, 0, normalized.length);
+                expectedIsNormalized &= n2.isNormalized(s);
+                start = limit;
+            } else {
+                decodeUTF8(src, start, cpLength);
+                expected.write(src, start, cpLength[0]);
+                start += cpLength[0];
+            }
+        }
+        Edits edits = new Edits();
+        ByteArrayOutputStream dest = new ByteArrayOutputStream();
+        n2.normalizeUTF8(src, 0, src.length, dest, edits);
+        byte[] result = dest.toByteArray();
+        if (!Arrays.equals(expected.toByteArray(), result)) {
+            errln(message + ": normalizeUTF8() = " + Utility.hex(result, 0, result.length, " ") +
+                    " expected " + Utility.hex(expected.toByteArray(), 0, expected.size(), " "));
+            return;
+        }
+        // Apply the edits to the source; the result must be the destination.
+        ByteArrayOutputStream applied = new ByteArrayOutputStream();
+        for (Edits.Iterator ei = edits.getFineIterator(); ei.next();) {
+            if (ei.hasChange()) {
+                applied.write(result, ei.destinationIndex(), ei.newLength());
+            } else {
+                applied.write(src, ei.sourceIndex(), ei.oldLength());
+            }
+        }
+        if (!Arrays.equals(result, applied.toByteArray())) {
+            errln(message + ": edits do not map the source to the destination");
+        }
+        assertEquals(message + ": isNormalizedUTF8()", expectedIsNormalized,
+                n2.isNormalizedUTF8(src, 0, src.length));
+        int spanLimit = n2.spanQuickCheckYesUTF8(src, 0, src.length);
+        if (!Arrays.equals(Arrays.copyOf(src, spanLimit), Arrays.copyOf(result, spanLimit))) {
+            errln(message + ": spanQuickCheckYesUTF8()=" + spanLimit + " spans unnormalized text");
+        }
+    }
+
+    // Returns the code point, or -1 for an ill-formed sequence; sets the byte length.
+    private static int decodeUTF8(byte[] s, int i, int[] length) {
+        int b = s[i] & 0xff;
+        int n, c, lower = 0x80, upper = 0xbf;
+        if (b < 0x80) {
+            length[0] = 1;
+            return b;
+        } else if (0xc2 <= b && b <= 0xdf) {
+            n = 1;
+            c = b & 0x1f;
+        } else if (0xe0 <= b && b <= 0xef) {
+            n = 2;
+            c = b & 0xf;
+            if (b == 0xe0) { lower = 0xa0; } else if (b == 0xed) { upper = 0x9f; }
+        } else if (0xf0 <= b && b <= 0xf4) {
+            n = 3;
+            c = b & 7;
+            if (b == 0xf0) { lower = 0x90; } else if (b == 0xf4) { upper = 0x8f; }
+        } else {
+            length[0] = 1;
+            return -1;
+        }
+        for (int j = 1; j <= n; ++j) {
+            int t;
+            if (i + j >= s.length || (t = s[i + j] & 0xff) < lower || t > upper) {
+                length[0] = j;
+                return -1;
+            }
+            c = (c << 6) | (t & 0x3f);
+            lower = 0x80;
+            upper = 0xbf;
+        }
+        length[0] = n + 1;
+        return c;
+    }
+
     @Test
     public void TestNFC() {
         // Coverage tests.
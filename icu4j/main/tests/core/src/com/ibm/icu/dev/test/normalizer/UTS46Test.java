@@ -9,7 +9,10 @@
 package com.ibm.icu.dev.test.normalizer;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.Map;
@@ -177,6 +180,84 @@ public void TestACELabelEdgeCases() {
         assertTrue("empty Xn---", info.getErrors().contains(IDNA.Error.PUNYCODE));
     }
 
+    @Test
+    public void TestUTF8() {
+        IDNA notSTD3=IDNA.getUTS46Instance(IDNA.CHECK_BIDI|IDNA.CHECK_CONTEXTJ);
+        IDNA[] instances={ trans, nontrans, notSTD3 };
+        String[] names={ "T", "N", "notSTD3" };
+        StringBuilder longName=new StringBuilder();
+        while(longName.length()<260) {
+            longName.append("Abcdefghij.");
+        }
+        String[] extraInputs={
+            "a_b.C-D", "-ab.cd-", "ab--cd.ef", "a..b", "A.b.", "xn--bcher-kva.DE",
+            longName.toString(), longName.substring(0, 254), longName.substring(0, 253)+"."
+        };
+        ByteArrayOutputStream out=new ByteArrayOutputStream();
+        StringBuilder result=new StringBuilder();
+        // One Info for everything: The functions reset it.
+        IDNA.Info info=new IDNA.Info(), expectedInfo=new IDNA.Info();
+        for(int i=0; i<testCases.length+extraInputs.length+1; ++i) {
+            byte[] utf8;
+            String input;
+            if(i<testCases.length) {
+                input=testCases[i][0];
+                utf8=input.getBytes(StandardCharsets.UTF_8);
+                if(!input.equals(new String(utf8, StandardCharsets.UTF_8))) {
+                    continue;  // unpaired surrogate
+                }
+            } else if(i<testCases.length+extraInputs.length) {
+                input=extraInputs[i-testCases.length];
+                utf8=input.getBytes(StandardCharsets.UTF_8);
+            } else {
+                // ill-formed UTF-8 is handled like U+FFFD
+                input="a\uFFFD.com";
+                utf8=new byte[] { 'a', (byte)0xff, '.', 'c', 'o', 'm' };
+            }
+            // Input inside a larger array.
+            byte[] padded=new byte[utf8.length+2];
+            System.arraycopy(utf8, 0, padded, 1, utf8.length);
+            for(int j=0; j<instances.length; ++j) {
+                IDNA idna=instances[j];
+                for(int op=0; op<4; ++op) {
+                    out.reset();
+                    info.getErrors().add(IDNA.Error.BIDI);  // must be reset
+                    switch(op) {
+                    case 0:
+                        idna.labelToASCII(input, result, expectedInfo);
+                        idna.labelToASCII_UTF8(padded, 1, 1+utf8.length, out, info);
+                        break;
+                    case 1:
+                        idna.labelToUnicode(input, result, expectedInfo);
+                        idna.labelToUnicodeUTF8(padded, 1, 1+utf8.length, out, info);
+                        break;
+                    case 2:
+                        idna.nameToASCII(input, result, expectedInfo);
+                        idna.nameToASCII_UTF8(padded, 1, 1+utf8.length, out, info);
+                        break;
+                    default:
+                        idna.nameToUnicode(input, result, expectedInfo);
+                        idna.nameToUnicodeUTF8(padded, 1, 1+utf8.length, out, info);
+                        break;
+                    }
+                    String[] opNames={ "labelToASCII", "labelToUnicode", "nameToASCII", "nameToUnicode" };
+                    String msg=names[j]+"."+opNames[op]+"_UTF8("+prettify(input)+")";
+                    assertEquals(msg+" errors", expectedInfo.getErrors(), info.getErrors());
+                    assertEquals(msg+" transitional different",
+                            expectedInfo.isTransitionalDifferent(), info.isTransitionalDifferent());
+                    byte[] expected=result.toString().getBytes(StandardCharsets.UTF_8);
+                    if(!Arrays.equals(expected, out.toByteArray())) {
+                        errln(msg+" result "+prettify(new String(out.toByteArray(), StandardCharsets.UTF_8))+
+                              " != "+prettify(result.toString()));
+                    }
+                }
+            }
+        }
+        info.getErrors().add(IDNA.Error.BIDI);
+        info.reset();
+        assertFalse("Info.reset() clears errors", info.hasErrors());
+    }
+
     @Test
     public void TestTooLong() {
         // ICU-13727: Limit input length for n^2 algorithm
@@ -3505,6 +3505,75 @@ public void formatTypes() {
                         .toString());
     }
 
+    @Test
+    public void formatTo() {
+        LocalizedNumberFormatter formatter = NumberFormatter.withLocale(ULocale.ENGLISH)
+                .unit(USD)
+                .precision(Precision.fixedFraction(2));
+
+        // Appendable
+        StringBuilder sb = new StringBuilder("Price: ");
+        Assert.assertSame("Should return the Appendable", sb, formatter.formatTo(514.23, sb));
+        assertEquals("Appendable double", "Price: $514.23", sb.toString());
+        sb.setLength(0);
+        formatter.formatTo(-51423L, sb).append(' ');
+        formatter.formatTo(0.5, sb);
+        assertEquals("Appendable long", "-$51,423.00 $0.50", sb.toString());
+
+        // char[]
+        char[] chars = new char[12];
+        int length = formatter.formatTo(987654.321, chars, 1);
+        assertEquals("char[] length", 11, length);
+        assertEquals("char[] double", "$987,654.32", new String(chars, 1, length));
+        length = formatter.formatTo(12L, chars, 0);
+        assertEquals("char[] long", "$12.00", new String(chars, 0, length));
+        chars[0] = 'x';
+        try {
+            formatter.formatTo(987654.321, chars, 2);
+            fail("Should throw IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException expected) {
+            assertEquals("char[] should not be modified", 'x', chars[0]);
+        }
+
+        // Scratch state must be reset between calls with different settings
+        LocalizedNumberFormatter percent = NumberFormatter.withLocale(ULocale.FRENCH)
+                .unit(NoUnit.PERCENT)
+                .integerWidth(IntegerWidth.zeroFillTo(3));
+        for (int i = 0; i < 200; i++) {
+            sb.setLength(0);
+            formatter.formatTo(i + 0.125, sb).append('|');
+            percent.formatTo(i, sb);
+            assertEquals("Interleaved " + i,
+                    formatter.format(i + 0.125).toString() + "|" + percent.format(i).toString(),
+                    sb.toString());
+        }
+
+        // Re-entrant use from an Appendable
+        final StringBuilder inner = new StringBuilder();
+        final LocalizedNumberFormatter innerFormatter = percent;
+        Appendable reentrant = new Appendable() {
+            @Override
+            public Appendable append(CharSequence csq) {
+                inner.append(csq);
+                innerFormatter.formatTo(42, inner);
+                return this;
+            }
+
+            @Override
+            public Appendable append(CharSequence csq, int start, int end) {
+                return append(csq.subSequence(start, end));
+            }
+
+            @Override
+            public Appendable append(char c) {
+                inner.append(c);
+                return this;
+            }
+        };
+        formatter.formatTo(1.5, reentrant);
+        assertEquals("Re-entrant", "$1.50" + percent.format(42).toString(), inner.toString());
+    }
+
     @Test
     public void fieldPositionLogic() {
         String message = "Field position logic test";
@@ -4076,6 +4145,8 @@ static void assertFormatDescending(
             assertEquals(message + ": Unsafe Path: " + d, expected[i], actual1);
             String actual2 = l2.format(d).toString();
             assertEquals(message + ": Safe Path: " + d, expected[i], actual2);
+            String actual5 = l2.formatTo(d, new StringBuilder()).toString();
+            assertEquals(message + ": Appendable Path: " + d, expected[i], actual5);
         }
         if (skeleton != null) { // if null, skeleton is declared as undefined.
             // Only compare normalized skeletons: the tests need not provide the normalized forms.
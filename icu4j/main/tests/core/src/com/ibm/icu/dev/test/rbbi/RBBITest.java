@@ -16,10 +16,18 @@
 //          Much of the remaining data has been moved into the rbbitst.txt test data file,
 //            which is common between ICU4C and ICU4J.  The remaining test data should also be moved,
 //            or simply retired if it is no longer interesting.
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.CharBuffer;
 import java.text.CharacterIterator;
+import java.text.StringCharacterIterator;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -27,8 +35,10 @@
 
 import com.ibm.icu.dev.test.TestFmwk;
 import com.ibm.icu.impl.RBBIDataWrapper;
+import com.ibm.icu.impl.Utility;
 import com.ibm.icu.text.BreakIterator;
 import com.ibm.icu.text.RuleBasedBreakIterator;
+import com.ibm.icu.text.UTF16;
 import com.ibm.icu.util.CodePointTrie;
 import com.ibm.icu.util.ULocale;
 
@@ -905,4 +915,314 @@ public void TestBug13590() {
         assertEquals("Wrong number of breaks found", 2, breaksFound);
     }
 
+    /*
+     * Shared fixture for the randomized tests of break iterator text handling:
+     * Texts made of random pieces of mixed-script text (letters, digits, spaces and punctuation,
+     * line ends, a combining mark, Thai, CJK, Hangul, emoji sequences, unpaired surrogates),
+     * checked with break iterators of several locales and all kinds.
+     */
+    private static final String[] MIXED_TEXT_PIECES = {
+        "a", "Z", "7", " ", "  ", ".", "!", "?", "? ", ",", "'", "-", "\r\n", "\n", "\u00A0",
+        "\u0301", "\u0E01\u0E32\u0E23", "\u0E17\u0E14\u0E2A\u0E2D\u0E1A", "\u4E2D\u6587",
+        "\u3042\u3044", "\uAC00\u11A8", "\uD83D\uDE00", "\uD83D\uDC4D\uD83C\uDFFD",
+        "\uD83C\uDDFA\uD83C\uDDF8", "\u200D", "\uD800", "\uDC00", "Hello", "U.S.", "3.14"
+    };
+
+    private static final ULocale[] MIXED_TEXT_LOCALES = { ULocale.ENGLISH, new ULocale("th"), ULocale.JAPANESE };
+
+    private static final int[] ALL_KINDS = {
+        BreakIterator.KIND_CHARACTER, BreakIterator.KIND_WORD, BreakIterator.KIND_LINE,
+        BreakIterator.KIND_SENTENCE
+    };
+
+    private static String randomMixedText(Random random, int pieceCount) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < pieceCount; ++i) {
+            sb.append(MIXED_TEXT_PIECES[random.nextInt(MIXED_TEXT_PIECES.length)]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns count random mixed-script texts of 0 to maxPieces-1 pieces each.
+     */
+    private static String[] randomMixedTexts(long seed, int count, int maxPieces) {
+        Random random = new Random(seed);
+        String[] texts = new String[count];
+        for (int i = 0; i < count; ++i) {
+            texts[i] = randomMixedText(random, random.nextInt(maxPieces));
+        }
+        return texts;
+    }
+
+    private interface MixedTextCheck {
+        void check(String label, String text, ULocale locale, int kind) throws IOException;
+    }
+
+    /**
+     * Calls the check for each text with each of the MIXED_TEXT_LOCALES and ALL_KINDS.
+     */
+    private static void forEachLocaleAndKind(String[] texts, MixedTextCheck check) throws IOException {
+        for (String text : texts) {
+            String textLabel = text.length() <= 1000 ? " text " + Utility.hex(text) : " text length " + text.length();
+            for (ULocale locale : MIXED_TEXT_LOCALES) {
+                for (int kind : ALL_KINDS) {
+                    check.check(locale + " kind " + kind + textLabel, text, locale, kind);
+                }
+            }
+        }
+    }
+
+    /**
+     * Break iterators read text that was set as a String or CharSequence directly from an array,
+     * and other text through the CharacterIterator. Both must find the same boundaries.
+     */
+    @Test
+    public void TestTextSourceEquivalence() throws IOException {
+        forEachLocaleAndKind(randomMixedTexts(20201018, 60, 40), new MixedTextCheck() {
+            @Override
+            public void check(String label, String text, ULocale locale, int kind) {
+                BreakIterator expected = BreakIterator.getBreakInstance(locale, kind);
+                expected.setText(new StringCharacterIterator(text));
+                BreakIterator fromString = BreakIterator.getBreakInstance(locale, kind);
+                fromString.setText(text);
+                BreakIterator fromSequence = BreakIterator.getBreakInstance(locale, kind);
+                fromSequence.setText(new StringBuilder(text));
+                checkSameBoundaries(label + " String", expected, fromString, text.length());
+                checkSameBoundaries(label + " CharSequence", expected, fromSequence, text.length());
+            }
+        });
+    }
+
+    @Test
+    public void TestGetBoundaries() throws IOException {
+        final Random random = new Random(20201019);
+        forEachLocaleAndKind(randomMixedTexts(20201019, 30, 60), new MixedTextCheck() {
+            @Override
+            public void check(String label, String text, ULocale locale, int kind) {
+                BreakIterator expected = BreakIterator.getBreakInstance(locale, kind);
+                expected.setText(text);
+                RuleBasedBreakIterator actual = (RuleBasedBreakIterator)BreakIterator.getBreakInstance(locale, kind);
+                actual.setText(text);
+
+                // Scan the whole text forward in small chunks.
+                int[] boundaries = new int[1 + random.nextInt(4)];
+                int[] statuses = new int[boundaries.length];
+                int e = expected.first();
+                int start = e;
+                int n;
+                while ((n = actual.getBoundaries(start, text.length(), boundaries, statuses)) > 0) {
+                    for (int i = 0; i < n; ++i) {
+                        e = expected.next();
+                        assertEquals(label + " boundary", e, boundaries[i]);
+                        assertEquals(label + " status at " + e, expected.getRuleStatus(), statuses[i]);
+                    }
+                    start = boundaries[n - 1];
+                    assertEquals(label + " current()", start, actual.current());
+                    assertEquals(label + " getRuleStatus()", expected.getRuleStatus(), actual.getRuleStatus());
+                }
+                assertEquals(label + " end of text", BreakIterator.DONE, expected.next());
+
+                // Arbitrary start and limit, then continue with next() and previous().
+                int from = random.nextInt(text.length() + 1);
+                int limit = from + random.nextInt(text.length() + 2 - from);
+                n = actual.getBoundaries(from, limit, boundaries, null);
+                e = expected.following(from);
+                for (int i = 0; i < n; ++i) {
+                    assertEquals(label + " boundary after " + from, e, boundaries[i]);
+                    e = expected.next();
+                }
+                assertTrue(label + " stopped early", n == boundaries.length || e == BreakIterator.DONE || e > limit);
+                if (n > 0) {
+                    expected.following(boundaries[n - 1] - 1);
+                    assertEquals(label + " next() after", expected.next(), actual.next());
+                    assertEquals(label + " previous() after", expected.previous(), actual.previous());
+                    assertEquals(label + " previous() after", expected.previous(), actual.previous());
+                }
+            }
+        });
+    }
+
+    @Test
+    public void TestStreamSegmenter() throws IOException {
+        forEachLocaleAndKind(randomMixedTexts(20201020, 30, 100), new MixedTextCheck() {
+            @Override
+            public void check(String label, final String text, ULocale locale, int kind) throws IOException {
+                RuleBasedBreakIterator bi = (RuleBasedBreakIterator)BreakIterator.getBreakInstance(locale, kind);
+                // A window larger than the text, read one char at a time,
+                // with reads of zero chars in between.
+                Reader slowReader = new Reader() {
+                    int index = 0;
+                    boolean skip = false;
+                    @Override
+                    public int read(char[] cbuf, int off, int len) {
+                        if (index >= text.length()) {
+                            return -1;
+                        }
+                        skip = !skip;
+                        if (skip) {
+                            return 0;
+                        }
+                        cbuf[off] = text.charAt(index++);
+                        return 1;
+                    }
+                    @Override
+                    public void close() {
+                    }
+                };
+                checkStreamSegmenter(label + " Reader",
+                        new RuleBasedBreakIterator.StreamSegmenter(bi, slowReader, 1024), bi, text);
+                checkStreamSegmenter(label + " CharBuffer",
+                        new RuleBasedBreakIterator.StreamSegmenter(bi, CharBuffer.wrap(text), 1024), bi, text);
+            }
+        });
+
+        // A small window on text whose segments fit into it.
+        Random random = new Random(20201020);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 2000; ++i) {
+            sb.append(randomMixedText(random, 1 + random.nextInt(3))).append(' ');
+        }
+        String text = sb.toString();
+        RuleBasedBreakIterator bi = (RuleBasedBreakIterator)BreakIterator.getWordInstance(ULocale.ENGLISH);
+        checkStreamSegmenter("small window", new RuleBasedBreakIterator.StreamSegmenter(bi, new StringReader(text), 32),
+                bi, text);
+
+        // A segment longer than the window is split, without splitting surrogate pairs.
+        text = "\uD83D\uDE00\uD83D\uDE00\uD83D\uDE00\uD83D\uDE00\uD83D\uDE00 abc";
+        bi = (RuleBasedBreakIterator)BreakIterator.getLineInstance(ULocale.ENGLISH);
+        RuleBasedBreakIterator.StreamSegmenter segmenter =
+                new RuleBasedBreakIterator.StreamSegmenter(bi, new StringReader(text), 5);
+        long boundary;
+        long previous = 0;
+        while ((boundary = segmenter.next()) != BreakIterator.DONE) {
+            assertTrue("segment fits into window", boundary - previous <= 5);
+            assertFalse("no split surrogate pair", boundary < text.length() &&
+                    UTF16.isLeadSurrogate(text.charAt((int) boundary - 1)) &&
+                    UTF16.isTrailSurrogate(text.charAt((int) boundary)));
+            assertEquals("segment text", text.substring((int) previous, (int) boundary), segmenter.getSegment().toString());
+            previous = boundary;
+        }
+        assertEquals("end of text", text.length(), previous);
+    }
+
+    @Test
+    public void TestParallelBoundaries() throws IOException {
+        // BreakIterator.getBoundaries(CharSequence, ForkJoinPool) splits the text into chunks of 64K chars.
+        final int chunkSize = 0x10000;
+        // Several chunks of random mixed-script text.
+        Random random = new Random(20201021);
+        StringBuilder sb = new StringBuilder();
+        while (sb.length() < 300000) {
+            sb.append(randomMixedText(random, 1000));
+        }
+        // Also a text that is a single long segment for most kinds of break iterators.
+        StringBuilder longWord = new StringBuilder();
+        while (longWord.length() < 200000) {
+            longWord.append("abc\u0301");
+        }
+        // A boundary for every kind exactly at the first and third chunk seams,
+        // and a surrogate pair across the second one.
+        StringBuilder seams = new StringBuilder();
+        for (int seam = chunkSize; seam <= 3 * chunkSize; seam += chunkSize) {
+            while (seams.length() < seam - 20) {
+                seams.append("Hello world. ");
+            }
+            if (seam == 2 * chunkSize) {
+                while (seams.length() < seam - 1) {
+                    seams.append('x');
+                }
+                seams.append("\uD83D\uDE00 ");
+            } else {
+                while (seams.length() < seam - 2) {
+                    seams.append('x');
+                }
+                seams.append(". ");
+            }
+        }
+        seams.append("Hello world. The end.");
+        final String seamText = seams.toString();
+        String[] texts = { "", "Hello world. Short text.", sb.toString(), longWord.toString(), seamText };
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            forEachLocaleAndKind(texts, new MixedTextCheck() {
+                @Override
+                public void check(String label, String text, ULocale locale, int kind) {
+                    BreakIterator bi = BreakIterator.getBreakInstance(locale, kind);
+                    bi.setText("unchanged");
+                    int[] actual = bi.getBoundaries(text, pool);
+                    assertEquals(label + " leaves the iterator alone", 0, bi.current());
+
+                    bi.setText(text);
+                    int count = 0;
+                    for (int b = bi.first(); b != BreakIterator.DONE; b = bi.next()) {
+                        if (count >= actual.length || actual[count] != b) {
+                            errln(label + " boundary #" + count + ": expected " + b + ", got " +
+                                    (count < actual.length ? actual[count] : "none"));
+                            return;
+                        }
+                        ++count;
+                    }
+                    assertEquals(label + " number of boundaries", count, actual.length);
+                    if (text == seamText) {
+                        assertTrue(label + " boundary at the first seam",
+                                Arrays.binarySearch(actual, chunkSize) >= 0);
+                        assertTrue(label + " no boundary inside the surrogate pair at the second seam",
+                                Arrays.binarySearch(actual, 2 * chunkSize) < 0);
+                        assertTrue(label + " boundary at the third seam",
+                                Arrays.binarySearch(actual, 3 * chunkSize) >= 0);
+                    }
+                }
+            });
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void checkStreamSegmenter(String label, RuleBasedBreakIterator.StreamSegmenter segmenter,
+            RuleBasedBreakIterator bi, String text) throws IOException {
+        bi.setText(text);
+        assertEquals(label + " initial current()", 0, segmenter.current());
+        int previous = bi.first();
+        for (;;) {
+            int expected = bi.next();
+            long actual = segmenter.next();
+            assertEquals(label + " next()", expected, actual);
+            if (expected == BreakIterator.DONE) {
+                break;
+            }
+            assertEquals(label + " current()", expected, segmenter.current());
+            assertEquals(label + " getRuleStatus() at " + expected, bi.getRuleStatus(), segmenter.getRuleStatus());
+            assertEquals(label + " getSegment() at " + expected, text.substring(previous, expected),
+                    segmenter.getSegment().toString());
+            previous = expected;
+        }
+        assertEquals(label + " next() after DONE", BreakIterator.DONE, segmenter.next());
+    }
+
+    private void checkSameBoundaries(String label, BreakIterator expected, BreakIterator actual, int length) {
+        int e, a;
+        assertEquals(label + " first()", expected.first(), actual.first());
+        do {
+            e = expected.next();
+            a = actual.next();
+            assertEquals(label + " next()", e, a);
+            assertEquals(label + " getRuleStatus() at " + e, expected.getRuleStatus(), actual.getRuleStatus());
+        } while (e != BreakIterator.DONE && e == a);
+        assertEquals(label + " last()", expected.last(), actual.last());
+        do {
+            e = expected.previous();
+            a = actual.previous();
+            assertEquals(label + " previous()", e, a);
+        } while (e != BreakIterator.DONE && e == a);
+        for (int i = 0; i <= length; ++i) {
+            assertEquals(label + " isBoundary(" + i + ")", expected.isBoundary(i), actual.isBoundary(i));
+            if (i < length) {
+                assertEquals(label + " following(" + i + ")", expected.following(i), actual.following(i));
+            }
+            if (i > 0) {
+                assertEquals(label + " preceding(" + i + ")", expected.preceding(i), actual.preceding(i));
+            }
+        }
+    }
 }
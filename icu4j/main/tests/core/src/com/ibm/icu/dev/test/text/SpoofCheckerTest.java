@@ -16,6 +16,7 @@
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.text.ParseException;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
@@ -457,6 +458,75 @@ void checkSkeleton(SpoofChecker sc, int type, String input, String expected, Str
         assertEquals(testName + " test at line " + lineNumberOfTest + " :  Expected (escaped): " + expected, uExpected, actual);
     }
 
+    @Test
+    public void TestSkeletonBuffersAndCache() throws Exception {
+        SpoofChecker sc = new SpoofChecker.Builder().build();
+        SpoofChecker cached = new SpoofChecker.Builder().setSkeletonCacheSize(3).build();
+        String[] inputs = {
+                "", "nochange", "username_42", "1ove", "00PS", "mIx", "\u00e9t\u00e9", "e\u0301\u0323",
+                "\u02b9identifier'", "\u2A74", "\uFDFB", "\uff29\u217c\u0196", "\ud835\udc00bc"
+        };
+        StringBuilder sb = new StringBuilder();
+        byte[] utf8 = new byte[100];
+        for (int round = 0; round < 2; ++round) {
+            for (String escaped : inputs) {
+                String input = Utility.unescape(escaped);
+                String expected = sc.getSkeleton(input);
+                assertEquals("cached skeleton of " + escaped, expected, cached.getSkeleton(input));
+                assertEquals("cached skeleton of StringBuilder " + escaped,
+                        expected, cached.getSkeleton(new StringBuilder(input)));
+
+                sb.setLength(0);
+                assertEquals("getSkeleton(" + escaped + ", StringBuilder)",
+                        expected, sc.getSkeleton(input, sb).toString());
+                sb.setLength(0);
+                sb.append("ab");
+                assertEquals("getSkeleton(" + escaped + ", StringBuilder) appends",
+                        "ab" + expected, sc.getSkeleton(input, sb).toString());
+
+                byte[] expectedUTF8 = expected.getBytes("UTF-8");
+                int length = sc.getSkeletonUTF8(input, utf8, 1);
+                assertEquals("getSkeletonUTF8(" + escaped + ") length", expectedUTF8.length, length);
+                for (int i = 0; i < length; ++i) {
+                    assertEquals("getSkeletonUTF8(" + escaped + ")[" + i + "]", expectedUTF8[i], utf8[1 + i]);
+                }
+                if (length > 0) {
+                    byte[] tooShort = new byte[length - 1];
+                    assertEquals("getSkeletonUTF8(" + escaped + ") preflighting",
+                            length, sc.getSkeletonUTF8(input, tooShort, 0));
+                }
+            }
+        }
+
+        // The cache keeps its own copy of an identifier which the caller changes later.
+        StringBuilder id = new StringBuilder("1ove");
+        assertEquals("cached skeleton of 1ove", sc.getSkeleton("1ove"), cached.getSkeleton(id));
+        id.setCharAt(0, 'x');
+        assertEquals("cached skeleton of xove", sc.getSkeleton("xove"), cached.getSkeleton(id));
+        assertEquals("cached skeleton of 1ove again", sc.getSkeleton("1ove"), cached.getSkeleton("1ove"));
+
+        // A skeleton longer than the reused UTF-8 staging buffer.
+        StringBuilder longId = new StringBuilder();
+        while (longId.length() < 5000) {
+            longId.append("\u00e9l\u00e8ve ");
+        }
+        byte[] expectedUTF8 = sc.getSkeleton(longId).getBytes("UTF-8");
+        byte[] longUTF8 = new byte[expectedUTF8.length];
+        for (int round = 0; round < 2; ++round) {
+            assertEquals("getSkeletonUTF8(long) length", expectedUTF8.length, sc.getSkeletonUTF8(longId, longUTF8, 0));
+            assertTrue("getSkeletonUTF8(long)", Arrays.equals(expectedUTF8, longUTF8));
+        }
+
+        // The cache size is copied into a new builder.
+        SpoofChecker copy = new SpoofChecker.Builder(cached).build();
+        assertEquals("skeleton from copied checker", sc.getSkeleton("1ove"), copy.getSkeleton("1ove"));
+        try {
+            new SpoofChecker.Builder().setSkeletonCacheSize(-1);
+            errln("setSkeletonCacheSize(-1) did not throw an exception");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
     @Test
     public void TestAreConfusable() {
         SpoofChecker sc = new SpoofChecker.Builder().setChecks(SpoofChecker.CONFUSABLE).build();
@@ -421,12 +421,56 @@ private static boolean ACCIDENTAL_SURROGATE_PAIR(CharSequence s, int cp) {
         assertFalse("previous() at the start", si.previous());
     }
 
+    private void
+    testTrieGetValues(String testName, CodePointTrie trie, CheckRange checkRanges[]) {
+        // Start, middle and end of each range, plus unpaired surrogates.
+        StringBuilder sb = new StringBuilder("a\udc00b");
+        int prevCP = 0;
+        for (int i = skipSpecialValues(checkRanges); i < checkRanges.length; ++i) {
+            int limit = checkRanges[i].limit;
+            for (int c : new int[] { prevCP, (prevCP + limit) / 2, limit - 1 }) {
+                if (!ACCIDENTAL_SURROGATE_PAIR(sb, c)) {
+                    sb.appendCodePoint(c);
+                }
+            }
+            prevCP = limit;
+        }
+        sb.append("\ud800\ud800\udc00\ud800");
+        String s = sb.toString();
+        // Also split the last surrogate pair with the limit.
+        int[] limits = { s.length(), s.length() - 2 };
+        for (int limit : limits) {
+            int[] values = new int[limit + 1];
+            byte[] bytes = new byte[limit + 1];
+            trie.getValues(s, 0, limit, values, 1);
+            trie.getValues(s, 0, limit, bytes, 1);
+            for (int i = 0; i < limit; ++i) {
+                int c = s.charAt(i);
+                if (Character.isHighSurrogate(s.charAt(i)) && (i + 1) < limit &&
+                        Character.isLowSurrogate(s.charAt(i + 1))) {
+                    c = s.codePointAt(i);
+                } else if (Character.isLowSurrogate(s.charAt(i)) && i > 0 &&
+                        Character.isHighSurrogate(s.charAt(i - 1))) {
+                    c = s.codePointBefore(i + 1);
+                }
+                int expected = trie.get(c);
+                if (values[i + 1] != expected || bytes[i + 1] != (byte) expected) {
+                    fail(String.format(
+                            "error: wrong value from getValues(%s) at [%d] U+%04x: 0x%x/0x%x instead of 0x%x\n",
+                            testName, i, c, values[i + 1], bytes[i + 1] & 0xff, expected));
+                    break;
+                }
+            }
+        }
+    }
+
     private void
     testTrie(String testName, CodePointTrie trie,
              CodePointTrie.Type type, CodePointTrie.ValueWidth valueWidth,
              CheckRange checkRanges[]) {
         testTrieGetters(testName, trie, type, valueWidth, checkRanges);
         testTrieGetRanges(testName, trie, CodePointMap.RangeOption.NORMAL, 0, checkRanges);
+        testTrieGetValues(testName, trie, checkRanges);
         if (type == CodePointTrie.Type.FAST) {
             testTrieUTF16(testName, trie, valueWidth, checkRanges);
             // Java: no testTrieUTF8(testName, trie, valueWidth, checkRanges);
@@ -9,8 +9,16 @@
 
 package com.ibm.icu.dev.test.util;
 
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -111,4 +119,84 @@ public boolean isDataVersionAcceptable(byte version[])
             logln("PASS: ICUBinary.readHeader with invalid version number failed as expected");
         }
     }
+
+    @Test
+    public void TestGetMappedData() throws IOException
+    {
+        byte[] data = new byte[1000];
+        for (int i = 0; i < data.length; ++i) {
+            data[i] = (byte)(i * 7);
+        }
+        File jar = File.createTempFile("ICUBinaryTest", ".jar");
+        File cacheDir = null;
+        try {
+            ZipOutputStream out = new ZipOutputStream(new FileOutputStream(jar));
+            try {
+                ZipEntry stored = new ZipEntry("data/stored.icu");
+                stored.setMethod(ZipEntry.STORED);
+                stored.setSize(data.length);
+                CRC32 crc = new CRC32();
+                crc.update(data);
+                stored.setCrc(crc.getValue());
+                out.putNextEntry(stored);
+                out.write(data);
+                out.closeEntry();
+                out.putNextEntry(new ZipEntry("data/deflated.icu"));
+                out.write(data);
+                out.closeEntry();
+            } finally {
+                out.close();
+            }
+            URLClassLoader loader = new URLClassLoader(new URL[] { jar.toURI().toURL() }, null);
+            try {
+                ByteBuffer bytes = ICUBinary.getMappedData(loader, "data/stored.icu", null);
+                assertNotNull("stored jar entry should be mapped", bytes);
+                assertTrue("mapped data should be in a direct buffer", bytes.isDirect());
+                checkMappedData(data, bytes);
+                // Without a data cache folder, compressed entries cannot be mapped.
+                assertNull("deflated jar entry without a cache folder",
+                        ICUBinary.getMappedData(loader, "data/deflated.icu", null));
+                assertNull("missing jar entry", ICUBinary.getMappedData(loader, "data/missing.icu", null));
+
+                // With a cache folder, compressed entries are extracted once and then mapped.
+                cacheDir = Files.createTempDirectory("ICUBinaryTest").toFile();
+                bytes = ICUBinary.getMappedData(loader, "data/deflated.icu", cacheDir);
+                assertNotNull("deflated jar entry should be extracted and mapped", bytes);
+                assertTrue("mapped data should be in a direct buffer", bytes.isDirect());
+                checkMappedData(data, bytes);
+                File[] cached = cacheDir.listFiles();
+                assertEquals("number of files in the cache folder", 1, cached.length);
+                assertTrue("cache file name " + cached[0].getName(),
+                        cached[0].getName().endsWith("-deflated.icu"));
+                assertEquals("cache file length", data.length, cached[0].length());
+                checkMappedData(data, ByteBuffer.wrap(Files.readAllBytes(cached[0].toPath())));
+                long lastModified = cached[0].lastModified();
+                // A second lookup maps the cached file without extracting it again.
+                bytes = ICUBinary.getMappedData(loader, "data/deflated.icu", cacheDir);
+                checkMappedData(data, bytes);
+                assertEquals("cache file rewritten", lastModified, cached[0].lastModified());
+                assertEquals("number of files in the cache folder", 1, cacheDir.listFiles().length);
+            } finally {
+                loader.close();
+            }
+        } finally {
+            jar.delete();
+            if (cacheDir != null) {
+                for (File f : cacheDir.listFiles()) {
+                    f.delete();
+                }
+                cacheDir.delete();
+            }
+        }
+    }
+
+    private void checkMappedData(byte[] expected, ByteBuffer bytes) {
+        assertEquals("mapped data length", expected.length, bytes.remaining());
+        for (int i = 0; i < expected.length; ++i) {
+            if (bytes.get(i) != expected[i]) {
+                errln("mapped data differs at index " + i);
+                break;
+            }
+        }
+    }
 }
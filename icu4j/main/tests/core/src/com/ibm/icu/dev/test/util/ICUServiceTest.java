@@ -831,6 +831,69 @@ public String getDisplayName(String id, ULocale locale) {
         confirmEqual("wrap test: ", service.get(greetingID), "A different greeting: \"" + greeting + "\"");
     }
 
+    @Test
+    public void TestCacheStats() {
+        ICUService service = new TestService();
+        Integer singleton0 = new Integer(0);
+        service.registerObject(singleton0, "en_US");
+
+        ICUService.CacheStats stats = service.getCacheStats();
+        confirmEqual("initial hits", stats.hits, 0L);
+        confirmEqual("initial misses", stats.misses, 0L);
+
+        // miss, then cached under en_US_FOO and en_US
+        confirmIdentical("en_US_FOO -> en_US", service.get("en_US_FOO"), singleton0);
+        stats = service.getCacheStats();
+        confirmEqual("misses after first lookup", stats.misses, 1L);
+        confirmEqual("cache size after first lookup", stats.size, 2);
+
+        // lock-free hits
+        confirmIdentical("en_US_FOO -> en_US again", service.get("en_US_FOO"), singleton0);
+        String[] actualReturn = new String[1];
+        confirmIdentical("en_US -> en_US", service.get("en_US", actualReturn), singleton0);
+        confirmEqual("actual descriptor", actualReturn[0], "en_US");
+        stats = service.getCacheStats();
+        confirmEqual("hits", stats.hits, 2L);
+        confirmEqual("misses", stats.misses, 1L);
+
+        // registering a factory discards the cache
+        Integer singleton1 = new Integer(1);
+        service.registerObject(singleton1, "en_US_FOO");
+        confirmEqual("cache size after registration", service.getCacheStats().size, 0);
+        confirmIdentical("en_US_FOO -> en_US_FOO", service.get("en_US_FOO"), singleton1);
+
+        // size limit
+        service.setCacheSizeLimit(4);
+        confirmEqual("size limit", service.getCacheSizeLimit(), 4);
+        String[] ids = { "en_US_A", "en_US_B", "en_US_C", "en_US_D", "en_US_E", "en_US_F" };
+        for (String id : ids) {
+            confirmIdentical(id + " -> en_US", service.get(id), singleton0);
+        }
+        stats = service.getCacheStats();
+        confirmBoolean("cache size within limit", stats.size <= 4);
+        confirmBoolean("evictions", stats.evictions > 0);
+        for (String id : ids) {
+            confirmIdentical(id + " -> en_US after eviction", service.get(id), singleton0);
+        }
+        logln("cache stats: " + service.getCacheStats());
+
+        try {
+            service.setCacheSizeLimit(-1);
+            errln("setCacheSizeLimit(-1) should throw an exception");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void TestLibraryCacheStats() {
+        // make sure that the number format service is in use
+        com.ibm.icu.text.NumberFormat.getInstance(ULocale.FRANCE);
+        com.ibm.icu.text.NumberFormat.getInstance(ULocale.FRANCE);
+        Map<String, ICUService.CacheStats> allStats = ICUService.getAllCacheStats();
+        logln("library cache stats: " + allStats);
+        confirmBoolean("NumberFormat service stats", allStats.containsKey("NumberFormat"));
+    }
+
     // misc coverage tests
     @Test
     public void TestCoverage() {
@@ -204,6 +204,50 @@ public void TestCaseInsensitive() {
         checkResult("Get Sunday", itr, new Object[]{SUN, FOO, BAR});
     }
 
+    @Test
+    public void TestFrozen() {
+        for (int caseIndex = 1; caseIndex <= 2; caseIndex++) {
+            boolean ignoreCase = caseIndex == 2;
+            TextTrieMap map = new TextTrieMap(ignoreCase);
+            TextTrieMap frozen = new TextTrieMap(ignoreCase);
+            for (int i = 0; i < TESTDATA.length; i++) {
+                map.put((String)TESTDATA[i][0], TESTDATA[i][1]);
+                frozen.put((String)TESTDATA[i][0], TESTDATA[i][1]);
+            }
+            assertFalse("not yet frozen", frozen.isFrozen());
+            assertTrue("freeze() returns this", frozen == frozen.freeze());
+            assertTrue("frozen", frozen.isFrozen());
+
+            for (int i = 0; i < TESTCASES.length; i++) {
+                String text = (String)TESTCASES[i][0];
+                checkResult("frozen get(String) case " + i, frozen.get(text), TESTCASES[i][caseIndex]);
+                // Same match length and partial-match result as the unfrozen trie,
+                // also for every prefix of the text.
+                for (int limit = 0; limit <= text.length(); limit++) {
+                    String prefix = text.substring(0, limit);
+                    TextTrieMap.Output expected = new TextTrieMap.Output();
+                    map.get(prefix, 0, expected);
+                    TextTrieMap.Output actual = new TextTrieMap.Output();
+                    frozen.get(prefix, 0, actual);
+                    assertEquals("matchLength(" + prefix + ")", expected.matchLength, actual.matchLength);
+                    assertEquals("partialMatch(" + prefix + ")", expected.partialMatch, actual.partialMatch);
+                }
+            }
+
+            UnicodeSet expectedLeadCodePoints = new UnicodeSet();
+            map.putLeadCodePoints(expectedLeadCodePoints);
+            UnicodeSet actualLeadCodePoints = new UnicodeSet();
+            frozen.putLeadCodePoints(actualLeadCodePoints);
+            assertEquals("frozen leadCodePoints", expectedLeadCodePoints, actualLeadCodePoints);
+
+            try {
+                frozen.put("Sunday", FOO);
+                errln("put() on a frozen TextTrieMap did not throw an exception");
+            } catch (UnsupportedOperationException expected) {
+            }
+        }
+    }
+
     private boolean eql(Object o1, Object o2) {
         if (o1 == null || o2 == null) {
             if (o1 == null && o2 == null) {
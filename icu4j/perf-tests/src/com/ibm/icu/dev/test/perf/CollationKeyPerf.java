@@ -0,0 +1,202 @@
+// © 2020 and later: Unicode, Inc. and others.
+// License & terms of use: http://www.unicode.org/copyright.html
+package com.ibm.icu.dev.test.perf;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import com.ibm.icu.text.CollationKey;
+import com.ibm.icu.text.Collator;
+import com.ibm.icu.text.RawCollationKey;
+import com.ibm.icu.text.RuleBasedCollator;
+import com.ibm.icu.util.ULocale;
+
+/**
+ * A class for testing the performance of sort key generation:
+ * CollationKey and RawCollationKey objects versus sort keys written into a ByteBuffer,
+ * and packed sort keys for the whole file, generated and sorted sequentially or in parallel.
+ *
+ * Example invocation:
+ * java -cp icu4j.jar:perf-tests.jar com.ibm.icu.dev.test.perf.CollationKeyPerf
+ *     --passes 4 --time 5 -f TestNames_Latin.txt -e UTF-8 WriteSortKey en
+ */
+public class CollationKeyPerf extends PerfTest {
+
+    private static final int PREFIX_LENGTH = 16;
+
+    private RuleBasedCollator collator;
+    private String[] lines;
+    private List<String> lineList;
+    private ForkJoinPool pool = new ForkJoinPool();
+    private RawCollationKey rawKey = new RawCollationKey();
+    private ByteBuffer heapBuffer = ByteBuffer.allocate(1 << 20);
+    private ByteBuffer directBuffer = ByteBuffer.allocateDirect(1 << 20);
+
+    public static void main(String[] args) throws Exception {
+        new CollationKeyPerf().run(args);
+    }
+
+    @Override
+    protected void setup(String[] args) {
+        // We only take one argument, the locale
+        if (args.length != 1) {
+            throw new RuntimeException("Please supply a locale");
+        }
+        if (fileName == null) {
+            throw new RuntimeException("Please supply a test file with -f");
+        }
+        collator = (RuleBasedCollator) Collator.getInstance(new ULocale(args[0]));
+        collator.freeze();
+        lines = readLines(fileName, encoding, false);
+        lineList = Arrays.asList(lines);
+    }
+
+    private long totalChars() {
+        long totalChars = 0;
+        for (String line : lines) {
+            totalChars += line.length();
+        }
+        return totalChars;
+    }
+
+    PerfTest.Function TestGetCollationKey() {
+        return new PerfTest.Function() {
+            @Override
+            public void call() {
+                for (String line : lines) {
+                    collator.getCollationKey(line);
+                }
+            }
+
+            @Override
+            public long getOperationsPerIteration() {
+                return totalChars();
+            }
+        };
+    }
+
+    PerfTest.Function TestGetRawCollationKey() {
+        return new PerfTest.Function() {
+            @Override
+            public void call() {
+                for (String line : lines) {
+                    collator.getRawCollationKey(line, rawKey);
+                }
+            }
+
+            @Override
+            public long getOperationsPerIteration() {
+                return totalChars();
+            }
+        };
+    }
+
+    private PerfTest.Function writeSortKeyFunction(final ByteBuffer buffer, final int maxLength) {
+        return new PerfTest.Function() {
+            @Override
+            public void call() {
+                buffer.clear();
+                int strength = collator.getStrength();
+                for (String line : lines) {
+                    if (buffer.remaining() < 1000) {
+                        buffer.clear();
+                    }
+                    collator.writeSortKey(line, buffer, strength, maxLength);
+                }
+            }
+
+            @Override
+            public long getOperationsPerIteration() {
+                return totalChars();
+            }
+        };
+    }
+
+    PerfTest.Function TestWriteSortKey() {
+        return writeSortKeyFunction(heapBuffer, Integer.MAX_VALUE);
+    }
+
+    PerfTest.Function TestWriteSortKeyDirect() {
+        return writeSortKeyFunction(directBuffer, Integer.MAX_VALUE);
+    }
+
+    PerfTest.Function TestWriteSortKeyPrefix() {
+        return writeSortKeyFunction(heapBuffer, PREFIX_LENGTH);
+    }
+
+    PerfTest.Function TestGetPackedCollationKeys() {
+        return new PerfTest.Function() {
+            @Override
+            public void call() {
+                collator.getPackedCollationKeys(lineList);
+            }
+
+            @Override
+            public long getOperationsPerIteration() {
+                return totalChars();
+            }
+        };
+    }
+
+    PerfTest.Function TestGetPackedCollationKeysParallel() {
+        return new PerfTest.Function() {
+            @Override
+            public void call() {
+                collator.getPackedCollationKeys(lineList, pool);
+            }
+
+            @Override
+            public long getOperationsPerIteration() {
+                return totalChars();
+            }
+        };
+    }
+
+    PerfTest.Function TestSortWithCollationKeys() {
+        return new PerfTest.Function() {
+            @Override
+            public void call() {
+                CollationKey[] keys = new CollationKey[lines.length];
+                for (int i = 0; i < lines.length; ++i) {
+                    keys[i] = collator.getCollationKey(lines[i]);
+                }
+                Arrays.sort(keys);
+            }
+
+            @Override
+            public long getOperationsPerIteration() {
+                return lines.length;
+            }
+        };
+    }
+
+    PerfTest.Function TestSortPacked() {
+        return new PerfTest.Function() {
+            @Override
+            public void call() {
+                collator.getPackedCollationKeys(lineList).getSortedIndexes();
+            }
+
+            @Override
+            public long getOperationsPerIteration() {
+                return lines.length;
+            }
+        };
+    }
+
+    PerfTest.Function TestSortPackedParallel() {
+        return new PerfTest.Function() {
+            @Override
+            public void call() {
+                collator.getSortedIndexes(lineList, pool);
+            }
+
+            @Override
+            public long getOperationsPerIteration() {
+                return lines.length;
+            }
+        };
+    }
+}
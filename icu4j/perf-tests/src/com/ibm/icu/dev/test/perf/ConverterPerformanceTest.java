@@ -317,4 +317,67 @@ public long getOperationsPerIteration() {
             throw new RuntimeException(e.getMessage());
         }
     }
+
+    // The ...Direct variants use direct buffers, which are not backed by arrays,
+    // comparing the JDK and ICU converters on their non-array code paths.
+
+    PerfTest.Function TestCharsetDecoderDirect() {
+        return directDecoderFunction(Charset.forName(testName));
+    }
+
+    PerfTest.Function TestCharsetEncoderDirect() {
+        return directEncoderFunction(Charset.forName(testName));
+    }
+
+    PerfTest.Function TestCharsetDecoderICUDirect() {
+        return directDecoderFunction(new CharsetProviderICU().charsetForName(testName));
+    }
+
+    PerfTest.Function TestCharsetEncoderICUDirect() {
+        return directEncoderFunction(new CharsetProviderICU().charsetForName(testName));
+    }
+
+    private PerfTest.Function directDecoderFunction(final Charset myCharset) {
+        return new PerfTest.Function() {
+            CharBuffer outBuf = ByteBuffer.allocateDirect(unicodeBuffer.length * 2).asCharBuffer();
+            ByteBuffer srcBuf = ByteBuffer.allocateDirect(encBuffer.length);
+            CharsetDecoder decoder = myCharset.newDecoder();
+            {
+                srcBuf.put(encBuffer);
+                srcBuf.flip();
+            }
+
+            public void call() {
+                decoder.decode(srcBuf,outBuf,false);
+                decoder.reset();
+                srcBuf.rewind();
+                outBuf.rewind();
+            }
+            public long getOperationsPerIteration() {
+                return encBuffer.length;
+            }
+        };
+    }
+
+    private PerfTest.Function directEncoderFunction(final Charset myCharset) {
+        return new PerfTest.Function() {
+            ByteBuffer outBuf = ByteBuffer.allocateDirect(encBuffer.length);
+            CharBuffer srcBuf = ByteBuffer.allocateDirect(unicodeBuffer.length * 2).asCharBuffer();
+            CharsetEncoder encoder = myCharset.newEncoder();
+            {
+                srcBuf.put(unicodeBuffer);
+                srcBuf.flip();
+            }
+
+            public void call() {
+                encoder.encode(srcBuf,outBuf,false);
+                encoder.reset();
+                srcBuf.rewind();
+                outBuf.rewind();
+            }
+            public long getOperationsPerIteration() {
+                return unicodeBuffer.length;
+            }
+        };
+    }
 }
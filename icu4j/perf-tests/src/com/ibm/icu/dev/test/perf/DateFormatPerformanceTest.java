@@ -12,7 +12,13 @@
 import java.util.Date;
 import java.util.Locale;
 
+import com.ibm.icu.util.TimeZone;
+
 /**
+ * Example invocation for parsing time zone names in several threads:
+ * java -cp icu4j.jar:perf-tests.jar com.ibm.icu.dev.test.perf.DateFormatPerformanceTest
+ *     --passes 4 --time 5 -r 4 -L en_US ICUParseZoneNames "yyyy-MM-dd HH:mm zzzz"
+ *
  * @author ajmacher
  */
 public class DateFormatPerformanceTest extends PerfTest {
@@ -26,6 +32,16 @@ public class DateFormatPerformanceTest extends PerfTest {
 
     private java.text.SimpleDateFormat[] jdkDateFormat;
 
+    private com.ibm.icu.text.LocalizedDateFormatter icuDateFormatter;
+
+    private static final String[] ZONE_IDS = {
+        "America/Los_Angeles", "America/New_York", "Europe/London", "Europe/Paris",
+        "Asia/Tokyo", "Asia/Kolkata", "Australia/Sydney", "Pacific/Auckland"
+    };
+
+    // The same date formatted in each of the ZONE_IDS
+    private String[] zoneDateStrings;
+
     public static void main(String[] args) throws Exception {
         new DateFormatPerformanceTest().run(args);
     }
@@ -47,11 +63,22 @@ protected void setup(String[] args) {
                 icuDateFormat[i] = new com.ibm.icu.text.SimpleDateFormat(pattern, locale);
                 jdkDateFormat[i] = new java.text.SimpleDateFormat(pattern, locale);
             }
+            // Immutable, shared by all threads
+            icuDateFormatter = com.ibm.icu.text.DateFormatter.forPattern(pattern, locale);
 
             if (args.length == 2) {
                 dateString = args[1];
                 date = icuDateFormat[0].parse(dateString);
             }
+
+            com.ibm.icu.text.SimpleDateFormat zoneFormat =
+                    new com.ibm.icu.text.SimpleDateFormat(pattern, locale);
+            zoneDateStrings = new String[ZONE_IDS.length];
+            Date zoneDate = date != null ? date : new Date(1603000000000L);
+            for (int i = 0; i < ZONE_IDS.length; i++) {
+                zoneFormat.setTimeZone(TimeZone.getTimeZone(ZONE_IDS[i]));
+                zoneDateStrings[i] = zoneFormat.format(zoneDate);
+            }
         } catch (Exception e) {
             e.printStackTrace();
             throw new RuntimeException(e.getMessage());
@@ -99,6 +126,28 @@ public void call(int id) {
         };
     }
 
+    /**
+     * Parses the date in several time zones. With a pattern that contains zone names,
+     * all threads look up the names in the shared time zone names data of the locale.
+     */
+    PerfTest.Function TestICUParseZoneNames() {
+        return new PerfTest.Function() {
+            public void call(int id) {
+                try {
+                    for (String s : zoneDateStrings) {
+                        icuDateFormat[id].parse(s);
+                    }
+                } catch (ParseException ex) {
+                    ex.printStackTrace();
+                }
+            }
+
+            public long getOperationsPerIteration() {
+                return zoneDateStrings.length;
+            }
+        };
+    }
+
     PerfTest.Function TestICUFormat() {
         return new PerfTest.Function() {
             public void call(int id) {
@@ -107,6 +156,14 @@ public void call(int id) {
         };
     }
 
+    PerfTest.Function TestICUFormatter() {
+        return new PerfTest.Function() {
+            public void call(int id) {
+                icuDateFormatter.format(date).toString();
+            }
+        };
+    }
+
     PerfTest.Function TestJDKFormat() {
         return new PerfTest.Function() {
             public void call(int id) {
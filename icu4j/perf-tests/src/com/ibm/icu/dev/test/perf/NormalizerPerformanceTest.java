@@ -8,13 +8,20 @@
 */
 package com.ibm.icu.dev.test.perf;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
 import com.ibm.icu.text.Normalizer;
+import com.ibm.icu.text.Normalizer2;
 
 public class NormalizerPerformanceTest extends PerfTest {
     
     String[] NFDFileLines;
     String[] NFCFileLines;
     String[] fileLines;
+    byte[][] NFCUTF8FileLines;
+    byte[][] UTF8FileLines;
+    ByteArrayOutputStream utf8Dest = new ByteArrayOutputStream();
     
     
     public static void main(String[] args) throws Exception {
@@ -25,6 +32,8 @@ protected void setup(String[] args) {
         fileLines = readLines(fileName, encoding, bulk_mode);
         NFDFileLines = normalizeInput(fileLines, Normalizer.NFD);
         NFCFileLines = normalizeInput(fileLines, Normalizer.NFC);
+        NFCUTF8FileLines = toUTF8(NFCFileLines);
+        UTF8FileLines = toUTF8(fileLines);
     }
     
     // Test NFC Performance
@@ -615,6 +624,76 @@ public long getOperationsPerIteration() {
         };
     }
       
+    // Test UTF-8 normalization, with the UTF-16 character count as the operations count
+    PerfTest.Function TestICU_NFC_NFC_UTF8() {
+        return new UTF8Function(NFCUTF8FileLines, NFCFileLines, false);
+    }
+
+    PerfTest.Function TestICU_NFC_Orig_UTF8() {
+        return new UTF8Function(UTF8FileLines, fileLines, false);
+    }
+
+    PerfTest.Function TestICU_NFC_NFC_UTF8_Via_UTF16() {
+        return new UTF8Function(NFCUTF8FileLines, NFCFileLines, true);
+    }
+
+    PerfTest.Function TestICU_NFC_Orig_UTF8_Via_UTF16() {
+        return new UTF8Function(UTF8FileLines, fileLines, true);
+    }
+
+    PerfTest.Function TestIsNormalizedUTF8_NFC_NFC_Text() {
+        final Normalizer2 nfc = Normalizer2.getNFCInstance();
+        return new PerfTest.Function() {
+            public void call() {
+                for (int i = 0; i < NFCUTF8FileLines.length; i++) {
+                    nfc.isNormalizedUTF8(NFCUTF8FileLines[i], 0, NFCUTF8FileLines[i].length);
+                }
+            }
+
+            public long getOperationsPerIteration() {
+                int totalChars = 0;
+                for (int i = 0; i < NFCFileLines.length; i++) {
+                    totalChars = totalChars + NFCFileLines[i].length();
+                }
+                return totalChars;
+            }
+        };
+    }
+
+    private class UTF8Function extends PerfTest.Function {
+        private final Normalizer2 nfc = Normalizer2.getNFCInstance();
+        private final byte[][] lines;
+        private final String[] lines16;
+        private final boolean viaUTF16;
+
+        UTF8Function(byte[][] lines, String[] lines16, boolean viaUTF16) {
+            this.lines = lines;
+            this.lines16 = lines16;
+            this.viaUTF16 = viaUTF16;
+        }
+
+        public void call() {
+            for (int i = 0; i < lines.length; i++) {
+                utf8Dest.reset();
+                if (viaUTF16) {
+                    byte[] bytes = nfc.normalize(new String(lines[i], StandardCharsets.UTF_8))
+                            .getBytes(StandardCharsets.UTF_8);
+                    utf8Dest.write(bytes, 0, bytes.length);
+                } else {
+                    nfc.normalizeUTF8(lines[i], 0, lines[i].length, utf8Dest, null);
+                }
+            }
+        }
+
+        public long getOperationsPerIteration() {
+            int totalChars = 0;
+            for (int i = 0; i < lines16.length; i++) {
+                totalChars = totalChars + lines16[i].length();
+            }
+            return totalChars;
+        }
+    }
+
     /*
       private void printUsage() {
         System.out.println("Usage: " + this.getClass().getName() + " [OPTIONS] fileName\n"
@@ -628,6 +707,14 @@ private void printUsage() {
     }
     */
     
+    static byte[][] toUTF8(String[] src) {
+        byte[][] dest = new byte[src.length][];
+        for (int i = 0; i < src.length; i++) {
+            dest[i] = src[i].getBytes(StandardCharsets.UTF_8);
+        }
+        return dest;
+    }
+
     String[] normalizeInput(String[] src, Normalizer.Mode mode) {
         String[] dest = new String[src.length];
         for (int i = 0; i < src.length; i++) {
@@ -0,0 +1,177 @@
+// © 2016 and later: Unicode, Inc. and others.
+// License & terms of use: http://www.unicode.org/copyright.html
+package com.ibm.icu.dev.test.perf;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.Random;
+
+import com.ibm.icu.number.LocalizedNumberFormatter;
+import com.ibm.icu.number.NumberFormatter;
+import com.ibm.icu.util.ULocale;
+
+/**
+ * A class for testing the performance and the garbage created by the NumberFormatter format methods
+ * that return a FormattedNumber and the formatTo methods that write into a caller-supplied buffer.
+ *
+ * The setup prints the bytes allocated per formatted number by each variant, when the JVM supports
+ * per-thread allocation counters.
+ *
+ * Example invocation:
+ * java -cp icu4j.jar:perf-tests.jar com.ibm.icu.dev.test.perf.NumberFormatterPerf
+ *     --passes 4 --time 5 FormatToStringBuilder currency/EUR en
+ */
+public class NumberFormatterPerf extends PerfTest {
+
+    private static final int NUMBERS_COUNT = 1000;
+
+    private LocalizedNumberFormatter formatter;
+    private double[] doubles;
+    private long[] longs;
+    private StringBuilder sb = new StringBuilder();
+    private char[] chars = new char[100];
+
+    public static void main(String[] args) throws Exception {
+        new NumberFormatterPerf().run(args);
+    }
+
+    @Override
+    protected void setup(String[] args) {
+        // We take two arguments, the number skeleton and the locale
+        if (args.length != 2) {
+            throw new RuntimeException("Please supply a number skeleton and a locale");
+        }
+        formatter = NumberFormatter.forSkeleton(args[0]).locale(new ULocale(args[1]));
+
+        Random random = new Random(20201018L);
+        doubles = new double[NUMBERS_COUNT];
+        longs = new long[NUMBERS_COUNT];
+        for (int i = 0; i < NUMBERS_COUNT; ++i) {
+            doubles[i] = Math.round(random.nextDouble() * 10000000) / 100.0;
+            longs[i] = random.nextInt(10000000);
+        }
+
+        printAllocations("FormatDouble", TestFormatDouble());
+        printAllocations("FormatToStringBuilder", TestFormatToStringBuilder());
+        printAllocations("FormatToCharArray", TestFormatToCharArray());
+        printAllocations("FormatLong", TestFormatLong());
+        printAllocations("FormatLongToStringBuilder", TestFormatLongToStringBuilder());
+    }
+
+    /**
+     * Prints the number of bytes allocated by the current thread per operation of the function,
+     * after warming it up.
+     */
+    private static void printAllocations(String name, PerfTest.Function function) {
+        Method getThreadAllocatedBytes;
+        Object threadMXBean = ManagementFactory.getThreadMXBean();
+        try {
+            Class<?> c = Class.forName("com.sun.management.ThreadMXBean");
+            if (!c.isInstance(threadMXBean)) {
+                return;
+            }
+            getThreadAllocatedBytes = c.getMethod("getThreadAllocatedBytes", long.class);
+        } catch (Exception e) {
+            // Not supported by this JVM
+            return;
+        }
+        try {
+            long threadId = Thread.currentThread().getId();
+            for (int i = 0; i < 2000; ++i) {
+                function.call();
+            }
+            int iterations = 100;
+            long start = (Long) getThreadAllocatedBytes.invoke(threadMXBean, threadId);
+            for (int i = 0; i < iterations; ++i) {
+                function.call();
+            }
+            long end = (Long) getThreadAllocatedBytes.invoke(threadMXBean, threadId);
+            double perOperation = (double) (end - start) / (iterations * function.getOperationsPerIteration());
+            System.out.println("= " + name + " allocated bytes/op " + perOperation);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    PerfTest.Function TestFormatDouble() {
+        return new PerfTest.Function() {
+            @Override
+            public void call() {
+                for (double d : doubles) {
+                    formatter.format(d).toString();
+                }
+            }
+
+            @Override
+            public long getOperationsPerIteration() {
+                return doubles.length;
+            }
+        };
+    }
+
+    PerfTest.Function TestFormatToStringBuilder() {
+        return new PerfTest.Function() {
+            @Override
+            public void call() {
+                for (double d : doubles) {
+                    sb.setLength(0);
+                    formatter.formatTo(d, sb);
+                }
+            }
+
+            @Override
+            public long getOperationsPerIteration() {
+                return doubles.length;
+            }
+        };
+    }
+
+    PerfTest.Function TestFormatToCharArray() {
+        return new PerfTest.Function() {
+            @Override
+            public void call() {
+                for (double d : doubles) {
+                    formatter.formatTo(d, chars, 0);
+                }
+            }
+
+            @Override
+            public long getOperationsPerIteration() {
+                return doubles.length;
+            }
+        };
+    }
+
+    PerfTest.Function TestFormatLong() {
+        return new PerfTest.Function() {
+            @Override
+            public void call() {
+                for (long l : longs) {
+                    formatter.format(l).toString();
+                }
+            }
+
+            @Override
+            public long getOperationsPerIteration() {
+                return longs.length;
+            }
+        };
+    }
+
+    PerfTest.Function TestFormatLongToStringBuilder() {
+        return new PerfTest.Function() {
+            @Override
+            public void call() {
+                for (long l : longs) {
+                    sb.setLength(0);
+                    formatter.formatTo(l, sb);
+                }
+            }
+
+            @Override
+            public long getOperationsPerIteration() {
+                return longs.length;
+            }
+        };
+    }
+}
@@ -11,6 +11,7 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
 import java.text.BreakIterator;
 
 import com.ibm.icu.text.RuleBasedBreakIterator;
@@ -115,6 +116,71 @@ public long getOperationsPerIteration() {
     }
     
     
+    /**
+     * Same as testRBBINext, but the operations are the chars of text, and the events are
+     * the number of bytes allocated per million chars of text, where the JVM can measure that.
+     * Useful with word break iterators over CJK text, which use the dictionary break engine.
+     */
+    PerfTest.Function testRBBINextChars() {
+        return new PerfTest.Function() {
+
+            public void call() {
+                int n;
+                for (n=bi.first(); n != BreakIterator.DONE; n=bi.next()) {
+                }
+            }
+
+
+            public long getOperationsPerIteration() {
+                return testString.length();
+            }
+
+
+            public long getEventsPerIteration() {
+                java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+                if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+                    return -1;
+                }
+                com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean)bean;
+                long threadId = Thread.currentThread().getId();
+                call();
+                long before = threadBean.getThreadAllocatedBytes(threadId);
+                for (int i = 0; i < 10; ++i) {
+                    call();
+                }
+                long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+                return (long)(allocated / 10 * (1000000.0 / testString.length()));
+            }
+        };
+    }
+
+
+    PerfTest.Function testRBBIGetBoundaries() {
+        return new PerfTest.Function() {
+            int[] boundaries = new int[1024];
+            int[] statuses = new int[1024];
+
+            public void call() {
+                int start = bi.first();
+                int n;
+                while ((n = bi.getBoundaries(start, Integer.MAX_VALUE, boundaries, statuses)) > 0) {
+                    start = boundaries[n - 1];
+                }
+            }
+
+
+            public long getOperationsPerIteration() {
+                int n;
+                int count = 0;
+                for (n=bi.first(); n != BreakIterator.DONE; n=bi.next()) {
+                    count++;
+                }
+                return count;
+            }
+        };
+    }
+
+
     PerfTest.Function testRBBIPrevious() {
         return new PerfTest.Function() {
             
@@ -0,0 +1,131 @@
+// © 2016 and later: Unicode, Inc. and others.
+// License & terms of use: http://www.unicode.org/copyright.html
+package com.ibm.icu.dev.test.perf;
+
+import java.util.Random;
+
+import com.ibm.icu.text.SpoofChecker;
+
+/**
+ * A class for testing the throughput of SpoofChecker skeleton computation:
+ * getSkeleton returning a String, appending to a reused StringBuilder or writing UTF-8 into a reused byte array,
+ * and areConfusable with and without a skeleton cache.
+ *
+ * The identifiers are the lines of the file given with -f, or else generated user names,
+ * most of them ASCII.
+ *
+ * Example invocation:
+ * java -cp icu4j.jar:perf-tests.jar com.ibm.icu.dev.test.perf.SpoofCheckerPerf
+ *     --passes 4 --time 5 GetSkeletonToStringBuilder
+ */
+public class SpoofCheckerPerf extends PerfTest {
+
+    private static final int IDENTIFIERS_COUNT = 10000;
+
+    private SpoofChecker checker;
+    private SpoofChecker cachingChecker;
+    private String[] identifiers;
+    private StringBuilder sb = new StringBuilder();
+    private byte[] bytes = new byte[1000];
+
+    public static void main(String[] args) throws Exception {
+        new SpoofCheckerPerf().run(args);
+    }
+
+    @Override
+    protected void setup(String[] args) {
+        checker = new SpoofChecker.Builder().setChecks(SpoofChecker.CONFUSABLE).build();
+        cachingChecker = new SpoofChecker.Builder(checker).setSkeletonCacheSize(IDENTIFIERS_COUNT).build();
+        if (fileName != null) {
+            identifiers = readLines(fileName, encoding, false);
+        } else {
+            String[] parts = { "john", "Smith", "x", "_", "2001", "k\u00f6nig", "\u0441\u0435\u0440\u0433\u0435\u0439",
+                    "dev", "\u5c71\u7530", "ops", "01", "jane", "doe" };
+            Random random = new Random(20201018L);
+            identifiers = new String[IDENTIFIERS_COUNT];
+            for (int i = 0; i < IDENTIFIERS_COUNT; ++i) {
+                StringBuilder id = new StringBuilder();
+                int count = 1 + random.nextInt(3);
+                for (int j = 0; j < count; ++j) {
+                    // Mostly the first, ASCII parts.
+                    int k = random.nextInt(parts.length);
+                    id.append(parts[random.nextBoolean() ? k % 5 : k]);
+                }
+                identifiers[i] = id.toString();
+            }
+        }
+    }
+
+    PerfTest.Function TestGetSkeleton() {
+        return new PerfTest.Function() {
+            @Override
+            public void call() {
+                for (String id : identifiers) {
+                    checker.getSkeleton(id);
+                }
+            }
+
+            @Override
+            public long getOperationsPerIteration() {
+                return identifiers.length;
+            }
+        };
+    }
+
+    PerfTest.Function TestGetSkeletonToStringBuilder() {
+        return new PerfTest.Function() {
+            @Override
+            public void call() {
+                for (String id : identifiers) {
+                    sb.setLength(0);
+                    checker.getSkeleton(id, sb);
+                }
+            }
+
+            @Override
+            public long getOperationsPerIteration() {
+                return identifiers.length;
+            }
+        };
+    }
+
+    PerfTest.Function TestGetSkeletonUTF8() {
+        return new PerfTest.Function() {
+            @Override
+            public void call() {
+                for (String id : identifiers) {
+                    checker.getSkeletonUTF8(id, bytes, 0);
+                }
+            }
+
+            @Override
+            public long getOperationsPerIteration() {
+                return identifiers.length;
+            }
+        };
+    }
+
+    PerfTest.Function TestAreConfusable() {
+        return areConfusableFunction(checker);
+    }
+
+    PerfTest.Function TestAreConfusableCached() {
+        return areConfusableFunction(cachingChecker);
+    }
+
+    private PerfTest.Function areConfusableFunction(final SpoofChecker sc) {
+        return new PerfTest.Function() {
+            @Override
+            public void call() {
+                for (int i = 1; i < identifiers.length; ++i) {
+                    sc.areConfusable(identifiers[i - 1], identifiers[i]);
+                }
+            }
+
+            @Override
+            public long getOperationsPerIteration() {
+                return identifiers.length - 1;
+            }
+        };
+    }
+}
@@ -0,0 +1,114 @@
+// © 2016 and later: Unicode, Inc. and others.
+// License & terms of use: http://www.unicode.org/copyright.html
+package com.ibm.icu.dev.test.perf;
+
+import java.util.Random;
+
+import com.ibm.icu.util.BasicTimeZone;
+import com.ibm.icu.util.TimeZone;
+
+/**
+ * A class for testing the performance of time zone offset lookups
+ * for recent, historical and random times.
+ *
+ * Example invocation:
+ * java -cp icu4j.jar:perf-tests.jar com.ibm.icu.dev.test.perf.TimeZonePerf
+ *     --passes 4 --time 5 HistoricalOffset America/New_York
+ */
+public class TimeZonePerf extends PerfTest {
+
+    private static final int TIMES_COUNT = 10000;
+    private static final long MILLIS_PER_YEAR = 365L * 24 * 60 * 60 * 1000;
+    // 1970-01-01 and 2000-01-01
+    private static final long HISTORICAL_START = 0L;
+    private static final long HISTORICAL_LIMIT = 946684800000L;
+
+    private BasicTimeZone zone;
+    private long[] recentTimes;
+    private long[] historicalTimes;
+    private long[] randomTimes;
+    private int[] offsets = new int[2];
+
+    public static void main(String[] args) throws Exception {
+        new TimeZonePerf().run(args);
+    }
+
+    @Override
+    protected void setup(String[] args) {
+        // We only take one argument, the time zone ID
+        if (args.length != 1) {
+            throw new RuntimeException("Please supply a time zone ID");
+        }
+        zone = (BasicTimeZone) TimeZone.getTimeZone(args[0], TimeZone.TIMEZONE_ICU);
+
+        Random random = new Random(20201018L);
+        long now = System.currentTimeMillis();
+        recentTimes = new long[TIMES_COUNT];
+        historicalTimes = new long[TIMES_COUNT];
+        randomTimes = new long[TIMES_COUNT];
+        for (int i = 0; i < TIMES_COUNT; ++i) {
+            recentTimes[i] = now - (long) (random.nextDouble() * MILLIS_PER_YEAR);
+            historicalTimes[i] = HISTORICAL_START +
+                    (long) (random.nextDouble() * (HISTORICAL_LIMIT - HISTORICAL_START));
+            // 1850..2050
+            randomTimes[i] = -120 * MILLIS_PER_YEAR + (long) (random.nextDouble() * 200 * MILLIS_PER_YEAR);
+        }
+    }
+
+    private PerfTest.Function offsetFunction(final long[] times) {
+        return new PerfTest.Function() {
+            @Override
+            public void call() {
+                for (long time : times) {
+                    zone.getOffset(time, false, offsets);
+                }
+            }
+
+            @Override
+            public long getOperationsPerIteration() {
+                return times.length;
+            }
+        };
+    }
+
+    private PerfTest.Function offsetFromLocalFunction(final long[] times) {
+        return new PerfTest.Function() {
+            @Override
+            public void call() {
+                for (long time : times) {
+                    zone.getOffsetFromLocal(time,
+                            BasicTimeZone.LOCAL_FORMER, BasicTimeZone.LOCAL_LATTER, offsets);
+                }
+            }
+
+            @Override
+            public long getOperationsPerIteration() {
+                return times.length;
+            }
+        };
+    }
+
+    PerfTest.Function TestRecentOffset() {
+        return offsetFunction(recentTimes);
+    }
+
+    PerfTest.Function TestHistoricalOffset() {
+        return offsetFunction(historicalTimes);
+    }
+
+    PerfTest.Function TestRandomOffset() {
+        return offsetFunction(randomTimes);
+    }
+
+    PerfTest.Function TestRecentOffsetFromLocal() {
+        return offsetFromLocalFunction(recentTimes);
+    }
+
+    PerfTest.Function TestHistoricalOffsetFromLocal() {
+        return offsetFromLocalFunction(historicalTimes);
+    }
+
+    PerfTest.Function TestRandomOffsetFromLocal() {
+        return offsetFromLocalFunction(randomTimes);
+    }
+}
@@ -10,6 +10,7 @@
 package com.ibm.icu.dev.test.perf;
 
 import com.ibm.icu.lang.UCharacter;
+import com.ibm.icu.lang.UProperty;
 
 /**
  * Base performance test that takes in a method name for testing with JDK.
@@ -40,6 +41,12 @@ protected void setup(String[] args) {
         if (args.length >= 2) {
             MAX_ = Integer.parseInt(args[1], 16);
         }
+        StringBuilder sb = new StringBuilder();
+        for (int ch = MIN_; ch < MAX_; ch ++) {
+            sb.appendCodePoint(ch);
+        }
+        TEXT_ = sb.toString();
+        VALUES_ = new byte[TEXT_.length()];
     }
     
     PerfTest.Function testDigit() 
@@ -522,6 +529,41 @@ public long getOperationsPerIteration() {
         };
     }
     
+    // Classify every code point of a string, one at a time vs. in bulk.
+    PerfTest.Function testGetTypeOfText()
+    {
+        return new PerfTest.Function() {
+            public void call() {
+                for (int i = 0; i < TEXT_.length();) {
+                    int ch = Character.codePointAt(TEXT_, i);
+                    byte type = (byte)UCharacter.getType(ch);
+                    int count = Character.charCount(ch);
+                    for (int j = 0; j < count; ++j) {
+                        VALUES_[i++] = type;
+                    }
+                }
+            }
+
+            public long getOperationsPerIteration() {
+                return TEXT_.length();
+            }
+        };
+    }
+
+    PerfTest.Function testGetIntPropertyValuesOfText()
+    {
+        return new PerfTest.Function() {
+            public void call() {
+                UCharacter.getIntPropertyValues(TEXT_, 0, TEXT_.length(),
+                        UProperty.GENERAL_CATEGORY, VALUES_, 0);
+            }
+
+            public long getOperationsPerIteration() {
+                return TEXT_.length();
+            }
+        };
+    }
+
     // private data member --------------------------------------------------
     
     /**
@@ -532,4 +574,9 @@ public long getOperationsPerIteration() {
      * Minimum codepoint to do test. Test is ran from MIN_ to MAX_
      */
     private static int MAX_;
+    /**
+     * The code points from MIN_ to MAX_ as a string
+     */
+    private static String TEXT_;
+    private static byte[] VALUES_;
 }
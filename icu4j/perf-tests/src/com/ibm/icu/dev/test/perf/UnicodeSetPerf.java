@@ -7,15 +7,27 @@
 **********************************************************************
 */
 package com.ibm.icu.dev.test.perf;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.HashSet;
 import java.util.Iterator;
 
 import com.ibm.icu.text.UnicodeSet;
+import com.ibm.icu.text.UnicodeSet.SpanCondition;
 import com.ibm.icu.text.UnicodeSetIterator;
+import com.ibm.icu.util.CodePointTrie;
+import com.ibm.icu.util.MutableCodePointTrie;
 
 /**
  * A class for testing UnicodeSet performance.
  *
+ * <p>The span tests alternate span(CONTAINED) and span(NOT_CONTAINED) with the frozen set
+ * across the text of the file given with -f, or else across generated mixed-script text,
+ * comparing spanning UTF-8 bytes directly with decoding them into a String first.
+ *
+ * <p>The frozen contains tests compare a normally frozen set with one frozen with a CodePointTrie;
+ * setup prints the approximate memory used by each.
+ *
  * @author Alan Liu
  * @since ICU 2.4
  */
@@ -26,6 +38,10 @@ public class UnicodeSetPerf extends PerfTest {
     UnicodeSetIterator it;
     UnicodeSet us;
     HashSet hs;
+    UnicodeSet frozen;
+    UnicodeSet frozenWithTrie;
+    String text;
+    byte[] utf8;
 
     public static void main(String[] args) throws Exception {
         new UnicodeSetPerf().run(args);
@@ -42,6 +58,38 @@ protected void setup(String[] args) {
         it = new UnicodeSetIterator(testChars);
         us = new UnicodeSet();
         hs = new HashSet();
+
+        frozen = testChars.cloneAsThawed().freeze();
+        frozenWithTrie = testChars.cloneAsThawed().freezeWithCodePointTrie();
+        printMemoryReport();
+        StringBuilder sb = new StringBuilder();
+        if (fileName != null) {
+            for (String line : readLines(fileName, encoding, false)) {
+                sb.append(line).append('\n');
+            }
+        } else {
+            for (int i = 0; i < 2000; ++i) {
+                sb.append("Sample text ").append(i).append(", \u00e9t\u00e9 \u0434\u0435\u043d\u044c ")
+                        .append("\u65e5\u672c\u8a9e\u30c6\u30ad\u30b9\u30c8 \ud83d\ude00 ");
+            }
+        }
+        text = sb.toString();
+        utf8 = text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void printMemoryReport() {
+        // Inversion list plus the fixed-size BMPSet tables
+        // (latin1Contains, table7FF, bmpBlockBits, list4kStarts).
+        int listBytes = (testChars.getRangeCount() * 2 + 1) * 4;
+        int frozenBytes = listBytes + 256 + 64 * 4 + 64 * 4 + 18 * 4;
+        MutableCodePointTrie mutableTrie = new MutableCodePointTrie(0, 0);
+        for (int i = 0; i < testChars.getRangeCount(); ++i) {
+            mutableTrie.setRange(testChars.getRangeStart(i), testChars.getRangeEnd(i), 1);
+        }
+        ByteArrayOutputStream trieBytes = new ByteArrayOutputStream();
+        mutableTrie.buildImmutable(CodePointTrie.Type.FAST, CodePointTrie.ValueWidth.BITS_8).toBinary(trieBytes);
+        System.out.println("frozen set: ~" + frozenBytes + " bytes, with CodePointTrie: ~" +
+                (frozenBytes + trieBytes.size()) + " bytes (" + testChars.getRangeCount() + " ranges)");
     }
 
     PerfTest.Function testUnicodeSetAdd() {
@@ -104,6 +152,31 @@ public long getOperationsPerIteration() {
         };
     }
 
+    PerfTest.Function testFrozenContains() {
+        return containsFunction(frozen);
+    }
+
+    PerfTest.Function testFrozenWithTrieContains() {
+        return containsFunction(frozenWithTrie);
+    }
+
+    private PerfTest.Function containsFunction(final UnicodeSet set) {
+        return new PerfTest.Function() {
+            public void call() {
+                int temp = 0;
+                for (int cp = 0; cp <= 0x10FFFF; ++cp) {
+                    if (set.contains(cp)) {
+                        temp += cp;
+                    }
+                }
+            }
+
+            public long getOperationsPerIteration() {
+                return 0x110000;
+            }
+        };
+    }
+
     PerfTest.Function testHashSetContains() {
         hs.clear();
         it.reset();
@@ -162,4 +235,74 @@ public long getOperationsPerIteration() {
             }
         };
     }
+
+    PerfTest.Function testSpanUTF16() {
+        return new PerfTest.Function() {
+            public void call() {
+                SpanCondition condition = SpanCondition.CONTAINED;
+                for (int start = 0; start < text.length();) {
+                    start = frozen.span(text, start, condition);
+                    condition = condition == SpanCondition.CONTAINED ?
+                            SpanCondition.NOT_CONTAINED : SpanCondition.CONTAINED;
+                }
+            }
+
+            public long getOperationsPerIteration() {
+                return utf8.length;
+            }
+        };
+    }
+
+    PerfTest.Function testSpanUTF8() {
+        return new PerfTest.Function() {
+            public void call() {
+                SpanCondition condition = SpanCondition.CONTAINED;
+                for (int start = 0; start < utf8.length;) {
+                    start = frozen.spanUTF8(utf8, start, utf8.length, condition);
+                    condition = condition == SpanCondition.CONTAINED ?
+                            SpanCondition.NOT_CONTAINED : SpanCondition.CONTAINED;
+                }
+            }
+
+            public long getOperationsPerIteration() {
+                return utf8.length;
+            }
+        };
+    }
+
+    PerfTest.Function testSpanBackUTF8() {
+        return new PerfTest.Function() {
+            public void call() {
+                SpanCondition condition = SpanCondition.CONTAINED;
+                for (int limit = utf8.length; limit > 0;) {
+                    limit = frozen.spanBackUTF8(utf8, 0, limit, condition);
+                    condition = condition == SpanCondition.CONTAINED ?
+                            SpanCondition.NOT_CONTAINED : SpanCondition.CONTAINED;
+                }
+            }
+
+            public long getOperationsPerIteration() {
+                return utf8.length;
+            }
+        };
+    }
+
+    // The alternative to spanUTF8(): Decode the bytes, then span the String.
+    PerfTest.Function testDecodeThenSpanUTF16() {
+        return new PerfTest.Function() {
+            public void call() {
+                String decoded = new String(utf8, StandardCharsets.UTF_8);
+                SpanCondition condition = SpanCondition.CONTAINED;
+                for (int start = 0; start < decoded.length();) {
+                    start = frozen.span(decoded, start, condition);
+                    condition = condition == SpanCondition.CONTAINED ?
+                            SpanCondition.NOT_CONTAINED : SpanCondition.CONTAINED;
+                }
+            }
+
+            public long getOperationsPerIteration() {
+                return utf8.length;
+            }
+        };
+    }
 }